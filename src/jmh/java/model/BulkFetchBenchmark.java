@@ -0,0 +1,100 @@
+package model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares one-at-a-time fetching against the bounded parallel bulk fetch for 100, 1,000 and 10,000 IDs,
+ * read from a local HTTP stub with 5 ms of simulated latency, a PokeAPI dump on disk, or memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BulkFetchBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int count;
+
+    @Param({"1", "16", "64"})
+    private int maxConcurrency;
+
+    @Param({"http", "directory", "memory"})
+    private String source;
+
+    private static final int MOVE_COUNT = 20;
+
+    private StubPokeApiServer server;
+    private Path dumpDirectory;
+    private IPokemonSource pokemonSource;
+    private PokemonModel model;
+    private int[] ids;
+
+    @Setup(Level.Trial)
+    public void startSource() throws IOException {
+        ids = new int[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = i + 1;
+        }
+        if ("http".equals(source)) {
+            server = new StubPokeApiServer(5, MOVE_COUNT);
+            // No rate limit keeps the measurement about concurrency rather than the token bucket
+            pokemonSource = new HttpPokemonSource(server.getBaseUrl(), null, FetchResilience.unlimited());
+        } else if ("directory".equals(source)) {
+            dumpDirectory = Files.createTempDirectory("pokeapi-dump");
+            for (int id : ids) {
+                Path document = dumpDirectory.resolve(DirectoryPokemonSource.POKEMON_PATH)
+                        .resolve(Integer.toString(id)).resolve("index.json");
+                Files.createDirectories(document.getParent());
+                Files.write(document, InMemoryPokemonSource.syntheticDocument(id, MOVE_COUNT)
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+            pokemonSource = new DirectoryPokemonSource(dumpDirectory);
+        } else {
+            pokemonSource = new InMemoryPokemonSource(count, MOVE_COUNT);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void createModel() {
+        // A fresh model per run keeps earlier runs' cached Pokemon out of the measurement
+        model = new PokemonModel(pokemonSource);
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeModel() {
+        model.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopSource() throws IOException {
+        if (server != null) {
+            server.close();
+        }
+        if (dumpDirectory != null) {
+            try (Stream<Path> files = Files.walk(dumpDirectory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    @Benchmark
+    public BulkFetchResult fetchBulk() {
+        return model.fetchPokemonBulk(ids, maxConcurrency);
+    }
+}
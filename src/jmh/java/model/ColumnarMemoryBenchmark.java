@@ -0,0 +1,68 @@
+package model;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the heap a catalog of synthetic Pokemon keeps alive as the object graph the model loads
+ * against the same catalog copied into {@link PokemonColumns}. Each shot builds one catalog, lets go
+ * of everything but the measured form, and reports the retained heap per Pokemon as the
+ * bytesPerEntry secondary result; the primary result is the build time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ColumnarMemoryBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int count;
+
+    @Param({"objects", "columns"})
+    private String layout;
+
+    /**
+     * Reports the retained heap per Pokemon next to each result.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long bytesPerEntry;
+    }
+
+    @Benchmark
+    public Object build(Footprint footprint) {
+        long before = usedHeap();
+        Object retained;
+        if ("objects".equals(layout)) {
+            retained = SyntheticCatalog.create(count);
+        } else {
+            List<Pokemon> catalog = SyntheticCatalog.create(count);
+            retained = new PokemonColumns(catalog);
+        }
+        footprint.bytesPerEntry = (usedHeap() - before) / count;
+        return retained;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,66 @@
+package model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a typo-tolerant name search as the catalog grows.
+ * The query is a catalog name with one letter changed, so there is always at least one match.
+ * The scan computes the edit distance to every name, the way a search without an index would;
+ * the BK-tree search goes through a {@link FuzzyNameIndex} over the same synthetic catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FuzzyNameSearchBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int count;
+
+    @Param({"1", "2"})
+    private int maxDistance;
+
+    private List<Pokemon> catalog;
+    private FuzzyNameIndex index;
+    private String query;
+
+    @Setup(Level.Trial)
+    public void createCatalog() {
+        catalog = SyntheticCatalog.create(count);
+        index = new FuzzyNameIndex(catalog);
+        char[] name = catalog.get(count / 2).getName().toCharArray();
+        name[1] = name[1] == 'x' ? 'y' : 'x';
+        query = new String(name);
+    }
+
+    @Benchmark
+    public List<Pokemon> scan() {
+        List<Pokemon> matches = new ArrayList<>();
+        for (Pokemon pokemon : catalog) {
+            if (FuzzyNameIndex.distance(query, pokemon.getName(), maxDistance) <= maxDistance) {
+                matches.add(pokemon);
+            }
+        }
+        matches.sort(Comparator.comparingInt(
+                (Pokemon pokemon) -> FuzzyNameIndex.distance(query, pokemon.getName(), maxDistance))
+                .thenComparingInt(Pokemon::getId));
+        return matches;
+    }
+
+    @Benchmark
+    public List<FuzzyNameIndex.Match> bkTree() {
+        return index.search(query, maxDistance);
+    }
+}
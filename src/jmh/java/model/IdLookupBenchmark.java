@@ -0,0 +1,85 @@
+package model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures resolving a batch of IDs against a catalog shaped like PokeAPI's:
+ * the national Pokedex 1 to 1025 plus alternate forms from 10001 to 10277.
+ * The batch mixes dense IDs, form IDs and IDs that are missing.
+ * The scan is the controller's old stream over the collection, the map is a boxed {@link HashMap},
+ * and the index is an {@link IdIndex}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IdLookupBenchmark {
+    private static final int BATCH_SIZE = 64;
+
+    private List<Pokemon> catalog;
+    private Map<Integer, Pokemon> map;
+    private IdIndex index;
+    private int[] ids;
+
+    @Setup(Level.Trial)
+    public void createCatalog() {
+        catalog = new ArrayList<>();
+        for (int id = 1; id <= 1025; id++) {
+            catalog.add(SyntheticCatalog.pokemon(id));
+        }
+        for (int id = 10001; id <= 10277; id++) {
+            catalog.add(SyntheticCatalog.pokemon(id));
+        }
+        map = new HashMap<>();
+        for (Pokemon pokemon : catalog) {
+            map.putIfAbsent(pokemon.getId(), pokemon);
+        }
+        index = new IdIndex(catalog);
+
+        Random random = new Random(42);
+        ids = new int[BATCH_SIZE];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = switch (i % 4) {
+                case 0, 1 -> 1 + random.nextInt(1025);
+                case 2 -> 10001 + random.nextInt(277);
+                default -> 20000 + random.nextInt(1000);
+            };
+        }
+    }
+
+    @Benchmark
+    public void scan(Blackhole blackhole) {
+        for (int id : ids) {
+            blackhole.consume(catalog.stream()
+                    .filter(pokemon -> pokemon.getId() == id)
+                    .findFirst()
+                    .orElse(null));
+        }
+    }
+
+    @Benchmark
+    public void hashMap(Blackhole blackhole) {
+        for (int id : ids) {
+            blackhole.consume(map.get(id));
+        }
+    }
+
+    @Benchmark
+    public List<Pokemon> index() {
+        return index.getAll(ids);
+    }
+}
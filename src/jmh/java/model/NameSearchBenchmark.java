@@ -0,0 +1,56 @@
+package model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the latency of one search-box keystroke: the search for the text typed so far.
+ * The query parameter walks through typing "charman" one letter at a time, plus a search by ID digits.
+ * The scan is the list panel's old filter, lowercasing every name and formatting every ID;
+ * the indexed search goes through a {@link NameIndex} over the same synthetic catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NameSearchBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int count;
+
+    @Param({"c", "ch", "cha", "char", "charm", "charma", "charman", "4242"})
+    private String query;
+
+    private List<Pokemon> catalog;
+    private NameIndex index;
+
+    @Setup(Level.Trial)
+    public void createCatalog() {
+        catalog = SyntheticCatalog.create(count);
+        index = new NameIndex(catalog);
+    }
+
+    @Benchmark
+    public List<Pokemon> scan() {
+        String searchText = query.toLowerCase().trim();
+        return catalog.stream()
+                .filter(pokemon -> pokemon.getName().toLowerCase().contains(searchText)
+                        || String.valueOf(pokemon.getId()).contains(searchText))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Pokemon> indexed() {
+        return index.search(query);
+    }
+}
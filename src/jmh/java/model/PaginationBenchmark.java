@@ -0,0 +1,69 @@
+package model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading the first 50 results of a query as one page against running the whole query,
+ * at growing catalog sizes. The page should cost about the same at every size when the query has no
+ * constraints, and grow only with the matching work for a filter.
+ * <ul>
+ *     <li>{@code byName}: every Pokemon by name</li>
+ *     <li>{@code fire}: FIRE types in collection order</li>
+ *     <li>{@code search}: names containing "char", by name</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PaginationBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"10000", "100000", "1000000"})
+    private int count;
+
+    @Param({"byName", "fire", "search"})
+    private String shape;
+
+    private QueryEngine engine;
+    private PokemonQuery query;
+
+    @Setup(Level.Trial)
+    public void createCatalog() {
+        engine = new QueryEngine(SyntheticCatalog.create(count));
+        query = switch (shape) {
+            case "byName" -> new PokemonQuery().sortBy(SortIndex.Key.NAME, false);
+            case "fire" -> new PokemonQuery().withAnyType(PokemonType.FIRE);
+            case "search" -> new PokemonQuery().nameContains("char").sortBy(SortIndex.Key.NAME, false);
+            default -> throw new IllegalStateException("Unknown shape " + shape);
+        };
+        // Build the cached sort order outside the measurement
+        engine.execute(new PokemonQuery().sortBy(SortIndex.Key.NAME, false).limit(1));
+    }
+
+    @Benchmark
+    public List<Pokemon> wholeQuery() {
+        return engine.execute(query);
+    }
+
+    @Benchmark
+    public PokemonPage firstPage() {
+        return engine.page(query, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public PokemonPage secondPageByCursor() {
+        return QueryEngine.page(engine.page(query, 0, PAGE_SIZE).getNextCursor(), PAGE_SIZE);
+    }
+}
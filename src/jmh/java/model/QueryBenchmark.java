@@ -0,0 +1,87 @@
+package model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Measures combined queries over a million synthetic Pokemon.
+ * The stream version filters the whole list, sorts the matches and cuts them to the limit;
+ * the engine version runs the same {@link PokemonQuery} through a {@link QueryEngine}.
+ * <ul>
+ *     <li>{@code fastFire}: FIRE types with speed of at least 150, fastest first, top 20</li>
+ *     <li>{@code nameAndHp}: names containing "char" with HP 50 to 100, by name, top 50</li>
+ *     <li>{@code topAttack}: no filter, strongest attack first, top 10</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QueryBenchmark {
+
+    @Param({"1000000"})
+    private int count;
+
+    @Param({"fastFire", "nameAndHp", "topAttack"})
+    private String shape;
+
+    private List<Pokemon> catalog;
+    private QueryEngine engine;
+    private PokemonQuery query;
+    private Predicate<Pokemon> predicate;
+    private Comparator<Pokemon> comparator;
+
+    @Setup(Level.Trial)
+    public void createCatalog() {
+        catalog = SyntheticCatalog.create(count);
+        engine = new QueryEngine(catalog);
+        switch (shape) {
+            case "fastFire" -> {
+                query = new PokemonQuery().withAnyType(PokemonType.FIRE).statBetween(PokemonStat.SPEED, 150, 255)
+                        .sortBy(SortIndex.Key.SPEED, true).limit(20);
+                predicate = p -> p.getTypes().contains(PokemonType.FIRE) && p.getStats().getSpeed() >= 150;
+                comparator = Comparator.comparingInt((Pokemon p) -> p.getStats().getSpeed()).reversed();
+            }
+            case "nameAndHp" -> {
+                query = new PokemonQuery().nameContains("char").statBetween(PokemonStat.HP, 50, 100)
+                        .sortBy(SortIndex.Key.NAME, false).limit(50);
+                predicate = p -> p.getName().toLowerCase().contains("char")
+                        && p.getStats().getHp() >= 50 && p.getStats().getHp() <= 100;
+                comparator = Comparator.comparing(Pokemon::getName);
+            }
+            default -> {
+                query = new PokemonQuery().sortBy(SortIndex.Key.ATTACK, true).limit(10);
+                predicate = p -> true;
+                comparator = Comparator.comparingInt((Pokemon p) -> p.getStats().getAttack()).reversed();
+            }
+        }
+        // Build the cached orders the query uses, as the first query after a load would
+        engine.execute(query);
+    }
+
+    @Benchmark
+    public List<Pokemon> stream() {
+        return catalog.stream()
+                .filter(predicate)
+                .sorted(comparator)
+                .limit(query.getLimit())
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Pokemon> engine() {
+        return engine.execute(query);
+    }
+}
@@ -0,0 +1,74 @@
+package model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares latency and allocation per document of the streaming parser against the JsonNode tree parser
+ * it replaced. The moves count sets the document size: real PokeAPI documents carry roughly 50 to 600 moves.
+ * Allocation per operation comes from the gc profiler configured in build.gradle.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseParserBenchmark {
+
+    @Param({"0", "100", "600"})
+    private int moveCount;
+
+    private byte[] document;
+    private ObjectMapper objectMapper;
+    private PokemonResponseParser streamingParser;
+
+    @Setup
+    public void createDocument() {
+        document = InMemoryPokemonSource.syntheticDocument(25, moveCount).getBytes(StandardCharsets.UTF_8);
+        objectMapper = new ObjectMapper();
+        streamingParser = new PokemonResponseParser(objectMapper.getFactory());
+    }
+
+    @Benchmark
+    public Pokemon streamingParser() throws IOException {
+        return streamingParser.parse(new ByteArrayInputStream(document));
+    }
+
+    @Benchmark
+    public Pokemon treeParser() throws IOException {
+        // The previous parseApiResponse: decode to a String, build the full tree, then pick fields out of it
+        JsonNode jsonNode = objectMapper.readTree(new String(document, StandardCharsets.UTF_8));
+        int id = jsonNode.get("id").asInt();
+        String name = jsonNode.get("name").asText();
+        String imageUrl = jsonNode.get("sprites").get("front_default").asText();
+
+        List<PokemonType> types = new ArrayList<>();
+        jsonNode.get("types").forEach(type -> types.add(PokemonType.fromApiName(type.get("type").get("name").asText())));
+
+        int[] stats = new int[6];
+        String[] statNames = {"hp", "attack", "defense", "special-attack", "special-defense", "speed"};
+        for (JsonNode statNode : jsonNode.get("stats")) {
+            String statName = statNode.get("stat").get("name").asText();
+            for (int i = 0; i < statNames.length; i++) {
+                if (statNames[i].equals(statName)) {
+                    stats[i] = statNode.get("base_stat").asInt();
+                }
+            }
+        }
+        return new Pokemon(id, name, imageUrl, types,
+                new Pokemon.PokemonStats(stats[0], stats[1], stats[2], stats[3], stats[4], stats[5]));
+    }
+}
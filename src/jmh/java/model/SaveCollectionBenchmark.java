@@ -0,0 +1,95 @@
+package model;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures saveCollection, loadCollection and streamCollection on real files for 10,000 and
+ * 1,000,000 Pokemon in each saved format: compact JSON, gzip-compressed JSON and the binary snapshot.
+ * Saves include the fsync and atomic rename. The bytesWritten and bytesRead secondary results are
+ * rates in bytes per second; dividing bytesWritten by the save score gives the size of one file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SaveCollectionBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int count;
+
+    @Param({".json", ".json.gz", ".pkmn"})
+    private String extension;
+
+    private List<Pokemon> collection;
+    private Path directory;
+    private String filename;
+    private PokemonModel model;
+
+    /**
+     * Counts the bytes moved to and from disk next to each result.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Transferred {
+        public long bytesWritten;
+        public long bytesRead;
+    }
+
+    @Setup(Level.Trial)
+    public void createCollection() throws IOException {
+        collection = SyntheticCatalog.create(count);
+        directory = Files.createTempDirectory("save-benchmark");
+        filename = directory.resolve("collection" + extension).toString();
+        model = new PokemonModel(new InMemoryPokemonSource());
+        model.saveCollection(collection, filename);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws IOException {
+        model.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void save(Transferred transferred) throws IOException {
+        model.saveCollection(collection, filename);
+        transferred.bytesWritten += Files.size(Path.of(filename));
+    }
+
+    @Benchmark
+    public List<Pokemon> load(Transferred transferred) throws IOException {
+        List<Pokemon> loaded = model.loadCollection(filename);
+        transferred.bytesRead += Files.size(Path.of(filename));
+        return loaded;
+    }
+
+    @Benchmark
+    public void stream(Transferred transferred, Blackhole blackhole) throws IOException {
+        long[] bytesRead = new long[1];
+        try (Stream<Pokemon> pokemon = model.streamCollection(filename,
+                (pokemonRead, bytes, totalBytes) -> bytesRead[0] = bytes)) {
+            pokemon.forEach(blackhole::consume);
+        }
+        transferred.bytesRead += bytesRead[0];
+    }
+}
@@ -0,0 +1,93 @@
+package model;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the compact JSON collection format against the binary snapshot format
+ * on save and load throughput for 1,000 and 10,000 Pokemon.
+ * Files are written to memory so the numbers measure encoding rather than the disk.
+ * The size of one saved collection is reported as the savedBytes secondary result.
+ * SaveCollectionBenchmark measures the same formats through the model, on disk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SnapshotFormatBenchmark {
+
+    @Param({"1000", "10000"})
+    private int count;
+
+    @Param({"json", "snapshot"})
+    private String format;
+
+    private List<Pokemon> collection;
+    private byte[] saved;
+    private ObjectMapper objectMapper;
+    private PokemonSnapshotCodec snapshotCodec;
+
+    /**
+     * Reports the size of the saved collection next to each result.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class SavedSize {
+        public long savedBytes;
+    }
+
+    @Setup(Level.Trial)
+    public void createCollection() throws IOException {
+        objectMapper = new ObjectMapper();
+        snapshotCodec = new PokemonSnapshotCodec();
+        PokemonResponseParser parser = new PokemonResponseParser(objectMapper.getFactory());
+        collection = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            collection.add(parser.parse(InMemoryPokemonSource.syntheticDocument(id, 0).getBytes(StandardCharsets.UTF_8)));
+        }
+        saved = encode();
+    }
+
+    @Benchmark
+    public byte[] save(SavedSize size) throws IOException {
+        byte[] bytes = encode();
+        size.savedBytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public List<Pokemon> load() throws IOException {
+        if ("json".equals(format)) {
+            // The same TypeReference bind loadCollection uses for JSON files
+            return objectMapper.readValue(new ByteArrayInputStream(saved), new TypeReference<List<Pokemon>>() {});
+        }
+        return snapshotCodec.read(new ByteArrayInputStream(saved));
+    }
+
+    private byte[] encode() throws IOException {
+        if ("json".equals(format)) {
+            // The same compact array saveCollection streams to JSON files
+            return objectMapper.writeValueAsBytes(collection);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        snapshotCodec.write(collection, out);
+        return out.toByteArray();
+    }
+}
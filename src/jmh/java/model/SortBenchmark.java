@@ -0,0 +1,75 @@
+package model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one change of the list panel's type filter or sort option: filter by type, then order.
+ * The comparator sort is the panel's old path, sorting the filtered list on every change;
+ * the cached order is a pass over a {@link SortIndex} permutation that was sorted once.
+ * Both use the same {@link TypeIndex} filter, so the difference is the sort.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SortBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int count;
+
+    @Param({"NAME_DESC", "ID_DESC", "HP_DESC"})
+    private String option;
+
+    private TypeIndex typeIndex;
+    private SortIndex sortIndex;
+    private Comparator<Pokemon> comparator;
+    private SortIndex.Key key;
+
+    @Setup(Level.Trial)
+    public void createCatalog() {
+        List<Pokemon> catalog = SyntheticCatalog.create(count);
+        typeIndex = new TypeIndex(catalog);
+        sortIndex = new SortIndex(catalog);
+        switch (option) {
+            case "NAME_DESC" -> {
+                comparator = Comparator.comparing(Pokemon::getName).reversed();
+                key = SortIndex.Key.NAME;
+            }
+            case "ID_DESC" -> {
+                comparator = Comparator.comparingInt(Pokemon::getId).reversed();
+                key = SortIndex.Key.ID;
+            }
+            default -> {
+                comparator = Comparator.comparingInt((Pokemon p) -> p.getStats().getHp()).reversed();
+                key = SortIndex.Key.HP;
+            }
+        }
+        // Sort once up front, as the panel does on the first change after the collection is loaded
+        sortIndex.select(null, key, true);
+    }
+
+    @Benchmark
+    public List<Pokemon> comparatorSort() {
+        List<Pokemon> filtered = typeIndex.filter(PokemonType.FIRE);
+        filtered.sort(comparator);
+        return filtered;
+    }
+
+    @Benchmark
+    public List<Pokemon> cachedOrder() {
+        BitSet positions = typeIndex.positionsOf(PokemonType.FIRE);
+        return sortIndex.select(positions, key, true);
+    }
+}
@@ -0,0 +1,78 @@
+package model;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Local PokeAPI stand-in for benchmarks.
+ * Serves {@link InMemoryPokemonSource#syntheticDocument} documents at /api/v2/pokemon/{id} after a fixed delay
+ * that stands in for the network round trip.
+ */
+public class StubPokeApiServer implements AutoCloseable {
+    private final HttpServer server;
+    private final ExecutorService handlerPool;
+    private final long latencyMillis;
+    private final int moveCount;
+
+    /**
+     * Starts a server on a free local port.
+     *
+     * @param latencyMillis delay added before every response
+     * @param moveCount number of padding entries in each document's moves array
+     * @throws IOException if the server cannot bind
+     */
+    public StubPokeApiServer(long latencyMillis, int moveCount) throws IOException {
+        this.latencyMillis = latencyMillis;
+        this.moveCount = moveCount;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.handlerPool = Executors.newFixedThreadPool(128);
+        server.setExecutor(handlerPool);
+        server.createContext("/api/v2/pokemon/", this::handle);
+        server.start();
+    }
+
+    /**
+     * Gets the base URL that Pokemon IDs are appended to.
+     *
+     * @return the stub's Pokemon endpoint
+     */
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/api/v2/pokemon/";
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String idText = path.substring(path.lastIndexOf('/') + 1);
+        try {
+            if (latencyMillis > 0) {
+                Thread.sleep(latencyMillis);
+            }
+            byte[] body = InMemoryPokemonSource.syntheticDocument(Integer.parseInt(idText), moveCount).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (NumberFormatException e) {
+            exchange.sendResponseHeaders(404, -1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.sendResponseHeaders(503, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        handlerPool.shutdownNow();
+    }
+}
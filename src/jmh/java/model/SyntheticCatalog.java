@@ -0,0 +1,68 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds large catalogs of made-up Pokemon for benchmarks that need more entries than PokeAPI has.
+ * Every Pokemon gets a distinct pronounceable name built from syllables, so name searches see
+ * realistic substring overlap, and one or two types spread evenly over all eighteen.
+ */
+final class SyntheticCatalog {
+    private static final String[] SYLLABLES = {
+        "bul", "ba", "saur", "char", "man", "der", "squir", "tle", "pi", "ka", "chu", "jig", "gly", "puff",
+        "zu", "bat", "od", "dish", "mew", "two", "eev", "ee", "va", "por", "eon", "dra", "go", "nite",
+        "lap", "ras", "sny", "lax"
+    };
+    private static final PokemonType[] TYPES = PokemonType.values();
+    private static final String SPRITE_URL = "https://raw.githubusercontent.com/PokeAPI/sprites/master/sprites/pokemon/";
+
+    private SyntheticCatalog() {
+    }
+
+    /**
+     * Creates a catalog of Pokemon with IDs 1 to count.
+     *
+     * @param count the number of Pokemon
+     * @return the catalog in ID order
+     */
+    static List<Pokemon> create(int count) {
+        List<Pokemon> catalog = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            catalog.add(pokemon(id));
+        }
+        return catalog;
+    }
+
+    /**
+     * Creates the synthetic Pokemon for an ID. The same ID always gives the same Pokemon.
+     *
+     * @param id the Pokemon ID
+     * @return the Pokemon
+     */
+    static Pokemon pokemon(int id) {
+        PokemonType first = TYPES[id % TYPES.length];
+        List<PokemonType> types = id % 3 == 0
+                ? List.of(first, TYPES[(id / 3 + 5) % TYPES.length])
+                : List.of(first);
+        if (types.size() == 2 && types.get(0) == types.get(1)) {
+            types = List.of(first);
+        }
+        return new Pokemon(id, name(id), SPRITE_URL + id + ".png", types,
+                new Pokemon.PokemonStats(20 + (id * 7) % 150, 20 + (id * 11) % 150, 20 + (id * 13) % 150,
+                        20 + (id * 17) % 150, 20 + (id * 19) % 150, 20 + (id * 23) % 150));
+    }
+
+    /**
+     * Spells an ID in base 32 with one syllable per digit, so names are unique per ID.
+     */
+    private static String name(int id) {
+        StringBuilder name = new StringBuilder();
+        int remaining = id;
+        do {
+            name.append(SYLLABLES[remaining % SYLLABLES.length]);
+            remaining /= SYLLABLES.length;
+        } while (remaining > 0);
+        return name.toString();
+    }
+}
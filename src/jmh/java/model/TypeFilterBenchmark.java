@@ -0,0 +1,86 @@
+package model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares type filters answered by scanning every Pokemon's type list against the same filters
+ * answered from a {@link TypeIndex}, on a catalog of synthetic Pokemon.
+ * The single-type filter is the type combo box; the combination is Fire or Dragon, but not Flying.
+ * The count benchmarks only evaluate the filter, the others also build the result list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TypeFilterBenchmark {
+    private static final Set<PokemonType> ANY_OF = EnumSet.of(PokemonType.FIRE, PokemonType.DRAGON);
+    private static final Set<PokemonType> NONE_OF = EnumSet.of(PokemonType.FLYING);
+
+    @Param({"1000000"})
+    private int count;
+
+    private List<Pokemon> catalog;
+    private TypeIndex index;
+
+    @Setup(Level.Trial)
+    public void createCatalog() {
+        catalog = SyntheticCatalog.create(count);
+        index = new TypeIndex(catalog);
+    }
+
+    @Benchmark
+    public List<Pokemon> singleTypeScan() {
+        return catalog.stream()
+                .filter(pokemon -> pokemon.getTypes().contains(PokemonType.FIRE))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Pokemon> singleTypeIndexed() {
+        return index.filter(PokemonType.FIRE);
+    }
+
+    @Benchmark
+    public long combinationCountScan() {
+        return catalog.stream()
+                .filter(pokemon -> ANY_OF.stream().anyMatch(pokemon.getTypes()::contains))
+                .filter(pokemon -> NONE_OF.stream().noneMatch(pokemon.getTypes()::contains))
+                .count();
+    }
+
+    @Benchmark
+    public long combinationCountIndexed() {
+        return index.positionsMatching(null, ANY_OF, NONE_OF).cardinality();
+    }
+
+    @Benchmark
+    public List<Pokemon> combinationScan() {
+        return catalog.stream()
+                .filter(pokemon -> ANY_OF.stream().anyMatch(pokemon.getTypes()::contains))
+                .filter(pokemon -> NONE_OF.stream().noneMatch(pokemon.getTypes()::contains))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Pokemon> combinationIndexed() {
+        return index.filter(null, ANY_OF, NONE_OF);
+    }
+
+    @Benchmark
+    public TypeIndex buildIndex() {
+        return new TypeIndex(catalog);
+    }
+}
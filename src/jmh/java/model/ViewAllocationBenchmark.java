@@ -0,0 +1,109 @@
+package model;
+
+import controller.IPokemonController;
+import controller.PokemonController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the controller's copying list APIs against the view and stream APIs for a caller that only
+ * iterates the result, here by summing IDs. The gc profiler's gc.alloc.rate.norm is the number to read:
+ * the copying calls allocate a list per call, while views allocate a few objects however large the result.
+ * <ul>
+ *     <li>{@code all*}: the whole collection, through searchPokemon("") or streamPokemon()</li>
+ *     <li>{@code sorted*}: the collection by name, through sortPokemonByName() or viewPokemonSortedByName()</li>
+ *     <li>{@code fire*}: the FIRE Pokemon, through filterPokemonByType or viewPokemonByType</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ViewAllocationBenchmark {
+
+    @Param({"100000"})
+    private int count;
+
+    private IPokemonController controller;
+
+    /**
+     * Hands the controller a synthetic catalog in place of a fetch.
+     */
+    private static class SyntheticModel implements IPokemonModel {
+        @Override
+        public Pokemon fetchPokemonById(int id) {
+            return SyntheticCatalog.pokemon(id);
+        }
+
+        @Override
+        public List<Pokemon> fetchMultiplePokemon(int count) {
+            return SyntheticCatalog.create(count);
+        }
+
+        @Override
+        public void saveCollection(List<Pokemon> collection, String filename) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Pokemon> loadCollection(String filename) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void createController() {
+        controller = new PokemonController(new SyntheticModel());
+        controller.fetchInitialPokemon(count);
+        // Build the cached orders and position arrays the views read
+        controller.viewPokemonSortedByName();
+        controller.viewPokemonByType(PokemonType.FIRE);
+    }
+
+    private static long sumIds(List<Pokemon> pokemon) {
+        long sum = 0;
+        for (Pokemon each : pokemon) {
+            sum += each.getId();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long allCopy() {
+        return sumIds(controller.searchPokemon(""));
+    }
+
+    @Benchmark
+    public long allStream() {
+        return controller.streamPokemon().mapToLong(Pokemon::getId).sum();
+    }
+
+    @Benchmark
+    public long sortedCopy() {
+        return sumIds(controller.sortPokemonByName());
+    }
+
+    @Benchmark
+    public long sortedView() {
+        return sumIds(controller.viewPokemonSortedByName());
+    }
+
+    @Benchmark
+    public long fireCopy() {
+        return sumIds(controller.filterPokemonByType(PokemonType.FIRE));
+    }
+
+    @Benchmark
+    public long fireView() {
+        return sumIds(controller.viewPokemonByType(PokemonType.FIRE));
+    }
+}
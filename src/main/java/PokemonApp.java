@@ -1,11 +1,19 @@
 import controller.IPokemonController;
 import controller.PokemonController;
-import model.IPokemonModel;
+import model.DirectoryPokemonSource;
+import model.FetchResilience;
+import model.HttpPokemonSource;
+import model.HttpResponseCache;
 import model.PokemonModel;
+import model.TeamJournal;
 import view.IPokemonView;
 import view.MainPokemonFrame;
 
 import javax.swing.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 
 
 /**
@@ -13,6 +21,10 @@ import javax.swing.*;
  * Creates and connects the Model, View, and Controller components.
  */
 public class PokemonApp {
+    private static final Path CACHE_DIRECTORY = Paths.get(System.getProperty("user.home"), ".pokellection", "http-cache");
+    private static final Duration CACHE_TTL = Duration.ofDays(7);
+    private static final long CACHE_MAX_BYTES = 64L * 1024 * 1024;
+    private static final Path TEAM_DIRECTORY = Paths.get(System.getProperty("user.home"), ".pokellection", "teams");
 
     /**
      * Main method that launches the application.
@@ -34,7 +46,9 @@ public class PokemonApp {
      */
     private void initializeApplication() {
         // Create model
-        IPokemonModel model = new PokemonModel();
+        PokemonModel model = createModel();
+        Runtime.getRuntime().addShutdownHook(new Thread(model::close));
+        openTeamJournal(model);
 
         // Create controller with reference to model
         IPokemonController controller = new PokemonController(model);
@@ -45,26 +59,78 @@ public class PokemonApp {
         // Display the view
         view.display();
 
-        // Load data in a background thread to keep UI responsive
-        new Thread(() -> {
-            // Fetch initial data
-            System.out.println("Loading Pokemon data, please wait...");
-            controller.fetchInitialPokemon(100); // Load first 100 Pokemon
-
-            // Use SwingUtilities.invokeLater to update UI components
-            // This ensures UI updates happen on the EDT for thread safety
-            SwingUtilities.invokeLater(() -> {
-                // Update the list panel with all loaded Pokemon
-                view.updatePokemonList(controller.getPokemonCollection());
-
-                // If Pokemon were successfully loaded, show the first one in the details panel
-                if (!controller.getPokemonCollection().isEmpty()) {
-                    view.showPokemonDetails(controller.getPokemonCollection().get(0));
-                }
+        // Pokemon recovered by background retries are added to the collection later; show them on the EDT
+        controller.addCollectionListener(pokemonList ->
+                SwingUtilities.invokeLater(() -> view.updatePokemonList(pokemonList)));
+
+        // Load data asynchronously to keep UI responsive
+        System.out.println("Loading Pokemon data, please wait...");
+        controller.fetchInitialPokemonAsync(100) // Load first 100 Pokemon
+                .thenAccept(pokemonList ->
+                        // Use SwingUtilities.invokeLater to update UI components
+                        // This ensures UI updates happen on the EDT for thread safety
+                        SwingUtilities.invokeLater(() -> {
+                            // Update the list panel with all loaded Pokemon
+                            view.updatePokemonList(pokemonList);
 
-                System.out.println("Application initialized successfully!");
-            });
-        }).start(); // The start() method begins execution of the new thread
+                            // If Pokemon were successfully loaded, show the first one in the details panel
+                            if (!pokemonList.isEmpty()) {
+                                view.showPokemonDetails(pokemonList.get(0));
+                            }
+
+                            System.out.println("Application initialized successfully!");
+                        }));
     }
-}
 
+    /**
+     * Creates the model with a disk response cache so later launches skip or revalidate downloads.
+     * Run with -Dpokellection.offline=true to serve only from the cache, or with
+     * -Dpokellection.dataDir=/path/to/api-data/data to read a local PokeAPI dump instead of the network.
+     *
+     * @return the Pokemon model
+     */
+    private PokemonModel createModel() {
+        String dataDirectory = System.getProperty("pokellection.dataDir");
+        if (dataDirectory != null) {
+            try {
+                return new PokemonModel(new DirectoryPokemonSource(Paths.get(dataDirectory)));
+            } catch (IOException e) {
+                System.err.println("Error opening PokeAPI dump, using the network instead: " + e.getMessage());
+            }
+        }
+
+        HttpResponseCache responseCache = null;
+        try {
+            responseCache = new HttpResponseCache(CACHE_DIRECTORY, CACHE_TTL, CACHE_MAX_BYTES);
+        } catch (IOException e) {
+            System.err.println("Response cache unavailable, downloading without it: " + e.getMessage());
+        }
+
+        HttpPokemonSource source = new HttpPokemonSource(PokemonModel.POKEAPI_BASE_URL, responseCache,
+                FetchResilience.defaults());
+        source.setOfflineMode(Boolean.getBoolean("pokellection.offline"));
+        return new PokemonModel(source);
+    }
+
+    /**
+     * Opens the journal saved teams are appended to, and closes it on exit so the next launch
+     * starts from a fresh index checkpoint. Without it the app still runs, but teams cannot be saved.
+     *
+     * @param model the model to save teams through
+     */
+    private void openTeamJournal(PokemonModel model) {
+        try {
+            TeamJournal teamJournal = new TeamJournal(TEAM_DIRECTORY);
+            model.setTeamJournal(teamJournal);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    teamJournal.close();
+                } catch (IOException e) {
+                    System.err.println("Error closing team journal: " + e.getMessage());
+                }
+            }));
+        } catch (IOException e) {
+            System.err.println("Team journal unavailable, teams cannot be saved: " + e.getMessage());
+        }
+    }
+}
\ No newline at end of file
@@ -1,9 +1,16 @@
 package controller;
 
 import model.Pokemon;
+import model.PokemonPage;
+import model.PokemonQuery;
 import model.PokemonType;
+import model.SortIndex;
 
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Interface for Pokemon Controller defining the contract for
@@ -18,13 +25,37 @@ public interface IPokemonController {
      */
     void fetchInitialPokemon(int count);
 
+    /**
+     * Fetches initial Pokemon data from the model without blocking the caller.
+     *
+     * @param count the number of Pokemon to fetch
+     * @return a future completed with the loaded collection once it replaces the current one
+     */
+    CompletableFuture<List<Pokemon>> fetchInitialPokemonAsync(int count);
+
     /**
      * Returns the current Pokemon collection.
      *
-     * @return the current list of Pokemon
+     * @return the current list of Pokemon, which may be read-only
      */
     List<Pokemon> getPokemonCollection();
 
+    /**
+     * Gets the version of the current collection, which changes each time the collection is replaced.
+     *
+     * @return the collection version
+     */
+    long getCollectionVersion();
+
+    /**
+     * Adds a listener called with the new collection whenever it changes in the background rather than
+     * through a call on this controller, such as when a retry recovers a Pokemon whose first fetch failed.
+     * The listener runs on a background thread, so a view should hand the update to its own thread.
+     *
+     * @param listener the listener
+     */
+    void addCollectionListener(Consumer<List<Pokemon>> listener);
+
     /**
      * Saves the current Pokemon collection to a file.
      *
@@ -33,13 +64,39 @@ public interface IPokemonController {
     void saveCollection(String filename);
 
     /**
-     * Searches Pokemon by name.
+     * Saves a team of Pokemon as a new entry in the team store.
      *
-     * @param searchTerm the name to search for
-     * @return list of Pokemon matching the search term
+     * @param team the Pokemon in the team
+     * @return the new team's ID, or -1 if the team could not be saved
+     */
+    int saveTeam(List<Pokemon> team);
+
+    /**
+     * Searches Pokemon by name or ID, ignoring case.
+     *
+     * @param searchTerm the text to search for in names and IDs
+     * @return list of Pokemon whose name or ID contains the search term
      */
     List<Pokemon> searchPokemon(String searchTerm);
 
+    /**
+     * Searches Pokemon by name, tolerating typos.
+     *
+     * @param searchTerm the name to search for
+     * @param maxDistance the most single-character edits a match's name may be from the search term
+     * @return list of Pokemon within the distance, closest first and then by ID
+     */
+    List<Pokemon> searchPokemonFuzzy(String searchTerm, int maxDistance);
+
+    /**
+     * Searches Pokemon by name, tolerating as many typos as suit the search term's length:
+     * none for short terms, which are close to too many names, then one, then two for long terms.
+     *
+     * @param searchTerm the name to search for
+     * @return list of Pokemon within the allowed distance, closest first and then by ID
+     */
+    List<Pokemon> searchPokemonFuzzy(String searchTerm);
+
     /**
      * Sorts Pokemon by name alphabetically.
      *
@@ -47,6 +104,74 @@ public interface IPokemonController {
      */
     List<Pokemon> sortPokemonByName();
 
+    /**
+     * Finds Pokemon matching a combination of name text, types and stat ranges, optionally ordered and limited.
+     *
+     * @param query the query to run
+     * @return the matching Pokemon, in the query's order and cut to its limit
+     */
+    List<Pokemon> queryPokemon(PokemonQuery query);
+
+    /**
+     * Gets the Pokemon sorted by name as a read-only view, without copying them.
+     *
+     * @return the sorted view
+     */
+    List<Pokemon> viewPokemonSortedByName();
+
+    /**
+     * Gets the Pokemon ordered by a key as a read-only view, without copying or sorting them.
+     *
+     * @param key the key to order by
+     * @param descending whether to put the largest keys first
+     * @return the sorted view
+     */
+    List<Pokemon> viewPokemonSorted(SortIndex.Key key, boolean descending);
+
+    /**
+     * Gets the Pokemon of a type as a read-only view in collection order, without copying them.
+     *
+     * @param type the type to filter by, or null for every Pokemon
+     * @return the filtered view
+     */
+    List<Pokemon> viewPokemonByType(PokemonType type);
+
+    /**
+     * Streams the current collection without copying it. The stream can be split for parallel processing.
+     *
+     * @return the collection as a stream
+     */
+    Stream<Pokemon> streamPokemon();
+
+    /**
+     * Streams the results of a query without collecting them into a list first.
+     *
+     * @param query the query to run
+     * @return the matching Pokemon, in the query's order and cut to its limit
+     */
+    Stream<Pokemon> streamPokemon(PokemonQuery query);
+
+    /**
+     * Gets one page of a query's results together with the total number of results.
+     * Name search, type filters and orders are all expressed as the query.
+     *
+     * @param query the query to run
+     * @param offset the index of the page's first result
+     * @param pageSize the maximum number of Pokemon on the page
+     * @return the page, with a cursor to the next one if more results follow
+     */
+    PokemonPage pagePokemon(PokemonQuery query, int offset, int pageSize);
+
+    /**
+     * Gets the page after the one a cursor came from. Pages read through cursors come from the same
+     * results as the first page, so they never skip or repeat a Pokemon while the collection changes.
+     *
+     * @param cursor the cursor from the previous page
+     * @param pageSize the maximum number of Pokemon on the page
+     * @return the page, with a cursor to the next one if more results follow
+     */
+    PokemonPage pagePokemon(PokemonPage.Cursor cursor, int pageSize);
+
     /**
      * Filters Pokemon by type.
      *
@@ -55,6 +180,17 @@ public interface IPokemonController {
      */
     List<Pokemon> filterPokemonByType(PokemonType type);
 
+    /**
+     * Filters Pokemon by a combination of types, such as Fire but not Flying,
+     * or Water or Ice.
+     *
+     * @param allOf types a Pokemon must all have, or empty for no constraint
+     * @param anyOf types a Pokemon must have at least one of, or empty for no constraint
+     * @param noneOf types a Pokemon must not have, or empty for no constraint
+     * @return list of matching Pokemon
+     */
+    List<Pokemon> filterPokemonByTypes(Set<PokemonType> allOf, Set<PokemonType> anyOf, Set<PokemonType> noneOf);
+
     /**
      * Gets a Pokemon by its ID.
      *
@@ -62,4 +198,12 @@ public interface IPokemonController {
      * @return the Pokemon with the specified ID, or null if not found
      */
     Pokemon getPokemonById(int id);
+
+    /**
+     * Gets several Pokemon by their IDs.
+     *
+     * @param ids the Pokemon IDs
+     * @return a list the same length as the IDs, holding each ID's Pokemon or null if not found
+     */
+    List<Pokemon> getPokemonByIds(int[] ids);
 }
\ No newline at end of file
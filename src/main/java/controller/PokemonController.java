@@ -1,24 +1,96 @@
 package controller;
 
+import model.BulkFetchResult;
+import model.FuzzyNameIndex;
 import model.IPokemonModel;
+import model.IdIndex;
+import model.NameIndex;
 import model.Pokemon;
+import model.PokemonPage;
+import model.PokemonQuery;
 import model.PokemonType;
+import model.QueryEngine;
+import model.SortIndex;
+import model.TypeIndex;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Controller class that mediates between the Pokemon Model and View.
  * Implements IPokemonController interface and manages the business logic.
+ * <p>
+ * The collection and its indexes are published as one immutable snapshot through an atomic reference.
+ * Loads replace the snapshot from a background thread while the UI reads it on the event dispatch thread;
+ * each read works from the one snapshot it fetched, so it never sees a collection with another's indexes.
+ * Pokemon that the model recovers with a background retry are added to the current snapshot as they arrive.
  */
 public class PokemonController implements IPokemonController {
 
+    private static final int FUZZY_MIN_LENGTH = 4; // Shorter terms are too close to too many names
+    private static final int FUZZY_TWO_TYPO_LENGTH = 7;
+
     // Instance variables as per UML
     private final IPokemonModel model;
-    private List<Pokemon> currentPokemonList;
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private final List<Consumer<List<Pokemon>>> collectionListeners = new CopyOnWriteArrayList<>();
+    private final Queue<Pokemon> recovered = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean publishingRecovered = new AtomicBoolean();
+    private long notifiedVersion; // Only touched by the thread publishing recoveries
+
+    /**
+     * One published version of the collection together with every index built over it.
+     * A snapshot never changes once published. The fuzzy name index is the one exception: it is built
+     * on first use, but from the snapshot's own collection, so it always matches the rest.
+     */
+    private static final class Snapshot {
+        private final long version;
+        private final List<Pokemon> pokemon;
+        private final IdIndex idIndex;
+        private final QueryEngine queryEngine;
+        private volatile FuzzyNameIndex fuzzyNameIndex;
+
+        private Snapshot(long version, List<Pokemon> pokemon, IdIndex idIndex, QueryEngine queryEngine) {
+            this.version = version;
+            this.pokemon = pokemon;
+            this.idIndex = idIndex;
+            this.queryEngine = queryEngine;
+        }
+
+        private TypeIndex typeIndex() {
+            return queryEngine.getTypeIndex();
+        }
+
+        private NameIndex nameIndex() {
+            return queryEngine.getNameIndex();
+        }
+
+        /**
+         * Gets the fuzzy name index, building it on first use. Two readers may both build it; either result is correct.
+         */
+        private FuzzyNameIndex fuzzyNameIndex() {
+            FuzzyNameIndex index = fuzzyNameIndex;
+            if (index == null) {
+                index = new FuzzyNameIndex(pokemon);
+                fuzzyNameIndex = index;
+            }
+            return index;
+        }
+    }
 
     /**
      * Constructor initializes the controller with a reference to the model.
@@ -27,7 +99,8 @@ public class PokemonController implements IPokemonController {
      */
     public PokemonController(IPokemonModel model) {
         this.model = model;
-        this.currentPokemonList = new ArrayList<>();
+        replaceCollection(new ArrayList<>());
+        model.addRetryListener(this::addRecoveredPokemon);
     }
 
     /**
@@ -38,22 +111,196 @@ public class PokemonController implements IPokemonController {
     @Override
     public void fetchInitialPokemon(int count) {
         try {
-            currentPokemonList = model.fetchMultiplePokemon(count);
+            replaceCollection(model.fetchMultiplePokemon(count));
         } catch (Exception e) {
             System.err.println("Error fetching initial Pokemon: " + e.getMessage());
             e.printStackTrace();
-            currentPokemonList = new ArrayList<>(); // Initialize with empty list if fetch fails
+            replaceCollection(new ArrayList<>()); // Initialize with empty list if fetch fails
+        }
+    }
+
+    /**
+     * Fetches initial Pokemon data from the model without blocking the caller.
+     * Failed IDs are logged and left out of the collection.
+     *
+     * @param count the number of Pokemon to fetch
+     * @return a future completed with the loaded collection once it replaces the current one
+     */
+    @Override
+    public CompletableFuture<List<Pokemon>> fetchInitialPokemonAsync(int count) {
+        CompletableFuture<BulkFetchResult> fetch;
+        try {
+            fetch = model.fetchPokemonRangeAsync(1, count);
+        } catch (Exception e) {
+            fetch = CompletableFuture.failedFuture(e);
+        }
+
+        return fetch.handle((result, error) -> {
+            if (error != null) {
+                System.err.println("Error fetching initial Pokemon: " + error.getMessage());
+                error.printStackTrace();
+                replaceCollection(new ArrayList<>()); // Initialize with empty list if fetch fails
+            } else {
+                for (Map.Entry<Integer, Exception> failure : result.getErrors().entrySet()) {
+                    System.err.println("Error fetching Pokemon " + failure.getKey() + ": "
+                            + failure.getValue().getMessage());
+                }
+                replaceCollection(new ArrayList<>(result.getPokemon()));
+            }
+            return getPokemonCollection();
+        });
+    }
+
+    /**
+     * Replaces the current collection. The ID index and the query engine are built first, off to the side,
+     * and then published together with the collection as one new snapshot, so a reader on another thread
+     * sees either the old collection and indexes or the new ones, never a mix, and never waits on a lock.
+     * The collection is copied once into a read-only list that the snapshot, the ID index, the engine
+     * and the engine's indexes all share. The engine also stores it in columns, so its type postings,
+     * sort orders and query checks scan primitive arrays rather than the Pokemon objects.
+     * If two threads replace the collection at once, the one that publishes last wins.
+     *
+     * @param pokemon the new collection
+     */
+    private void replaceCollection(List<Pokemon> pokemon) {
+        List<Pokemon> collection = Collections.unmodifiableList(new ArrayList<>(pokemon));
+        IdIndex idIndex = new IdIndex(collection);
+        QueryEngine queryEngine = new QueryEngine(collection);
+        Snapshot previous;
+        Snapshot next;
+        do {
+            previous = current.get();
+            next = new Snapshot(previous == null ? 0 : previous.version + 1, collection, idIndex, queryEngine);
+        } while (!current.compareAndSet(previous, next));
+    }
+
+    /**
+     * Queues a Pokemon that a background retry recovered and publishes it. Retries complete on several
+     * threads at once, so the thread that finds no publish in progress drains every recovery queued so far
+     * into one new snapshot; recoveries that arrive while it rebuilds the indexes go into its next pass.
+     * A burst of recoveries therefore costs a few rebuilds rather than one per Pokemon.
+     *
+     * @param pokemon the recovered Pokemon
+     */
+    private void addRecoveredPokemon(Pokemon pokemon) {
+        recovered.add(pokemon);
+        // Checking the queue after letting go of the flag catches a recovery queued just before
+        while (!recovered.isEmpty() && publishingRecovered.compareAndSet(false, true)) {
+            try {
+                List<Pokemon> batch = new ArrayList<>();
+                for (Pokemon next = recovered.poll(); next != null; next = recovered.poll()) {
+                    batch.add(next);
+                }
+                if (!batch.isEmpty()) {
+                    publishRecovered(batch);
+                    notifyCollectionListeners();
+                }
+            } finally {
+                publishingRecovered.set(false);
+            }
         }
     }
 
     /**
-     * Returns the current Pokemon collection.
+     * Publishes a new snapshot with a batch of recovered Pokemon merged into the current collection.
+     * The indexes are rebuilt from the snapshot being updated, and rebuilt again if another thread
+     * publishes first.
+     *
+     * @param batch the recovered Pokemon, oldest first
+     */
+    private void publishRecovered(List<Pokemon> batch) {
+        Snapshot previous;
+        Snapshot next;
+        do {
+            previous = current.get();
+            List<Pokemon> collection = withPokemon(previous.pokemon, batch);
+            next = new Snapshot(previous.version + 1, collection, new IdIndex(collection),
+                    new QueryEngine(collection));
+        } while (!current.compareAndSet(previous, next));
+    }
+
+    /**
+     * Calls the collection listeners with the latest snapshot, unless they have already seen it.
+     * Only the thread publishing recoveries calls this, one at a time, and the published version only
+     * goes up, so a listener never gets an older collection after a newer one.
+     */
+    private void notifyCollectionListeners() {
+        Snapshot latest = current.get();
+        if (latest.version <= notifiedVersion) {
+            return;
+        }
+        notifiedVersion = latest.version;
+        for (Consumer<List<Pokemon>> listener : collectionListeners) {
+            listener.accept(latest.pokemon);
+        }
+    }
+
+    /**
+     * Copies a collection with a batch of Pokemon put in place by ID. Each Pokemon replaces any entry with
+     * its ID, or otherwise goes before the first entry with a higher ID, so a collection in ID order stays
+     * in ID order. If the batch holds an ID twice, the later Pokemon wins.
+     *
+     * @param collection the collection to copy
+     * @param batch the Pokemon to add or replace
+     * @return a read-only copy holding the batch
+     */
+    private static List<Pokemon> withPokemon(List<Pokemon> collection, List<Pokemon> batch) {
+        Map<Integer, Pokemon> byId = new TreeMap<>();
+        for (Pokemon pokemon : batch) {
+            byId.put(pokemon.getId(), pokemon);
+        }
+        Iterator<Pokemon> pending = byId.values().iterator();
+        Pokemon next = pending.next();
+
+        List<Pokemon> updated = new ArrayList<>(collection.size() + byId.size());
+        for (Pokemon each : collection) {
+            boolean replaced = false;
+            while (next != null && next.getId() <= each.getId()) {
+                replaced |= next.getId() == each.getId();
+                updated.add(next);
+                next = pending.hasNext() ? pending.next() : null;
+            }
+            if (!replaced) {
+                updated.add(each);
+            }
+        }
+        while (next != null) {
+            updated.add(next);
+            next = pending.hasNext() ? pending.next() : null;
+        }
+        return Collections.unmodifiableList(updated);
+    }
+
+    /**
+     * Returns the current Pokemon collection as a read-only view of the published snapshot, without copying it.
+     * The view does not change if the collection is replaced later.
      *
      * @return the current list of Pokemon
      */
     @Override
     public List<Pokemon> getPokemonCollection() {
-        return new ArrayList<>(currentPokemonList); // Return a copy to avoid external modification
+        return current.get().pokemon;
+    }
+
+    /**
+     * Gets the version of the current collection, which goes up by one each time it is replaced.
+     *
+     * @return the collection version, 0 for the empty collection the controller starts with
+     */
+    @Override
+    public long getCollectionVersion() {
+        return current.get().version;
+    }
+
+    /**
+     * Adds a listener called with the new collection each time a background retry adds a Pokemon to it.
+     * The listener runs on the model's retry thread.
+     *
+     * @param listener the listener
+     */
+    @Override
+    public void addCollectionListener(Consumer<List<Pokemon>> listener) {
+        collectionListeners.add(listener);
     }
 
     /**
@@ -64,13 +311,29 @@ public class PokemonController implements IPokemonController {
     @Override
     public void saveCollection(String filename) {
         try {
-            model.saveCollection(currentPokemonList, filename);
+            model.saveCollection(current.get().pokemon, filename);
         } catch (IOException e) {
             System.err.println("Error saving Pokemon collection: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
+    /**
+     * Saves a team of Pokemon as a new entry in the model's team store.
+     *
+     * @param team the Pokemon in the team
+     * @return the new team's ID, or -1 if the team could not be saved
+     */
+    @Override
+    public int saveTeam(List<Pokemon> team) {
+        try {
+            return model.saveTeam(team);
+        } catch (IOException e) {
+            System.err.println("Error saving team: " + e.getMessage());
+            return -1;
+        }
+    }
+
     /**
      * Loads a Pokemon collection from a file.
      *
@@ -80,21 +343,58 @@ public class PokemonController implements IPokemonController {
 
 
     /**
-     * Searches Pokemon by name.
+     * Searches Pokemon by name or ID using the trigram name index, so only likely matches are checked.
      *
-     * @param searchTerm the name to search for
-     * @return list of Pokemon matching the search term
+     * @param searchTerm the text to search for in names and IDs
+     * @return list of Pokemon matching the search term, in collection order
      */
     @Override
     public List<Pokemon> searchPokemon(String searchTerm) {
+        Snapshot snapshot = current.get();
+        if (searchTerm == null || searchTerm.isEmpty()) {
+            return new ArrayList<>(snapshot.pokemon);
+        }
+
+        return snapshot.nameIndex().search(searchTerm);
+    }
+
+    /**
+     * Searches Pokemon by name, tolerating typos, using a BK-tree over the names.
+     *
+     * @param searchTerm the name to search for
+     * @param maxDistance the most single-character insertions, deletions or substitutions a match may be away
+     * @return list of Pokemon within the distance, closest first and then by ID
+     * @throws IllegalArgumentException if the maximum distance is negative
+     */
+    @Override
+    public List<Pokemon> searchPokemonFuzzy(String searchTerm, int maxDistance) {
+        if (maxDistance < 0) {
+            throw new IllegalArgumentException("Maximum distance cannot be negative");
+        }
         if (searchTerm == null || searchTerm.isEmpty()) {
-            return new ArrayList<>(currentPokemonList);
+            return new ArrayList<>();
+        }
+
+        List<Pokemon> results = new ArrayList<>();
+        for (FuzzyNameIndex.Match match : current.get().fuzzyNameIndex().search(searchTerm, maxDistance)) {
+            results.add(match.getPokemon());
         }
+        return results;
+    }
 
-        String lowerCaseSearchTerm = searchTerm.toLowerCase();
-        return currentPokemonList.stream()
-                .filter(pokemon -> pokemon.getName().toLowerCase().contains(lowerCaseSearchTerm))
-                .collect(Collectors.toList());
+    /**
+     * Searches Pokemon by name, tolerating typos: terms shorter than 4 characters match nothing,
+     * terms shorter than 7 allow one typo, and longer terms allow two.
+     *
+     * @param searchTerm the name to search for
+     * @return list of Pokemon within the allowed distance, closest first and then by ID
+     */
+    @Override
+    public List<Pokemon> searchPokemonFuzzy(String searchTerm) {
+        if (searchTerm == null || searchTerm.length() < FUZZY_MIN_LENGTH) {
+            return new ArrayList<>();
+        }
+        return searchPokemonFuzzy(searchTerm, searchTerm.length() < FUZZY_TWO_TYPO_LENGTH ? 1 : 2);
     }
 
     /**
@@ -104,26 +404,134 @@ public class PokemonController implements IPokemonController {
      */
     @Override
     public List<Pokemon> sortPokemonByName() {
-        List<Pokemon> sortedList = new ArrayList<>(currentPokemonList);
-        sortedList.sort(Comparator.comparing(Pokemon::getName));
-        return sortedList;
+        return current.get().queryEngine.execute(new PokemonQuery().sortBy(SortIndex.Key.NAME, false));
+    }
+
+    /**
+     * Runs a combined query through the query engine, which starts from the most selective index.
+     *
+     * @param query the name text, type sets, stat ranges, order and limit to apply
+     * @return the matching Pokemon, in the query's order and cut to its limit
+     * @throws IllegalArgumentException if the query is null
+     */
+    @Override
+    public List<Pokemon> queryPokemon(PokemonQuery query) {
+        return current.get().queryEngine.execute(query);
+    }
+
+    /**
+     * Gets the Pokemon sorted by name as a read-only view over the sort index's cached name order.
+     *
+     * @return the sorted view
+     */
+    @Override
+    public List<Pokemon> viewPokemonSortedByName() {
+        return viewPokemonSorted(SortIndex.Key.NAME, false);
     }
 
     /**
-     * Filters Pokemon by type.
+     * Gets the Pokemon ordered by a key as a read-only view over the sort index's cached order for that key.
+     * The order is built on first use and then shared by every view of the snapshot.
+     *
+     * @param key the key to order by
+     * @param descending whether to put the largest keys first
+     * @return the sorted view
+     * @throws IllegalArgumentException if the key is null
+     */
+    @Override
+    public List<Pokemon> viewPokemonSorted(SortIndex.Key key, boolean descending) {
+        if (key == null) {
+            throw new IllegalArgumentException("Sort key cannot be null");
+        }
+        return current.get().queryEngine.getSortIndex().view(key, descending);
+    }
+
+    /**
+     * Gets the Pokemon of a type as a read-only view over the type index's postings.
+     *
+     * @param type the type to filter by, or null for every Pokemon
+     * @return the filtered view
+     */
+    @Override
+    public List<Pokemon> viewPokemonByType(PokemonType type) {
+        Snapshot snapshot = current.get();
+        return type == null ? snapshot.pokemon : snapshot.typeIndex().view(type);
+    }
+
+    /**
+     * Streams the current snapshot's collection.
+     *
+     * @return the collection as a stream
+     */
+    @Override
+    public Stream<Pokemon> streamPokemon() {
+        return current.get().pokemon.stream();
+    }
+
+    /**
+     * Streams the results of a query through the query engine, which reads each result as it is consumed.
+     *
+     * @param query the name text, type sets, stat ranges, order and limit to apply
+     * @return the matching Pokemon, in the query's order and cut to its limit
+     * @throws IllegalArgumentException if the query is null
+     */
+    @Override
+    public Stream<Pokemon> streamPokemon(PokemonQuery query) {
+        return current.get().queryEngine.stream(query);
+    }
+
+    /**
+     * Gets one page of a query's results from the current snapshot's query engine, which reads only the
+     * page's Pokemon and counts the rest from its indexes.
+     *
+     * @param query the name text, type sets, stat ranges, order and limit to apply
+     * @param offset the index of the page's first result
+     * @param pageSize the maximum number of Pokemon on the page
+     * @return the page, with a cursor to the next one if more results follow
+     * @throws IllegalArgumentException if the query is null or the offset or page size is negative
+     */
+    @Override
+    public PokemonPage pagePokemon(PokemonQuery query, int offset, int pageSize) {
+        return current.get().queryEngine.page(query, offset, pageSize);
+    }
+
+    /**
+     * Gets the page a cursor points at. The cursor keeps the snapshot its first page was read from,
+     * so it keeps paging that collection after a reload; start again with an offset to see the new one.
+     *
+     * @param cursor the cursor from the previous page
+     * @param pageSize the maximum number of Pokemon on the page
+     * @return the page, with a cursor to the next one if more results follow
+     * @throws IllegalArgumentException if the cursor is null or the page size is negative
+     */
+    @Override
+    public PokemonPage pagePokemon(PokemonPage.Cursor cursor, int pageSize) {
+        return QueryEngine.page(cursor, pageSize);
+    }
+
+    /**
+     * Filters Pokemon by type using the type index, so the collection is not scanned.
      *
      * @param type the type to filter by
      * @return list of Pokemon of the specified type
      */
     @Override
     public List<Pokemon> filterPokemonByType(PokemonType type) {
-        if (type == null) {
-            return new ArrayList<>(currentPokemonList);
-        }
+        return current.get().typeIndex().filter(type);
+    }
 
-        return currentPokemonList.stream()
-                .filter(pokemon -> pokemon.getTypes().contains(type))
-                .collect(Collectors.toList());
+    /**
+     * Filters Pokemon by a combination of types using the type index.
+     *
+     * @param allOf types a Pokemon must all have, or empty for no constraint
+     * @param anyOf types a Pokemon must have at least one of, or empty for no constraint
+     * @param noneOf types a Pokemon must not have, or empty for no constraint
+     * @return list of matching Pokemon in collection order
+     */
+    @Override
+    public List<Pokemon> filterPokemonByTypes(Set<PokemonType> allOf, Set<PokemonType> anyOf,
+                                              Set<PokemonType> noneOf) {
+        return current.get().typeIndex().filter(allOf, anyOf, noneOf);
     }
 
     /**
@@ -134,9 +542,18 @@ public class PokemonController implements IPokemonController {
      */
     @Override
     public Pokemon getPokemonById(int id) {
-        return currentPokemonList.stream()
-                .filter(pokemon -> pokemon.getId() == id)
-                .findFirst()
-                .orElse(null);
+        return current.get().idIndex.get(id);
+    }
+
+    /**
+     * Gets several Pokemon by their IDs with one index lookup each.
+     *
+     * @param ids the Pokemon IDs
+     * @return a list the same length as the IDs, holding each ID's Pokemon or null if not found
+     * @throws IllegalArgumentException if the IDs are null
+     */
+    @Override
+    public List<Pokemon> getPokemonByIds(int[] ids) {
+        return current.get().idIndex.getAll(ids);
     }
 }
\ No newline at end of file
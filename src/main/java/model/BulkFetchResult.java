@@ -0,0 +1,92 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Result of a bulk fetch, holding the Pokemon that were fetched successfully
+ * and the error raised for every ID that could not be fetched.
+ * Both are kept in the order the IDs were requested.
+ */
+public class BulkFetchResult {
+    private final List<Pokemon> pokemon;
+    private final Map<Integer, Exception> errors;
+    private final int requestedCount;
+
+    /**
+     * Builds a result from per-slot outcomes, where slot i belongs to ids[i].
+     *
+     * @param ids the requested IDs
+     * @param fetched the fetched Pokemon, or null where the fetch failed
+     * @param failures the error for each slot, or null where the fetch succeeded
+     */
+    BulkFetchResult(int[] ids, Pokemon[] fetched, Exception[] failures) {
+        List<Pokemon> orderedPokemon = new ArrayList<>(ids.length);
+        Map<Integer, Exception> orderedErrors = new LinkedHashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            if (failures[i] != null) {
+                orderedErrors.put(ids[i], failures[i]);
+            } else if (fetched[i] != null) {
+                orderedPokemon.add(fetched[i]);
+            }
+        }
+        this.pokemon = Collections.unmodifiableList(orderedPokemon);
+        this.errors = Collections.unmodifiableMap(orderedErrors);
+        this.requestedCount = ids.length;
+    }
+
+    /**
+     * Gets the successfully fetched Pokemon in requested ID order.
+     *
+     * @return read-only list of fetched Pokemon
+     */
+    public List<Pokemon> getPokemon() {
+        return pokemon;
+    }
+
+    /**
+     * Gets the error for every ID that failed, in requested ID order.
+     *
+     * @return read-only map from Pokemon ID to the error it raised
+     */
+    public Map<Integer, Exception> getErrors() {
+        return errors;
+    }
+
+    /**
+     * Checks whether any of the requested IDs failed.
+     *
+     * @return true if at least one fetch failed
+     */
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+
+    /**
+     * Gets the number of IDs that were requested.
+     *
+     * @return the requested ID count
+     */
+    public int getRequestedCount() {
+        return requestedCount;
+    }
+
+    /**
+     * Gets the underlying cause of an async failure so callers see the same errors
+     * as the blocking fetch methods throw.
+     *
+     * @param error the error an async stage completed with
+     * @return the wrapped exception, or the error itself when nothing is wrapped
+     */
+    static Exception unwrap(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof Exception ? (Exception) cause : new CompletionException(cause);
+    }
+}
\ No newline at end of file
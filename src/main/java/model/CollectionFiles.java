@@ -0,0 +1,117 @@
+package model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * File helpers for saved collections: crash-safe replacement of a file and transparent gzip.
+ * A save writes to a temporary file in the target's directory, forces it to disk, and only then
+ * renames it over the target, so a crash mid-save leaves the previous file intact.
+ */
+final class CollectionFiles {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int GZIP_MAGIC = 0x1F8B;
+
+    private CollectionFiles() {
+    }
+
+    /**
+     * Writes the body of a collection file.
+     */
+    @FunctionalInterface
+    interface BodyWriter {
+        /**
+         * Writes the file contents. The stream must not be closed.
+         *
+         * @param out the buffered, possibly compressing stream to write to
+         * @throws IOException if the contents cannot be written
+         */
+        void write(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Replaces a file atomically: the body is written to a temporary sibling, synced, and renamed over the target.
+     * If anything fails, the temporary file is deleted and the target is left as it was.
+     *
+     * @param target the file to create or replace
+     * @param compress true to gzip the body
+     * @param body writes the file contents
+     * @return the number of bytes the file takes on disk
+     * @throws IOException if the file cannot be written or moved into place
+     */
+    static long writeAtomically(Path target, boolean compress, BodyWriter body) throws IOException {
+        Path absoluteTarget = target.toAbsolutePath();
+        Path directory = absoluteTarget.getParent();
+        Path temp = Files.createTempFile(directory, "." + absoluteTarget.getFileName(), ".tmp");
+        try {
+            try (FileOutputStream file = new FileOutputStream(temp.toFile())) {
+                OutputStream buffered = new BufferedOutputStream(file, BUFFER_SIZE);
+                OutputStream out = compress ? new GZIPOutputStream(buffered, BUFFER_SIZE) : buffered;
+                body.write(out);
+                if (out instanceof GZIPOutputStream) {
+                    ((GZIPOutputStream) out).finish();
+                }
+                buffered.flush();
+                file.getChannel().force(true);
+            }
+            long size = Files.size(temp);
+            moveIntoPlace(temp, absoluteTarget);
+            syncDirectory(directory);
+            return size;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a collection file for reading, decompressing it if it starts with the gzip magic bytes,
+     * whatever its extension.
+     *
+     * @param in the raw file stream; closed with the returned stream
+     * @return a buffered stream over the file's uncompressed contents
+     * @throws IOException if the file cannot be read
+     */
+    static InputStream openForReading(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in, BUFFER_SIZE);
+        buffered.mark(2);
+        int magic = (buffered.read() << 8) | buffered.read();
+        buffered.reset();
+        if (magic == GZIP_MAGIC) {
+            return new BufferedInputStream(new GZIPInputStream(buffered, BUFFER_SIZE), BUFFER_SIZE);
+        }
+        return buffered;
+    }
+
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Syncs a directory so a rename in it survives a crash. Not every platform can open
+     * a directory for syncing, so failures are ignored; the file contents are already on disk.
+     */
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Directory sync is best effort
+        }
+    }
+}
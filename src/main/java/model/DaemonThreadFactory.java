@@ -0,0 +1,23 @@
+package model;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates named daemon worker threads so model pools never keep the JVM alive.
+ */
+class DaemonThreadFactory implements ThreadFactory {
+    private final AtomicInteger threadCount = new AtomicInteger();
+    private final String namePrefix;
+
+    DaemonThreadFactory(String namePrefix) {
+        this.namePrefix = namePrefix;
+    }
+
+    @Override
+    public Thread newThread(Runnable task) {
+        Thread thread = new Thread(task, namePrefix + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+}
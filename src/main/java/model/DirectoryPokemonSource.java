@@ -0,0 +1,111 @@
+package model;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Pokemon source that reads a local PokeAPI dump laid out like the PokeAPI api-data repository,
+ * where Pokemon 25 is at {@code api/v2/pokemon/25/index.json} under the dump root.
+ * Async reads run on a pool of their own, so a bulk fetch reads many files in parallel.
+ */
+public class DirectoryPokemonSource implements IPokemonSource {
+    /** Location of the Pokemon documents relative to the dump root. */
+    public static final String POKEMON_PATH = "api/v2/pokemon";
+
+    private static final String DOCUMENT_NAME = "index.json";
+
+    private final Path pokemonDirectory;
+    private final ExecutorService readExecutor;
+
+    /**
+     * Creates a source for a dump.
+     *
+     * @param root the dump root, the directory holding {@code api/}
+     * @throws IOException if the root has no {@code api/v2/pokemon} directory
+     * @throws IllegalArgumentException if the root is null
+     */
+    public DirectoryPokemonSource(Path root) throws IOException {
+        if (root == null) {
+            throw new IllegalArgumentException("Dump directory cannot be null");
+        }
+        this.pokemonDirectory = root.resolve(POKEMON_PATH);
+        if (!Files.isDirectory(pokemonDirectory)) {
+            throw new FileNotFoundException("Not a PokeAPI data dump, missing " + pokemonDirectory);
+        }
+        // File reads block, so they get their own pool rather than tying up the common pool
+        this.readExecutor = Executors.newFixedThreadPool(
+                Runtime.getRuntime().availableProcessors() * 2, new DaemonThreadFactory("pokemon-dump-"));
+    }
+
+    /**
+     * Opens a Pokemon's document from the dump.
+     *
+     * @param id the Pokemon ID
+     * @return the document stream
+     * @throws FileNotFoundException if the dump has no document for the ID
+     * @throws IOException if the document cannot be read
+     */
+    @Override
+    public InputStream openDocument(int id) throws IOException {
+        Path document = pokemonDirectory.resolve(Integer.toString(id)).resolve(DOCUMENT_NAME);
+        if (!Files.isRegularFile(document)) {
+            throw new FileNotFoundException("Pokemon " + id + " not found in " + pokemonDirectory);
+        }
+        return Files.newInputStream(document);
+    }
+
+    /**
+     * Opens a Pokemon's document from the dump on the read pool.
+     *
+     * @param id the Pokemon ID
+     * @return a future completed with the document stream, or exceptionally if it cannot be opened
+     */
+    @Override
+    public CompletableFuture<InputStream> openDocumentAsync(int id) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return openDocument(id);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, readExecutor);
+    }
+
+    /**
+     * Lists the IDs of every Pokemon in the dump, for fetching the whole dump in one bulk fetch.
+     *
+     * @return the IDs in ascending order
+     * @throws IOException if the dump directory cannot be listed
+     */
+    public int[] listIds() throws IOException {
+        List<Integer> ids = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(pokemonDirectory)) {
+            for (Path entry : entries) {
+                String name = entry.getFileName().toString();
+                if (name.matches("\\d+") && Files.isRegularFile(entry.resolve(DOCUMENT_NAME))) {
+                    ids.add(Integer.parseInt(name));
+                }
+            }
+        }
+        return ids.stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    /**
+     * Gets the directory the Pokemon documents are read from.
+     *
+     * @return the {@code api/v2/pokemon} directory of the dump
+     */
+    public Path getPokemonDirectory() {
+        return pokemonDirectory;
+    }
+}
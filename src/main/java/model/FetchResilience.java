@@ -0,0 +1,524 @@
+package model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Keeps PokeAPI requests within what the server will accept and retries the ones it turns away.
+ * Every attempt first takes a token from a token-bucket rate limiter and a permit from an AIMD
+ * concurrency limit, which halves when the server throttles and grows back by one permit per
+ * round of successes. Throttled and transient failures are retried with exponential backoff and
+ * full jitter, waiting at least as long as the server's Retry-After asks; a Retry-After also
+ * pauses the rate limiter, so other requests hold off too. Permanent failures such as 404 are not retried.
+ */
+public class FetchResilience {
+    /** Default request rate, well inside PokeAPI's fair use policy. */
+    public static final double DEFAULT_REQUESTS_PER_SECOND = 100;
+
+    /** Default ceiling on the adaptive concurrency limit. */
+    public static final int DEFAULT_MAX_CONCURRENCY = 64;
+
+    /** Default number of attempts per request, including the first. */
+    public static final int DEFAULT_MAX_ATTEMPTS = 4;
+
+    private static final Duration DEFAULT_BASE_BACKOFF = Duration.ofMillis(200);
+    private static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(10);
+
+    private final int maxAttempts;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+    private final TokenBucket rateLimiter;
+    private final AdaptiveLimit concurrencyLimit;
+    private final AtomicLong retryCount;
+    private final AtomicLong throttledCount;
+
+    /**
+     * An attempt at a blocking request.
+     *
+     * @param <T> the result type
+     */
+    interface Attempt<T> {
+        T run() throws IOException, InterruptedException;
+    }
+
+    /**
+     * Creates a resilience layer.
+     *
+     * @param requestsPerSecond the sustained request rate, also used as the burst size,
+     *                          or {@link Double#POSITIVE_INFINITY} for no rate limit
+     * @param maxConcurrency the ceiling and starting value of the adaptive concurrency limit
+     * @param maxAttempts the number of attempts per request, including the first
+     * @param baseBackoff the backoff cap before the first retry, doubled for each later retry
+     * @param maxBackoff the largest backoff cap, not counting a longer Retry-After
+     * @throws IllegalArgumentException if any argument is out of range
+     */
+    public FetchResilience(double requestsPerSecond, int maxConcurrency, int maxAttempts,
+                           Duration baseBackoff, Duration maxBackoff) {
+        if (!(requestsPerSecond > 0)) {
+            throw new IllegalArgumentException("Request rate must be positive");
+        }
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Max concurrency must be at least 1");
+        }
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Max attempts must be at least 1");
+        }
+        if (baseBackoff == null || maxBackoff == null || baseBackoff.isNegative() || maxBackoff.compareTo(baseBackoff) < 0) {
+            throw new IllegalArgumentException("Backoff must be non-negative with max at least base");
+        }
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffMillis = baseBackoff.toMillis();
+        this.maxBackoffMillis = maxBackoff.toMillis();
+        this.rateLimiter = new TokenBucket(requestsPerSecond);
+        this.concurrencyLimit = new AdaptiveLimit(maxConcurrency);
+        this.retryCount = new AtomicLong();
+        this.throttledCount = new AtomicLong();
+    }
+
+    /**
+     * Creates a resilience layer with the default rate, concurrency ceiling and retry settings.
+     *
+     * @return the default resilience layer
+     */
+    public static FetchResilience defaults() {
+        return new FetchResilience(DEFAULT_REQUESTS_PER_SECOND, DEFAULT_MAX_CONCURRENCY,
+                DEFAULT_MAX_ATTEMPTS, DEFAULT_BASE_BACKOFF, DEFAULT_MAX_BACKOFF);
+    }
+
+    /**
+     * Creates a layer that neither limits nor retries, for servers that never push back such as local mirrors.
+     *
+     * @return a pass-through resilience layer
+     */
+    public static FetchResilience unlimited() {
+        return new FetchResilience(Double.POSITIVE_INFINITY, Integer.MAX_VALUE, 1, Duration.ZERO, Duration.ZERO);
+    }
+
+    /**
+     * Checks whether a failure is transient: a retryable status, a timeout or a dropped connection.
+     * Parse errors, permanent statuses and anything else are not retried.
+     *
+     * @param error the failure, possibly wrapped by a CompletableFuture
+     * @return true if the request is worth retrying
+     */
+    public static boolean isRetryable(Throwable error) {
+        Throwable cause = BulkFetchResult.unwrap(error);
+        if (cause instanceof HttpStatusException) {
+            return ((HttpStatusException) cause).isRetryable();
+        }
+        if (cause instanceof JsonProcessingException) {
+            return false;
+        }
+        return cause instanceof HttpTimeoutException || cause instanceof ConnectException
+                || cause instanceof SocketException || cause instanceof EOFException;
+    }
+
+    /**
+     * Runs a blocking request, retrying transient failures.
+     *
+     * @param attempt the request
+     * @return the result of the first successful attempt
+     * @throws IOException the last failure if every attempt failed, or the first permanent failure
+     * @throws InterruptedException if interrupted while waiting for a token, a permit or a backoff
+     */
+    <T> T execute(Attempt<T> attempt) throws IOException, InterruptedException {
+        return execute(attempt, false);
+    }
+
+    /**
+     * Runs a blocking request whose body is read after it returns, retrying transient failures.
+     * The concurrency permit is held until the returned stream is read to the end or closed,
+     * so a slow body still counts as a request in flight.
+     *
+     * @param attempt the request, returning the body stream once the status has been checked
+     * @return the body of the first successful attempt; the caller must close it
+     * @throws IOException the last failure if every attempt failed, or the first permanent failure
+     * @throws InterruptedException if interrupted while waiting for a token, a permit or a backoff
+     */
+    InputStream executeStreaming(Attempt<InputStream> attempt) throws IOException, InterruptedException {
+        return new PermitStream(execute(attempt, true));
+    }
+
+    private <T> T execute(Attempt<T> attempt, boolean holdPermit) throws IOException, InterruptedException {
+        for (int attemptNumber = 1; ; attemptNumber++) {
+            sleepNanos(rateLimiter.reserve());
+            concurrencyLimit.acquire();
+            boolean releasePermit = true;
+            long backoffMillis;
+            try {
+                T result = attempt.run();
+                concurrencyLimit.onSuccess();
+                releasePermit = !holdPermit;
+                return result;
+            } catch (IOException e) {
+                Duration retryAfter = recordFailure(e);
+                if (!shouldRetry(e, attemptNumber)) {
+                    throw e;
+                }
+                backoffMillis = backoffAfter(attemptNumber, retryAfter);
+            } finally {
+                if (releasePermit) {
+                    concurrencyLimit.release();
+                }
+            }
+            Thread.sleep(backoffMillis);
+        }
+    }
+
+    /**
+     * Runs an async request, retrying transient failures. Waits for tokens, permits
+     * and backoffs are scheduled rather than blocking a thread.
+     *
+     * @param attempt starts the request and returns its future
+     * @return a future completed with the first successful result, or the last failure
+     */
+    <T> CompletableFuture<T> executeAsync(Supplier<CompletableFuture<T>> attempt) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attemptAsync(attempt, 1, result);
+        return result;
+    }
+
+    private <T> void attemptAsync(Supplier<CompletableFuture<T>> attempt, int attemptNumber,
+                                  CompletableFuture<T> result) {
+        delay(rateLimiter.reserve())
+                .thenCompose(ignored -> concurrencyLimit.acquireAsync())
+                .thenCompose(ignored -> {
+                    try {
+                        return attempt.get();
+                    } catch (RuntimeException e) {
+                        return CompletableFuture.failedFuture(e);
+                    }
+                })
+                .whenComplete((value, error) -> {
+                    concurrencyLimit.release();
+                    if (error == null) {
+                        concurrencyLimit.onSuccess();
+                        result.complete(value);
+                        return;
+                    }
+                    Throwable cause = BulkFetchResult.unwrap(error);
+                    Duration retryAfter = recordFailure(cause);
+                    if (!shouldRetry(cause, attemptNumber)) {
+                        result.completeExceptionally(cause);
+                        return;
+                    }
+                    CompletableFuture.delayedExecutor(backoffAfter(attemptNumber, retryAfter), TimeUnit.MILLISECONDS)
+                            .execute(() -> attemptAsync(attempt, attemptNumber + 1, result));
+                });
+    }
+
+    private boolean shouldRetry(Throwable error, int attemptNumber) {
+        return attemptNumber < maxAttempts && isRetryable(error);
+    }
+
+    /**
+     * Applies what a failed attempt says about the server, whether or not it will be retried:
+     * a 429 or 503 lowers the concurrency limit, and a Retry-After pauses the rate limiter.
+     *
+     * @return the delay the server asked for, or null
+     */
+    private Duration recordFailure(Throwable error) {
+        if (!(error instanceof HttpStatusException)) {
+            return null;
+        }
+        HttpStatusException statusError = (HttpStatusException) error;
+        if (statusError.isThrottling()) {
+            throttledCount.incrementAndGet();
+            concurrencyLimit.onThrottle();
+        }
+        Duration retryAfter = statusError.getRetryAfter();
+        if (retryAfter != null) {
+            rateLimiter.pause(retryAfter.toNanos());
+        }
+        return retryAfter;
+    }
+
+    /**
+     * Records a failed attempt that will be retried and works out how long to wait first.
+     */
+    private long backoffAfter(int attemptNumber, Duration retryAfter) {
+        retryCount.incrementAndGet();
+        return backoffMillis(attemptNumber, retryAfter);
+    }
+
+    /**
+     * Picks a backoff with full jitter: uniform between zero and a cap that doubles with each retry,
+     * but never shorter than the server's Retry-After.
+     *
+     * @param attemptNumber the attempt that just failed, starting at 1
+     * @param retryAfter the delay the server asked for, or null
+     * @return the backoff in milliseconds
+     */
+    long backoffMillis(int attemptNumber, Duration retryAfter) {
+        long cap = baseBackoffMillis << Math.min(attemptNumber - 1, 30);
+        if (cap < 0 || cap > maxBackoffMillis) {
+            cap = maxBackoffMillis;
+        }
+        long jittered = cap == 0 ? 0 : ThreadLocalRandom.current().nextLong(cap + 1);
+        return retryAfter == null ? jittered : Math.max(jittered, retryAfter.toMillis());
+    }
+
+    /**
+     * Gets the current adaptive concurrency limit.
+     *
+     * @return the number of requests allowed in flight
+     */
+    public int getConcurrencyLimit() {
+        return concurrencyLimit.getLimit();
+    }
+
+    /**
+     * Gets the number of attempts that failed and were retried.
+     *
+     * @return the retry count
+     */
+    public long getRetryCount() {
+        return retryCount.get();
+    }
+
+    /**
+     * Gets the number of attempts the server answered with 429 or 503.
+     *
+     * @return the throttled count
+     */
+    public long getThrottledCount() {
+        return throttledCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "FetchResilience{" +
+                "concurrencyLimit=" + concurrencyLimit.getLimit() +
+                ", retries=" + retryCount.get() +
+                ", throttled=" + throttledCount.get() +
+                '}';
+    }
+
+    private static CompletableFuture<Void> delay(long nanos) {
+        if (nanos <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(nanos, TimeUnit.NANOSECONDS));
+    }
+
+    private static void sleepNanos(long nanos) throws InterruptedException {
+        if (nanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        }
+    }
+
+    /**
+     * Body stream that hands back its request's concurrency permit, once, at end of stream or on close.
+     */
+    private class PermitStream extends FilterInputStream {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        PermitStream(InputStream body) {
+            super(body);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value < 0) {
+                releasePermit();
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int count = super.read(buffer, offset, length);
+            if (count < 0) {
+                releasePermit();
+            }
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                releasePermit();
+            }
+        }
+
+        private void releasePermit() {
+            if (released.compareAndSet(false, true)) {
+                concurrencyLimit.release();
+            }
+        }
+    }
+
+    /**
+     * Token bucket that hands out reservations: a caller takes a token even when the bucket
+     * is empty and is told how long to wait, so waiters are served in arrival order.
+     */
+    private static class TokenBucket {
+        private final double tokensPerNano;
+        private final double capacity;
+        private double tokens;
+        private long lastRefill;
+        private long pausedUntil;
+
+        TokenBucket(double requestsPerSecond) {
+            this.tokensPerNano = requestsPerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = Math.max(1, requestsPerSecond);
+            this.tokens = capacity;
+            this.lastRefill = System.nanoTime();
+            this.pausedUntil = lastRefill;
+        }
+
+        /**
+         * Takes a token.
+         *
+         * @return how long the caller must wait before sending, in nanoseconds
+         */
+        synchronized long reserve() {
+            long now = System.nanoTime();
+            long pauseWait = pausedUntil - now;
+            if (Double.isInfinite(capacity)) {
+                return Math.max(0, pauseWait);
+            }
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+            tokens -= 1;
+            long tokenWait = tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+            return Math.max(0, Math.max(tokenWait, pauseWait));
+        }
+
+        /**
+         * Holds every request back for at least the given time, as a Retry-After asks.
+         */
+        synchronized void pause(long nanos) {
+            long until = System.nanoTime() + nanos;
+            if (until - pausedUntil > 0) {
+                pausedUntil = until;
+            }
+        }
+    }
+
+    /**
+     * Concurrency limit with additive increase and multiplicative decrease.
+     * Each success adds 1/limit, so the limit grows by one after a full round of successes,
+     * and a throttle halves it, at most once per cooldown so one burst of 429s counts once.
+     * Waiters are granted permits in arrival order.
+     */
+    private static class AdaptiveLimit {
+        private static final long DECREASE_COOLDOWN_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+        private final int maxLimit;
+        private final ArrayDeque<CompletableFuture<Void>> waiters;
+        private double limit;
+        private int inFlight;
+        private long lastDecrease;
+        private boolean decreased;
+
+        AdaptiveLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+            this.waiters = new ArrayDeque<>();
+            this.limit = maxLimit;
+        }
+
+        void acquire() throws InterruptedException {
+            CompletableFuture<Void> permit = acquireAsync();
+            try {
+                permit.get();
+            } catch (InterruptedException e) {
+                if (!permit.cancel(false)) {
+                    // The permit was granted while we were being interrupted, so hand it back
+                    release();
+                }
+                throw e;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        synchronized CompletableFuture<Void> acquireAsync() {
+            if (waiters.isEmpty() && inFlight < (int) limit) {
+                inFlight++;
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> waiter = new CompletableFuture<>();
+            waiters.add(waiter);
+            return waiter;
+        }
+
+        void release() {
+            List<CompletableFuture<Void>> granted;
+            synchronized (this) {
+                inFlight--;
+                granted = grantWaiters();
+            }
+            complete(granted);
+        }
+
+        void onSuccess() {
+            List<CompletableFuture<Void>> granted;
+            synchronized (this) {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+                granted = grantWaiters();
+            }
+            complete(granted);
+        }
+
+        synchronized void onThrottle() {
+            long now = System.nanoTime();
+            if (!decreased || now - lastDecrease >= DECREASE_COOLDOWN_NANOS) {
+                limit = Math.max(1, limit / 2);
+                lastDecrease = now;
+                decreased = true;
+            }
+        }
+
+        synchronized int getLimit() {
+            return (int) limit;
+        }
+
+        /**
+         * Takes permits for as many queued waiters as the limit allows. Callers hold the lock.
+         */
+        private List<CompletableFuture<Void>> grantWaiters() {
+            List<CompletableFuture<Void>> granted = new ArrayList<>();
+            while (inFlight < (int) limit && !waiters.isEmpty()) {
+                CompletableFuture<Void> waiter = waiters.poll();
+                if (!waiter.isDone()) {
+                    inFlight++;
+                    granted.add(waiter);
+                }
+            }
+            return granted;
+        }
+
+        /**
+         * Wakes granted waiters outside the lock, returning the permit of any that gave up meanwhile.
+         */
+        private void complete(List<CompletableFuture<Void>> granted) {
+            for (CompletableFuture<Void> waiter : granted) {
+                if (!waiter.complete(null)) {
+                    release();
+                }
+            }
+        }
+    }
+}
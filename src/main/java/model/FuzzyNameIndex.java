@@ -0,0 +1,274 @@
+package model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * BK-tree over Pokemon names for typo-tolerant search, such as finding "pikachu" from "pikachoo".
+ * Each node holds one distinct lowercased name and its children are keyed by their Levenshtein distance
+ * to it. By the triangle inequality, a search within distance k of a query at distance d from a node
+ * only needs the children keyed d - k to d + k, so most of the tree is never compared against.
+ * <p>
+ * Results are ranked by distance to the query, then by ID. The index is not thread-safe while being added to;
+ * callers that share one should replace it rather than add to it.
+ */
+public class FuzzyNameIndex {
+    private Node root;
+    private int size;
+
+    /**
+     * A distinct name, the Pokemon that share it, and the subtrees keyed by distance.
+     */
+    private static class Node {
+        private final String name;
+        private final List<Pokemon> pokemon = new ArrayList<>(1);
+        private Node[] children;
+
+        private Node(String name) {
+            this.name = name;
+        }
+
+        private Node child(int distance) {
+            return children == null || distance >= children.length ? null : children[distance];
+        }
+
+        private void setChild(int distance, Node child) {
+            if (children == null) {
+                children = new Node[Math.max(4, distance + 1)];
+            } else if (distance >= children.length) {
+                children = Arrays.copyOf(children, Math.max(children.length * 2, distance + 1));
+            }
+            children[distance] = child;
+        }
+    }
+
+    /**
+     * A Pokemon found by a fuzzy search and how many edits away its name is.
+     */
+    public static class Match {
+        private final Pokemon pokemon;
+        private final int distance;
+
+        Match(Pokemon pokemon, int distance) {
+            this.pokemon = pokemon;
+            this.distance = distance;
+        }
+
+        /**
+         * Gets the matching Pokemon.
+         *
+         * @return the Pokemon
+         */
+        public Pokemon getPokemon() {
+            return pokemon;
+        }
+
+        /**
+         * Gets the Levenshtein distance between the query and the Pokemon's lowercased name.
+         *
+         * @return the number of single-character insertions, deletions or substitutions
+         */
+        public int getDistance() {
+            return distance;
+        }
+    }
+
+    /**
+     * Levenshtein distance with two rolling rows that are reused between comparisons,
+     * so walking the tree does not allocate per name.
+     */
+    private static class Distance {
+        private int[] previous = new int[16];
+        private int[] current = new int[16];
+
+        private int compute(String a, String b, int limit) {
+            if (a.length() < b.length()) {
+                String swap = a;
+                a = b;
+                b = swap;
+            }
+            if (a.length() - b.length() > limit) {
+                return a.length() - b.length();
+            }
+            if (previous.length <= b.length()) {
+                previous = new int[b.length() + 1];
+                current = new int[b.length() + 1];
+            }
+            int[] above = previous;
+            int[] row = current;
+            for (int j = 0; j <= b.length(); j++) {
+                above[j] = j;
+            }
+            for (int i = 1; i <= a.length(); i++) {
+                row[0] = i;
+                int rowMin = i;
+                char ca = a.charAt(i - 1);
+                for (int j = 1; j <= b.length(); j++) {
+                    int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                    row[j] = Math.min(Math.min(row[j - 1] + 1, above[j] + 1), above[j - 1] + cost);
+                    rowMin = Math.min(rowMin, row[j]);
+                }
+                // No later row can get below this row's minimum
+                if (rowMin > limit) {
+                    return rowMin;
+                }
+                int[] swap = above;
+                above = row;
+                row = swap;
+            }
+            return above[b.length()];
+        }
+    }
+
+    /**
+     * Creates an empty index.
+     */
+    public FuzzyNameIndex() {
+    }
+
+    /**
+     * Creates an index over a catalog.
+     *
+     * @param catalog the Pokemon to index
+     * @throws IllegalArgumentException if the catalog is null
+     */
+    public FuzzyNameIndex(List<Pokemon> catalog) {
+        if (catalog == null) {
+            throw new IllegalArgumentException("Catalog cannot be null");
+        }
+        for (Pokemon pokemon : catalog) {
+            add(pokemon);
+        }
+    }
+
+    /**
+     * Adds a Pokemon to the index.
+     *
+     * @param pokemon the Pokemon to add; null or nameless Pokemon are ignored
+     */
+    public void add(Pokemon pokemon) {
+        if (pokemon == null || pokemon.getName() == null) {
+            return;
+        }
+        String name = normalize(pokemon.getName());
+        size++;
+        if (root == null) {
+            root = new Node(name);
+            root.pokemon.add(pokemon);
+            return;
+        }
+        Distance distances = new Distance();
+        Node node = root;
+        while (true) {
+            int distance = distances.compute(name, node.name, Integer.MAX_VALUE);
+            if (distance == 0) {
+                node.pokemon.add(pokemon);
+                return;
+            }
+            Node child = node.child(distance);
+            if (child == null) {
+                Node added = new Node(name);
+                added.pokemon.add(pokemon);
+                node.setChild(distance, added);
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Gets the number of Pokemon in the index.
+     *
+     * @return the Pokemon count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the Pokemon whose lowercased name is within an edit distance of a query.
+     *
+     * @param query the name to look for; matched case-insensitively
+     * @param maxDistance the most insertions, deletions and substitutions a match may be away
+     * @return the matches, closest first and then by ID
+     * @throws IllegalArgumentException if the maximum distance is negative
+     */
+    public List<Match> search(String query, int maxDistance) {
+        if (maxDistance < 0) {
+            throw new IllegalArgumentException("Maximum distance cannot be negative");
+        }
+        List<Match> matches = new ArrayList<>();
+        if (root == null || query == null) {
+            return matches;
+        }
+        traverse(normalize(query), maxDistance, matches);
+        matches.sort(Comparator.comparingInt(Match::getDistance)
+                .thenComparingInt(match -> match.getPokemon().getId()));
+        return matches;
+    }
+
+    /**
+     * Counts the names a search compares the query against. Visible for tests and benchmarks.
+     *
+     * @param query the name to look for
+     * @param maxDistance the maximum edit distance
+     * @return the number of tree nodes visited
+     */
+    int visitedCount(String query, int maxDistance) {
+        return root == null ? 0 : traverse(normalize(query), maxDistance, new ArrayList<>());
+    }
+
+    /**
+     * Walks the subtrees that can hold matches, collecting the matches.
+     * A node's distance only needs to be exact up to the highest child key still reachable,
+     * so each comparison stops as soon as it is known to be further than that.
+     *
+     * @return the number of nodes visited
+     */
+    private int traverse(String query, int maxDistance, List<Match> matches) {
+        Distance distances = new Distance();
+        int visited = 0;
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            visited++;
+            int highestKey = node.children == null ? 0 : node.children.length - 1;
+            int distance = distances.compute(query, node.name, highestKey + maxDistance);
+            if (distance <= maxDistance) {
+                for (Pokemon pokemon : node.pokemon) {
+                    matches.add(new Match(pokemon, distance));
+                }
+            }
+            int to = Math.min(highestKey, distance + maxDistance);
+            for (int d = Math.max(1, distance - maxDistance); d <= to; d++) {
+                if (node.children[d] != null) {
+                    pending.push(node.children[d]);
+                }
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * Computes the Levenshtein distance between two strings with two rolling rows.
+     * Stops early and returns a value above the limit once every entry in a row exceeds it.
+     *
+     * @param a the first string
+     * @param b the second string
+     * @param limit the largest distance the caller needs exactly
+     * @return the edit distance, or a value greater than the limit
+     */
+    static int distance(String a, String b, int limit) {
+        return new Distance().compute(a, b, limit);
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,269 @@
+package model;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Pokemon source that downloads documents from PokeAPI or any server with the same URL layout.
+ * Every request goes through a {@link FetchResilience} layer, and an optional disk
+ * {@link HttpResponseCache} lets fresh responses skip the network and stale ones be revalidated.
+ */
+public class HttpPokemonSource implements IPokemonSource {
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final HttpResponseCache responseCache;
+    private final FetchResilience resilience;
+    private volatile boolean offlineMode;
+
+    /**
+     * Creates a source for a PokeAPI-compatible server with no response cache and the default resilience settings.
+     *
+     * @param baseUrl the Pokemon endpoint URL, ending with a slash, that IDs are appended to
+     * @throws IllegalArgumentException if the base URL is null or empty
+     */
+    public HttpPokemonSource(String baseUrl) {
+        this(baseUrl, null, FetchResilience.defaults());
+    }
+
+    /**
+     * Creates a source for a PokeAPI-compatible server.
+     *
+     * @param baseUrl the Pokemon endpoint URL, ending with a slash, that IDs are appended to
+     * @param responseCache the response cache, or null to always download
+     * @param resilience the rate limiter, concurrency limit and retry policy every request goes through
+     * @throws IllegalArgumentException if the base URL is null or empty or resilience is null
+     */
+    public HttpPokemonSource(String baseUrl, HttpResponseCache responseCache, FetchResilience resilience) {
+        if (baseUrl == null || baseUrl.trim().isEmpty()) {
+            throw new IllegalArgumentException("Base URL cannot be null or empty");
+        }
+        if (resilience == null) {
+            throw new IllegalArgumentException("Fetch resilience cannot be null");
+        }
+        this.baseUrl = baseUrl;
+        this.responseCache = responseCache;
+        this.resilience = resilience;
+        this.httpClient = HttpClient.newHttpClient();
+    }
+
+    /**
+     * Opens a Pokemon document, from the response cache if it holds a fresh entry.
+     * Without a response cache the stream reads straight off the connection, so the body is never buffered,
+     * and the request keeps its concurrency permit until the stream is read to the end or closed.
+     *
+     * @param id the Pokemon ID
+     * @return the document stream
+     * @throws IOException if the download fails or the source is offline and the ID is not cached
+     * @throws InterruptedException if the operation is interrupted
+     */
+    @Override
+    public InputStream openDocument(int id) throws IOException, InterruptedException {
+        String url = baseUrl + id;
+        HttpResponseCache.CachedResponse cached = lookupCachedResponse(url);
+        if (cached != null && (cached.isFresh() || offlineMode)) {
+            responseCache.recordHit();
+            return new ByteArrayInputStream(cached.getBody());
+        }
+
+        if (responseCache == null) {
+            return resilience.executeStreaming(() -> {
+                HttpResponse<InputStream> response = httpClient.send(buildRequest(url, null),
+                        HttpResponse.BodyHandlers.ofInputStream());
+                try {
+                    checkStatus(url, response);
+                } catch (HttpStatusException e) {
+                    response.body().close();
+                    throw e;
+                }
+                return response.body();
+            });
+        }
+
+        HttpResponse<byte[]> response = resilience.execute(() -> checkRetryableStatus(url,
+                httpClient.send(buildRequest(url, cached), HttpResponse.BodyHandlers.ofByteArray())));
+        return new ByteArrayInputStream(readResponseBody(url, cached, response));
+    }
+
+    /**
+     * Opens a Pokemon document through {@link HttpClient#sendAsync}, from the response cache
+     * if it holds a fresh entry.
+     *
+     * @param id the Pokemon ID
+     * @return a future completed with the document stream, or exceptionally if the download fails
+     */
+    @Override
+    public CompletableFuture<InputStream> openDocumentAsync(int id) {
+        String url = baseUrl + id;
+        HttpResponseCache.CachedResponse cached;
+        try {
+            cached = lookupCachedResponse(url);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (cached != null && (cached.isFresh() || offlineMode)) {
+            responseCache.recordHit();
+            return CompletableFuture.completedFuture(new ByteArrayInputStream(cached.getBody()));
+        }
+
+        return resilience.executeAsync(() -> httpClient.sendAsync(buildRequest(url, cached),
+                        HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    try {
+                        return new ByteArrayInputStream(readResponseBody(url, cached,
+                                checkRetryableStatus(url, response)));
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                }));
+    }
+
+    /**
+     * Turns on or off offline mode. While offline, documents are served only from the response cache,
+     * however old the cached entry is, and IDs that are not cached fail without a request.
+     *
+     * @param offlineMode true to stop making requests
+     */
+    public void setOfflineMode(boolean offlineMode) {
+        this.offlineMode = offlineMode;
+    }
+
+    /**
+     * Checks whether the source is serving only from the response cache.
+     *
+     * @return true if offline mode is on
+     */
+    public boolean isOfflineMode() {
+        return offlineMode;
+    }
+
+    /**
+     * Gets the Pokemon endpoint URL that IDs are appended to.
+     *
+     * @return the base URL
+     */
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * Gets the response cache, which also holds the hit, miss and revalidation counters.
+     *
+     * @return the response cache, or null if this source always downloads
+     */
+    public HttpResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * Gets the resilience layer, which also holds the current concurrency limit and the retry counters.
+     *
+     * @return the fetch resilience
+     */
+    public FetchResilience getFetchResilience() {
+        return resilience;
+    }
+
+    /**
+     * Looks up a URL in the response cache, failing fast when offline and the URL is not cached.
+     *
+     * @param url the request URL
+     * @return the cached response, or null if there is no cache or no entry
+     * @throws IOException if the source is offline and the URL is not cached
+     */
+    private HttpResponseCache.CachedResponse lookupCachedResponse(String url) throws IOException {
+        HttpResponseCache.CachedResponse cached = responseCache == null ? null : responseCache.get(url);
+        if (cached == null && offlineMode) {
+            throw new IOException("Offline and no cached response for " + url);
+        }
+        return cached;
+    }
+
+    /**
+     * Builds the GET request for a URL, made conditional on the cached entry's validators if there is one.
+     *
+     * @param url the request URL
+     * @param cached the stale cached response, or null
+     * @return the request
+     */
+    private HttpRequest buildRequest(String url, HttpResponseCache.CachedResponse cached) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder().uri(URI.create(url));
+        if (cached != null && cached.getEtag() != null) {
+            builder.header("If-None-Match", cached.getEtag());
+        }
+        if (cached != null && cached.getLastModified() != null) {
+            builder.header("If-Modified-Since", cached.getLastModified());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Gets the document body from a response, serving the cached body on a 304
+     * and storing a fresh download in the cache.
+     *
+     * @param url the request URL
+     * @param cached the cached response the request was conditional on, or null
+     * @param response the server's response
+     * @return the response body
+     * @throws IOException if the server answered with an error status
+     */
+    private byte[] readResponseBody(String url, HttpResponseCache.CachedResponse cached,
+                                    HttpResponse<byte[]> response) throws IOException {
+        int status = response.statusCode();
+        if (status == 304 && cached != null) {
+            responseCache.recordRevalidation();
+            responseCache.markRevalidated(url);
+            return cached.getBody();
+        }
+        checkStatus(url, response);
+        if (responseCache != null) {
+            responseCache.recordMiss();
+            responseCache.put(url, response.body(),
+                    response.headers().firstValue("ETag").orElse(null),
+                    response.headers().firstValue("Last-Modified").orElse(null));
+        }
+        return response.body();
+    }
+
+    /**
+     * Rejects any response that is not a 2xx.
+     *
+     * @param url the request URL
+     * @param response the server's response
+     * @throws HttpStatusException if the status is not a success
+     */
+    private void checkStatus(String url, HttpResponse<?> response) throws HttpStatusException {
+        int status = response.statusCode();
+        if (status < 200 || status >= 300) {
+            throw new HttpStatusException(url, status,
+                    HttpStatusException.parseRetryAfter(response.headers().firstValue("Retry-After").orElse(null)));
+        }
+    }
+
+    /**
+     * Lets a buffered response through to {@link #readResponseBody} unless its status
+     * is one the resilience layer should retry.
+     *
+     * @param url the request URL
+     * @param response the server's response
+     * @return the same response
+     * @throws HttpStatusException if the status is worth retrying
+     */
+    private HttpResponse<byte[]> checkRetryableStatus(String url, HttpResponse<byte[]> response)
+            throws HttpStatusException {
+        try {
+            checkStatus(url, response);
+        } catch (HttpStatusException e) {
+            if (e.isRetryable()) {
+                throw e;
+            }
+        }
+        return response;
+    }
+}
@@ -0,0 +1,383 @@
+package model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Disk-backed cache of HTTP response bodies keyed by URL.
+ * Each entry keeps the response's ETag and Last-Modified validators so a stale entry
+ * can be revalidated with a conditional request instead of downloaded again.
+ * Entries younger than the TTL are served without any request at all.
+ * When the bodies on disk exceed the size limit, the least recently used entries are removed.
+ */
+public class HttpResponseCache {
+    private static final String BODY_SUFFIX = ".body";
+    private static final String META_SUFFIX = ".meta";
+
+    private final Path directory;
+    private final long ttlMillis;
+    private final long maxBytes;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Entry> entries;
+    private final AtomicLong totalBytes;
+    private final AtomicLong hitCount;
+    private final AtomicLong missCount;
+    private final AtomicLong revalidationCount;
+
+    /**
+     * A cached response body and the validators it was stored with.
+     */
+    public static class CachedResponse {
+        private final byte[] body;
+        private final String etag;
+        private final String lastModified;
+        private final boolean fresh;
+
+        CachedResponse(byte[] body, String etag, String lastModified, boolean fresh) {
+            this.body = body;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.fresh = fresh;
+        }
+
+        /**
+         * Gets the cached response body.
+         *
+         * @return the body bytes
+         */
+        public byte[] getBody() {
+            return body;
+        }
+
+        /**
+         * Gets the ETag the response was stored with.
+         *
+         * @return the ETag, or null if the server sent none
+         */
+        public String getEtag() {
+            return etag;
+        }
+
+        /**
+         * Gets the Last-Modified value the response was stored with.
+         *
+         * @return the Last-Modified value, or null if the server sent none
+         */
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * Checks whether the entry is still inside the TTL and can be served without a request.
+         *
+         * @return true if the entry is fresh
+         */
+        public boolean isFresh() {
+            return fresh;
+        }
+    }
+
+    /**
+     * In-memory index record for one entry on disk.
+     */
+    private static class Entry {
+        private final String url;
+        private final String etag;
+        private final String lastModified;
+        private final long size;
+        private volatile long storedAt;
+        private volatile long lastAccess;
+
+        Entry(String url, String etag, String lastModified, long size, long storedAt) {
+            this.url = url;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.size = size;
+            this.storedAt = storedAt;
+            this.lastAccess = storedAt;
+        }
+    }
+
+    /**
+     * Opens a cache in the given directory, creating it if needed and indexing any entries already there.
+     *
+     * @param directory the directory holding cached responses
+     * @param ttl how long an entry is served without revalidation
+     * @param maxBytes the maximum total size of cached bodies
+     * @throws IOException if the directory cannot be created or read
+     * @throws IllegalArgumentException if any argument is null or negative
+     */
+    public HttpResponseCache(Path directory, Duration ttl, long maxBytes) throws IOException {
+        if (directory == null || ttl == null || ttl.isNegative()) {
+            throw new IllegalArgumentException("Cache directory and a non-negative TTL are required");
+        }
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Max cache size cannot be negative");
+        }
+        this.directory = directory;
+        this.ttlMillis = ttl.toMillis();
+        this.maxBytes = maxBytes;
+        this.objectMapper = new ObjectMapper();
+        this.entries = new ConcurrentHashMap<>();
+        this.totalBytes = new AtomicLong();
+        this.hitCount = new AtomicLong();
+        this.missCount = new AtomicLong();
+        this.revalidationCount = new AtomicLong();
+
+        Files.createDirectories(directory);
+        loadIndex();
+    }
+
+    /**
+     * Looks up the cached response for a URL.
+     *
+     * @param url the request URL
+     * @return the cached response, or null if the URL is not cached
+     */
+    public CachedResponse get(String url) {
+        String key = keyFor(url);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        try {
+            byte[] body = Files.readAllBytes(directory.resolve(key + BODY_SUFFIX));
+            long now = System.currentTimeMillis();
+            entry.lastAccess = now;
+            return new CachedResponse(body, entry.etag, entry.lastModified, now - entry.storedAt < ttlMillis);
+        } catch (IOException e) {
+            // The body vanished or is unreadable, so treat the entry as never cached
+            remove(key);
+            return null;
+        }
+    }
+
+    /**
+     * Stores a response body with its validators, replacing any earlier entry for the URL.
+     *
+     * @param url the request URL
+     * @param body the response body
+     * @param etag the response's ETag, or null
+     * @param lastModified the response's Last-Modified value, or null
+     * @throws IOException if the entry cannot be written
+     */
+    public void put(String url, byte[] body, String etag, String lastModified) throws IOException {
+        String key = keyFor(url);
+        Entry entry = new Entry(url, etag, lastModified, body.length, System.currentTimeMillis());
+
+        writeAtomically(directory.resolve(key + BODY_SUFFIX), body);
+        writeMetadata(key, entry);
+
+        synchronized (this) {
+            Entry previous = entries.put(key, entry);
+            totalBytes.addAndGet(body.length - (previous == null ? 0 : previous.size));
+            evictIfNeeded();
+        }
+    }
+
+    /**
+     * Restarts the TTL of a URL's entry after the server confirmed it is unchanged.
+     *
+     * @param url the request URL
+     * @throws IOException if the updated metadata cannot be written
+     */
+    public void markRevalidated(String url) throws IOException {
+        String key = keyFor(url);
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            entry.storedAt = System.currentTimeMillis();
+            writeMetadata(key, entry);
+        }
+    }
+
+    /**
+     * Removes every cached entry and resets the counters.
+     *
+     * @throws IOException if a cached file cannot be deleted
+     */
+    public synchronized void clear() throws IOException {
+        for (String key : new ArrayList<>(entries.keySet())) {
+            remove(key);
+        }
+        hitCount.set(0);
+        missCount.set(0);
+        revalidationCount.set(0);
+    }
+
+    /**
+     * Gets the number of responses served from the cache without a request.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Gets the number of responses that had to be downloaded in full.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Gets the number of stale entries the server confirmed unchanged with a 304.
+     *
+     * @return the revalidation count
+     */
+    public long getRevalidationCount() {
+        return revalidationCount.get();
+    }
+
+    /**
+     * Gets the number of cached entries.
+     *
+     * @return the entry count
+     */
+    public int getEntryCount() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the total size of the cached bodies.
+     *
+     * @return the size in bytes
+     */
+    public long getSizeBytes() {
+        return totalBytes.get();
+    }
+
+    void recordHit() {
+        hitCount.incrementAndGet();
+    }
+
+    void recordMiss() {
+        missCount.incrementAndGet();
+    }
+
+    void recordRevalidation() {
+        revalidationCount.incrementAndGet();
+    }
+
+    /**
+     * Rebuilds the in-memory index from the metadata files left by earlier runs.
+     */
+    private void loadIndex() throws IOException {
+        try (DirectoryStream<Path> metaFiles = Files.newDirectoryStream(directory, "*" + META_SUFFIX)) {
+            for (Path metaFile : metaFiles) {
+                String fileName = metaFile.getFileName().toString();
+                String key = fileName.substring(0, fileName.length() - META_SUFFIX.length());
+                try {
+                    JsonNode meta = objectMapper.readTree(metaFile.toFile());
+                    long size = Files.size(directory.resolve(key + BODY_SUFFIX));
+                    Entry entry = new Entry(meta.get("url").asText(), textOrNull(meta, "etag"),
+                            textOrNull(meta, "lastModified"), size, meta.get("storedAt").asLong());
+                    entries.put(key, entry);
+                    totalBytes.addAndGet(size);
+                } catch (IOException | RuntimeException e) {
+                    // Skip half-written or corrupt entries; the next download replaces them
+                    Files.deleteIfExists(metaFile);
+                    Files.deleteIfExists(directory.resolve(key + BODY_SUFFIX));
+                }
+            }
+        }
+        evictIfNeeded();
+    }
+
+    /**
+     * Removes least recently used entries until the cache fits in its size limit.
+     */
+    private synchronized void evictIfNeeded() {
+        if (totalBytes.get() <= maxBytes) {
+            return;
+        }
+        List<Map.Entry<String, Entry>> byAccess = new ArrayList<>(entries.entrySet());
+        byAccess.sort(Comparator.comparingLong(e -> e.getValue().lastAccess));
+        for (Map.Entry<String, Entry> candidate : byAccess) {
+            if (totalBytes.get() <= maxBytes) {
+                break;
+            }
+            remove(candidate.getKey());
+        }
+    }
+
+    private void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            totalBytes.addAndGet(-removed.size);
+        }
+        try {
+            Files.deleteIfExists(directory.resolve(key + BODY_SUFFIX));
+            Files.deleteIfExists(directory.resolve(key + META_SUFFIX));
+        } catch (IOException e) {
+            System.err.println("Error removing cached response " + key + ": " + e.getMessage());
+        }
+    }
+
+    private void writeMetadata(String key, Entry entry) throws IOException {
+        ObjectNode meta = objectMapper.createObjectNode();
+        meta.put("url", entry.url);
+        meta.put("etag", entry.etag);
+        meta.put("lastModified", entry.lastModified);
+        meta.put("storedAt", entry.storedAt);
+        writeAtomically(directory.resolve(key + META_SUFFIX), objectMapper.writeValueAsBytes(meta));
+    }
+
+    /**
+     * Writes to a temporary file and renames it into place so readers never see a partial file.
+     */
+    private void writeAtomically(Path target, byte[] content) throws IOException {
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, content);
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static String textOrNull(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    /**
+     * Maps a URL to a file-name-safe key.
+     */
+    private static String keyFor(String url) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+            StringBuilder key = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
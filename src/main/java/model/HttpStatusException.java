@@ -0,0 +1,92 @@
+package model;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Thrown when PokeAPI answers with a status other than success or Not Modified.
+ * Keeps the status code and any Retry-After delay so callers can tell throttling and
+ * transient server errors, which are worth retrying, from permanent ones such as 404.
+ */
+public class HttpStatusException extends IOException {
+    private final int statusCode;
+    private final Duration retryAfter;
+
+    /**
+     * Creates an exception for an unexpected response status.
+     *
+     * @param url the request URL
+     * @param statusCode the response status code
+     * @param retryAfter the delay the server asked for, or null if it sent no Retry-After
+     */
+    public HttpStatusException(String url, int statusCode, Duration retryAfter) {
+        super("Unexpected HTTP status " + statusCode + " for " + url);
+        this.statusCode = statusCode;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Gets the response status code.
+     *
+     * @return the status code
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Gets the delay the server asked for before the next request.
+     *
+     * @return the Retry-After delay, or null if the server sent none
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Checks whether the server is shedding load, with 429 Too Many Requests or 503 Service Unavailable.
+     *
+     * @return true if the status signals throttling
+     */
+    public boolean isThrottling() {
+        return statusCode == 429 || statusCode == 503;
+    }
+
+    /**
+     * Checks whether the same request may succeed later: throttling, timeouts and gateway errors.
+     *
+     * @return true if the request is worth retrying
+     */
+    public boolean isRetryable() {
+        return isThrottling() || statusCode == 408 || statusCode == 500
+                || statusCode == 502 || statusCode == 504;
+    }
+
+    /**
+     * Parses a Retry-After header, which holds either a number of seconds or an HTTP date.
+     *
+     * @param value the header value, or null
+     * @return the delay, zero for a date in the past, or null if the value is missing or malformed
+     */
+    static Duration parseRetryAfter(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        String trimmed = value.trim();
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(trimmed)));
+        } catch (NumberFormatException e) {
+            // Not a number of seconds, so try the HTTP date form
+        }
+        try {
+            ZonedDateTime retryAt = ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME);
+            Duration delay = Duration.between(ZonedDateTime.now(retryAt.getZone()), retryAt);
+            return delay.isNegative() ? Duration.ZERO : delay;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
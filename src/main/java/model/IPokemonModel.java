@@ -1,7 +1,13 @@
 package model;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Interface defining operations for fetching, storing, and managing Pokemon data.
@@ -27,7 +33,40 @@ public interface IPokemonModel {
     List<Pokemon> fetchMultiplePokemon(int count);
 
     /**
-     * Saves a collection of Pokemon to a JSON file.
+     * Fetches the given Pokemon IDs with at most {@code maxConcurrency} requests in flight.
+     * The default implementation fetches one ID at a time.
+     *
+     * @param ids the Pokemon IDs to fetch
+     * @param maxConcurrency the maximum number of requests in flight at once
+     * @return the fetched Pokemon and per-ID errors, both in requested ID order
+     * @throws IllegalArgumentException if ids is null or maxConcurrency is less than 1
+     */
+    default BulkFetchResult fetchPokemonBulk(int[] ids, int maxConcurrency) {
+        if (ids == null) {
+            throw new IllegalArgumentException("Pokemon IDs cannot be null");
+        }
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Max concurrency must be at least 1");
+        }
+
+        Pokemon[] fetched = new Pokemon[ids.length];
+        Exception[] failures = new Exception[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            try {
+                fetched[i] = fetchPokemonById(ids[i]);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failures[i] = e;
+            } catch (Exception e) {
+                failures[i] = e;
+            }
+        }
+        return new BulkFetchResult(ids, fetched, failures);
+    }
+
+    /**
+     * Saves a collection of Pokemon to a JSON file, to gzip-compressed JSON if the filename
+     * ends in {@code .json.gz}, or to a compact binary snapshot if it ends in {@code .pkmn}.
      *
      * @param collection the collection to save
      * @param filename the file to save to
@@ -37,7 +76,8 @@ public interface IPokemonModel {
     void saveCollection(List<Pokemon> collection, String filename) throws IOException;
 
     /**
-     * Loads a collection of Pokemon from a JSON file.
+     * Loads a collection of Pokemon from a JSON file, or from a binary snapshot
+     * if the filename ends in {@code .pkmn}. Gzip-compressed files are decompressed automatically.
      *
      * @param filename the file to load from
      * @return list of loaded Pokemon
@@ -45,4 +85,135 @@ public interface IPokemonModel {
      * @throws IllegalArgumentException if the filename is invalid
      */
     List<Pokemon> loadCollection(String filename) throws IOException;
-}
\ No newline at end of file
+
+    /**
+     * Saves a team of Pokemon as a new entry in the model's team store.
+     * The default implementation has no team store and always fails.
+     *
+     * @param team the Pokemon in the team
+     * @return the new team's ID
+     * @throws IOException if the team cannot be saved
+     * @throws IllegalArgumentException if the team is null or empty
+     */
+    default int saveTeam(List<Pokemon> team) throws IOException {
+        throw new IOException("This model has no team store");
+    }
+
+    /**
+     * Loads a saved team.
+     * The default implementation has no team store and always fails.
+     *
+     * @param teamId the team ID
+     * @return the team's Pokemon, or null if there is no such team
+     * @throws IOException if the team cannot be read
+     */
+    default List<Pokemon> loadTeam(int teamId) throws IOException {
+        throw new IOException("This model has no team store");
+    }
+
+    /**
+     * Streams a collection file one Pokemon at a time, for files too large to load as a list.
+     * The caller should close the stream, which stops reading if it has not reached the end.
+     * The default implementation loads the whole collection with {@link #loadCollection(String)}
+     * and reports progress once, with the byte counts unknown.
+     *
+     * @param filename the file to load from
+     * @param listener notified of loading progress, or null
+     * @return a stream of the Pokemon in the file, in file order
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if the filename is invalid
+     */
+    default Stream<Pokemon> streamCollection(String filename, LoadProgressListener listener) throws IOException {
+        List<Pokemon> loaded = loadCollection(filename);
+        if (listener != null) {
+            listener.onProgress(loaded.size(), -1, -1);
+        }
+        return loaded.stream();
+    }
+
+    /**
+     * Fetches a Pokemon by its ID without blocking the caller.
+     * The default implementation runs {@link #fetchPokemonById(int)} on the common pool.
+     *
+     * @param id the Pokemon ID
+     * @return a future completed with the Pokemon, or exceptionally if the fetch fails
+     */
+    default CompletableFuture<Pokemon> fetchPokemonByIdAsync(int id) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return fetchPokemonById(id);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    /**
+     * Fetches an inclusive range of Pokemon IDs without blocking the caller.
+     *
+     * @param firstId the first ID to fetch
+     * @param lastId the last ID to fetch; a range ending before firstId is empty
+     * @return a future completed with the fetched Pokemon and per-ID errors in ID order
+     */
+    default CompletableFuture<BulkFetchResult> fetchPokemonRangeAsync(int firstId, int lastId) {
+        int[] ids = new int[Math.max(lastId - firstId + 1, 0)];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = firstId + i;
+        }
+        return fetchPokemonAsync(ids);
+    }
+
+    /**
+     * Fetches a set of Pokemon IDs without blocking the caller.
+     *
+     * @param ids the IDs to fetch
+     * @return a future completed with the fetched Pokemon and per-ID errors in the set's iteration order
+     * @throws IllegalArgumentException if ids is null
+     */
+    default CompletableFuture<BulkFetchResult> fetchPokemonAsync(Set<Integer> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("Pokemon IDs cannot be null");
+        }
+        return fetchPokemonAsync(ids.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Fetches the given Pokemon IDs without blocking the caller.
+     * The default implementation starts one {@link #fetchPokemonByIdAsync(int)} per ID.
+     *
+     * @param ids the IDs to fetch
+     * @return a future completed with the fetched Pokemon and per-ID errors in requested order
+     */
+    default CompletableFuture<BulkFetchResult> fetchPokemonAsync(int[] ids) {
+        List<CompletableFuture<Pokemon>> futures = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            futures.add(fetchPokemonByIdAsync(id));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .handle((ignored, error) -> {
+                    Pokemon[] fetched = new Pokemon[ids.length];
+                    Exception[] failures = new Exception[ids.length];
+                    for (int i = 0; i < ids.length; i++) {
+                        try {
+                            fetched[i] = futures.get(i).join();
+                        } catch (CompletionException e) {
+                            failures[i] = BulkFetchResult.unwrap(e);
+                        }
+                    }
+                    return new BulkFetchResult(ids, fetched, failures);
+                });
+    }
+
+    /**
+     * Adds a listener called with every Pokemon that a background retry recovers after its first fetch failed.
+     * The listener runs on a model thread, not the caller's.
+     * The default implementation never retries, so the listener is never called.
+     *
+     * @param listener the listener
+     */
+    default void addRetryListener(Consumer<Pokemon> listener) {
+    }
+}
@@ -0,0 +1,44 @@
+package model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Interface for where raw PokeAPI Pokemon documents come from.
+ * A source only delivers documents; the model parses, caches and coalesces fetches the same way
+ * whichever source it reads from, so sources can be swapped without touching that pipeline.
+ */
+public interface IPokemonSource {
+
+    /**
+     * Opens the PokeAPI document for a Pokemon. The caller reads and closes the stream.
+     *
+     * @param id the Pokemon ID
+     * @return the document stream
+     * @throws IOException if the source has no document for the ID or cannot be read
+     * @throws InterruptedException if the operation is interrupted
+     */
+    InputStream openDocument(int id) throws IOException, InterruptedException;
+
+    /**
+     * Opens the PokeAPI document for a Pokemon without blocking the caller.
+     * The default implementation runs {@link #openDocument(int)} on the common pool.
+     *
+     * @param id the Pokemon ID
+     * @return a future completed with the document stream, or exceptionally if it cannot be opened
+     */
+    default CompletableFuture<InputStream> openDocumentAsync(int id) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return openDocument(id);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,168 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Index from Pokemon ID to Pokemon, shaped for the PokeAPI ID space.
+ * The national Pokedex is numbered densely from 1, so IDs up to {@link #DENSE_LIMIT} go straight into an array slot.
+ * Alternate forms are numbered from 10001 upwards and leave a wide gap, so other IDs go into an open-addressing
+ * map with primitive int keys and linear probing. Neither part boxes IDs, and a lookup is a single array read
+ * or a short probe.
+ * <p>
+ * When two Pokemon share an ID the first one added is kept, matching a search from the front of the catalog.
+ * The index is not thread-safe while being added to; callers that share one should replace it rather than add to it.
+ */
+public class IdIndex {
+    /** The highest ID kept in the dense array. Covers the national Pokedex with room for new generations. */
+    public static final int DENSE_LIMIT = 2048;
+
+    /** Marks an empty slot in the sparse map. ID 0 is always kept in the dense array, so it is never a sparse key. */
+    private static final int EMPTY = 0;
+    private static final int MIN_SPARSE_CAPACITY = 16;
+
+    private final Pokemon[] dense;
+    private int[] sparseKeys;
+    private Pokemon[] sparseValues;
+    private int sparseSize;
+    private int size;
+
+    /**
+     * Creates an empty index.
+     */
+    public IdIndex() {
+        this.dense = new Pokemon[DENSE_LIMIT + 1];
+        this.sparseKeys = new int[MIN_SPARSE_CAPACITY];
+        this.sparseValues = new Pokemon[MIN_SPARSE_CAPACITY];
+    }
+
+    /**
+     * Creates an index over a catalog.
+     *
+     * @param catalog the Pokemon to index
+     * @throws IllegalArgumentException if the catalog is null
+     */
+    public IdIndex(List<Pokemon> catalog) {
+        this();
+        if (catalog == null) {
+            throw new IllegalArgumentException("Catalog cannot be null");
+        }
+        for (Pokemon pokemon : catalog) {
+            add(pokemon);
+        }
+    }
+
+    /**
+     * Adds a Pokemon to the index unless one with the same ID is already there.
+     *
+     * @param pokemon the Pokemon to add; null is ignored
+     * @return true if the Pokemon was added
+     */
+    public boolean add(Pokemon pokemon) {
+        if (pokemon == null) {
+            return false;
+        }
+        int id = pokemon.getId();
+        if (isDense(id)) {
+            if (dense[id] != null) {
+                return false;
+            }
+            dense[id] = pokemon;
+            size++;
+            return true;
+        }
+
+        int slot = findSlot(sparseKeys, id);
+        if (sparseKeys[slot] == id) {
+            return false;
+        }
+        sparseKeys[slot] = id;
+        sparseValues[slot] = pokemon;
+        sparseSize++;
+        size++;
+        // Keep the map at most half full so probe runs stay short
+        if (sparseSize * 2 > sparseKeys.length) {
+            growSparse();
+        }
+        return true;
+    }
+
+    /**
+     * Gets the Pokemon with an ID.
+     *
+     * @param id the Pokemon ID
+     * @return the Pokemon, or null if none has the ID
+     */
+    public Pokemon get(int id) {
+        if (isDense(id)) {
+            return dense[id];
+        }
+        int slot = findSlot(sparseKeys, id);
+        return sparseKeys[slot] == id ? sparseValues[slot] : null;
+    }
+
+    /**
+     * Gets the Pokemon for several IDs at once.
+     *
+     * @param ids the Pokemon IDs
+     * @return a list the same length as the IDs, holding each ID's Pokemon or null if none has it
+     * @throws IllegalArgumentException if the IDs are null
+     */
+    public List<Pokemon> getAll(int[] ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("IDs cannot be null");
+        }
+        List<Pokemon> found = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            found.add(get(id));
+        }
+        return found;
+    }
+
+    /**
+     * Gets the number of Pokemon in the index.
+     *
+     * @return the number of distinct IDs
+     */
+    public int size() {
+        return size;
+    }
+
+    private static boolean isDense(int id) {
+        return id >= 0 && id <= DENSE_LIMIT;
+    }
+
+    /**
+     * Finds the slot that holds an ID, or the empty slot where it would go.
+     */
+    private static int findSlot(int[] keys, int id) {
+        int mask = keys.length - 1;
+        int slot = mix(id) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Spreads sequential IDs such as 10001, 10002, ... across the table instead of into one run.
+     */
+    private static int mix(int id) {
+        int hash = id * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private void growSparse() {
+        int[] oldKeys = sparseKeys;
+        Pokemon[] oldValues = sparseValues;
+        sparseKeys = new int[oldKeys.length * 2];
+        sparseValues = new Pokemon[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = findSlot(sparseKeys, oldKeys[i]);
+                sparseKeys[slot] = oldKeys[i];
+                sparseValues[slot] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package model;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pokemon source held entirely in memory, for tests and benchmarks that must not touch the network or disk.
+ * IDs 1 to the synthetic count get generated PokeAPI-shaped documents, built on demand so large counts
+ * cost no memory, and any ID can be given a document of its own with {@link #put(int, String)}.
+ */
+public class InMemoryPokemonSource implements IPokemonSource {
+    private static final String[] TYPE_NAMES = {
+        "normal", "fire", "water", "electric", "grass", "ice", "fighting", "poison", "ground",
+        "flying", "psychic", "bug", "rock", "ghost", "dragon", "dark", "steel", "fairy"
+    };
+    private static final String[] STAT_NAMES = {
+        "hp", "attack", "defense", "special-attack", "special-defense", "speed"
+    };
+
+    private final int syntheticCount;
+    private final int moveCount;
+    private final Map<Integer, byte[]> documents;
+
+    /**
+     * Creates an empty source that only serves documents added with {@link #put(int, String)}.
+     */
+    public InMemoryPokemonSource() {
+        this(0, 0);
+    }
+
+    /**
+     * Creates a source that generates documents for IDs 1 to {@code syntheticCount}.
+     *
+     * @param syntheticCount the number of generated Pokemon
+     * @param moveCount the number of entries in each generated document's moves array
+     * @throws IllegalArgumentException if either count is negative
+     */
+    public InMemoryPokemonSource(int syntheticCount, int moveCount) {
+        if (syntheticCount < 0 || moveCount < 0) {
+            throw new IllegalArgumentException("Counts cannot be negative");
+        }
+        this.syntheticCount = syntheticCount;
+        this.moveCount = moveCount;
+        this.documents = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Adds or replaces the document for an ID, taking precedence over a generated one.
+     *
+     * @param id the Pokemon ID
+     * @param json the PokeAPI document
+     * @throws IllegalArgumentException if the document is null
+     */
+    public void put(int id, String json) {
+        if (json == null) {
+            throw new IllegalArgumentException("Document cannot be null");
+        }
+        documents.put(id, json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Opens the document for an ID.
+     *
+     * @param id the Pokemon ID
+     * @return the document stream
+     * @throws IOException if the source has no document for the ID
+     */
+    @Override
+    public InputStream openDocument(int id) throws IOException {
+        byte[] document = documents.get(id);
+        if (document != null) {
+            return new ByteArrayInputStream(document);
+        }
+        if (id >= 1 && id <= syntheticCount) {
+            return new ByteArrayInputStream(syntheticDocument(id, moveCount).getBytes(StandardCharsets.UTF_8));
+        }
+        throw new IOException("Pokemon " + id + " not found in memory source");
+    }
+
+    /**
+     * Opens the document for an ID on the calling thread, since nothing here blocks.
+     *
+     * @param id the Pokemon ID
+     * @return a completed future of the document stream, or a failed one if the ID is unknown
+     */
+    @Override
+    public CompletableFuture<InputStream> openDocumentAsync(int id) {
+        try {
+            return CompletableFuture.completedFuture(openDocument(id));
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Builds a PokeAPI-shaped document for an ID, the same every time.
+     * The moves array pads the document the way the real API's moves and game_indices do.
+     *
+     * @param id the Pokemon ID
+     * @param moveCount number of entries in the moves array
+     * @return the JSON document
+     */
+    public static String syntheticDocument(int id, int moveCount) {
+        StringBuilder json = new StringBuilder(512 + moveCount * 160);
+        json.append("{\"abilities\":[],\"base_experience\":64,\"height\":7,\"id\":").append(id);
+        json.append(",\"moves\":[");
+        for (int i = 0; i < moveCount; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"move\":{\"name\":\"move-").append(i)
+                    .append("\",\"url\":\"https://pokeapi.co/api/v2/move/").append(i)
+                    .append("/\"},\"version_group_details\":[{\"level_learned_at\":").append(i % 50)
+                    .append(",\"move_learn_method\":{\"name\":\"level-up\"}}]}");
+        }
+        json.append("],\"name\":\"pokemon-").append(id).append('"');
+        json.append(",\"sprites\":{\"back_default\":null,\"front_default\":")
+                .append("\"https://raw.githubusercontent.com/PokeAPI/sprites/master/sprites/pokemon/")
+                .append(id).append(".png\",\"other\":{\"dream_world\":{\"front_default\":null}}}");
+        json.append(",\"stats\":[");
+        for (int i = 0; i < STAT_NAMES.length; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"base_stat\":").append(20 + (id * 7 + i * 13) % 150)
+                    .append(",\"effort\":0,\"stat\":{\"name\":\"").append(STAT_NAMES[i]).append("\"}}");
+        }
+        json.append("],\"types\":[{\"slot\":1,\"type\":{\"name\":\"")
+                .append(TYPE_NAMES[id % TYPE_NAMES.length]).append("\"}}");
+        if (id % 3 == 0) {
+            json.append(",{\"slot\":2,\"type\":{\"name\":\"")
+                    .append(TYPE_NAMES[(id + 1 + (id / 3) % 17) % TYPE_NAMES.length]).append("\"}}");
+        }
+        json.append("],\"weight\":69}");
+        return json.toString();
+    }
+}
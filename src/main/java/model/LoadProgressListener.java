@@ -0,0 +1,18 @@
+package model;
+
+/**
+ * Listener for progress while a collection file is streamed in.
+ */
+@FunctionalInterface
+public interface LoadProgressListener {
+
+    /**
+     * Called after each Pokemon is read, and once more when the end of the file is reached.
+     *
+     * @param pokemonRead the number of Pokemon read so far
+     * @param bytesRead the number of bytes read from the file so far, or -1 if unknown;
+     *                  read-ahead buffering means this can run slightly ahead of the Pokemon returned
+     * @param totalBytes the size of the file, or -1 if unknown
+     */
+    void onProgress(long pokemonRead, long bytesRead, long totalBytes);
+}
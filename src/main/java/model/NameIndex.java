@@ -0,0 +1,302 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Trigram index for substring search over Pokemon names and ID digits.
+ * Each Pokemon is indexed as its lowercased name and its ID, each wrapped in separator characters.
+ * Every three-character window of that text goes into a posting list.
+ * A query of three or more characters intersects the posting lists of its own trigrams, rarest first.
+ * A two-character query merges the lists of the trigrams that contain it.
+ * Only the resulting candidates are checked with {@link String#contains}, so a keystroke costs time
+ * in proportion to the matches rather than to the catalog.
+ * One-character queries match most names anyway and are answered by checking every entry.
+ * <p>
+ * The index is built once from a catalog and never changes, so one instance can be shared across threads;
+ * a changed catalog gets a new index. Results are in catalog order.
+ */
+public class NameIndex {
+    /** Separates the name from the ID so no trigram spans both, and pads short texts to a full trigram. */
+    private static final char SEPARATOR = '\0';
+
+    private final List<Pokemon> entries;
+    private final List<String> texts;
+    private final Map<Pokemon, Integer> slots;
+    private final Map<Long, Postings> postings;
+    private final Map<Integer, List<Long>> trigramsByBigram;
+
+    /**
+     * Sorted, growable list of entry slots. Slots are assigned in increasing order,
+     * so appending keeps the list sorted.
+     */
+    private static class Postings {
+        private int[] slots = new int[4];
+        private int size;
+
+        private void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+    }
+
+    /**
+     * Creates an index over a catalog. Null entries are skipped, and a Pokemon object listed twice
+     * is indexed once.
+     *
+     * @param catalog the Pokemon to index
+     * @throws IllegalArgumentException if the catalog is null
+     */
+    public NameIndex(List<Pokemon> catalog) {
+        if (catalog == null) {
+            throw new IllegalArgumentException("Catalog cannot be null");
+        }
+        this.entries = new ArrayList<>(catalog.size());
+        this.texts = new ArrayList<>(catalog.size());
+        this.slots = new IdentityHashMap<>();
+        this.postings = new HashMap<>();
+        this.trigramsByBigram = new HashMap<>();
+        for (Pokemon pokemon : catalog) {
+            add(pokemon);
+        }
+    }
+
+    private void add(Pokemon pokemon) {
+        if (pokemon == null || slots.containsKey(pokemon)) {
+            return;
+        }
+        int slot = entries.size();
+        String text = SEPARATOR + normalize(pokemon.getName()) + SEPARATOR + pokemon.getId() + SEPARATOR;
+        entries.add(pokemon);
+        texts.add(text);
+        slots.put(pokemon, slot);
+
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            long trigram = trigram(text, i);
+            Postings list = postings.get(trigram);
+            if (list == null) {
+                list = new Postings();
+                postings.put(trigram, list);
+                trigramsByBigram.computeIfAbsent(bigram(text, i), key -> new ArrayList<>()).add(trigram);
+                int tail = bigram(text, i + 1);
+                if (tail != bigram(text, i)) {
+                    trigramsByBigram.computeIfAbsent(tail, key -> new ArrayList<>()).add(trigram);
+                }
+            }
+            // A trigram repeated within one text is posted once
+            if (list.size == 0 || list.slots[list.size - 1] != slot) {
+                list.add(slot);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of Pokemon in the index.
+     *
+     * @return the number of indexed Pokemon
+     */
+    public int size() {
+        return slots.size();
+    }
+
+    /**
+     * Finds the Pokemon whose lowercased name or ID contains a query.
+     *
+     * @param query the substring to look for; matched case-insensitively
+     * @return the matching Pokemon in the order they were added, or every Pokemon if the query is empty
+     */
+    public List<Pokemon> search(String query) {
+        return search(query, true);
+    }
+
+    /**
+     * Finds the Pokemon whose lowercased name contains a query, ignoring IDs.
+     *
+     * @param query the substring to look for; matched case-insensitively
+     * @return the matching Pokemon in the order they were added, or every Pokemon if the query is empty
+     */
+    public List<Pokemon> searchNames(String query) {
+        return search(query, false);
+    }
+
+    /**
+     * Counts the entries a query has to check after the posting lists have narrowed it down.
+     * Visible for tests and benchmarks.
+     *
+     * @param query the substring to look for
+     * @return the number of candidate entries
+     */
+    int candidateCount(String query) {
+        String normalized = normalize(query);
+        if (normalized.length() < 2) {
+            return entries.size();
+        }
+        return candidates(normalized).length;
+    }
+
+    /**
+     * Estimates how many entries a query can match without intersecting anything: the size of its
+     * rarest trigram's posting list, or for two characters the total size of the lists that contain them.
+     * Never less than the true count. Visible for query planning.
+     *
+     * @param query the substring to look for
+     * @return an upper bound on the number of matches
+     */
+    int estimateMatches(String query) {
+        String normalized = normalize(query);
+        if (normalized.length() < 2) {
+            return entries.size();
+        }
+        if (normalized.length() == 2) {
+            List<Long> trigrams = trigramsByBigram.get(bigram(normalized, 0));
+            long total = 0;
+            if (trigrams != null) {
+                for (long trigram : trigrams) {
+                    total += postings.get(trigram).size;
+                }
+            }
+            return (int) Math.min(total, entries.size());
+        }
+        int smallest = entries.size();
+        for (int i = 0; i + 3 <= normalized.length(); i++) {
+            Postings list = postings.get(trigram(normalized, i));
+            smallest = Math.min(smallest, list == null ? 0 : list.size);
+        }
+        return smallest;
+    }
+
+    /**
+     * Gets the slots of the entries whose lowercased name contains a query.
+     * For an index built from a list of distinct, non-null Pokemon, slots are list positions.
+     *
+     * @param query the substring to look for
+     * @return the matching slots
+     */
+    BitSet slotsMatchingName(String query) {
+        return matchingSlots(normalize(query), false);
+    }
+
+    private List<Pokemon> search(String query, boolean matchIds) {
+        BitSet slots = matchingSlots(normalize(query), matchIds);
+        List<Pokemon> matches = new ArrayList<>(slots.cardinality());
+        for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+            matches.add(entries.get(slot));
+        }
+        return matches;
+    }
+
+    private BitSet matchingSlots(String query, boolean matchIds) {
+        BitSet matches = new BitSet(entries.size());
+        if (query.indexOf(SEPARATOR) >= 0) {
+            return matches;
+        }
+        if (query.length() < 2) {
+            for (int slot = 0; slot < entries.size(); slot++) {
+                if (matches(slot, query, matchIds)) {
+                    matches.set(slot);
+                }
+            }
+            return matches;
+        }
+        for (int slot : candidates(query)) {
+            if (matches(slot, query, matchIds)) {
+                matches.set(slot);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Checks whether an entry's text contains the query where it should.
+     * The query cannot contain the separator, so an occurrence lies wholly in the name or the ID,
+     * and the first occurrence is in the name if any is.
+     */
+    private boolean matches(int slot, String query, boolean matchIds) {
+        String text = texts.get(slot);
+        int at = text.indexOf(query);
+        if (at < 0) {
+            return false;
+        }
+        return matchIds || at + query.length() <= text.indexOf(SEPARATOR, 1);
+    }
+
+    /**
+     * Gets the sorted slots that might contain a query of two or more characters.
+     */
+    private int[] candidates(String query) {
+        if (query.length() == 2) {
+            return unionForBigram(bigram(query, 0));
+        }
+        List<Postings> lists = new ArrayList<>();
+        for (int i = 0; i + 3 <= query.length(); i++) {
+            Postings list = postings.get(trigram(query, i));
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+
+        int[] result = Arrays.copyOf(lists.get(0).slots, lists.get(0).size);
+        int resultSize = result.length;
+        for (int i = 1; i < lists.size() && resultSize > 0; i++) {
+            resultSize = intersect(result, resultSize, lists.get(i));
+        }
+        return Arrays.copyOf(result, resultSize);
+    }
+
+    /**
+     * Intersects a sorted slot array in place with a posting list.
+     *
+     * @return the new size of the array
+     */
+    private static int intersect(int[] result, int resultSize, Postings list) {
+        int kept = 0;
+        int j = 0;
+        for (int i = 0; i < resultSize && j < list.size; i++) {
+            int slot = result[i];
+            while (j < list.size && list.slots[j] < slot) {
+                j++;
+            }
+            if (j < list.size && list.slots[j] == slot) {
+                result[kept++] = slot;
+            }
+        }
+        return kept;
+    }
+
+    private int[] unionForBigram(int bigram) {
+        List<Long> trigrams = trigramsByBigram.get(bigram);
+        if (trigrams == null) {
+            return new int[0];
+        }
+        BitSet union = new BitSet(entries.size());
+        for (long trigram : trigrams) {
+            Postings list = postings.get(trigram);
+            for (int i = 0; i < list.size; i++) {
+                union.set(list.slots[i]);
+            }
+        }
+        return union.stream().toArray();
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static long trigram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+    private static int bigram(String text, int start) {
+        return (text.charAt(start) << 16) | text.charAt(start + 1);
+    }
+}
@@ -1,6 +1,11 @@
 package model;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -11,19 +16,28 @@ public class Pokemon implements IPokemon, Serializable {
     private int id;
     private String name;
     private String imageUrl;
-    private List<PokemonType> types;
+    private PokemonTypes types;
     private PokemonStats stats;
 
     /**
-     * Nested Stats Class to represent Pokemon's base stats
+     * Nested Stats Class to represent Pokemon's base stats.
+     * <p>
+     * Stats are immutable and packed: base stats run from 0 to 255, so all six fit in one byte each of a
+     * single long, with their total in the top sixteen bits. A stats object is then a header, one long
+     * and one null reference, instead of six separate ints. Values outside a byte, which no real
+     * Pokemon has, are kept unpacked in a small array so they still round-trip exactly.
+     * Two stats are equal when all six values are.
      */
-    public static class PokemonStats implements Serializable {
-        private int hp;
-        private int attack;
-        private int defense;
-        private int specialAttack;
-        private int specialDefense;
-        private int speed;
+    public static final class PokemonStats implements Serializable {
+        private static final int LANE_BITS = 8;
+        private static final int LANE_MASK = 0xFF;
+        private static final int TOTAL_SHIFT = 48;
+        private static final int STAT_COUNT = 6;
+
+        /** Six 8-bit lanes in HP, attack, defense, special attack, special defense, speed order, then the total. */
+        private final long packed;
+        /** The six stats and their total when some stat does not fit in a lane, otherwise null. */
+        private final int[] wide;
 
         /**
          * Constructor for Pokemon stats
@@ -34,48 +48,86 @@ public class Pokemon implements IPokemon, Serializable {
          * @param specialDefense special defense stat
          * @param speed speed stat
          */
-        public PokemonStats(int hp, int attack, int defense,
-                            int specialAttack, int specialDefense, int speed) {
-            this.hp = hp;
-            this.attack = attack;
-            this.defense = defense;
-            this.specialAttack = specialAttack;
-            this.specialDefense = specialDefense;
-            this.speed = speed;
+        @JsonCreator
+        public PokemonStats(@JsonProperty("hp") int hp, @JsonProperty("attack") int attack,
+                            @JsonProperty("defense") int defense,
+                            @JsonProperty("specialAttack") int specialAttack,
+                            @JsonProperty("specialDefense") int specialDefense,
+                            @JsonProperty("speed") int speed) {
+            int[] values = {hp, attack, defense, specialAttack, specialDefense, speed};
+            long lanes = 0;
+            int total = 0;
+            boolean fits = true;
+            for (int i = 0; i < STAT_COUNT; i++) {
+                fits &= (values[i] & ~LANE_MASK) == 0;
+                lanes |= (long) (values[i] & LANE_MASK) << (i * LANE_BITS);
+                total += values[i];
+            }
+            if (fits) {
+                this.packed = lanes | (long) total << TOTAL_SHIFT;
+                this.wide = null;
+            } else {
+                this.packed = 0;
+                this.wide = Arrays.copyOf(values, STAT_COUNT + 1);
+                this.wide[STAT_COUNT] = total;
+            }
         }
 
         /**
-         * Default constructor for Jackson deserialization
+         * Creates stats with every value zero.
          */
         public PokemonStats() {
-            // Required for Jackson
+            this(0, 0, 0, 0, 0, 0);
+        }
+
+        private int stat(int lane) {
+            return wide == null ? (int) (packed >>> (lane * LANE_BITS)) & LANE_MASK : wide[lane];
         }
 
         // Getters
-        public int getHp() { return hp; }
-        public int getAttack() { return attack; }
-        public int getDefense() { return defense; }
-        public int getSpecialAttack() { return specialAttack; }
-        public int getSpecialDefense() { return specialDefense; }
-        public int getSpeed() { return speed; }
-
-        // Setters for Jackson deserialization
-        public void setHp(int hp) { this.hp = hp; }
-        public void setAttack(int attack) { this.attack = attack; }
-        public void setDefense(int defense) { this.defense = defense; }
-        public void setSpecialAttack(int specialAttack) { this.specialAttack = specialAttack; }
-        public void setSpecialDefense(int specialDefense) { this.specialDefense = specialDefense; }
-        public void setSpeed(int speed) { this.speed = speed; }
+        public int getHp() { return stat(0); }
+        public int getAttack() { return stat(1); }
+        public int getDefense() { return stat(2); }
+        public int getSpecialAttack() { return stat(3); }
+        public int getSpecialDefense() { return stat(4); }
+        public int getSpeed() { return stat(5); }
+
+        /**
+         * Gets the sum of the six base stats, computed when the stats were created.
+         *
+         * @return the base stat total
+         */
+        @JsonIgnore
+        public int getTotal() {
+            return wide == null ? (int) (packed >>> TOTAL_SHIFT) : wide[STAT_COUNT];
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof PokemonStats)) {
+                return false;
+            }
+            PokemonStats stats = (PokemonStats) other;
+            return packed == stats.packed && Arrays.equals(wide, stats.wide);
+        }
+
+        @Override
+        public int hashCode() {
+            return wide == null ? Long.hashCode(packed) : Arrays.hashCode(wide);
+        }
 
         @Override
         public String toString() {
             return "PokemonStats{" +
-                    "hp=" + hp +
-                    ", attack=" + attack +
-                    ", defense=" + defense +
-                    ", specialAttack=" + specialAttack +
-                    ", specialDefense=" + specialDefense +
-                    ", speed=" + speed +
+                    "hp=" + getHp() +
+                    ", attack=" + getAttack() +
+                    ", defense=" + getDefense() +
+                    ", specialAttack=" + getSpecialAttack() +
+                    ", specialDefense=" + getSpecialDefense() +
+                    ", speed=" + getSpeed() +
                     '}';
         }
     }
@@ -93,7 +145,7 @@ public class Pokemon implements IPokemon, Serializable {
         this.id = id;
         this.name = name;
         this.imageUrl = imageUrl;
-        this.types = types;
+        this.types = PokemonTypes.of(types);
         this.stats = stats;
     }
 
@@ -120,11 +172,21 @@ public class Pokemon implements IPokemon, Serializable {
     @Override
     public PokemonStats getStats() { return stats; }
 
+    /**
+     * Checks whether the Pokemon has a type, with one AND against its type mask.
+     *
+     * @param type the type
+     * @return true if the Pokemon has the type
+     */
+    public boolean hasType(PokemonType type) {
+        return types != null && types.has(type);
+    }
+
     // Setters for Jackson deserialization
     public void setId(int id) { this.id = id; }
     public void setName(String name) { this.name = name; }
     public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
-    public void setTypes(List<PokemonType> types) { this.types = types; }
+    public void setTypes(List<PokemonType> types) { this.types = PokemonTypes.of(types); }
     public void setStats(PokemonStats stats) { this.stats = stats; }
 
     /**
@@ -135,6 +197,18 @@ public class Pokemon implements IPokemon, Serializable {
      */
     @Override
     public String toString() {
-        return String.format("#%03d - %s", getId(), getName().toUpperCase());
+        return displayText(getId(), getName());
+    }
+
+    /**
+     * Formats an ID and name the way Pokemon are shown in the UI. Shared by every IPokemon
+     * implementation so they all display alike.
+     *
+     * @param id the Pokemon's ID number
+     * @param name the Pokemon's name, or null to show the ID alone
+     * @return the formatted ID and upper-cased name
+     */
+    static String displayText(int id, String name) {
+        return String.format("#%03d - %s", id, name == null ? "" : name.toUpperCase());
     }
 }
\ No newline at end of file
@@ -0,0 +1,425 @@
+package model;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded in-memory cache of Pokemon keyed by ID, with O(1) lookup.
+ * Once the cache holds its maximum number of entries, each new entry causes an eviction
+ * chosen by the configured policy. Hits, misses and evictions are counted.
+ * All methods are synchronized, so one cache can be shared by concurrent fetches.
+ */
+public class PokemonCache {
+
+    /**
+     * How the cache picks an entry to evict when it is full.
+     */
+    public enum EvictionPolicy {
+        /** Evicts the least recently used entry. */
+        LRU,
+        /**
+         * Window TinyLFU: new entries wait in a small LRU window and only enter the main cache
+         * if they are used more often than the entry they would replace, so one-off scans
+         * cannot flush frequently used Pokemon.
+         */
+        W_TINY_LFU
+    }
+
+    private final int maxEntries;
+    private final EvictionPolicy policy;
+    private final Store store;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maxEntries the maximum number of Pokemon to hold
+     * @param policy the eviction policy
+     * @throws IllegalArgumentException if maxEntries is less than 1 or the policy is null
+     */
+    public PokemonCache(int maxEntries, EvictionPolicy policy) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Max entries must be at least 1");
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException("Eviction policy cannot be null");
+        }
+        this.maxEntries = maxEntries;
+        this.policy = policy;
+        this.store = policy == EvictionPolicy.LRU ? new LruStore(maxEntries) : new WindowTinyLfuStore(maxEntries);
+    }
+
+    /**
+     * Looks up a Pokemon and counts the lookup as a hit or a miss.
+     *
+     * @param id the Pokemon ID
+     * @return the cached Pokemon, or null if it is not cached
+     */
+    public synchronized Pokemon get(int id) {
+        Pokemon pokemon = store.get(id);
+        if (pokemon == null) {
+            missCount++;
+        } else {
+            hitCount++;
+        }
+        return pokemon;
+    }
+
+    /**
+     * Adds a Pokemon, replacing any cached Pokemon with the same ID.
+     *
+     * @param pokemon the Pokemon to cache
+     * @throws IllegalArgumentException if the Pokemon is null
+     */
+    public synchronized void put(Pokemon pokemon) {
+        if (pokemon == null) {
+            throw new IllegalArgumentException("Cannot cache a null Pokemon");
+        }
+        evictionCount += store.put(pokemon.getId(), pokemon);
+    }
+
+    /**
+     * Checks whether a Pokemon is cached without counting a hit or miss or changing its recency.
+     *
+     * @param id the Pokemon ID
+     * @return true if the Pokemon is cached
+     */
+    public synchronized boolean contains(int id) {
+        return store.contains(id);
+    }
+
+    /**
+     * Gets the number of cached Pokemon.
+     *
+     * @return the entry count
+     */
+    public synchronized int size() {
+        return store.size();
+    }
+
+    /**
+     * Removes every cached Pokemon. The statistics are kept.
+     */
+    public synchronized void clear() {
+        store.clear();
+    }
+
+    /**
+     * Gets the maximum number of cached Pokemon.
+     *
+     * @return the capacity
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Gets the eviction policy.
+     *
+     * @return the policy
+     */
+    public EvictionPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Gets the number of lookups that found a cached Pokemon.
+     *
+     * @return the hit count
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets the number of lookups that found nothing.
+     *
+     * @return the miss count
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Gets the number of Pokemon removed to make room, including new entries the policy declined to admit.
+     *
+     * @return the eviction count
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Gets the fraction of lookups that were hits.
+     *
+     * @return the hit rate between 0 and 1, or 0 if there were no lookups
+     */
+    public synchronized double getHitRate() {
+        long lookups = hitCount + missCount;
+        return lookups == 0 ? 0 : (double) hitCount / lookups;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "PokemonCache{" +
+                "policy=" + policy +
+                ", size=" + store.size() +
+                ", maxEntries=" + maxEntries +
+                ", hits=" + hitCount +
+                ", misses=" + missCount +
+                ", evictions=" + evictionCount +
+                '}';
+    }
+
+    /**
+     * Storage and eviction behind the cache. Callers hold the cache's lock.
+     */
+    private interface Store {
+        Pokemon get(int id);
+
+        /**
+         * Adds or replaces an entry.
+         *
+         * @return the number of entries evicted to make room
+         */
+        int put(int id, Pokemon pokemon);
+
+        boolean contains(int id);
+
+        int size();
+
+        void clear();
+    }
+
+    /**
+     * Plain LRU over an access-ordered LinkedHashMap.
+     */
+    private static class LruStore implements Store {
+        private final int capacity;
+        private final LinkedHashMap<Integer, Pokemon> entries;
+
+        LruStore(int capacity) {
+            this.capacity = capacity;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        }
+
+        @Override
+        public Pokemon get(int id) {
+            return entries.get(id);
+        }
+
+        @Override
+        public int put(int id, Pokemon pokemon) {
+            entries.put(id, pokemon);
+            if (entries.size() <= capacity) {
+                return 0;
+            }
+            removeEldest(entries);
+            return 1;
+        }
+
+        @Override
+        public boolean contains(int id) {
+            return entries.containsKey(id);
+        }
+
+        @Override
+        public int size() {
+            return entries.size();
+        }
+
+        @Override
+        public void clear() {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Window TinyLFU: about 1% of capacity is an LRU admission window, and the rest is a
+     * segmented LRU split into probation and protected (80%) segments.
+     * A Pokemon leaving the window replaces the probation victim only if the frequency sketch
+     * says it has been requested more often.
+     */
+    private static class WindowTinyLfuStore implements Store {
+        private final int windowCapacity;
+        private final int mainCapacity;
+        private final int protectedCapacity;
+        private final LinkedHashMap<Integer, Pokemon> window;
+        private final LinkedHashMap<Integer, Pokemon> probation;
+        private final LinkedHashMap<Integer, Pokemon> protectedSegment;
+        private final FrequencySketch sketch;
+
+        WindowTinyLfuStore(int capacity) {
+            this.windowCapacity = Math.max(1, capacity / 100);
+            this.mainCapacity = capacity - windowCapacity;
+            this.protectedCapacity = (int) (mainCapacity * 0.8);
+            this.window = new LinkedHashMap<>(16, 0.75f, true);
+            this.probation = new LinkedHashMap<>(16, 0.75f, true);
+            this.protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+            this.sketch = new FrequencySketch(capacity);
+        }
+
+        @Override
+        public Pokemon get(int id) {
+            sketch.increment(id);
+            Pokemon pokemon = window.get(id);
+            if (pokemon != null) {
+                return pokemon;
+            }
+            pokemon = protectedSegment.get(id);
+            if (pokemon != null) {
+                return pokemon;
+            }
+            pokemon = probation.remove(id);
+            if (pokemon != null) {
+                promote(id, pokemon);
+            }
+            return pokemon;
+        }
+
+        @Override
+        public int put(int id, Pokemon pokemon) {
+            sketch.increment(id);
+            if (window.containsKey(id)) {
+                window.put(id, pokemon);
+                return 0;
+            }
+            if (protectedSegment.containsKey(id)) {
+                protectedSegment.put(id, pokemon);
+                return 0;
+            }
+            if (probation.remove(id) != null) {
+                promote(id, pokemon);
+                return 0;
+            }
+
+            window.put(id, pokemon);
+            if (window.size() <= windowCapacity) {
+                return 0;
+            }
+            Map.Entry<Integer, Pokemon> candidate = removeEldest(window);
+            return admit(candidate.getKey(), candidate.getValue());
+        }
+
+        /**
+         * Moves a probation entry that was used again into the protected segment,
+         * demoting the protected segment's least recently used entry if it is full.
+         */
+        private void promote(int id, Pokemon pokemon) {
+            protectedSegment.put(id, pokemon);
+            if (protectedSegment.size() > protectedCapacity) {
+                Map.Entry<Integer, Pokemon> demoted = removeEldest(protectedSegment);
+                probation.put(demoted.getKey(), demoted.getValue());
+            }
+        }
+
+        /**
+         * Offers an entry leaving the window to the main cache.
+         *
+         * @return the number of entries evicted, the candidate itself or the victim it displaced
+         */
+        private int admit(int candidateId, Pokemon candidate) {
+            if (probation.size() + protectedSegment.size() < mainCapacity) {
+                probation.put(candidateId, candidate);
+                return 0;
+            }
+            LinkedHashMap<Integer, Pokemon> victimSegment = probation.isEmpty() ? protectedSegment : probation;
+            if (victimSegment.isEmpty()) {
+                // The main cache has no room at all, which only happens at capacity 1
+                return 1;
+            }
+            int victimId = victimSegment.keySet().iterator().next();
+            if (sketch.frequency(candidateId) > sketch.frequency(victimId)) {
+                victimSegment.remove(victimId);
+                probation.put(candidateId, candidate);
+            }
+            return 1;
+        }
+
+        @Override
+        public boolean contains(int id) {
+            return window.containsKey(id) || probation.containsKey(id) || protectedSegment.containsKey(id);
+        }
+
+        @Override
+        public int size() {
+            return window.size() + probation.size() + protectedSegment.size();
+        }
+
+        @Override
+        public void clear() {
+            window.clear();
+            probation.clear();
+            protectedSegment.clear();
+        }
+    }
+
+    /**
+     * Count-min sketch of recent request frequency with four rows of counters capped at 15.
+     * Every counter is halved after a sample of ten times the capacity, so old popularity fades.
+     */
+    private static class FrequencySketch {
+        private static final int ROWS = 4;
+        private static final int MAX_COUNT = 15;
+        private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+        private final byte[][] counters;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int capacity) {
+            int width = Integer.highestOneBit(Math.max(16, capacity * 2 - 1)) << 1;
+            this.counters = new byte[ROWS][width];
+            this.mask = width - 1;
+            this.sampleSize = Math.max(10 * capacity, 16);
+        }
+
+        void increment(int id) {
+            boolean added = false;
+            for (int row = 0; row < ROWS; row++) {
+                int slot = indexOf(id, row);
+                if (counters[row][slot] < MAX_COUNT) {
+                    counters[row][slot]++;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) {
+                reset();
+            }
+        }
+
+        int frequency(int id) {
+            int frequency = MAX_COUNT;
+            for (int row = 0; row < ROWS; row++) {
+                frequency = Math.min(frequency, counters[row][indexOf(id, row)]);
+            }
+            return frequency;
+        }
+
+        private int indexOf(int id, int row) {
+            int hash = id * SEEDS[row];
+            return (hash ^ (hash >>> 16)) & mask;
+        }
+
+        private void reset() {
+            for (byte[] row : counters) {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] >>= 1;
+                }
+            }
+            additions /= 2;
+        }
+    }
+
+    private static Map.Entry<Integer, Pokemon> removeEldest(LinkedHashMap<Integer, Pokemon> segment) {
+        Iterator<Map.Entry<Integer, Pokemon>> iterator = segment.entrySet().iterator();
+        Map.Entry<Integer, Pokemon> eldest = iterator.next();
+        Map.Entry<Integer, Pokemon> removed = Map.entry(eldest.getKey(), eldest.getValue());
+        iterator.remove();
+        return removed;
+    }
+}
@@ -0,0 +1,351 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A catalog stored column by column instead of as one object graph per Pokemon.
+ * Each stat is an {@code int[]} over the catalog positions, names are codes into a dictionary
+ * of the distinct names, and types are a {@code short} code per position into the catalog's distinct
+ * type lists, each a {@link PokemonTypes} with its bitmask. Scans over a stat, a type or a name's order read
+ * packed primitive arrays rather than following references from every Pokemon to its stats and types.
+ * <p>
+ * Eighteen types do not fit in a sixteen-bit mask, so the short per position names a combination
+ * instead; a catalog has a few hundred of them at most, and their masks are a small table that stays
+ * in cache. The combinations keep their type order, so a Pokemon's primary type is still listed first.
+ * <p>
+ * {@link #view} gives a flyweight {@link IPokemon} over a position that reads the columns on each call.
+ * Missing names stay null, missing types read as an empty list and missing stats as zeros; a null
+ * Pokemon in the catalog has no view. Like the indexes, the columns are a copy of the catalog they
+ * were built from and do not see later changes to it. They never change once built, so concurrent
+ * reads are safe.
+ */
+public class PokemonColumns {
+    private final int size;
+    private final BitSet missing;
+    private final int[] ids;
+    private final int[][] stats;
+    private final int[] nameCodes;
+    private final String[] names;
+    private final short[] typeCodes;
+    private final List<PokemonTypes> typeCombinations;
+    private final int[] typeMasks;
+    private final String[] imageUrls;
+
+    /**
+     * Copies a catalog into columns.
+     *
+     * @param catalog the Pokemon to store; positions in the columns are positions in this list
+     * @throws IllegalArgumentException if the catalog is null or has more distinct type lists than a short can code
+     */
+    public PokemonColumns(List<Pokemon> catalog) {
+        if (catalog == null) {
+            throw new IllegalArgumentException("Catalog cannot be null");
+        }
+        size = catalog.size();
+        missing = new BitSet(size);
+        ids = new int[size];
+        stats = new int[PokemonStat.values().length][size];
+        nameCodes = new int[size];
+        typeCodes = new short[size];
+        imageUrls = new String[size];
+
+        Map<PokemonTypes, Integer> combinationCodes = new HashMap<>();
+        List<PokemonTypes> combinations = new ArrayList<>();
+        combinationCodes.put(PokemonTypes.EMPTY, 0);
+        combinations.add(PokemonTypes.EMPTY);
+        Map<String, Integer> nameCodesByName = new HashMap<>();
+
+        for (int position = 0; position < size; position++) {
+            Pokemon pokemon = catalog.get(position);
+            if (pokemon == null) {
+                missing.set(position);
+                nameCodes[position] = -1;
+                continue;
+            }
+            ids[position] = pokemon.getId();
+            for (PokemonStat stat : PokemonStat.values()) {
+                stats[stat.ordinal()][position] = stat.of(pokemon);
+            }
+            imageUrls[position] = pokemon.getImageUrl();
+            if (pokemon.getName() == null) {
+                nameCodes[position] = -1;
+            } else {
+                Integer code = nameCodesByName.putIfAbsent(pokemon.getName(), nameCodesByName.size());
+                nameCodes[position] = code == null ? nameCodesByName.size() - 1 : code;
+            }
+
+            PokemonTypes types = pokemon.getTypes() == null ? PokemonTypes.EMPTY : PokemonTypes.of(pokemon.getTypes());
+            Integer code = combinationCodes.get(types);
+            if (code == null) {
+                if (combinations.size() > 0xFFFF) {
+                    throw new IllegalArgumentException("Too many distinct type lists for a short code");
+                }
+                code = combinations.size();
+                combinationCodes.put(types, code);
+                combinations.add(types);
+            }
+            typeCodes[position] = (short) (int) code;
+        }
+
+        names = new String[nameCodesByName.size()];
+        for (Map.Entry<String, Integer> entry : nameCodesByName.entrySet()) {
+            names[entry.getValue()] = entry.getKey();
+        }
+
+        typeCombinations = Collections.unmodifiableList(combinations);
+        typeMasks = new int[combinations.size()];
+        for (int code = 0; code < typeMasks.length; code++) {
+            typeMasks[code] = combinations.get(code).mask();
+        }
+    }
+
+    /**
+     * Gets the number of catalog positions the columns cover.
+     *
+     * @return the catalog size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets a flyweight view of the Pokemon at a position.
+     *
+     * @param position the catalog position
+     * @return a view that reads the columns, or null if the catalog had no Pokemon there
+     */
+    public IPokemon view(int position) {
+        checkPosition(position);
+        return missing.get(position) ? null : new View(this, position);
+    }
+
+    /**
+     * Gets the whole catalog as flyweight views, created as they are asked for.
+     *
+     * @return a read-only list of views, with null where the catalog had no Pokemon
+     */
+    public List<IPokemon> views() {
+        return new AbstractList<IPokemon>() {
+            @Override
+            public IPokemon get(int position) {
+                return view(position);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Gets the ID at a position. Scans call this once per position, so the position is not checked
+     * beyond the array access.
+     *
+     * @param position the catalog position, from 0 to {@link #size()} - 1
+     * @return the ID, or 0 if the catalog had no Pokemon there
+     * @throws ArrayIndexOutOfBoundsException if the position is outside the catalog
+     */
+    public int getId(int position) {
+        return ids[position];
+    }
+
+    /**
+     * Gets a stat at a position from the stat's column. Like {@link #getId}, the position is not checked
+     * beyond the array access.
+     *
+     * @param stat the stat to read
+     * @param position the catalog position, from 0 to {@link #size()} - 1
+     * @return the stat's value, or 0 if the Pokemon or its stats were missing
+     * @throws ArrayIndexOutOfBoundsException if the position is outside the catalog
+     */
+    public int getStat(PokemonStat stat, int position) {
+        return stats[stat.ordinal()][position];
+    }
+
+    /**
+     * Gets the image URL at a position.
+     *
+     * @param position the catalog position, from 0 to {@link #size()} - 1
+     * @return the image URL, or null if the Pokemon or its URL was missing
+     * @throws ArrayIndexOutOfBoundsException if the position is outside the catalog
+     */
+    public String getImageUrl(int position) {
+        return imageUrls[position];
+    }
+
+    /**
+     * Gets the name at a position from the dictionary.
+     *
+     * @param position the catalog position
+     * @return the name, or null if the Pokemon had none
+     */
+    public String getName(int position) {
+        int code = nameCodes[position];
+        return code < 0 ? null : names[code];
+    }
+
+    /**
+     * Gets the types at a position. The list is shared by every position with the same types.
+     *
+     * @param position the catalog position
+     * @return the read-only types, in the Pokemon's order
+     */
+    public List<PokemonType> getTypes(int position) {
+        return typeCombinations.get(typeCodes[position] & 0xFFFF);
+    }
+
+    /**
+     * Checks a position's type with one AND against its type mask.
+     *
+     * @param position the catalog position
+     * @param type the type
+     * @return true if the Pokemon at the position has the type
+     */
+    public boolean hasType(int position, PokemonType type) {
+        return (typeMaskAt(position) & type.mask()) != 0;
+    }
+
+    /**
+     * Checks whether the catalog had no Pokemon at a position.
+     *
+     * @param position the catalog position
+     * @return true if the position held null
+     */
+    public boolean isMissing(int position) {
+        return missing.get(position);
+    }
+
+    /**
+     * Gets the number of distinct type lists in the catalog, counting the empty one.
+     *
+     * @return the number of type combinations
+     */
+    public int typeCombinationCount() {
+        return typeCombinations.size();
+    }
+
+    /**
+     * Gets the number of distinct names in the catalog.
+     *
+     * @return the dictionary size
+     */
+    public int distinctNameCount() {
+        return names.length;
+    }
+
+    /**
+     * Gets the type mask at a position, with each type's {@link PokemonType#mask() bit} set.
+     */
+    int typeMaskAt(int position) {
+        return typeMasks[typeCodes[position] & 0xFFFF];
+    }
+
+    /**
+     * Gets a stat's column. The array is shared, not copied, and must not be changed.
+     */
+    int[] statColumn(PokemonStat stat) {
+        return stats[stat.ordinal()];
+    }
+
+    /**
+     * Gets the ID column. The array is shared, not copied, and must not be changed.
+     */
+    int[] idColumn() {
+        return ids;
+    }
+
+    /**
+     * Gets a key per position that orders the positions by name: the rank of the position's name among
+     * the distinct names, with a missing name keyed like an empty one. The dictionary is sorted on each
+     * call, so only the first name ordering over the columns pays for it.
+     */
+    int[] nameOrderKeys() {
+        NameEntry[] entries = new NameEntry[names.length];
+        for (int code = 0; code < names.length; code++) {
+            entries[code] = new NameEntry(names[code], code);
+        }
+        Arrays.sort(entries, Comparator.comparing((NameEntry entry) -> entry.name));
+        int[] ranks = new int[names.length];
+        int missingKey = -1;
+        for (int rank = 0; rank < entries.length; rank++) {
+            ranks[entries[rank].code] = rank;
+            if (entries[rank].name.isEmpty()) {
+                missingKey = rank;
+            }
+        }
+
+        int[] keys = new int[size];
+        for (int position = 0; position < size; position++) {
+            keys[position] = nameCodes[position] < 0 ? missingKey : ranks[nameCodes[position]];
+        }
+        return keys;
+    }
+
+    private void checkPosition(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Position " + position + " is outside 0 to " + (size - 1));
+        }
+    }
+
+    /**
+     * A Pokemon read from the columns at one position. It holds nothing but the position.
+     */
+    private static class View implements IPokemon {
+        private final PokemonColumns columns;
+        private final int position;
+
+        private View(PokemonColumns columns, int position) {
+            this.columns = columns;
+            this.position = position;
+        }
+
+        @Override
+        public int getId() { return columns.getId(position); }
+
+        @Override
+        public String getName() { return columns.getName(position); }
+
+        @Override
+        public String getImageUrl() { return columns.getImageUrl(position); }
+
+        @Override
+        public List<PokemonType> getTypes() { return columns.getTypes(position); }
+
+        @Override
+        public Pokemon.PokemonStats getStats() {
+            return new Pokemon.PokemonStats(columns.getStat(PokemonStat.HP, position),
+                    columns.getStat(PokemonStat.ATTACK, position),
+                    columns.getStat(PokemonStat.DEFENSE, position),
+                    columns.getStat(PokemonStat.SPECIAL_ATTACK, position),
+                    columns.getStat(PokemonStat.SPECIAL_DEFENSE, position),
+                    columns.getStat(PokemonStat.SPEED, position));
+        }
+
+        @Override
+        public String toString() {
+            return Pokemon.displayText(getId(), getName());
+        }
+    }
+
+    /**
+     * A dictionary name next to its code, so sorting compares names without looking them up.
+     */
+    private static class NameEntry {
+        private final String name;
+        private final int code;
+
+        private NameEntry(String name, int code) {
+            this.name = name;
+            this.code = code;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package model;
+
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates over the Pokemon in a collection file one record at a time, so only the record
+ * being decoded and the read buffer are ever held, however large the file is.
+ * The file is closed when the last record has been read or when {@link #close()} is called,
+ * whichever comes first.
+ */
+class PokemonFileReader implements Iterator<Pokemon>, Closeable {
+
+    /**
+     * Reads the next record from an open file.
+     */
+    @FunctionalInterface
+    interface RecordSource {
+        /**
+         * Reads the next record.
+         *
+         * @return the next Pokemon, or null at the end of the file
+         * @throws IOException if the record cannot be read
+         */
+        Pokemon next() throws IOException;
+    }
+
+    private final CountingInputStream in;
+    private final RecordSource records;
+    private final long totalBytes;
+    private final LoadProgressListener listener;
+    private Pokemon pending;
+    private long pokemonRead;
+    private boolean closed;
+
+    /**
+     * Creates a reader over an open file.
+     *
+     * @param in the counting stream over the file, closed with this reader
+     * @param records the record source decoding from that stream
+     * @param totalBytes the size of the file, or -1 if unknown
+     * @param listener the progress listener, or null
+     */
+    PokemonFileReader(CountingInputStream in, RecordSource records, long totalBytes, LoadProgressListener listener) {
+        this.in = in;
+        this.records = records;
+        this.totalBytes = totalBytes;
+        this.listener = listener;
+    }
+
+    /**
+     * Wraps this reader in a sequential stream that closes the file when the stream is closed.
+     *
+     * @return the stream of Pokemon
+     */
+    Stream<Pokemon> stream() {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (pending != null) {
+            return true;
+        }
+        if (closed) {
+            return false;
+        }
+        try {
+            pending = records.next();
+        } catch (IOException e) {
+            close();
+            throw new UncheckedIOException(e);
+        }
+        if (pending == null) {
+            close();
+            reportProgress();
+            return false;
+        }
+        pokemonRead++;
+        reportProgress();
+        return true;
+    }
+
+    @Override
+    public Pokemon next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Pokemon next = pending;
+        pending = null;
+        return next;
+    }
+
+    /**
+     * Stops reading and closes the file. Safe to call more than once.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            in.close();
+        } catch (IOException e) {
+            System.err.println("Error closing collection file: " + e.getMessage());
+        }
+    }
+
+    private void reportProgress() {
+        if (listener != null) {
+            listener.onProgress(pokemonRead, in.getCount(), totalBytes);
+        }
+    }
+
+    /**
+     * Input stream that counts the bytes read through it.
+     */
+    static class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        /**
+         * Gets the number of bytes read so far.
+         *
+         * @return the byte count
+         */
+        long getCount() {
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
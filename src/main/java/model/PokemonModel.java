@@ -1,41 +1,174 @@
 package model;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Class for fetching Pokemon data from PokeAPI and managing Pokemon collections.
  * Implements the PokemonService interface.
+ * Raw documents come from an {@link IPokemonSource}, PokeAPI itself by default; whichever source
+ * is used, documents are parsed, cached and coalesced the same way.
+ * <p>
+ * The model owns a parse pool and a retry scheduler, so it should be closed when no longer needed.
  */
-public class PokemonModel implements IPokemonModel {
-    private static final String POKEAPI_BASE_URL = "https://pokeapi.co/api/v2/pokemon/";
+public class PokemonModel implements IPokemonModel, AutoCloseable {
+    /** PokeAPI endpoint that Pokemon IDs are appended to. */
+    public static final String POKEAPI_BASE_URL = "https://pokeapi.co/api/v2/pokemon/";
+
+    /** Default cap on requests in flight during a bulk fetch. */
+    public static final int DEFAULT_MAX_CONCURRENCY = 16;
+
+    /** Default number of Pokemon kept in memory; covers every PokeAPI entry including alternate forms. */
+    public static final int DEFAULT_CACHE_SIZE = 2048;
+
+    /** File extension of collections saved as JSON, the default format. */
+    public static final String JSON_EXTENSION = ".json";
+
+    /** File extension of collections saved as gzip-compressed JSON. */
+    public static final String GZIP_EXTENSION = ".json.gz";
+
+    /** File extension of collections saved in the compact binary snapshot format. */
+    public static final String SNAPSHOT_EXTENSION = ".pkmn";
+
+    private static final Duration RETRY_QUEUE_INITIAL_DELAY = Duration.ofSeconds(15);
+    private static final Duration RETRY_QUEUE_MAX_DELAY = Duration.ofMinutes(5);
+    private static final int RETRY_QUEUE_MAX_ROUNDS = 6;
 
     // Instance variables as per UML
-    private HttpClient httpClient;
+    private final IPokemonSource source;
     private ObjectMapper objectMapper;
-    private List<Pokemon> pokemonCache;
+    private final PokemonResponseParser responseParser;
+    private final PokemonSnapshotCodec snapshotCodec;
+    private final PokemonCache pokemonCache;
+    private final SingleFlight<Integer, Pokemon> inFlightFetches;
+    private final ExecutorService parseExecutor;
+    private final RetryQueue retryQueue;
+    private volatile TeamJournal teamJournal;
 
     /**
      * Constructor initializes the HTTP client, object mapper, and Pokemon cache.
      */
     public PokemonModel() {
-        this.httpClient = HttpClient.newHttpClient();
+        this(POKEAPI_BASE_URL);
+    }
+
+    /**
+     * Constructor for a model that fetches from a PokeAPI-compatible server other than pokeapi.co,
+     * such as a local mirror or stub server.
+     *
+     * @param baseUrl the Pokemon endpoint URL, ending with a slash, that IDs are appended to
+     * @throws IllegalArgumentException if the base URL is null or empty
+     */
+    public PokemonModel(String baseUrl) {
+        this(baseUrl, null);
+    }
+
+    /**
+     * Constructor for a model that keeps downloaded responses in a disk cache,
+     * so later launches revalidate or skip requests instead of downloading every Pokemon again.
+     *
+     * @param baseUrl the Pokemon endpoint URL, ending with a slash, that IDs are appended to
+     * @param responseCache the response cache, or null to always download
+     * @throws IllegalArgumentException if the base URL is null or empty
+     */
+    public PokemonModel(String baseUrl, HttpResponseCache responseCache) {
+        this(baseUrl, responseCache,
+                new PokemonCache(DEFAULT_CACHE_SIZE, PokemonCache.EvictionPolicy.W_TINY_LFU));
+    }
+
+    /**
+     * Constructor for a model with a custom in-memory Pokemon cache.
+     * Fetches read through the cache, so a cached ID is returned without any request.
+     *
+     * @param baseUrl the Pokemon endpoint URL, ending with a slash, that IDs are appended to
+     * @param responseCache the response cache, or null to always download
+     * @param pokemonCache the in-memory Pokemon cache
+     * @throws IllegalArgumentException if the base URL is null or empty or the Pokemon cache is null
+     */
+    public PokemonModel(String baseUrl, HttpResponseCache responseCache, PokemonCache pokemonCache) {
+        this(baseUrl, responseCache, pokemonCache, FetchResilience.defaults());
+    }
+
+    /**
+     * Constructor for a model with custom rate limiting and retry settings.
+     * Bulk fetch failures that are worth retrying are also queued and fetched again in the background.
+     *
+     * @param baseUrl the Pokemon endpoint URL, ending with a slash, that IDs are appended to
+     * @param responseCache the response cache, or null to always download
+     * @param pokemonCache the in-memory Pokemon cache
+     * @param resilience the rate limiter, concurrency limit and retry policy every request goes through
+     * @throws IllegalArgumentException if the base URL is null or empty, or the Pokemon cache or resilience is null
+     */
+    public PokemonModel(String baseUrl, HttpResponseCache responseCache, PokemonCache pokemonCache,
+                        FetchResilience resilience) {
+        this(new HttpPokemonSource(baseUrl, responseCache, resilience), pokemonCache);
+    }
+
+    /**
+     * Constructor for a model that reads from any Pokemon source, such as a local PokeAPI dump
+     * or an in-memory source, with the default Pokemon cache.
+     *
+     * @param source the source of raw Pokemon documents
+     * @throws IllegalArgumentException if the source is null
+     */
+    public PokemonModel(IPokemonSource source) {
+        this(source, new PokemonCache(DEFAULT_CACHE_SIZE, PokemonCache.EvictionPolicy.W_TINY_LFU));
+    }
+
+    /**
+     * Constructor for a model that reads from any Pokemon source with a custom in-memory Pokemon cache.
+     *
+     * @param source the source of raw Pokemon documents
+     * @param pokemonCache the in-memory Pokemon cache
+     * @throws IllegalArgumentException if the source or the Pokemon cache is null
+     */
+    public PokemonModel(IPokemonSource source, PokemonCache pokemonCache) {
+        if (source == null) {
+            throw new IllegalArgumentException("Pokemon source cannot be null");
+        }
+        if (pokemonCache == null) {
+            throw new IllegalArgumentException("Pokemon cache cannot be null");
+        }
+        this.source = source;
+        this.pokemonCache = pokemonCache;
+        this.retryQueue = new RetryQueue(this::fetchPokemonByIdAsync,
+                Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("pokemon-retry-")),
+                RETRY_QUEUE_INITIAL_DELAY, RETRY_QUEUE_MAX_DELAY, RETRY_QUEUE_MAX_ROUNDS);
+        this.inFlightFetches = new SingleFlight<>();
         this.objectMapper = new ObjectMapper();
-        this.pokemonCache = new ArrayList<>();
+        this.responseParser = new PokemonResponseParser(objectMapper.getFactory());
+        this.snapshotCodec = new PokemonSnapshotCodec();
+        // JSON parsing is CPU-bound, so it gets its own pool and overlaps with requests still on the wire
+        this.parseExecutor = Executors.newFixedThreadPool(
+                Runtime.getRuntime().availableProcessors(), new DaemonThreadFactory("pokemon-parse-"));
     }
 
     /**
-     * Fetches a Pokemon by its ID from the PokeAPI.
+     * Fetches a Pokemon by its ID from the source, or from the Pokemon cache if it is there.
+     * Concurrent fetches of the same ID, blocking or async, share one request and its result or failure.
      *
      * @param id the Pokemon ID
      * @return the Pokemon object
@@ -44,107 +177,355 @@ public class PokemonModel implements IPokemonModel {
      */
     @Override
     public Pokemon fetchPokemonById(int id) throws IOException, InterruptedException {
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(POKEAPI_BASE_URL + id))
-                .build();
+        Pokemon cachedPokemon = pokemonCache.get(id);
+        if (cachedPokemon != null) {
+            return cachedPokemon;
+        }
+        return inFlightFetches.execute(id, () -> downloadPokemon(id));
+    }
+
+    /**
+     * Fetches a Pokemon by its ID without blocking the caller.
+     * A cached Pokemon comes back as an already completed future. Otherwise the document is opened
+     * through {@link IPokemonSource#openDocumentAsync} and parsed on the parse pool.
+     * Concurrent fetches of the same ID, blocking or async, share one request and its result or failure.
+     *
+     * @param id the Pokemon ID
+     * @return a future completed with the Pokemon, or exceptionally if the fetch fails
+     */
+    @Override
+    public CompletableFuture<Pokemon> fetchPokemonByIdAsync(int id) {
+        Pokemon cachedPokemon = pokemonCache.get(id);
+        if (cachedPokemon != null) {
+            return CompletableFuture.completedFuture(cachedPokemon);
+        }
+        return inFlightFetches.executeAsync(id, () -> downloadPokemonAsync(id));
+    }
 
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    /**
+     * Gets the number of fetches that shared a request already in flight for the same ID
+     * instead of sending their own.
+     *
+     * @return the coalesced fetch count
+     */
+    public long getCoalescedFetchCount() {
+        return inFlightFetches.getCoalescedCount();
+    }
 
-        Pokemon pokemon = parseApiResponse(response.body());
-        if (!pokemonCache.contains(pokemon)) {
-            pokemonCache.add(pokemon);
+    /**
+     * Reads and parses a Pokemon from the source on the calling thread.
+     *
+     * @param id the Pokemon ID
+     * @return the Pokemon object
+     * @throws IOException if an I/O error occurs
+     * @throws InterruptedException if the operation is interrupted
+     */
+    private Pokemon downloadPokemon(int id) throws IOException, InterruptedException {
+        try (InputStream document = source.openDocument(id)) {
+            return cachePokemon(responseParser.parse(document));
+        }
+    }
+
+    /**
+     * Opens a Pokemon's document from the source without blocking and parses it on the parse pool.
+     *
+     * @param id the Pokemon ID
+     * @return a future completed with the Pokemon, or exceptionally if the fetch fails
+     */
+    private CompletableFuture<Pokemon> downloadPokemonAsync(int id) {
+        return source.openDocumentAsync(id).thenApplyAsync(this::parseOrThrow, parseExecutor);
+    }
+
+    /**
+     * Gets the source Pokemon documents are read from. For a model built from a base URL this is an
+     * {@link HttpPokemonSource}, which holds the response cache, offline mode and resilience settings.
+     *
+     * @return the Pokemon source
+     */
+    public IPokemonSource getSource() {
+        return source;
+    }
+
+    /**
+     * Gets the IDs whose bulk fetch failed transiently and are waiting to be fetched again in the background.
+     *
+     * @return the queued IDs in ascending order
+     */
+    public Set<Integer> getPendingRetryIds() {
+        return retryQueue.getPendingIds();
+    }
+
+    /**
+     * Adds a listener called with every Pokemon a background retry recovers.
+     * The listener runs on a model thread, not the caller's.
+     *
+     * @param listener the listener
+     */
+    @Override
+    public void addRetryListener(Consumer<Pokemon> listener) {
+        retryQueue.addListener(listener);
+    }
+
+    /**
+     * Stops the parse pool and the background retry scheduler. Fetches that need parsing fail once the
+     * model is closed, and IDs waiting for a retry are dropped. Safe to call more than once.
+     */
+    @Override
+    public void close() {
+        retryQueue.shutdown();
+        parseExecutor.shutdownNow();
+    }
+
+    /**
+     * Fetches the given Pokemon IDs without blocking the caller,
+     * keeping at most {@link #DEFAULT_MAX_CONCURRENCY} requests in flight.
+     *
+     * @param ids the IDs to fetch
+     * @return a future completed with the fetched Pokemon and per-ID errors in requested order
+     * @throws IllegalArgumentException if ids is null
+     */
+    @Override
+    public CompletableFuture<BulkFetchResult> fetchPokemonAsync(int[] ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("Pokemon IDs cannot be null");
+        }
+
+        Pokemon[] fetched = new Pokemon[ids.length];
+        Exception[] failures = new Exception[ids.length];
+        CompletableFuture<BulkFetchResult> done = new CompletableFuture<>();
+        if (ids.length == 0) {
+            done.complete(new BulkFetchResult(ids, fetched, failures));
+            return done;
+        }
+
+        // Each lane starts the next unclaimed ID when its current fetch completes
+        AtomicInteger nextSlot = new AtomicInteger();
+        AtomicInteger remaining = new AtomicInteger(ids.length);
+        for (int lane = Math.min(DEFAULT_MAX_CONCURRENCY, ids.length); lane > 0; lane--) {
+            startNextFetch(ids, fetched, failures, nextSlot, remaining, done);
+        }
+        return done;
+    }
+
+    /**
+     * Claims the next unfetched slot of an async bulk fetch and starts its request.
+     * The last fetch to finish completes {@code done}.
+     */
+    private void startNextFetch(int[] ids, Pokemon[] fetched, Exception[] failures,
+                                AtomicInteger nextSlot, AtomicInteger remaining,
+                                CompletableFuture<BulkFetchResult> done) {
+        int slot = nextSlot.getAndIncrement();
+        if (slot >= ids.length) {
+            return;
+        }
+        // Completing on the parse pool keeps already-finished futures from recursing on this stack
+        fetchPokemonByIdAsync(ids[slot]).whenCompleteAsync((pokemon, error) -> {
+            if (error != null) {
+                failures[slot] = BulkFetchResult.unwrap(error);
+            } else {
+                fetched[slot] = pokemon;
+            }
+            if (remaining.decrementAndGet() == 0) {
+                queueRetries(ids, failures);
+                done.complete(new BulkFetchResult(ids, fetched, failures));
+            } else {
+                startNextFetch(ids, fetched, failures, nextSlot, remaining, done);
+            }
+        }, parseExecutor);
+    }
+
+    /**
+     * Parses and closes a document stream and caches the Pokemon, for use inside async stages.
+     *
+     * @param document the document stream
+     * @return the parsed Pokemon
+     * @throws CompletionException wrapping the error if the document cannot be read or is not a Pokemon document
+     */
+    private Pokemon parseOrThrow(InputStream document) {
+        try (InputStream in = document) {
+            return cachePokemon(responseParser.parse(in));
+        } catch (IOException e) {
+            throw new CompletionException(e);
         }
+    }
 
+    /**
+     * Adds a Pokemon to the cache, replacing any cached Pokemon with the same ID.
+     *
+     * @param pokemon the Pokemon to cache
+     * @return the same Pokemon, for chaining
+     */
+    private Pokemon cachePokemon(Pokemon pokemon) {
+        pokemonCache.put(pokemon);
         return pokemon;
     }
 
+    /**
+     * Gets the in-memory Pokemon cache, which also holds the hit, miss and eviction counters.
+     *
+     * @return the Pokemon cache
+     */
+    public PokemonCache getPokemonCache() {
+        return pokemonCache;
+    }
+
     /**
      * Fetches multiple Pokemon by ID range.
+     * Requests run in parallel with at most {@link #DEFAULT_MAX_CONCURRENCY} in flight.
      *
      * @param count the number of Pokemon to fetch starting from ID 1
      * @return list of fetched Pokemon
      */
     @Override
     public List<Pokemon> fetchMultiplePokemon(int count) {
-        List<Pokemon> result = new ArrayList<>();
-        for (int i = 1; i <= count; i++) {
-            try {
-                Pokemon pokemon = fetchPokemonById(i);
-                result.add(pokemon);
-            } catch (Exception e) {
-                System.err.println("Error fetching Pokemon " + i + ": " + e.getMessage());
-            }
+        int[] ids = new int[Math.max(count, 0)];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i + 1;
         }
-        return result;
+
+        BulkFetchResult result = fetchPokemonBulk(ids, DEFAULT_MAX_CONCURRENCY);
+        for (Map.Entry<Integer, Exception> error : result.getErrors().entrySet()) {
+            System.err.println("Error fetching Pokemon " + error.getKey() + ": " + error.getValue().getMessage()
+                    + (retryQueue.getPendingIds().contains(error.getKey()) ? " (queued for retry)" : ""));
+        }
+        return new ArrayList<>(result.getPokemon());
     }
 
     /**
-     * Parses API response to create a Pokemon object.
+     * Fetches the given Pokemon IDs in parallel on a pool sized to {@code maxConcurrency},
+     * so no more than that many requests are in flight at once.
      *
-     * @param jsonResponse the JSON response from the API
-     * @return the parsed Pokemon object
-     * @throws IOException if parsing fails
+     * @param ids the Pokemon IDs to fetch
+     * @param maxConcurrency the maximum number of requests in flight at once
+     * @return the fetched Pokemon and per-ID errors, both in requested ID order
+     * @throws IllegalArgumentException if ids is null or maxConcurrency is less than 1
      */
-    private Pokemon parseApiResponse(String jsonResponse) throws IOException {
-        JsonNode jsonNode = objectMapper.readTree(jsonResponse);
-
-        // Extract id
-        int id = jsonNode.get("id").asInt();
+    @Override
+    public BulkFetchResult fetchPokemonBulk(int[] ids, int maxConcurrency) {
+        if (ids == null) {
+            throw new IllegalArgumentException("Pokemon IDs cannot be null");
+        }
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Max concurrency must be at least 1");
+        }
 
-        // Extract name
-        String name = jsonNode.get("name").asText();
+        Pokemon[] fetched = new Pokemon[ids.length];
+        Exception[] failures = new Exception[ids.length];
+        if (ids.length == 0) {
+            return new BulkFetchResult(ids, fetched, failures);
+        }
 
-        // Extract image URL
-        String imageUrl = jsonNode.get("sprites").get("front_default").asText();
+        // Each task writes only its own slot, so results come back in ID order without sorting
+        List<Callable<Void>> tasks = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            int slot = i;
+            tasks.add(() -> {
+                try {
+                    fetched[slot] = fetchPokemonById(ids[slot]);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failures[slot] = e;
+                } catch (Exception e) {
+                    failures[slot] = e;
+                }
+                return null;
+            });
+        }
 
-        // Extract types
-        List<PokemonType> types = new ArrayList<>();
-        jsonNode.get("types").forEach(type -> {
-            String typeName = type.get("type").get("name").asText();
-            types.add(PokemonType.fromApiName(typeName));
-        });
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(maxConcurrency, ids.length), new DaemonThreadFactory("pokemon-fetch-"));
+        try {
+            // invokeAll waits for every task, which also publishes the slot writes to this thread
+            executor.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            for (int i = 0; i < ids.length; i++) {
+                if (fetched[i] == null && failures[i] == null) {
+                    failures[i] = e;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        queueRetries(ids, failures);
+        return new BulkFetchResult(ids, fetched, failures);
+    }
 
-        // Extract stats
-        int hp = 0, attack = 0, defense = 0, specialAttack = 0, specialDefense = 0, speed = 0;
-
-        JsonNode statsNode = jsonNode.get("stats");
-        for (JsonNode statNode : statsNode) {
-            String statName = statNode.get("stat").get("name").asText();
-            int value = statNode.get("base_stat").asInt();
-
-            switch (statName) {
-                case "hp":
-                    hp = value;
-                    break;
-                case "attack":
-                    attack = value;
-                    break;
-                case "defense":
-                    defense = value;
-                    break;
-                case "special-attack":
-                    specialAttack = value;
-                    break;
-                case "special-defense":
-                    specialDefense = value;
-                    break;
-                case "speed":
-                    speed = value;
-                    break;
+    /**
+     * Queues every ID of a bulk fetch that failed in a way worth retrying, so it is not lost.
+     *
+     * @param ids the requested IDs
+     * @param failures the error for each slot, or null where the fetch succeeded
+     */
+    private void queueRetries(int[] ids, Exception[] failures) {
+        for (int i = 0; i < ids.length; i++) {
+            if (failures[i] != null && FetchResilience.isRetryable(failures[i])) {
+                retryQueue.enqueue(ids[i]);
             }
         }
+    }
+
+    /**
+     * Sets the journal that saved teams are appended to.
+     *
+     * @param teamJournal the team journal, or null to stop saving teams
+     */
+    public void setTeamJournal(TeamJournal teamJournal) {
+        this.teamJournal = teamJournal;
+    }
 
-        Pokemon.PokemonStats stats = new Pokemon.PokemonStats(
-                hp, attack, defense, specialAttack, specialDefense, speed
-        );
+    /**
+     * Gets the journal that saved teams are appended to.
+     *
+     * @return the team journal, or null if none is set
+     */
+    public TeamJournal getTeamJournal() {
+        return teamJournal;
+    }
+
+    /**
+     * Saves a team by appending it to the team journal, which costs the same however many teams exist.
+     *
+     * @param team the Pokemon in the team
+     * @return the new team's ID
+     * @throws IOException if no team journal is set or the team cannot be appended
+     * @throws IllegalArgumentException if the team is null or empty
+     */
+    @Override
+    public int saveTeam(List<Pokemon> team) throws IOException {
+        TeamJournal journal = requireTeamJournal();
+        int teamId = journal.createTeam(team);
+        updateCacheFromCollection(team);
+        return teamId;
+    }
+
+    /**
+     * Loads a team from the team journal.
+     *
+     * @param teamId the team ID
+     * @return the team's Pokemon, or null if there is no such team
+     * @throws IOException if no team journal is set or the team cannot be read
+     */
+    @Override
+    public List<Pokemon> loadTeam(int teamId) throws IOException {
+        return requireTeamJournal().loadTeam(teamId);
+    }
 
-        return new Pokemon(id, name, imageUrl, types, stats);
+    private TeamJournal requireTeamJournal() throws IOException {
+        TeamJournal journal = teamJournal;
+        if (journal == null) {
+            throw new IOException("No team journal is open");
+        }
+        return journal;
     }
 
     /**
      * High-level method for saving a collection of Pokemon to a JSON file.
      * Acts as a public API for saving Pokémon data to disk.
      * Handles necessary logic before saving like validation and filename formatting.
+     * A filename ending in {@link #SNAPSHOT_EXTENSION} is saved as a binary snapshot instead of JSON,
+     * and one ending in {@link #GZIP_EXTENSION} as gzip-compressed JSON.
+     * The file is replaced atomically, so a crash mid-save leaves the previous version intact.
      *
      * @param collection the collection to save
      * @param filename the file to save to
@@ -164,8 +545,12 @@ public class PokemonModel implements IPokemonModel {
         // Update cache with any new Pokemon in the collection
         updateCacheFromCollection(collection);
 
-        // Delegate actual file writing to the helper method
-        writeJsonToFile(collection, formattedFilename);
+        // Delegate actual file writing to the helper method for the file's format
+        if (isSnapshotFile(formattedFilename)) {
+            writeSnapshotToFile(collection, formattedFilename);
+        } else {
+            writeJsonToFile(collection, formattedFilename);
+        }
 
         System.out.println("Successfully saved " + collection.size() + " Pokemon to " + formattedFilename);
     }
@@ -174,6 +559,8 @@ public class PokemonModel implements IPokemonModel {
      * High-level method for loading a collection of Pokemon from a JSON file.
      * Provides a clean API for loading Pokemon collections.
      * Handles validation and processing of loaded data before returning.
+     * A filename ending in {@link #SNAPSHOT_EXTENSION} is read as a binary snapshot instead of JSON.
+     * Gzip-compressed files are detected from their first bytes and decompressed whatever their extension.
      *
      * @param filename the file to load from
      * @return list of loaded Pokemon
@@ -182,6 +569,83 @@ public class PokemonModel implements IPokemonModel {
      */
     @Override
     public List<Pokemon> loadCollection(String filename) throws IOException {
+        String formattedFilename = resolveCollectionFile(filename).getPath();
+
+        // Delegate actual file reading to the helper method for the file's format
+        List<Pokemon> loadedPokemon = isSnapshotFile(formattedFilename)
+                ? readSnapshotFromFile(formattedFilename)
+                : readJsonFromFile(formattedFilename);
+
+        // Update cache with loaded Pokemon
+        updateCacheFromCollection(loadedPokemon);
+
+        System.out.println("Successfully loaded " + loadedPokemon.size() + " Pokemon from " + formattedFilename);
+
+        return loadedPokemon;
+    }
+
+    /**
+     * Streams a collection file one Pokemon at a time instead of reading it into a list,
+     * so memory use stays the same however large the file is and the first Pokemon are
+     * available before the rest of the file has been read.
+     * JSON files are decoded with a Jackson {@link MappingIterator}; snapshots record by record.
+     * Streamed Pokemon are not added to the cache, so a scan of a huge file does not churn it.
+     * <p>
+     * The stream holds the file open until it is closed or fully consumed, so callers should
+     * use it in a try-with-resources block. Closing it early, or a short-circuiting operation
+     * such as {@code limit} or {@code findFirst}, stops reading. Read errors surface as
+     * {@link java.io.UncheckedIOException} from the terminal operation.
+     *
+     * @param filename the file to load from
+     * @param listener notified as each Pokemon is read, or null
+     * @return a sequential stream of the Pokemon in the file, in file order
+     * @throws IOException if the file does not exist or its header cannot be read
+     * @throws IllegalArgumentException if the filename is invalid
+     */
+    @Override
+    public Stream<Pokemon> streamCollection(String filename, LoadProgressListener listener) throws IOException {
+        File file = resolveCollectionFile(filename);
+        PokemonFileReader.CountingInputStream in =
+                new PokemonFileReader.CountingInputStream(new FileInputStream(file));
+        try {
+            InputStream contents = CollectionFiles.openForReading(in);
+            PokemonFileReader.RecordSource records = isSnapshotFile(file.getPath())
+                    ? snapshotCodec.openReader(contents)::next
+                    : jsonRecords(objectMapper.readerFor(Pokemon.class).readValues(contents));
+            return new PokemonFileReader(in, records, file.length(), listener).stream();
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Adapts a Jackson iterator to a record source, skipping null array elements.
+     *
+     * @param iterator the iterator over the top-level JSON array
+     * @return the record source
+     */
+    private static PokemonFileReader.RecordSource jsonRecords(MappingIterator<Pokemon> iterator) {
+        return () -> {
+            while (iterator.hasNextValue()) {
+                Pokemon pokemon = iterator.nextValue();
+                if (pokemon != null) {
+                    return pokemon;
+                }
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Validates a collection filename, adds the default extension if needed, and checks the file exists.
+     *
+     * @param filename the filename given by the caller
+     * @return the collection file
+     * @throws IOException if the file does not exist
+     * @throws IllegalArgumentException if the filename is null or empty
+     */
+    private File resolveCollectionFile(String filename) throws IOException {
         // Validation logic
         if (filename == null || filename.trim().isEmpty()) {
             throw new IllegalArgumentException("Filename cannot be null or empty");
@@ -195,29 +659,32 @@ public class PokemonModel implements IPokemonModel {
         if (!file.exists() || !file.isFile()) {
             throw new IOException("File does not exist: " + formattedFilename);
         }
-
-        // Delegate actual file reading to the helper method
-        List<Pokemon> loadedPokemon = readJsonFromFile(formattedFilename);
-
-        // Update cache with loaded Pokemon
-        updateCacheFromCollection(loadedPokemon);
-
-        System.out.println("Successfully loaded " + loadedPokemon.size() + " Pokemon from " + formattedFilename);
-
-        return loadedPokemon;
+        return file;
     }
 
     /**
      * Low-level helper method that handles the technical part of writing to file.
-     * Focuses only on converting the list to JSON and writing it to the file.
+     * Streams the collection as a compact JSON array one Pokemon at a time, gzipped
+     * if the filename asks for it, and atomically replaces the file once it is on disk.
      *
      * @param collection the collection to write
      * @param filename the file to write to
      * @throws IOException if an I/O error occurs
      */
     private void writeJsonToFile(List<Pokemon> collection, String filename) throws IOException {
-        objectMapper.writerWithDefaultPrettyPrinter()
-                .writeValue(new File(filename), collection);
+        // Flushing after every value would turn each Pokemon into its own write to the file
+        ObjectWriter pokemonWriter = objectMapper.writerFor(Pokemon.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        CollectionFiles.writeAtomically(Path.of(filename), isCompressedFile(filename), out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.writeStartArray();
+                for (Pokemon pokemon : collection) {
+                    pokemonWriter.writeValue(generator, pokemon);
+                }
+                generator.writeEndArray();
+            }
+        });
     }
 
     /**
@@ -229,35 +696,81 @@ public class PokemonModel implements IPokemonModel {
      * @throws IOException if an I/O error occurs
      */
     private List<Pokemon> readJsonFromFile(String filename) throws IOException {
-        return objectMapper.readValue(
-                new File(filename),
-                new TypeReference<List<Pokemon>>() {}
-        );
+        try (InputStream in = CollectionFiles.openForReading(new FileInputStream(filename))) {
+            return objectMapper.readValue(in, new TypeReference<List<Pokemon>>() {});
+        }
+    }
+
+    /**
+     * Low-level helper method that writes a collection as a binary snapshot,
+     * atomically replacing the file once it is on disk.
+     *
+     * @param collection the collection to write
+     * @param filename the file to write to
+     * @throws IOException if an I/O error occurs
+     */
+    private void writeSnapshotToFile(List<Pokemon> collection, String filename) throws IOException {
+        CollectionFiles.writeAtomically(Path.of(filename), false, out -> snapshotCodec.write(collection, out));
+    }
+
+    /**
+     * Low-level helper method that reads a binary snapshot.
+     *
+     * @param filename the file to read from
+     * @return list of read Pokemon
+     * @throws IOException if an I/O error occurs or the file is not a snapshot
+     */
+    private List<Pokemon> readSnapshotFromFile(String filename) throws IOException {
+        try (InputStream in = CollectionFiles.openForReading(new FileInputStream(filename))) {
+            return snapshotCodec.read(in);
+        }
+    }
+
+    /**
+     * Checks whether a filename selects the binary snapshot format.
+     *
+     * @param filename the formatted filename
+     * @return true if the file is a snapshot
+     */
+    private boolean isSnapshotFile(String filename) {
+        return filename.endsWith(SNAPSHOT_EXTENSION);
+    }
+
+    /**
+     * Checks whether a filename selects gzip-compressed JSON.
+     *
+     * @param filename the formatted filename
+     * @return true if the file should be compressed
+     */
+    private boolean isCompressedFile(String filename) {
+        return filename.endsWith(GZIP_EXTENSION);
     }
 
     /**
      * Helper method to ensure filename has the proper extension.
+     * Names already ending in a known extension are kept; anything else becomes a JSON file.
      *
      * @param filename the original filename
      * @return the formatted filename
      */
     private String formatFilename(String filename) {
-        if (!filename.endsWith(".json")) {
-            return filename + ".json";
+        if (!filename.endsWith(JSON_EXTENSION) && !isCompressedFile(filename) && !isSnapshotFile(filename)) {
+            return filename + JSON_EXTENSION;
         }
         return filename;
     }
 
     /**
-     * Updates the cache with Pokemon from a collection if they don't already exist.
+     * Updates the cache with Pokemon from a collection, keyed by ID.
      *
      * @param collection the collection to update the cache from
      */
     private void updateCacheFromCollection(List<Pokemon> collection) {
         for (Pokemon pokemon : collection) {
-            if (!pokemonCache.contains(pokemon)) {
-                pokemonCache.add(pokemon);
+            if (pokemon != null) {
+                pokemonCache.put(pokemon);
             }
         }
     }
-}
\ No newline at end of file
+
+}
@@ -0,0 +1,95 @@
+package model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of a query's results: the Pokemon on the page, where the page starts, how many results the
+ * query has in total, and a cursor to the next page.
+ * <p>
+ * The cursor holds the query's matches as they were when the first page was read, so following cursors
+ * pages through one fixed result list: pages never skip or repeat a Pokemon, even if the collection is
+ * replaced in between, and each page starts where the last one stopped rather than counting from the top.
+ */
+public class PokemonPage {
+    private final List<Pokemon> pokemon;
+    private final int offset;
+    private final int totalCount;
+    private final Cursor nextCursor;
+
+    PokemonPage(List<Pokemon> pokemon, int offset, int totalCount, Cursor nextCursor) {
+        this.pokemon = Collections.unmodifiableList(pokemon);
+        this.offset = offset;
+        this.totalCount = totalCount;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Gets the Pokemon on this page, in the query's order.
+     *
+     * @return read-only list of the page's Pokemon
+     */
+    public List<Pokemon> getPokemon() {
+        return pokemon;
+    }
+
+    /**
+     * Gets the index of this page's first Pokemon among all of the query's results.
+     *
+     * @return the page's offset
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Gets the number of results the query has across all pages, cut to the query's limit.
+     *
+     * @return the total result count
+     */
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Checks whether any results follow this page.
+     *
+     * @return true if there is a next page
+     */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    /**
+     * Gets the cursor to the page after this one.
+     *
+     * @return the next page's cursor, or null if this is the last page
+     */
+    public Cursor getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * An opaque position in a query's results, from which the next page is read.
+     */
+    public static final class Cursor {
+        final QueryEngine.Results results;
+        final int offset;
+        final int scan;
+
+        Cursor(QueryEngine.Results results, int offset, int scan) {
+            this.results = results;
+            this.offset = offset;
+            this.scan = scan;
+        }
+
+        /**
+         * Gets the index of the next page's first Pokemon among all of the query's results.
+         *
+         * @return the offset the cursor points at
+         */
+        public int getOffset() {
+            return offset;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A combined search over a Pokemon collection: name text, type constraints, stat ranges, an order and a limit.
+ * Every part is optional; an empty query matches every Pokemon in collection order.
+ * The setters return the query so one can be written as a chain, for example
+ * {@code new PokemonQuery().withAnyType(FIRE).statBetween(PokemonStat.SPEED, 100, 255).sortBy(SortIndex.Key.SPEED, true).limit(10)}.
+ */
+public class PokemonQuery {
+    private String nameText;
+    private final Set<PokemonType> allOf = EnumSet.noneOf(PokemonType.class);
+    private final Set<PokemonType> anyOf = EnumSet.noneOf(PokemonType.class);
+    private final Set<PokemonType> noneOf = EnumSet.noneOf(PokemonType.class);
+    private final Map<PokemonStat, int[]> statRanges = new EnumMap<>(PokemonStat.class);
+    private SortIndex.Key sortKey;
+    private boolean descending;
+    private int limit = Integer.MAX_VALUE;
+
+    /**
+     * Only matches Pokemon whose name contains some text, ignoring case.
+     *
+     * @param text the text, or null or empty for no name constraint
+     * @return this query
+     */
+    public PokemonQuery nameContains(String text) {
+        this.nameText = text == null || text.isEmpty() ? null : text;
+        return this;
+    }
+
+    /**
+     * Only matches Pokemon that have all of these types.
+     *
+     * @param types the required types
+     * @return this query
+     */
+    public PokemonQuery withAllTypes(PokemonType... types) {
+        allOf.addAll(Arrays.asList(types));
+        return this;
+    }
+
+    /**
+     * Only matches Pokemon that have at least one of these types.
+     *
+     * @param types the accepted types
+     * @return this query
+     */
+    public PokemonQuery withAnyType(PokemonType... types) {
+        anyOf.addAll(Arrays.asList(types));
+        return this;
+    }
+
+    /**
+     * Only matches Pokemon that have none of these types.
+     *
+     * @param types the excluded types
+     * @return this query
+     */
+    public PokemonQuery withoutTypes(PokemonType... types) {
+        noneOf.addAll(Arrays.asList(types));
+        return this;
+    }
+
+    /**
+     * Only matches Pokemon with a stat in a range. A second range on the same stat replaces the first.
+     *
+     * @param stat the stat
+     * @param min the lowest accepted value, inclusive
+     * @param max the highest accepted value, inclusive
+     * @return this query
+     * @throws IllegalArgumentException if the stat is null or the range is empty
+     */
+    public PokemonQuery statBetween(PokemonStat stat, int min, int max) {
+        if (stat == null) {
+            throw new IllegalArgumentException("Stat cannot be null");
+        }
+        if (min > max) {
+            throw new IllegalArgumentException("Minimum " + min + " is greater than maximum " + max);
+        }
+        statRanges.put(stat, new int[] {min, max});
+        return this;
+    }
+
+    /**
+     * Orders the results. Pokemon that tie keep their collection order.
+     *
+     * @param key the key to order by, or null for collection order
+     * @param descending whether to put the largest keys first
+     * @return this query
+     */
+    public PokemonQuery sortBy(SortIndex.Key key, boolean descending) {
+        this.sortKey = key;
+        this.descending = descending;
+        return this;
+    }
+
+    /**
+     * Returns at most this many results, the first ones in the query's order.
+     *
+     * @param limit the maximum number of results
+     * @return this query
+     * @throws IllegalArgumentException if the limit is negative
+     */
+    public PokemonQuery limit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    public String getNameText() { return nameText; }
+
+    public Set<PokemonType> getAllOf() { return Collections.unmodifiableSet(allOf); }
+
+    public Set<PokemonType> getAnyOf() { return Collections.unmodifiableSet(anyOf); }
+
+    public Set<PokemonType> getNoneOf() { return Collections.unmodifiableSet(noneOf); }
+
+    /**
+     * Gets the stat ranges, each as a two-element array of the inclusive minimum and maximum.
+     *
+     * @return the ranges by stat
+     */
+    public Map<PokemonStat, int[]> getStatRanges() { return Collections.unmodifiableMap(statRanges); }
+
+    public SortIndex.Key getSortKey() { return sortKey; }
+
+    public boolean isDescending() { return descending; }
+
+    public int getLimit() { return limit; }
+
+    /**
+     * Checks whether a query constrains types at all.
+     *
+     * @return true if any type set is non-empty
+     */
+    public boolean hasTypeConstraint() {
+        return !allOf.isEmpty() || !anyOf.isEmpty() || !noneOf.isEmpty();
+    }
+}
@@ -0,0 +1,237 @@
+package model;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming parser for PokeAPI Pokemon documents.
+ * Reads tokens straight from the response and keeps only the id, name, front sprite, types and base stats.
+ * Everything else, mostly the large moves and game_indices arrays, is skipped without being materialized.
+ */
+class PokemonResponseParser {
+    private static final int STAT_COUNT = 6;
+
+    private final JsonFactory jsonFactory;
+
+    /**
+     * Creates a parser that reads with the given factory.
+     *
+     * @param jsonFactory the factory to create token parsers from
+     */
+    PokemonResponseParser(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    /**
+     * Parses a Pokemon document from a stream. The stream is read to the end of the document but not closed;
+     * the token parser is told not to close its source, so the caller's own close stays the only one.
+     *
+     * @param in the document stream
+     * @return the parsed Pokemon
+     * @throws IOException if the stream cannot be read or is not a Pokemon document
+     */
+    Pokemon parse(InputStream in) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            return readPokemon(parser);
+        }
+    }
+
+    /**
+     * Parses a Pokemon document held in memory.
+     *
+     * @param body the document bytes
+     * @return the parsed Pokemon
+     * @throws IOException if the bytes are not a Pokemon document
+     */
+    Pokemon parse(byte[] body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            return readPokemon(parser);
+        }
+    }
+
+    /**
+     * Parses a Pokemon document held in a string.
+     *
+     * @param json the document text
+     * @return the parsed Pokemon
+     * @throws IOException if the text is not a Pokemon document
+     */
+    Pokemon parse(String json) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            return readPokemon(parser);
+        }
+    }
+
+    private Pokemon readPokemon(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected a Pokemon object");
+        }
+
+        Integer id = null;
+        String name = null;
+        String imageUrl = null;
+        List<PokemonType> types = new ArrayList<>(2);
+        int[] stats = new int[STAT_COUNT];
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "id":
+                    id = parser.getValueAsInt();
+                    break;
+                case "name":
+                    name = parser.getValueAsString();
+                    break;
+                case "sprites":
+                    imageUrl = readFrontSprite(parser);
+                    break;
+                case "types":
+                    readTypes(parser, types);
+                    break;
+                case "stats":
+                    readStats(parser, stats);
+                    break;
+                default:
+                    // Skips a whole object or array in one call, without building it
+                    parser.skipChildren();
+                    break;
+            }
+        }
+
+        if (id == null || name == null) {
+            throw new JsonParseException(parser, "Pokemon document is missing its id or name");
+        }
+
+        Pokemon.PokemonStats pokemonStats = new Pokemon.PokemonStats(
+                stats[0], stats[1], stats[2], stats[3], stats[4], stats[5]
+        );
+        return new Pokemon(id, name, imageUrl, types, pokemonStats);
+    }
+
+    /**
+     * Reads sprites.front_default, skipping the other sprite variants.
+     */
+    private String readFrontSprite(JsonParser parser) throws IOException {
+        String frontDefault = null;
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if ("front_default".equals(field)) {
+                frontDefault = parser.getValueAsString();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return frontDefault;
+    }
+
+    /**
+     * Reads types[].type.name into the list.
+     */
+    private void readTypes(JsonParser parser, List<PokemonType> types) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if ("type".equals(field)) {
+                    String typeName = readName(parser);
+                    if (typeName != null) {
+                        types.add(PokemonType.fromApiName(typeName));
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads stats[].base_stat into slots by stats[].stat.name. Unknown stats are ignored.
+     */
+    private void readStats(JsonParser parser, int[] stats) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            String statName = null;
+            int value = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if ("base_stat".equals(field)) {
+                    value = parser.getValueAsInt();
+                } else if ("stat".equals(field)) {
+                    statName = readName(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            int slot = statSlot(statName);
+            if (slot >= 0) {
+                stats[slot] = value;
+            }
+        }
+    }
+
+    /**
+     * Reads the name field of a named API resource such as {"name": "fire", "url": "..."}.
+     */
+    private String readName(JsonParser parser) throws IOException {
+        String name = null;
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if ("name".equals(field)) {
+                name = parser.getValueAsString();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return name;
+    }
+
+    private static int statSlot(String statName) {
+        if (statName == null) {
+            return -1;
+        }
+        switch (statName) {
+            case "hp":
+                return 0;
+            case "attack":
+                return 1;
+            case "defense":
+                return 2;
+            case "special-attack":
+                return 3;
+            case "special-defense":
+                return 4;
+            case "speed":
+                return 5;
+            default:
+                return -1;
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package model;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and writes the compact binary snapshot format for Pokemon collections.
+ * A snapshot is laid out as:
+ * <ul>
+ *   <li>header: the magic bytes {@code PKMN}, a format version and reserved flags, two bytes each after the magic</li>
+ *   <li>a string dictionary holding every distinct name and image URL prefix once</li>
+ *   <li>one record per Pokemon: ID, name and URL as dictionary indexes, the URL's last path segment,
+ *       the type count and type ordinals packed into one int, and the six stats as varints</li>
+ * </ul>
+ * Integers are unsigned LEB128 varints, so small IDs and stats take a single byte.
+ */
+class PokemonSnapshotCodec {
+    /** Magic bytes that open every snapshot: "PKMN". */
+    static final int MAGIC = 0x504B4D4E;
+
+    /** Current format version. Readers reject snapshots with a newer version. */
+    static final int VERSION = 1;
+
+    private static final int MAX_TYPES = 5;
+    private static final int TYPE_BITS = 5;
+    private static final int TYPE_COUNT_BITS = 3;
+    /** Type count that marks a Pokemon whose type list is null rather than empty. */
+    private static final int NULL_TYPES = 7;
+    private static final int FLAG_HAS_STATS = 1;
+    /** Largest list capacity reserved up front, so a corrupt count cannot exhaust memory before the data runs out. */
+    private static final int MAX_PREALLOCATED = 1 << 16;
+
+    private static final PokemonType[] TYPES = PokemonType.values();
+
+    /**
+     * Writes a collection as a snapshot. The stream is flushed but not closed.
+     *
+     * @param collection the Pokemon to write; null entries are skipped
+     * @param out the stream to write to
+     * @throws IOException if the stream cannot be written
+     * @throws IllegalArgumentException if a Pokemon has more types than the format can hold
+     */
+    void write(List<Pokemon> collection, OutputStream out) throws IOException {
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        List<Pokemon> pokemonToWrite = new ArrayList<>(collection.size());
+        for (Pokemon pokemon : collection) {
+            if (pokemon != null) {
+                pokemonToWrite.add(pokemon);
+                intern(dictionary, pokemon.getName());
+                intern(dictionary, urlPrefix(pokemon.getImageUrl()));
+            }
+        }
+
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+        data.writeShort(0);
+
+        writeVarInt(data, dictionary.size());
+        for (String entry : dictionary.keySet()) {
+            writeString(data, entry);
+        }
+
+        writeVarInt(data, pokemonToWrite.size());
+        for (Pokemon pokemon : pokemonToWrite) {
+            writePokemon(data, pokemon, dictionary);
+        }
+        data.flush();
+    }
+
+    /**
+     * Reads a snapshot written by {@link #write}.
+     *
+     * @param in the stream to read from; it is read to the end of the snapshot but not closed
+     * @return the Pokemon in the order they were written
+     * @throws IOException if the stream cannot be read, is not a snapshot, or has an unsupported version
+     */
+    List<Pokemon> read(InputStream in) throws IOException {
+        RecordReader reader = openReader(in);
+        List<Pokemon> collection = new ArrayList<>(Math.min(reader.getCount(), MAX_PREALLOCATED));
+        for (Pokemon pokemon = reader.next(); pokemon != null; pokemon = reader.next()) {
+            collection.add(pokemon);
+        }
+        return collection;
+    }
+
+    /**
+     * Reads a snapshot's header and dictionary and returns a reader for its records,
+     * so a snapshot can be read one Pokemon at a time without holding the whole collection.
+     *
+     * @param in the stream to read from; it is not closed
+     * @return the record reader
+     * @throws IOException if the stream cannot be read, is not a snapshot, or has an unsupported version
+     */
+    RecordReader openReader(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a Pokemon snapshot");
+        }
+        int version = data.readUnsignedShort();
+        if (version > VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+        data.readUnsignedShort();
+
+        int dictionarySize = readCount(data);
+        List<String> dictionary = new ArrayList<>(Math.min(dictionarySize, MAX_PREALLOCATED));
+        for (int i = 0; i < dictionarySize; i++) {
+            dictionary.add(readString(data));
+        }
+        return new RecordReader(data, dictionary, readCount(data));
+    }
+
+    /**
+     * Reads the Pokemon records of a snapshot one at a time.
+     */
+    static class RecordReader {
+        private final DataInputStream data;
+        private final List<String> dictionary;
+        private final int count;
+        private int readCount;
+
+        private RecordReader(DataInputStream data, List<String> dictionary, int count) {
+            this.data = data;
+            this.dictionary = dictionary;
+            this.count = count;
+        }
+
+        /**
+         * Gets the number of records the snapshot holds.
+         *
+         * @return the record count
+         */
+        int getCount() {
+            return count;
+        }
+
+        /**
+         * Reads the next record.
+         *
+         * @return the next Pokemon, or null after the last one
+         * @throws IOException if the record cannot be read
+         */
+        Pokemon next() throws IOException {
+            if (readCount == count) {
+                return null;
+            }
+            readCount++;
+            return readPokemon(data, dictionary);
+        }
+    }
+
+    private void writePokemon(DataOutputStream data, Pokemon pokemon, Map<String, Integer> dictionary)
+            throws IOException {
+        writeVarInt(data, zigZag(pokemon.getId()));
+        writeVarInt(data, indexOf(dictionary, pokemon.getName()));
+
+        String imageUrl = pokemon.getImageUrl();
+        writeVarInt(data, indexOf(dictionary, urlPrefix(imageUrl)));
+        if (imageUrl != null) {
+            writeString(data, imageUrl.substring(imageUrl.lastIndexOf('/') + 1));
+        }
+
+        writeVarInt(data, packTypes(pokemon.getTypes()));
+
+        Pokemon.PokemonStats stats = pokemon.getStats();
+        data.writeByte(stats == null ? 0 : FLAG_HAS_STATS);
+        if (stats != null) {
+            writeVarInt(data, zigZag(stats.getHp()));
+            writeVarInt(data, zigZag(stats.getAttack()));
+            writeVarInt(data, zigZag(stats.getDefense()));
+            writeVarInt(data, zigZag(stats.getSpecialAttack()));
+            writeVarInt(data, zigZag(stats.getSpecialDefense()));
+            writeVarInt(data, zigZag(stats.getSpeed()));
+        }
+    }
+
+    private static Pokemon readPokemon(DataInputStream data, List<String> dictionary) throws IOException {
+        int id = unZigZag(readVarInt(data));
+        String name = lookup(dictionary, readVarInt(data));
+
+        String urlPrefix = lookup(dictionary, readVarInt(data));
+        String imageUrl = urlPrefix == null ? null : urlPrefix + readString(data);
+
+        List<PokemonType> types = unpackTypes(readVarInt(data));
+
+        Pokemon.PokemonStats stats = null;
+        if ((data.readUnsignedByte() & FLAG_HAS_STATS) != 0) {
+            stats = new Pokemon.PokemonStats(
+                    unZigZag(readVarInt(data)), unZigZag(readVarInt(data)), unZigZag(readVarInt(data)),
+                    unZigZag(readVarInt(data)), unZigZag(readVarInt(data)), unZigZag(readVarInt(data)));
+        }
+        return new Pokemon(id, name, imageUrl, types, stats);
+    }
+
+    /**
+     * Packs the type count into the low three bits and up to five type ordinals, five bits each, above it.
+     * The count sits lowest so a single-type Pokemon packs into a one- or two-byte varint.
+     */
+    private static int packTypes(List<PokemonType> types) {
+        if (types == null) {
+            return NULL_TYPES;
+        }
+        if (types.size() > MAX_TYPES) {
+            throw new IllegalArgumentException("A Pokemon can have at most " + MAX_TYPES + " types in a snapshot");
+        }
+        int packed = types.size();
+        for (int i = 0; i < types.size(); i++) {
+            packed |= types.get(i).ordinal() << (TYPE_COUNT_BITS + i * TYPE_BITS);
+        }
+        return packed;
+    }
+
+    private static List<PokemonType> unpackTypes(int packed) throws IOException {
+        int count = packed & ((1 << TYPE_COUNT_BITS) - 1);
+        if (count == NULL_TYPES) {
+            return null;
+        }
+        if (count > MAX_TYPES) {
+            throw new IOException("Corrupt snapshot: type count " + count);
+        }
+        List<PokemonType> types = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int ordinal = (packed >>> (TYPE_COUNT_BITS + i * TYPE_BITS)) & ((1 << TYPE_BITS) - 1);
+            if (ordinal >= TYPES.length) {
+                throw new IOException("Corrupt snapshot: type ordinal " + ordinal);
+            }
+            types.add(TYPES[ordinal]);
+        }
+        return types;
+    }
+
+    /**
+     * Gets everything up to and including the last slash, the part sprite URLs share.
+     */
+    private static String urlPrefix(String url) {
+        return url == null ? null : url.substring(0, url.lastIndexOf('/') + 1);
+    }
+
+    private static void intern(Map<String, Integer> dictionary, String value) {
+        if (value != null) {
+            dictionary.putIfAbsent(value, dictionary.size());
+        }
+    }
+
+    /**
+     * Gets a string's dictionary index plus one, with zero standing for null.
+     */
+    private static int indexOf(Map<String, Integer> dictionary, String value) {
+        return value == null ? 0 : dictionary.get(value) + 1;
+    }
+
+    private static String lookup(List<String> dictionary, int index) throws IOException {
+        if (index == 0) {
+            return null;
+        }
+        if (index < 0 || index > dictionary.size()) {
+            throw new IOException("Corrupt snapshot: dictionary index " + index);
+        }
+        return dictionary.get(index - 1);
+    }
+
+    private static void writeString(DataOutputStream data, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(data, bytes.length);
+        data.write(bytes);
+    }
+
+    private static String readString(DataInputStream data) throws IOException {
+        byte[] bytes = new byte[readCount(data)];
+        data.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a length or count, rejecting values a corrupt snapshot could make negative.
+     */
+    private static int readCount(DataInputStream data) throws IOException {
+        int count = readVarInt(data);
+        if (count < 0) {
+            throw new IOException("Corrupt snapshot: negative count");
+        }
+        return count;
+    }
+
+    private static void writeVarInt(DataOutputStream data, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            data.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream data) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = data.read();
+            if (b < 0) {
+                throw new EOFException("Snapshot ended inside a number");
+            }
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Corrupt snapshot: number longer than five bytes");
+    }
+
+    /**
+     * Maps signed values to unsigned ones so small negatives stay short as varints.
+     */
+    private static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
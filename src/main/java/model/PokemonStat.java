@@ -0,0 +1,34 @@
+package model;
+
+/**
+ * The base stats a Pokemon has, for queries and orderings that pick a stat at runtime.
+ */
+public enum PokemonStat {
+    HP,
+    ATTACK,
+    DEFENSE,
+    SPECIAL_ATTACK,
+    SPECIAL_DEFENSE,
+    SPEED;
+
+    /**
+     * Gets this stat's value for a Pokemon.
+     *
+     * @param pokemon the Pokemon
+     * @return the stat value, or 0 if the Pokemon has no stats
+     */
+    public int of(Pokemon pokemon) {
+        Pokemon.PokemonStats stats = pokemon.getStats();
+        if (stats == null) {
+            return 0;
+        }
+        return switch (this) {
+            case HP -> stats.getHp();
+            case ATTACK -> stats.getAttack();
+            case DEFENSE -> stats.getDefense();
+            case SPECIAL_ATTACK -> stats.getSpecialAttack();
+            case SPECIAL_DEFENSE -> stats.getSpecialDefense();
+            case SPEED -> stats.getSpeed();
+        };
+    }
+}
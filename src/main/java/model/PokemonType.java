@@ -1,10 +1,57 @@
 package model;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
 public enum PokemonType {
     NORMAL, FIRE, WATER, ELECTRIC, GRASS, ICE, FIGHTING, POISON, GROUND,
     FLYING, PSYCHIC, BUG, ROCK, GHOST, DRAGON, DARK, STEEL, FAIRY;
 
+    /** PokeAPI's lowercase type names, so parsing a type is one lookup instead of an uppercase copy and valueOf. */
+    private static final Map<String, PokemonType> BY_API_NAME = new HashMap<>();
+
+    static {
+        for (PokemonType type : values()) {
+            BY_API_NAME.put(type.name().toLowerCase(Locale.ROOT), type);
+        }
+    }
+
+    private final int mask = 1 << ordinal();
+
     public static PokemonType fromApiName(String apiName) {
-        return valueOf(apiName.toUpperCase());
+        PokemonType type = BY_API_NAME.get(apiName);
+        return type != null ? type : valueOf(apiName.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Gets this type's bit in a type mask.
+     *
+     * @return {@code 1 << ordinal()}
+     */
+    public int mask() {
+        return mask;
+    }
+
+    /**
+     * Builds the mask of a collection of types, ignoring nulls.
+     *
+     * @param types the types, or null for none
+     * @return the mask with each type's bit set
+     */
+    public static int maskOf(Collection<PokemonType> types) {
+        if (types instanceof PokemonTypes) {
+            return ((PokemonTypes) types).mask();
+        }
+        int mask = 0;
+        if (types != null) {
+            for (PokemonType type : types) {
+                if (type != null) {
+                    mask |= type.mask;
+                }
+            }
+        }
+        return mask;
     }
 }
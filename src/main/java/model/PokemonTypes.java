@@ -0,0 +1,134 @@
+package model;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * An immutable list of a Pokemon's types that also carries their bitmask, so checking a type is
+ * one AND rather than a walk over the list.
+ * <p>
+ * Lists of up to two types are interned: a catalog only has a couple of hundred distinct type lists,
+ * so every Pokemon with the same types in the same order shares one instance. Longer lists, and lists
+ * with null types, are not interned but behave the same. The order is kept, so the primary type is
+ * still first.
+ */
+public final class PokemonTypes extends AbstractList<PokemonType> implements RandomAccess, Serializable {
+    private static final int MAX_INTERNED_SIZE = 2;
+    private static final ConcurrentMap<List<PokemonType>, PokemonTypes> INTERNED = new ConcurrentHashMap<>();
+
+    /** The shared empty type list. */
+    public static final PokemonTypes EMPTY = of(List.of());
+
+    private final PokemonType[] types;
+    private final int mask;
+
+    private PokemonTypes(PokemonType[] types) {
+        this.types = types;
+        int typeMask = 0;
+        for (PokemonType type : types) {
+            if (type != null) {
+                typeMask |= type.mask();
+            }
+        }
+        this.mask = typeMask;
+    }
+
+    /**
+     * Gets the immutable, and where possible shared, type list with the same types in the same order.
+     *
+     * @param types the types, or null
+     * @return the type list, or null if the types are null
+     */
+    public static PokemonTypes of(List<PokemonType> types) {
+        if (types == null || types instanceof PokemonTypes) {
+            return (PokemonTypes) types;
+        }
+        if (!internable(types)) {
+            return new PokemonTypes(types.toArray(new PokemonType[0]));
+        }
+        PokemonTypes interned = INTERNED.get(types);
+        if (interned == null) {
+            PokemonTypes created = new PokemonTypes(types.toArray(new PokemonType[0]));
+            interned = INTERNED.putIfAbsent(created, created);
+            if (interned == null) {
+                interned = created;
+            }
+        }
+        return interned;
+    }
+
+    private static boolean internable(List<PokemonType> types) {
+        if (types.size() > MAX_INTERNED_SIZE) {
+            return false;
+        }
+        for (PokemonType type : types) {
+            if (type == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the shared type list of some types, in order.
+     *
+     * @param types the types
+     * @return the type list
+     */
+    public static PokemonTypes of(PokemonType... types) {
+        return of(Arrays.asList(types));
+    }
+
+    /**
+     * Gets the mask of the types, with each type's {@link PokemonType#mask() bit} set.
+     *
+     * @return the type mask
+     */
+    public int mask() {
+        return mask;
+    }
+
+    /**
+     * Checks for a type with one AND.
+     *
+     * @param type the type
+     * @return true if the list has the type
+     */
+    public boolean has(PokemonType type) {
+        return (mask & type.mask()) != 0;
+    }
+
+    @Override
+    public PokemonType get(int index) {
+        return types[index];
+    }
+
+    @Override
+    public int size() {
+        return types.length;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof PokemonType ? has((PokemonType) o) : super.contains(o);
+    }
+
+    /**
+     * Gets the number of distinct type lists interned so far. Visible for tests.
+     */
+    static int internedCount() {
+        return INTERNED.size();
+    }
+
+    /**
+     * Interns deserialized lists again, so Java serialization does not duplicate them.
+     */
+    private Object readResolve() {
+        return internable(this) ? INTERNED.computeIfAbsent(this, list -> this) : this;
+    }
+}
@@ -0,0 +1,95 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A read-only list of the Pokemon at some catalog positions, read through to the catalog on each access.
+ * The positions are an index's own cached array, so a view costs one small object however many Pokemon
+ * it covers. Its spliterator splits the position range in halves, so streams over a view can run in parallel.
+ * <p>
+ * The catalog and the positions must not change while the view is in use; the indexes that hand out views
+ * never change either once built.
+ */
+final class PositionList extends AbstractList<Pokemon> implements RandomAccess {
+    private final List<Pokemon> catalog;
+    private final int[] positions;
+
+    PositionList(List<Pokemon> catalog, int[] positions) {
+        this.catalog = catalog;
+        this.positions = positions;
+    }
+
+    @Override
+    public Pokemon get(int index) {
+        return catalog.get(positions[index]);
+    }
+
+    @Override
+    public int size() {
+        return positions.length;
+    }
+
+    @Override
+    public Spliterator<Pokemon> spliterator() {
+        return new PositionSpliterator(catalog, positions, 0, positions.length);
+    }
+
+    /**
+     * Walks a range of a position array, splitting it at the middle.
+     */
+    static final class PositionSpliterator implements Spliterator<Pokemon> {
+        private final List<Pokemon> catalog;
+        private final int[] positions;
+        private int index;
+        private final int end;
+
+        PositionSpliterator(List<Pokemon> catalog, int[] positions, int index, int end) {
+            this.catalog = catalog;
+            this.positions = positions;
+            this.index = index;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Pokemon> action) {
+            if (index >= end) {
+                return false;
+            }
+            action.accept(catalog.get(positions[index++]));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Pokemon> action) {
+            for (int i = index; i < end; i++) {
+                action.accept(catalog.get(positions[i]));
+            }
+            index = end;
+        }
+
+        @Override
+        public Spliterator<Pokemon> trySplit() {
+            int middle = (index + end) >>> 1;
+            if (middle <= index) {
+                return null;
+            }
+            Spliterator<Pokemon> prefix = new PositionSpliterator(catalog, positions, index, middle);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE;
+        }
+    }
+}
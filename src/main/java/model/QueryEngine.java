@@ -0,0 +1,456 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Answers {@link PokemonQuery} queries over a catalog using its type, name and sort indexes.
+ * <p>
+ * A small planner estimates how many Pokemon each part of a query lets through: the type constraint
+ * from its posting bitset, the name text from its rarest trigram, and each stat range from two
+ * binary searches in that stat's cached order. The most selective part produces the candidate positions
+ * and the other parts are checked against just those candidates. The matches are then ordered through
+ * the {@link SortIndex}, which stops at the limit instead of sorting everything. The checks and the
+ * orders read the catalog's {@link PokemonColumns}, so neither touches a Pokemon object until the
+ * results are materialized.
+ * <p>
+ * Like the indexes it holds, the engine covers the catalog it was built from and should be replaced
+ * when the catalog changes. The engine and its type and sort indexes all read the one list they were
+ * given rather than each keeping a copy of it, so that list must not change; pass a read-only list.
+ */
+public class QueryEngine {
+    private final List<Pokemon> catalog;
+    private final PokemonColumns columns;
+    private final TypeIndex typeIndex;
+    private final NameIndex nameIndex;
+    private final SortIndex sortIndex;
+    private final boolean nameSlotsArePositions;
+
+    /** Sorted streams over at most one in this many positions are ranked up front rather than walked in order. */
+    private static final int SPARSE_SELECTION_DIVISOR = 8;
+
+    /**
+     * The part of a query chosen to produce candidates.
+     */
+    enum Driver {
+        /** No constraints, so every position is a candidate. */
+        ALL,
+        TYPES,
+        NAME,
+        STAT
+    }
+
+    /**
+     * Builds the engine and its indexes over a catalog.
+     *
+     * @param catalog the Pokemon to query; positions are positions in this list, which is shared, not copied
+     * @throws IllegalArgumentException if the catalog is null
+     */
+    public QueryEngine(List<Pokemon> catalog) {
+        if (catalog == null) {
+            throw new IllegalArgumentException("Catalog cannot be null");
+        }
+        this.catalog = catalog;
+        this.columns = new PokemonColumns(this.catalog);
+        this.typeIndex = new TypeIndex(this.catalog, columns);
+        this.nameIndex = new NameIndex(this.catalog);
+        this.sortIndex = new SortIndex(this.catalog, columns);
+        // The name index skips nulls and repeated objects, which would shift its slots off the positions
+        this.nameSlotsArePositions = nameIndex.size() == this.catalog.size();
+    }
+
+    /**
+     * Gets the type index the engine filters types with.
+     *
+     * @return the type postings over the engine's catalog
+     */
+    public TypeIndex getTypeIndex() {
+        return typeIndex;
+    }
+
+    /**
+     * Gets the trigram index the engine searches names with.
+     *
+     * @return the name index over the engine's catalog
+     */
+    public NameIndex getNameIndex() {
+        return nameIndex;
+    }
+
+    /**
+     * Gets the sort index the engine orders results with. Its orders are cached per key,
+     * so every caller sharing the engine shares them.
+     *
+     * @return the sort index over the engine's catalog
+     */
+    public SortIndex getSortIndex() {
+        return sortIndex;
+    }
+
+    /**
+     * Gets the columns the engine scans stats, types and names from.
+     *
+     * @return the engine's catalog stored column by column
+     */
+    public PokemonColumns getColumns() {
+        return columns;
+    }
+
+    /**
+     * Runs a query.
+     *
+     * @param query the query
+     * @return the matching Pokemon, in the query's order and cut to its limit
+     * @throws IllegalArgumentException if the query is null
+     */
+    public List<Pokemon> execute(PokemonQuery query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        BitSet matches = matchingPositions(query);
+        if (query.getSortKey() == null) {
+            List<Pokemon> results = new ArrayList<>(Math.min(matches.cardinality(), query.getLimit()));
+            for (int position = matches.nextSetBit(0); position >= 0 && results.size() < query.getLimit();
+                 position = matches.nextSetBit(position + 1)) {
+                results.add(catalog.get(position));
+            }
+            return results;
+        }
+        return sortIndex.select(matches, query.getSortKey(), query.isDescending(), query.getLimit());
+    }
+
+    /**
+     * Runs a query lazily. Matching positions are found up front as a bitset, but no result list is built:
+     * the stream walks the matches, or the key's cached order filtered to them, and reads each Pokemon
+     * from the catalog as it is consumed. A selective query with an order is ranked up front instead,
+     * since that is cheaper than walking the whole order. The stream splits for parallel use.
+     *
+     * @param query the query
+     * @return the matching Pokemon, in the query's order and cut to its limit
+     * @throws IllegalArgumentException if the query is null
+     */
+    public Stream<Pokemon> stream(PokemonQuery query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        BitSet matches = matchingPositions(query);
+        int count = matches.cardinality();
+        IntStream positions;
+        if (query.getSortKey() == null) {
+            positions = matches.stream();
+        } else if (count <= catalog.size() / SPARSE_SELECTION_DIVISOR) {
+            return sortIndex.select(matches, query.getSortKey(), query.isDescending(), query.getLimit()).stream();
+        } else {
+            positions = Arrays.stream(sortIndex.permutation(query.getSortKey(), query.isDescending()));
+            if (count < catalog.size()) {
+                positions = positions.filter(matches::get);
+            }
+        }
+        return positions.limit(query.getLimit()).mapToObj(catalog::get);
+    }
+
+    /**
+     * Gets one page of a query's results. Only the page's Pokemon are read: the total is the number of
+     * matching positions the indexes produce, and the page is found by walking the matches or the key's
+     * cached order. A query with no constraints needs no matching at all, so its pages cost the same at
+     * any catalog size; a selective query with an order is ranked up front like {@link #stream}, but only
+     * as deep as the pages read so far, and the ranking is kept for the following pages.
+     * <p>
+     * Reaching an offset past the top costs a walk over the results before it; following the page's
+     * cursor instead continues from where the page stopped.
+     *
+     * @param query the query
+     * @param offset the index of the page's first result
+     * @param pageSize the maximum number of Pokemon on the page
+     * @return the page
+     * @throws IllegalArgumentException if the query is null or the offset or page size is negative
+     */
+    public PokemonPage page(PokemonQuery query, int offset, int pageSize) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset cannot be negative");
+        }
+        if (pageSize < 0) {
+            throw new IllegalArgumentException("Page size cannot be negative");
+        }
+        Results results = resolve(query);
+        int start = Math.min(offset, results.total);
+        return results.page(start, results.scanTo(start), pageSize);
+    }
+
+    /**
+     * Gets the page a cursor points at. The page comes from the results the cursor's first page was read
+     * from, even if they came from another engine since replaced.
+     *
+     * @param cursor the cursor from the previous page
+     * @param pageSize the maximum number of Pokemon on the page
+     * @return the page
+     * @throws IllegalArgumentException if the cursor is null or the page size is negative
+     */
+    public static PokemonPage page(PokemonPage.Cursor cursor, int pageSize) {
+        if (cursor == null) {
+            throw new IllegalArgumentException("Cursor cannot be null");
+        }
+        if (pageSize < 0) {
+            throw new IllegalArgumentException("Page size cannot be negative");
+        }
+        return cursor.results.page(cursor.offset, cursor.scan, pageSize);
+    }
+
+    /**
+     * Finds a query's matches and the order to read them in, without reading any Pokemon.
+     */
+    private Results resolve(PokemonQuery query) {
+        boolean constrained = query.hasTypeConstraint() || query.getNameText() != null
+                || !query.getStatRanges().isEmpty();
+        BitSet matches = constrained ? matchingPositions(query) : null;
+        int count = matches == null ? catalog.size() : matches.cardinality();
+        int total = Math.min(count, query.getLimit());
+        SortIndex.Key key = query.getSortKey();
+        if (key == null) {
+            return new Results(catalog, null, count == catalog.size() ? null : matches, total);
+        }
+        if (matches != null && count <= catalog.size() / SPARSE_SELECTION_DIVISOR) {
+            return new Results(catalog, sortIndex, matches, key, query.isDescending(), total);
+        }
+        return new Results(catalog, sortIndex.permutation(key, query.isDescending()),
+                count == catalog.size() ? null : matches, total);
+    }
+
+    /**
+     * A resolved query that pages are read from: the positions in result order, either a permutation of the
+     * catalog or collection order when null, kept to the matching positions when those are not null.
+     * Scan indexes count through the order, including the positions that do not match.
+     * <p>
+     * A small selection with an order is instead ranked by the sort index, but only as far as the pages
+     * read so far need: the ranked prefix doubles each time a page runs past it, so the first page
+     * costs a bounded top-K rather than a sort of every match.
+     */
+    static final class Results {
+        private final List<Pokemon> catalog;
+        private final int[] order;
+        private final BitSet matches;
+        private final int total;
+        private final SortIndex sortIndex;
+        private final BitSet toRank;
+        private final SortIndex.Key key;
+        private final boolean descending;
+        /** The first ranked positions; another thread may replace it with a longer prefix of the same ranking. */
+        private volatile int[] ranked;
+
+        private Results(List<Pokemon> catalog, int[] order, BitSet matches, int total) {
+            this.catalog = catalog;
+            this.order = order;
+            this.matches = matches;
+            this.total = total;
+            this.sortIndex = null;
+            this.toRank = null;
+            this.key = null;
+            this.descending = false;
+        }
+
+        private Results(List<Pokemon> catalog, SortIndex sortIndex, BitSet toRank, SortIndex.Key key,
+                        boolean descending, int total) {
+            this.catalog = catalog;
+            this.order = null;
+            this.matches = null;
+            this.total = total;
+            this.sortIndex = sortIndex;
+            this.toRank = toRank;
+            this.key = key;
+            this.descending = descending;
+        }
+
+        /**
+         * Gets a ranked prefix covering at least the results before an end index.
+         */
+        private int[] rankedThrough(int end) {
+            int[] prefix = ranked;
+            if (prefix == null || prefix.length < end) {
+                int length = prefix == null ? end : Math.max(end, prefix.length * 2);
+                prefix = sortIndex.rankedPositions(toRank, key, descending, Math.min(length, total));
+                ranked = prefix;
+            }
+            return prefix;
+        }
+
+        /**
+         * Finds the scan index of the result at an offset by walking past the results before it.
+         */
+        private int scanTo(int offset) {
+            if (matches == null) {
+                return offset;
+            }
+            int scan = nextMatch(0);
+            for (int skipped = 0; skipped < offset; skipped++) {
+                scan = nextMatch(scan + 1);
+            }
+            return scan;
+        }
+
+        /**
+         * Finds the first matching scan index at or after a scan index, or the end of the order.
+         */
+        private int nextMatch(int scan) {
+            if (order == null) {
+                int position = matches.nextSetBit(scan);
+                return position < 0 ? catalog.size() : position;
+            }
+            while (scan < order.length && !matches.get(order[scan])) {
+                scan++;
+            }
+            return scan;
+        }
+
+        private PokemonPage page(int offset, int scan, int pageSize) {
+            int count = Math.min(pageSize, total - offset);
+            int[] positions = toRank != null ? rankedThrough(offset + count) : order;
+            List<Pokemon> pokemon = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                scan = matches == null ? scan : nextMatch(scan);
+                pokemon.add(catalog.get(positions == null ? scan : positions[scan]));
+                scan++;
+            }
+            int next = offset + count;
+            return new PokemonPage(pokemon, offset, total,
+                    next < total ? new PokemonPage.Cursor(this, next, scan) : null);
+        }
+    }
+
+    /**
+     * Chooses the part of a query that lets the fewest Pokemon through. Visible for tests.
+     *
+     * @param query the query
+     * @return the driver the query would run from
+     */
+    Driver plan(PokemonQuery query) {
+        return choose(query, query.hasTypeConstraint() ? typePositions(query) : null).driver;
+    }
+
+    /**
+     * The chosen driver and, for a stat driver, which stat.
+     */
+    private static class Plan {
+        private final Driver driver;
+        private final PokemonStat stat;
+
+        private Plan(Driver driver, PokemonStat stat) {
+            this.driver = driver;
+            this.stat = stat;
+        }
+    }
+
+    private Plan choose(PokemonQuery query, BitSet typePositions) {
+        Driver best = Driver.ALL;
+        PokemonStat bestStat = null;
+        long bestCount = catalog.size();
+        if (typePositions != null) {
+            best = Driver.TYPES;
+            bestCount = typePositions.cardinality();
+        }
+        if (query.getNameText() != null && nameSlotsArePositions) {
+            long count = nameIndex.estimateMatches(query.getNameText());
+            if (count < bestCount) {
+                best = Driver.NAME;
+                bestCount = count;
+            }
+        }
+        for (Map.Entry<PokemonStat, int[]> range : query.getStatRanges().entrySet()) {
+            long count = sortIndex.countInRange(SortIndex.Key.of(range.getKey()), range.getValue()[0],
+                    range.getValue()[1]);
+            if (count < bestCount) {
+                best = Driver.STAT;
+                bestStat = range.getKey();
+                bestCount = count;
+            }
+        }
+        return new Plan(best, bestStat);
+    }
+
+    private BitSet typePositions(PokemonQuery query) {
+        return typeIndex.positionsMatching(query.getAllOf(), query.getAnyOf(), query.getNoneOf());
+    }
+
+    /**
+     * Produces candidates from the most selective part of the query and checks the rest against them.
+     */
+    private BitSet matchingPositions(PokemonQuery query) {
+        BitSet typePositions = query.hasTypeConstraint() ? typePositions(query) : null;
+        Plan plan = choose(query, typePositions);
+
+        BitSet candidates;
+        switch (plan.driver) {
+            case TYPES -> candidates = typePositions;
+            case NAME -> candidates = nameIndex.slotsMatchingName(query.getNameText());
+            case STAT -> {
+                int[] range = query.getStatRanges().get(plan.stat);
+                candidates = sortIndex.positionsInRange(SortIndex.Key.of(plan.stat), range[0], range[1]);
+            }
+            default -> {
+                candidates = new BitSet(catalog.size());
+                candidates.set(0, catalog.size());
+            }
+        }
+
+        String nameText = plan.driver == Driver.NAME || query.getNameText() == null
+                ? null : query.getNameText().toLowerCase(Locale.ROOT);
+        boolean checkTypes = typePositions != null && plan.driver != Driver.TYPES;
+        int allMask = PokemonType.maskOf(query.getAllOf());
+        int anyMask = PokemonType.maskOf(query.getAnyOf());
+        int noneMask = PokemonType.maskOf(query.getNoneOf());
+
+        // The ranges left to check, each with its stat's column
+        int rangeCount = query.getStatRanges().size() - (plan.driver == Driver.STAT ? 1 : 0);
+        int[][] rangeColumns = new int[rangeCount][];
+        int[] mins = new int[rangeCount];
+        int[] maxes = new int[rangeCount];
+        int next = 0;
+        for (Map.Entry<PokemonStat, int[]> range : query.getStatRanges().entrySet()) {
+            if (range.getKey() != plan.stat || plan.driver != Driver.STAT) {
+                rangeColumns[next] = columns.statColumn(range.getKey());
+                mins[next] = range.getValue()[0];
+                maxes[next] = range.getValue()[1];
+                next++;
+            }
+        }
+        if (!checkTypes && nameText == null && rangeCount == 0) {
+            return candidates;
+        }
+
+        BitSet matches = new BitSet(catalog.size());
+        for (int position = candidates.nextSetBit(0); position >= 0; position = candidates.nextSetBit(position + 1)) {
+            if (checkTypes) {
+                int mask = columns.typeMaskAt(position);
+                if ((mask & allMask) != allMask || anyMask != 0 && (mask & anyMask) == 0 || (mask & noneMask) != 0) {
+                    continue;
+                }
+            }
+            if (!inRanges(position, rangeColumns, mins, maxes) || columns.isMissing(position)) {
+                continue;
+            }
+            String name = columns.getName(position);
+            if (nameText == null || name != null && name.toLowerCase(Locale.ROOT).contains(nameText)) {
+                matches.set(position);
+            }
+        }
+        return matches;
+    }
+
+    private static boolean inRanges(int position, int[][] rangeColumns, int[] mins, int[] maxes) {
+        for (int i = 0; i < rangeColumns.length; i++) {
+            int value = rangeColumns[i][position];
+            if (value < mins[i] || value > maxes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,113 @@
+package model;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * Background queue of Pokemon IDs whose fetch failed transiently, so they are fetched again later
+ * instead of being dropped from the catalog. Each ID is retried in rounds with a delay that doubles
+ * up to a maximum; an ID is given up after the last round or on a permanent failure.
+ * Listeners are told about every Pokemon recovered this way.
+ */
+class RetryQueue {
+    private final IntFunction<CompletableFuture<Pokemon>> fetch;
+    private final ScheduledExecutorService scheduler;
+    private final long initialDelayMillis;
+    private final long maxDelayMillis;
+    private final int maxRounds;
+    private final Set<Integer> pendingIds;
+    private final List<Consumer<Pokemon>> listeners;
+
+    /**
+     * Creates an empty queue.
+     *
+     * @param fetch starts a fetch of one ID
+     * @param scheduler runs the delayed retries
+     * @param initialDelay the delay before an ID's first round
+     * @param maxDelay the longest delay between rounds
+     * @param maxRounds the number of rounds before an ID is given up
+     */
+    RetryQueue(IntFunction<CompletableFuture<Pokemon>> fetch, ScheduledExecutorService scheduler,
+               Duration initialDelay, Duration maxDelay, int maxRounds) {
+        this.fetch = fetch;
+        this.scheduler = scheduler;
+        this.initialDelayMillis = initialDelay.toMillis();
+        this.maxDelayMillis = maxDelay.toMillis();
+        this.maxRounds = maxRounds;
+        this.pendingIds = ConcurrentHashMap.newKeySet();
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Queues an ID for background retries. An ID that is already queued is not queued twice.
+     *
+     * @param id the Pokemon ID
+     */
+    void enqueue(int id) {
+        if (pendingIds.add(id)) {
+            schedule(id, 1, initialDelayMillis);
+        }
+    }
+
+    /**
+     * Adds a listener called, on the fetching thread, with every Pokemon a retry recovers.
+     *
+     * @param listener the listener
+     */
+    void addListener(Consumer<Pokemon> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Gets the IDs still waiting to be retried.
+     *
+     * @return the queued IDs in ascending order
+     */
+    Set<Integer> getPendingIds() {
+        return Collections.unmodifiableSet(new TreeSet<>(pendingIds));
+    }
+
+    /**
+     * Stops the scheduler and drops every queued ID. IDs enqueued afterwards are dropped too.
+     */
+    void shutdown() {
+        scheduler.shutdownNow();
+        pendingIds.clear();
+    }
+
+    private void schedule(int id, int round, long delayMillis) {
+        try {
+            scheduler.schedule(() -> retry(id, round, delayMillis), delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // The queue was shut down
+            pendingIds.remove(id);
+        }
+    }
+
+    private void retry(int id, int round, long delayMillis) {
+        fetch.apply(id).whenComplete((pokemon, error) -> {
+            if (error == null) {
+                pendingIds.remove(id);
+                for (Consumer<Pokemon> listener : listeners) {
+                    listener.accept(pokemon);
+                }
+            } else if (round < maxRounds && FetchResilience.isRetryable(error)) {
+                schedule(id, round + 1, Math.min(maxDelayMillis, delayMillis * 2));
+            } else {
+                pendingIds.remove(id);
+                System.err.println("Error retrying Pokemon " + id + ": " + BulkFetchResult.unwrap(error).getMessage());
+            }
+        });
+    }
+}
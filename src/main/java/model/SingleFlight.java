@@ -0,0 +1,132 @@
+package model;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent work for the same key: the first caller runs the work and every caller
+ * that arrives while it is in flight shares its result or failure instead of starting its own.
+ * Once the work finishes, the key is released and the next caller starts fresh work.
+ *
+ * @param <K> the key type
+ * @param <V> the result type
+ */
+class SingleFlight<K, V> {
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong coalescedCount = new AtomicLong();
+
+    /**
+     * Blocking work that may fail the same way a fetch does.
+     *
+     * @param <V> the result type
+     */
+    interface Work<V> {
+        V run() throws IOException, InterruptedException;
+    }
+
+    /**
+     * Runs blocking work on the calling thread, or waits for the call already in flight for the key.
+     *
+     * @param key the key
+     * @param work the work to run if nothing is in flight
+     * @return the result of the shared work
+     * @throws IOException if the shared work failed with an IOException
+     * @throws InterruptedException if the shared work or this wait was interrupted
+     */
+    V execute(K key, Work<V> work) throws IOException, InterruptedException {
+        CompletableFuture<V> leader = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, leader);
+        if (existing != null) {
+            coalescedCount.incrementAndGet();
+            return await(existing);
+        }
+
+        try {
+            V result = work.run();
+            finish(key, leader, result, null);
+            return result;
+        } catch (IOException | InterruptedException | RuntimeException | Error e) {
+            finish(key, leader, null, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Starts async work, or joins the call already in flight for the key.
+     *
+     * @param key the key
+     * @param work supplies the future of the work if nothing is in flight
+     * @return a future of the shared result; cancelling it does not affect other callers
+     */
+    CompletableFuture<V> executeAsync(K key, Supplier<CompletableFuture<V>> work) {
+        CompletableFuture<V> leader = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, leader);
+        if (existing != null) {
+            coalescedCount.incrementAndGet();
+            return existing.copy();
+        }
+
+        try {
+            work.get().whenComplete((result, error) -> finish(key, leader, result, error));
+        } catch (RuntimeException e) {
+            finish(key, leader, null, e);
+        }
+        return leader.copy();
+    }
+
+    /**
+     * Gets the number of calls that shared another call's work instead of running their own.
+     *
+     * @return the coalesced call count
+     */
+    long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /**
+     * Gets the number of keys with work in flight.
+     *
+     * @return the in-flight key count
+     */
+    int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Releases the key before completing, so callers woken by the result never join finished work.
+     */
+    private void finish(K key, CompletableFuture<V> leader, V result, Throwable error) {
+        inFlight.remove(key, leader);
+        if (error != null) {
+            leader.completeExceptionally(BulkFetchResult.unwrap(error));
+        } else {
+            leader.complete(result);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> shared) throws IOException, InterruptedException {
+        try {
+            return shared.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof InterruptedException) {
+                throw (InterruptedException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+}
@@ -0,0 +1,465 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Cached sort orders over a catalog, one per {@link Key}.
+ * Each order is a permutation of catalog positions, sorted once on first use and then reused, so showing
+ * a filtered list in some order is a single pass over the order that keeps the positions in the filter.
+ * Descending views walk the same order backwards. A small selection is instead ordered by sorting
+ * its positions' ranks in the cached order as plain ints, so it never costs a walk over the whole catalog.
+ * <p>
+ * Keys are read from the catalog's {@link PokemonColumns}, so every order is built by one sort of packed
+ * primitives; names are sorted through the ranks of their dictionary entries.
+ * Pokemon that tie on a key stay in catalog order in both directions, as they would after a stable sort.
+ * Missing names sort first and missing stats count as zero.
+ * Like the other indexes, this one does not see later changes to a Pokemon; callers should replace it
+ * when the catalog changes. Orders never change once built, so concurrent reads are safe; two threads
+ * asking for a new order at once may both build it.
+ */
+public class SortIndex {
+
+    /**
+     * The properties a catalog can be ordered by.
+     */
+    public enum Key {
+        NAME(null),
+        ID(null),
+        HP(PokemonStat.HP),
+        ATTACK(PokemonStat.ATTACK),
+        DEFENSE(PokemonStat.DEFENSE),
+        SPECIAL_ATTACK(PokemonStat.SPECIAL_ATTACK),
+        SPECIAL_DEFENSE(PokemonStat.SPECIAL_DEFENSE),
+        SPEED(PokemonStat.SPEED);
+
+        private final PokemonStat stat;
+
+        Key(PokemonStat stat) {
+            this.stat = stat;
+        }
+
+        /**
+         * Gets the key that orders by a stat.
+         *
+         * @param stat the stat
+         * @return the stat's key
+         */
+        public static Key of(PokemonStat stat) {
+            for (Key key : values()) {
+                if (key.stat == stat) {
+                    return key;
+                }
+            }
+            throw new IllegalArgumentException("No sort key for stat " + stat);
+        }
+    }
+
+    /**
+     * A permutation of catalog positions in ascending key order, each position's rank in it,
+     * where each run of equal keys starts, and for int keys the sorted values themselves.
+     */
+    private static class Order {
+        private final int[] positions;
+        private final int[] ranks;
+        private final BitSet runStarts;
+        private final int[] values;
+        /** The positions in descending key order with ties in catalog order, built the first time a view needs it. */
+        private volatile int[] descendingPositions;
+
+        private Order(int[] positions, BitSet runStarts, int[] values) {
+            this.positions = positions;
+            this.runStarts = runStarts;
+            this.values = values;
+            this.ranks = new int[positions.length];
+            for (int rank = 0; rank < positions.length; rank++) {
+                ranks[positions[rank]] = rank;
+            }
+        }
+    }
+
+    /** Selections of at most one in this many positions are sorted by rank instead of found by walking the order. */
+    private static final int SPARSE_SELECTION_DIVISOR = 8;
+
+    private final List<Pokemon> catalog;
+    private final PokemonColumns columns;
+    /** Each key's order, built the first time it is asked for and published through the array to other threads. */
+    private final AtomicReferenceArray<Order> orders = new AtomicReferenceArray<>(Key.values().length);
+
+    /**
+     * Creates the index over a catalog. Orders are computed the first time they are asked for.
+     * The list is not copied, so it must not change while the index is used.
+     *
+     * @param catalog the Pokemon to order; positions in the index are positions in this list
+     * @throws IllegalArgumentException if the catalog is null
+     */
+    public SortIndex(List<Pokemon> catalog) {
+        this(catalog, catalog == null ? null : new PokemonColumns(catalog));
+    }
+
+    /**
+     * Creates the index over a catalog whose keys are read from columns already built over it.
+     *
+     * @param catalog the Pokemon to order; positions in the index are positions in this list, which is shared
+     * @param columns the same catalog's columns
+     * @throws IllegalArgumentException if the catalog is null or the columns do not cover it
+     */
+    SortIndex(List<Pokemon> catalog, PokemonColumns columns) {
+        if (catalog == null) {
+            throw new IllegalArgumentException("Catalog cannot be null");
+        }
+        if (columns == null || columns.size() != catalog.size()) {
+            throw new IllegalArgumentException("Columns must cover the catalog");
+        }
+        this.catalog = catalog;
+        this.columns = columns;
+    }
+
+    /**
+     * Gets the number of catalog positions the index covers.
+     *
+     * @return the catalog size
+     */
+    public int size() {
+        return catalog.size();
+    }
+
+    /**
+     * Gets the catalog positions in ascending order of a key.
+     *
+     * @param key the key to order by
+     * @return a copy of the cached permutation
+     */
+    public int[] order(Key key) {
+        return cachedOrder(key).positions.clone();
+    }
+
+    /**
+     * Gets the whole catalog ordered by a key as a read-only view over the cached order, without copying it.
+     * Streams over the view split the order in halves, so they can run in parallel.
+     *
+     * @param key the key to order by
+     * @param descending whether to put the largest keys first
+     * @return the ordered view
+     */
+    public List<Pokemon> view(Key key, boolean descending) {
+        return new PositionList(catalog, permutation(key, descending));
+    }
+
+    /**
+     * Gets the cached permutation for a key in either direction. The array is shared, not copied,
+     * and must not be changed.
+     */
+    int[] permutation(Key key, boolean descending) {
+        Order order = cachedOrder(key);
+        if (!descending) {
+            return order.positions;
+        }
+        int[] reversed = order.descendingPositions;
+        if (reversed == null) {
+            // The runs of equal keys from last to first, each forwards to keep ties in catalog order
+            reversed = new int[order.positions.length];
+            int next = 0;
+            int runEnd = order.positions.length;
+            while (runEnd > 0) {
+                int runStart = order.runStarts.previousSetBit(runEnd - 1);
+                for (int i = runStart; i < runEnd; i++) {
+                    reversed[next++] = order.positions[i];
+                }
+                runEnd = runStart;
+            }
+            order.descendingPositions = reversed;
+        }
+        return reversed;
+    }
+
+    /**
+     * Gets the Pokemon at a set of positions, ordered by a key.
+     *
+     * @param positions the catalog positions to include, or null for the whole catalog
+     * @param key the key to order by
+     * @param descending whether to put the largest keys first
+     * @return the selected Pokemon in order
+     */
+    public List<Pokemon> select(BitSet positions, Key key, boolean descending) {
+        return select(positions, key, descending, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gets the first Pokemon at a set of positions, ordered by a key.
+     * A large selection is walked in order until the limit is reached; a small one keeps the best
+     * ranks in a heap bounded by the limit, so neither sorts more than it returns.
+     *
+     * @param positions the catalog positions to include, or null for the whole catalog
+     * @param key the key to order by
+     * @param descending whether to put the largest keys first
+     * @param limit the maximum number of Pokemon to return
+     * @return the first selected Pokemon in order
+     */
+    public List<Pokemon> select(BitSet positions, Key key, boolean descending, int limit) {
+        Order order = cachedOrder(key);
+        if (positions != null && positions.cardinality() <= order.positions.length / SPARSE_SELECTION_DIVISOR) {
+            return selectByRank(order, positions, descending, limit);
+        }
+
+        int[] permutation = order.positions;
+        int expected = positions == null ? permutation.length : positions.cardinality();
+        List<Pokemon> selected = new ArrayList<>(Math.min(expected, limit));
+        if (!descending) {
+            for (int i = 0; i < permutation.length && selected.size() < limit; i++) {
+                int position = permutation[i];
+                if (positions == null || positions.get(position)) {
+                    selected.add(catalog.get(position));
+                }
+            }
+            return selected;
+        }
+
+        // Walk the runs of equal keys from last to first, and each run forwards to keep ties in catalog order
+        int runEnd = permutation.length;
+        while (runEnd > 0 && selected.size() < limit) {
+            int runStart = order.runStarts.previousSetBit(runEnd - 1);
+            for (int i = runStart; i < runEnd && selected.size() < limit; i++) {
+                int position = permutation[i];
+                if (positions == null || positions.get(position)) {
+                    selected.add(catalog.get(position));
+                }
+            }
+            runEnd = runStart;
+        }
+        return selected;
+    }
+
+    /**
+     * Counts the Pokemon whose value for an int key lies in a range, with two binary searches.
+     *
+     * @param key the key, which must not be {@link Key#NAME}
+     * @param min the lowest value, inclusive
+     * @param max the highest value, inclusive
+     * @return the number of Pokemon in the range
+     */
+    int countInRange(Key key, int min, int max) {
+        int[] values = intOrder(key).values;
+        return Math.max(0, upperBound(values, max) - lowerBound(values, min));
+    }
+
+    /**
+     * Gets the catalog positions of the Pokemon whose value for an int key lies in a range.
+     *
+     * @param key the key, which must not be {@link Key#NAME}
+     * @param min the lowest value, inclusive
+     * @param max the highest value, inclusive
+     * @return the positions in the range
+     */
+    BitSet positionsInRange(Key key, int min, int max) {
+        Order order = intOrder(key);
+        BitSet positions = new BitSet(order.positions.length);
+        for (int rank = lowerBound(order.values, min); rank < upperBound(order.values, max); rank++) {
+            positions.set(order.positions[rank]);
+        }
+        return positions;
+    }
+
+    /**
+     * Orders a small selection by rank and reads its Pokemon from the catalog.
+     */
+    private List<Pokemon> selectByRank(Order order, BitSet positions, boolean descending, int limit) {
+        int[] ranked = rankPositions(order, positions, descending, limit);
+        List<Pokemon> selected = new ArrayList<>(ranked.length);
+        for (int position : ranked) {
+            selected.add(catalog.get(position));
+        }
+        return selected;
+    }
+
+    /**
+     * Gets the first positions of a selection ordered by a key, ranked up front as {@link #select} does
+     * for small selections. Pagination keeps the array and slices pages from it.
+     *
+     * @param positions the catalog positions to include
+     * @param key the key to order by
+     * @param descending whether to put the largest keys first
+     * @param limit the maximum number of positions to return
+     * @return the first selected positions in order
+     */
+    int[] rankedPositions(BitSet positions, Key key, boolean descending, int limit) {
+        return rankPositions(cachedOrder(key), positions, descending, limit);
+    }
+
+    /**
+     * Orders a small selection by its ranks in the cached order, which costs time in proportion to the
+     * selection rather than to the catalog. Each rank becomes a long that sorts in output order:
+     * the rank itself when ascending, or when descending something that falls as the key rises,
+     * followed by the rank. For int keys that is the complemented value; for names, the run's start
+     * counted from the end.
+     */
+    private static int[] rankPositions(Order order, BitSet positions, boolean descending, int limit) {
+        int size = order.positions.length;
+        long[] ordinals = new long[positions.cardinality()];
+        int count = 0;
+        for (int position = positions.nextSetBit(0); position >= 0 && position < size;
+             position = positions.nextSetBit(position + 1)) {
+            int rank = order.ranks[position];
+            if (!descending) {
+                ordinals[count++] = rank;
+            } else if (order.values != null) {
+                ordinals[count++] = ((long) ~order.values[rank] << 32) | rank;
+            } else {
+                ordinals[count++] = ((long) (size - order.runStarts.previousSetBit(rank)) << 32) | rank;
+            }
+        }
+
+        long[] first;
+        if (limit < count) {
+            first = smallest(ordinals, count, limit);
+        } else {
+            first = Arrays.copyOf(ordinals, count);
+            Arrays.sort(first);
+        }
+        int[] ranked = new int[first.length];
+        for (int i = 0; i < first.length; i++) {
+            ranked[i] = order.positions[(int) first[i] & Integer.MAX_VALUE];
+        }
+        return ranked;
+    }
+
+    /**
+     * Finds the smallest values with a max-heap bounded by the limit.
+     *
+     * @return the smallest values in ascending order
+     */
+    private static long[] smallest(long[] values, int count, int limit) {
+        long[] heap = new long[limit];
+        int heapSize = 0;
+        for (int i = 0; i < count; i++) {
+            long value = values[i];
+            if (heapSize < limit) {
+                int child = heapSize++;
+                while (child > 0 && heap[(child - 1) / 2] < value) {
+                    heap[child] = heap[(child - 1) / 2];
+                    child = (child - 1) / 2;
+                }
+                heap[child] = value;
+            } else if (limit > 0 && value < heap[0]) {
+                int parent = 0;
+                while (true) {
+                    int child = parent * 2 + 1;
+                    if (child >= heapSize) {
+                        break;
+                    }
+                    if (child + 1 < heapSize && heap[child + 1] > heap[child]) {
+                        child++;
+                    }
+                    if (heap[child] <= value) {
+                        break;
+                    }
+                    heap[parent] = heap[child];
+                    parent = child;
+                }
+                heap[parent] = value;
+            }
+        }
+        Arrays.sort(heap, 0, heapSize);
+        return heapSize == heap.length ? heap : Arrays.copyOf(heap, heapSize);
+    }
+
+    private static int lowerBound(int[] values, int value) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int upperBound(int[] values, int value) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private Order intOrder(Key key) {
+        if (key == Key.NAME) {
+            throw new IllegalArgumentException("Names have no value range");
+        }
+        return cachedOrder(key);
+    }
+
+    private Order cachedOrder(Key key) {
+        Order order = orders.get(key.ordinal());
+        if (order == null) {
+            order = key == Key.NAME ? sortByName() : sortByInt(key);
+            orders.set(key.ordinal(), order);
+        }
+        return order;
+    }
+
+    /**
+     * Sorts positions by an int key read from its column. Each key is packed above its position in a long,
+     * so one primitive sort orders by key with ties in catalog order.
+     */
+    private Order sortByInt(Key key) {
+        int[] column = key == Key.ID ? columns.idColumn() : columns.statColumn(key.stat);
+        long[] packed = sortPacked(column);
+        int size = packed.length;
+
+        int[] positions = new int[size];
+        int[] values = new int[size];
+        BitSet runStarts = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            positions[i] = (int) packed[i];
+            values[i] = (int) (packed[i] >> 32);
+            if (i == 0 || values[i] != values[i - 1]) {
+                runStarts.set(i);
+            }
+        }
+        return new Order(positions, runStarts, values);
+    }
+
+    /**
+     * Sorts positions by the ranks of their names among the distinct names, so each distinct name is
+     * compared while ranking the dictionary and the positions themselves are sorted as ints.
+     */
+    private Order sortByName() {
+        long[] packed = sortPacked(columns.nameOrderKeys());
+
+        int size = packed.length;
+        int[] positions = new int[size];
+        BitSet runStarts = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            positions[i] = (int) packed[i];
+            if (i == 0 || (int) (packed[i] >> 32) != (int) (packed[i - 1] >> 32)) {
+                runStarts.set(i);
+            }
+        }
+        return new Order(positions, runStarts, null);
+    }
+
+    /**
+     * Packs each key above its position and sorts, giving key order with ties in position order.
+     */
+    private static long[] sortPacked(int[] keys) {
+        long[] packed = new long[keys.length];
+        for (int position = 0; position < keys.length; position++) {
+            packed[position] = ((long) keys[position] << 32) | position;
+        }
+        Arrays.sort(packed);
+        return packed;
+    }
+}
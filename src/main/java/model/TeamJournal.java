@@ -0,0 +1,580 @@
+package model;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Journaled store for saved teams. Every create, update and delete is appended to a single log file,
+ * so saving a team costs one append the size of the team, however many teams already exist.
+ * <p>
+ * An index file maps each team ID to the offset of its latest record. It is a checkpoint rather
+ * than the source of truth: on open the index is loaded and only the log written after it is replayed,
+ * and a missing or stale index just means a longer replay. A background task checkpoints the index
+ * and compacts the log, copying only the latest record of each live team into a new log,
+ * once superseded and deleted records outweigh the live ones. A compacted log starts with a record of
+ * the next team ID, so IDs of teams that compaction dropped are never handed out again, even when
+ * the index is lost and the whole log is replayed.
+ * <p>
+ * Each record carries a CRC, so a record torn by a crash mid-append is detected on open and cut off.
+ */
+public class TeamJournal implements Closeable {
+    /** Name of the append-only log file in the journal directory. */
+    public static final String LOG_FILE = "teams.log";
+
+    /** Name of the index checkpoint file in the journal directory. */
+    public static final String INDEX_FILE = "teams.idx";
+
+    /** Default time between background compaction checks. */
+    public static final Duration DEFAULT_COMPACTION_INTERVAL = Duration.ofMinutes(1);
+
+    private static final int LOG_MAGIC = 0x504B544A; // "PKTJ"
+    private static final int INDEX_MAGIC = 0x504B5449; // "PKTI"
+    /** Version 2 added the next team ID record; version 1 files are still read. */
+    private static final int VERSION = 2;
+    /** Magic, version, reserved flags and the log's generation. */
+    private static final int LOG_HEADER_SIZE = 16;
+    /** Payload length, CRC, operation and team ID. */
+    private static final int RECORD_HEADER_SIZE = 13;
+    /** Dead records below this size are not worth rewriting the log for. */
+    private static final long MIN_COMPACTION_GARBAGE = 64 * 1024;
+
+    private static final byte OP_CREATE = 1;
+    private static final byte OP_UPDATE = 2;
+    private static final byte OP_DELETE = 3;
+    /** Carries the next team ID in its team ID field, with no payload. */
+    private static final byte OP_NEXT_TEAM_ID = 4;
+
+    private final Path directory;
+    private final Path logPath;
+    private final Path indexPath;
+    private final PokemonSnapshotCodec codec;
+    private final ScheduledExecutorService maintenance;
+    private final Map<Integer, Record> teams;
+
+    private FileChannel log;
+    private long generation;
+    private long logSize;
+    private long liveBytes;
+    private long indexedSize;
+    private int nextTeamId;
+    private int compactionCount;
+    private boolean closed;
+
+    /**
+     * Location and size of a team's latest record in the log.
+     */
+    private static class Record {
+        private final long offset;
+        private final int length;
+
+        private Record(long offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    /**
+     * Opens or creates a journal with the default compaction interval.
+     *
+     * @param directory the directory holding the log and index files; created if missing
+     * @throws IOException if the journal cannot be opened or is not a team journal
+     * @throws IllegalArgumentException if the directory is null
+     */
+    public TeamJournal(Path directory) throws IOException {
+        this(directory, DEFAULT_COMPACTION_INTERVAL);
+    }
+
+    /**
+     * Opens or creates a journal, replaying any log records written after the last index checkpoint.
+     *
+     * @param directory the directory holding the log and index files; created if missing
+     * @param compactionInterval the time between background compaction checks
+     * @throws IOException if the journal cannot be opened or is not a team journal
+     * @throws IllegalArgumentException if the directory is null or the interval is not positive
+     */
+    public TeamJournal(Path directory, Duration compactionInterval) throws IOException {
+        if (directory == null) {
+            throw new IllegalArgumentException("Journal directory cannot be null");
+        }
+        if (compactionInterval == null || compactionInterval.isZero() || compactionInterval.isNegative()) {
+            throw new IllegalArgumentException("Compaction interval must be positive");
+        }
+        this.directory = directory;
+        this.logPath = directory.resolve(LOG_FILE);
+        this.indexPath = directory.resolve(INDEX_FILE);
+        this.codec = new PokemonSnapshotCodec();
+        this.teams = new TreeMap<>();
+        this.nextTeamId = 1;
+
+        Files.createDirectories(directory);
+        openLog();
+        this.maintenance = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("team-journal-"));
+        long intervalMillis = compactionInterval.toMillis();
+        maintenance.scheduleWithFixedDelay(this::runMaintenance, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Saves a new team.
+     *
+     * @param team the Pokemon in the team
+     * @return the new team's ID
+     * @throws IOException if the record cannot be appended
+     * @throws IllegalArgumentException if the team is null or empty
+     */
+    public synchronized int createTeam(List<Pokemon> team) throws IOException {
+        byte[] payload = encode(team);
+        int teamId = nextTeamId;
+        append(OP_CREATE, teamId, payload);
+        return teamId;
+    }
+
+    /**
+     * Replaces the Pokemon in an existing team.
+     *
+     * @param teamId the team ID
+     * @param team the team's new Pokemon
+     * @throws IOException if the record cannot be appended
+     * @throws IllegalArgumentException if there is no such team, or the team is null or empty
+     */
+    public synchronized void updateTeam(int teamId, List<Pokemon> team) throws IOException {
+        if (!teams.containsKey(teamId)) {
+            throw new IllegalArgumentException("No team with ID " + teamId);
+        }
+        append(OP_UPDATE, teamId, encode(team));
+    }
+
+    /**
+     * Deletes a team.
+     *
+     * @param teamId the team ID
+     * @return true if the team existed
+     * @throws IOException if the record cannot be appended
+     */
+    public synchronized boolean deleteTeam(int teamId) throws IOException {
+        if (!teams.containsKey(teamId)) {
+            return false;
+        }
+        append(OP_DELETE, teamId, new byte[0]);
+        return true;
+    }
+
+    /**
+     * Loads a team's Pokemon.
+     *
+     * @param teamId the team ID
+     * @return the team's Pokemon, or null if there is no such team
+     * @throws IOException if the record cannot be read
+     */
+    public synchronized List<Pokemon> loadTeam(int teamId) throws IOException {
+        ensureOpen();
+        Record record = teams.get(teamId);
+        if (record == null) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(record.length - RECORD_HEADER_SIZE);
+        readFully(log, buffer, record.offset + RECORD_HEADER_SIZE);
+        return codec.read(new ByteArrayInputStream(buffer.array()));
+    }
+
+    /**
+     * Gets the IDs of all saved teams.
+     *
+     * @return the team IDs in ascending order
+     */
+    public synchronized int[] getTeamIds() {
+        return teams.keySet().stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Gets the number of saved teams.
+     *
+     * @return the team count
+     */
+    public synchronized int getTeamCount() {
+        return teams.size();
+    }
+
+    /**
+     * Gets the size of the log file, including records that compaction would drop.
+     *
+     * @return the log size in bytes
+     */
+    public synchronized long getLogSize() {
+        return logSize;
+    }
+
+    /**
+     * Gets the number of log bytes held by the latest record of each live team.
+     *
+     * @return the live size in bytes
+     */
+    public synchronized long getLiveBytes() {
+        return liveBytes;
+    }
+
+    /**
+     * Gets how many times the log has been compacted since the journal was opened.
+     *
+     * @return the compaction count
+     */
+    public synchronized int getCompactionCount() {
+        return compactionCount;
+    }
+
+    /**
+     * Rewrites the log with only the latest record of each live team, then checkpoints the index.
+     * The new log is synced and renamed over the old one, so a crash leaves one or the other intact.
+     *
+     * @throws IOException if the new log cannot be written
+     */
+    public synchronized void compact() throws IOException {
+        ensureOpen();
+        long newGeneration = ThreadLocalRandom.current().nextLong();
+        Path temp = Files.createTempFile(directory, "." + LOG_FILE, ".tmp");
+        Map<Integer, Record> compacted = new TreeMap<>();
+        long position = LOG_HEADER_SIZE;
+        try {
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                writeFully(out, logHeader(newGeneration), 0);
+                ByteBuffer nextIdRecord = record(OP_NEXT_TEAM_ID, nextTeamId, new byte[0]);
+                writeFully(out, nextIdRecord, position);
+                position += nextIdRecord.capacity();
+                for (Map.Entry<Integer, Record> entry : teams.entrySet()) {
+                    Record record = entry.getValue();
+                    long copied = 0;
+                    while (copied < record.length) {
+                        copied += log.transferTo(record.offset + copied, record.length - copied,
+                                out.position(position + copied));
+                    }
+                    compacted.put(entry.getKey(), new Record(position, record.length));
+                    position += record.length;
+                }
+                out.force(true);
+            }
+            log.close();
+            try {
+                Files.move(temp, logPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, logPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            if (!log.isOpen()) {
+                reopenLog();
+            }
+            throw e;
+        }
+
+        reopenLog();
+        teams.clear();
+        teams.putAll(compacted);
+        generation = newGeneration;
+        logSize = position;
+        compactionCount++;
+        writeIndex();
+    }
+
+    /**
+     * Stops background compaction, checkpoints the index and closes the log. Safe to call more than once.
+     *
+     * @throws IOException if the index cannot be written or the log cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        maintenance.shutdown();
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                if (logSize > indexedSize) {
+                    writeIndex();
+                }
+            } finally {
+                log.close();
+            }
+        }
+    }
+
+    /**
+     * Compacts the log when dead records outweigh live ones, and otherwise checkpoints the index
+     * if records have been appended since the last checkpoint.
+     */
+    private synchronized void runMaintenance() {
+        if (closed) {
+            return;
+        }
+        try {
+            long garbage = logSize - LOG_HEADER_SIZE - liveBytes;
+            if (garbage >= MIN_COMPACTION_GARBAGE && garbage > liveBytes) {
+                compact();
+            } else if (logSize > indexedSize) {
+                writeIndex();
+            }
+        } catch (IOException e) {
+            System.err.println("Error compacting team journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Appends one record and syncs it, then points the team at it.
+     */
+    private void append(byte op, int teamId, byte[] payload) throws IOException {
+        ensureOpen();
+        ByteBuffer record = record(op, teamId, payload);
+        long offset = logSize;
+        writeFully(log, record, offset);
+        log.force(false);
+        logSize = offset + record.capacity();
+        apply(op, teamId, new Record(offset, record.capacity()));
+    }
+
+    private static ByteBuffer record(byte op, int teamId, byte[] payload) {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + payload.length);
+        record.putInt(payload.length)
+                .putInt(checksum(op, teamId, payload))
+                .put(op)
+                .putInt(teamId)
+                .put(payload)
+                .flip();
+        return record;
+    }
+
+    /**
+     * Applies a record to the in-memory index, keeping the live byte count in step.
+     */
+    private void apply(byte op, int teamId, Record record) {
+        if (op == OP_NEXT_TEAM_ID) {
+            nextTeamId = Math.max(nextTeamId, teamId);
+            return;
+        }
+        Record previous = op == OP_DELETE ? teams.remove(teamId) : teams.put(teamId, record);
+        if (previous != null) {
+            liveBytes -= previous.length;
+        }
+        if (op != OP_DELETE) {
+            liveBytes += record.length;
+        }
+        nextTeamId = Math.max(nextTeamId, teamId + 1);
+    }
+
+    private byte[] encode(List<Pokemon> team) throws IOException {
+        if (team == null || team.isEmpty()) {
+            throw new IllegalArgumentException("Cannot save empty or null team");
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.write(team, out);
+        return out.toByteArray();
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Team journal is closed");
+        }
+    }
+
+    /**
+     * Opens the log, creating it with a fresh header if it is empty, then loads the index
+     * and replays whatever the index does not cover.
+     */
+    private void openLog() throws IOException {
+        log = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (log.size() == 0) {
+                generation = ThreadLocalRandom.current().nextLong();
+                writeFully(log, logHeader(generation), 0);
+                log.force(true);
+            } else {
+                generation = readLogHeader();
+            }
+            logSize = Math.max(log.size(), LOG_HEADER_SIZE);
+            replay(readIndex());
+        } catch (IOException | RuntimeException e) {
+            log.close();
+            throw e;
+        }
+    }
+
+    private void reopenLog() throws IOException {
+        log = FileChannel.open(logPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private long readLogHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_SIZE);
+        if (log.size() < LOG_HEADER_SIZE) {
+            throw new IOException("Not a team journal: " + logPath);
+        }
+        readFully(log, header, 0);
+        header.flip();
+        if (header.getInt() != LOG_MAGIC) {
+            throw new IOException("Not a team journal: " + logPath);
+        }
+        int version = header.getShort() & 0xFFFF;
+        if (version > VERSION) {
+            throw new IOException("Unsupported team journal version " + version);
+        }
+        header.getShort();
+        return header.getLong();
+    }
+
+    private static ByteBuffer logHeader(long generation) {
+        ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_SIZE);
+        header.putInt(LOG_MAGIC).putShort((short) VERSION).putShort((short) 0).putLong(generation).flip();
+        return header;
+    }
+
+    /**
+     * Loads the index checkpoint if it belongs to this log and the log still covers it.
+     *
+     * @return the log offset replay should start from
+     */
+    private long readIndex() {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexPath)))) {
+            if (in.readInt() != INDEX_MAGIC || in.readUnsignedShort() > VERSION) {
+                return LOG_HEADER_SIZE;
+            }
+            in.readUnsignedShort();
+            long indexGeneration = in.readLong();
+            long coveredSize = in.readLong();
+            int indexNextTeamId = in.readInt();
+            int count = in.readInt();
+            if (indexGeneration != generation || coveredSize < LOG_HEADER_SIZE || coveredSize > logSize || count < 0) {
+                return LOG_HEADER_SIZE;
+            }
+            Map<Integer, Record> indexed = new TreeMap<>();
+            long indexedLive = 0;
+            for (int i = 0; i < count; i++) {
+                int teamId = in.readInt();
+                Record record = new Record(in.readLong(), in.readInt());
+                if (record.offset < LOG_HEADER_SIZE || record.length < RECORD_HEADER_SIZE
+                        || record.offset + record.length > coveredSize) {
+                    return LOG_HEADER_SIZE;
+                }
+                indexed.put(teamId, record);
+                indexedLive += record.length;
+            }
+            teams.putAll(indexed);
+            liveBytes = indexedLive;
+            nextTeamId = indexNextTeamId;
+            indexedSize = coveredSize;
+            return coveredSize;
+        } catch (NoSuchFileException e) {
+            return LOG_HEADER_SIZE;
+        } catch (IOException e) {
+            System.err.println("Error reading team journal index, replaying the whole log: " + e.getMessage());
+            return LOG_HEADER_SIZE;
+        }
+    }
+
+    /**
+     * Writes the index checkpoint for everything appended so far, replacing the old one atomically.
+     */
+    private void writeIndex() throws IOException {
+        long coveredSize = logSize;
+        CollectionFiles.writeAtomically(indexPath, false, out -> {
+            DataOutputStream data = new DataOutputStream(out);
+            data.writeInt(INDEX_MAGIC);
+            data.writeShort(VERSION);
+            data.writeShort(0);
+            data.writeLong(generation);
+            data.writeLong(coveredSize);
+            data.writeInt(nextTeamId);
+            data.writeInt(teams.size());
+            for (Map.Entry<Integer, Record> entry : teams.entrySet()) {
+                data.writeInt(entry.getKey());
+                data.writeLong(entry.getValue().offset);
+                data.writeInt(entry.getValue().length);
+            }
+            data.flush();
+        });
+        indexedSize = coveredSize;
+    }
+
+    /**
+     * Replays the log from an offset, stopping at the first torn or corrupt record
+     * and cutting the log off there so later appends follow the last good record.
+     */
+    private void replay(long from) throws IOException {
+        long position = from;
+        InputStream in = new BufferedInputStream(Channels.newInputStream(log.position(from)));
+        DataInputStream data = new DataInputStream(in);
+        while (position < logSize) {
+            try {
+                int length = data.readInt();
+                int crc = data.readInt();
+                byte op = data.readByte();
+                int teamId = data.readInt();
+                if (length < 0 || length > logSize - position - RECORD_HEADER_SIZE
+                        || op < OP_CREATE || op > OP_NEXT_TEAM_ID) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                data.readFully(payload);
+                if (checksum(op, teamId, payload) != crc) {
+                    break;
+                }
+                apply(op, teamId, new Record(position, RECORD_HEADER_SIZE + length));
+                position += RECORD_HEADER_SIZE + length;
+            } catch (EOFException e) {
+                break;
+            }
+        }
+        if (position < logSize) {
+            System.err.println("Error reading team journal: discarding " + (logSize - position)
+                    + " bytes after the last complete record");
+            log.truncate(position);
+            log.force(true);
+            logSize = position;
+        }
+    }
+
+    private static int checksum(byte op, int teamId, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(op);
+        crc.update(ByteBuffer.allocate(Integer.BYTES).putInt(teamId).array());
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("Team journal ended inside a record");
+            }
+            position += read;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Inverted index from each Pokemon type to the catalog positions of the Pokemon that have it.
+ * Each type's postings are a {@link BitSet}, so type filters and their AND, OR and NOT combinations
+ * are answered with word-at-a-time bit operations instead of checking every Pokemon's type list.
+ * <p>
+ * The index covers the catalog it was built from plus anything {@link #add added} since.
+ * It does not see later changes to a Pokemon's types. It is not thread-safe while being added to;
+ * callers that share one index should replace it rather than add to it.
+ */
+public class TypeIndex {
+    private static final PokemonType[] TYPES = PokemonType.values();
+
+    private final List<Pokemon> catalog;
+    private final boolean shared; // Whether the catalog is the caller's list rather than the index's own
+    private final BitSet[] postings;
+    /** Each type's postings as a position array, built the first time a view needs it and dropped on add. */
+    private final AtomicReferenceArray<int[]> positionArrays = new AtomicReferenceArray<>(TYPES.length);
+
+    /**
+     * Builds the index over a catalog.
+     *
+     * @param catalog the Pokemon to index; positions in the index are positions in this list
+     * @throws IllegalArgumentException if the catalog is null
+     */
+    public TypeIndex(List<Pokemon> catalog) {
+        if (catalog == null) {
+            throw new IllegalArgumentException("Catalog cannot be null");
+        }
+        this.catalog = new ArrayList<>(catalog.size());
+        this.shared = false;
+        this.postings = new BitSet[TYPES.length];
+        for (int i = 0; i < postings.length; i++) {
+            postings[i] = new BitSet(catalog.size());
+        }
+        for (Pokemon pokemon : catalog) {
+            add(pokemon);
+        }
+    }
+
+    /**
+     * Builds the index over a catalog from the type masks in its columns, without reading any type lists.
+     * The list is shared rather than copied, so it must not change, and the index cannot be added to.
+     *
+     * @param catalog the Pokemon to index; positions in the index are positions in this list
+     * @param columns the same catalog's columns
+     * @throws IllegalArgumentException if the catalog is null or the columns do not cover it
+     */
+    TypeIndex(List<Pokemon> catalog, PokemonColumns columns) {
+        if (catalog == null) {
+            throw new IllegalArgumentException("Catalog cannot be null");
+        }
+        if (columns == null || columns.size() != catalog.size()) {
+            throw new IllegalArgumentException("Columns must cover the catalog");
+        }
+        this.catalog = catalog;
+        this.shared = true;
+        this.postings = new BitSet[TYPES.length];
+        for (int i = 0; i < postings.length; i++) {
+            postings[i] = new BitSet(catalog.size());
+        }
+        for (int position = 0; position < columns.size(); position++) {
+            for (int mask = columns.typeMaskAt(position); mask != 0; mask &= mask - 1) {
+                postings[Integer.numberOfTrailingZeros(mask)].set(position);
+            }
+        }
+    }
+
+    /**
+     * Appends a Pokemon to the end of the catalog.
+     *
+     * @param pokemon the Pokemon to add
+     * @return the Pokemon's catalog position
+     * @throws IllegalStateException if the index was built over a shared catalog
+     */
+    public int add(Pokemon pokemon) {
+        if (shared) {
+            throw new IllegalStateException("An index over a shared catalog cannot be added to");
+        }
+        int position = catalog.size();
+        catalog.add(pokemon);
+        if (pokemon != null) {
+            for (int mask = PokemonType.maskOf(pokemon.getTypes()); mask != 0; mask &= mask - 1) {
+                postings[Integer.numberOfTrailingZeros(mask)].set(position);
+                positionArrays.set(Integer.numberOfTrailingZeros(mask), null);
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Gets the number of catalog positions the index covers.
+     *
+     * @return the catalog size
+     */
+    public int size() {
+        return catalog.size();
+    }
+
+    /**
+     * Counts the Pokemon that have a type, without materializing them.
+     *
+     * @param type the type
+     * @return the number of Pokemon with the type
+     */
+    public int count(PokemonType type) {
+        return postings[type.ordinal()].cardinality();
+    }
+
+    /**
+     * Gets the catalog positions of the Pokemon that have a type.
+     *
+     * @param type the type
+     * @return a copy of the type's postings
+     */
+    public BitSet positionsOf(PokemonType type) {
+        return (BitSet) postings[type.ordinal()].clone();
+    }
+
+    /**
+     * Gets the catalog positions of the Pokemon that match a type combination.
+     * An empty or null collection places no constraint, so with all three empty every position matches.
+     *
+     * @param allOf types a Pokemon must all have (AND)
+     * @param anyOf types a Pokemon must have at least one of (OR)
+     * @param noneOf types a Pokemon must not have (NOT)
+     * @return the matching positions
+     */
+    public BitSet positionsMatching(Collection<PokemonType> allOf, Collection<PokemonType> anyOf,
+                                    Collection<PokemonType> noneOf) {
+        BitSet result = new BitSet(catalog.size());
+        result.set(0, catalog.size());
+        if (allOf != null) {
+            for (PokemonType type : allOf) {
+                result.and(postings[type.ordinal()]);
+            }
+        }
+        if (anyOf != null && !anyOf.isEmpty()) {
+            BitSet union = new BitSet(catalog.size());
+            for (PokemonType type : anyOf) {
+                union.or(postings[type.ordinal()]);
+            }
+            result.and(union);
+        }
+        if (noneOf != null) {
+            for (PokemonType type : noneOf) {
+                result.andNot(postings[type.ordinal()]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the Pokemon that have a type, in catalog order.
+     *
+     * @param type the type, or null for every Pokemon
+     * @return the matching Pokemon, or a read-only view of the whole catalog for null
+     */
+    public List<Pokemon> filter(PokemonType type) {
+        if (type == null) {
+            return Collections.unmodifiableList(catalog);
+        }
+        return select(postings[type.ordinal()]);
+    }
+
+    /**
+     * Gets the Pokemon that have a type as a read-only view in catalog order, without copying them.
+     * The view covers the Pokemon indexed when it was made; streams over it can run in parallel.
+     *
+     * @param type the type
+     * @return the view
+     */
+    public List<Pokemon> view(PokemonType type) {
+        int[] positions = positionArrays.get(type.ordinal());
+        if (positions == null) {
+            positions = postings[type.ordinal()].stream().toArray();
+            positionArrays.set(type.ordinal(), positions);
+        }
+        return new PositionList(catalog, positions);
+    }
+
+    /**
+     * Gets the Pokemon that match a type combination, in catalog order.
+     *
+     * @param allOf types a Pokemon must all have (AND)
+     * @param anyOf types a Pokemon must have at least one of (OR)
+     * @param noneOf types a Pokemon must not have (NOT)
+     * @return the matching Pokemon
+     * @see #positionsMatching
+     */
+    public List<Pokemon> filter(Collection<PokemonType> allOf, Collection<PokemonType> anyOf,
+                                Collection<PokemonType> noneOf) {
+        return select(positionsMatching(allOf, anyOf, noneOf));
+    }
+
+    /**
+     * Gets the Pokemon at a set of catalog positions, in catalog order.
+     *
+     * @param positions the positions to select
+     * @return the selected Pokemon
+     */
+    public List<Pokemon> select(BitSet positions) {
+        List<Pokemon> selected = new ArrayList<>(positions.cardinality());
+        for (int i = positions.nextSetBit(0); i >= 0 && i < catalog.size(); i = positions.nextSetBit(i + 1)) {
+            selected.add(catalog.get(i));
+        }
+        return selected;
+    }
+}
@@ -15,9 +15,9 @@ public interface IPokemonView {
     void display();
 
     /**
-     * Updates the Pokemon list displayed in the view.
+     * Updates the Pokemon list displayed in the view after the controller's collection has changed.
      *
-     * @param pokemonList the list of Pokemon to display
+     * @param pokemonList the controller's new collection
      */
     void updatePokemonList(List<Pokemon> pokemonList);
 
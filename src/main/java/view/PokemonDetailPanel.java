@@ -263,9 +263,7 @@ public class PokemonDetailPanel extends JPanel {
 
         // Add basic stats summary
         Pokemon.PokemonStats stats = pokemon.getStats();
-        JLabel statsSummaryLabel = new JLabel("Base Stats Total: " +
-                (stats.getHp() + stats.getAttack() + stats.getDefense() +
-                        stats.getSpecialAttack() + stats.getSpecialDefense() + stats.getSpeed()));
+        JLabel statsSummaryLabel = new JLabel("Base Stats Total: " + stats.getTotal());
         statsSummaryLabel.setFont(new Font("SansSerif", Font.BOLD, 14));
         statsSummaryLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
         infoPanel.add(statsSummaryLabel);
@@ -0,0 +1,142 @@
+package view;
+
+import model.Pokemon;
+
+import javax.swing.AbstractListModel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * List model for the Pokemon list that shows the rows of a source list through an array of positions,
+ * such as a sort order or a filter's matches.
+ * <p>
+ * Replacing the rows fires a single contentsChanged event however many rows there are, rather than one
+ * event per row. Each row's {@link CheckBoxListItem} is only created the first time the list asks for it;
+ * a JList with fixed cell sizes only asks for the rows it paints, so showing half a million Pokemon
+ * creates items for the few dozen on screen. An item keeps its checkbox state until the rows are replaced.
+ */
+public class PokemonListModel extends AbstractListModel<CheckBoxListItem> {
+    private List<Pokemon> source = Collections.emptyList();
+    private int[] rows; // Positions in source, or null for all of source in order
+    private int size;
+    private CheckBoxListItem[] items = new CheckBoxListItem[0];
+    private int createdCount;
+
+    /**
+     * Shows every Pokemon in a list, in order.
+     *
+     * @param pokemon the Pokemon to show
+     * @throws IllegalArgumentException if the list is null
+     */
+    public void setPokemon(List<Pokemon> pokemon) {
+        setRows(pokemon, null);
+    }
+
+    /**
+     * Shows the Pokemon at some positions of a source list. Neither the list nor the positions are copied,
+     * so they must not change while they are shown.
+     *
+     * @param source the list the positions point into
+     * @param rows the positions to show, in row order, or null for all of the source in order
+     * @throws IllegalArgumentException if the source is null
+     */
+    public void setRows(List<Pokemon> source, int[] rows) {
+        if (source == null) {
+            throw new IllegalArgumentException("Source list cannot be null");
+        }
+        int oldSize = size;
+        this.source = source;
+        this.rows = rows;
+        this.size = rows == null ? source.size() : rows.length;
+        this.items = new CheckBoxListItem[size];
+        this.createdCount = 0;
+        int changed = Math.max(oldSize, size);
+        if (changed > 0) {
+            fireContentsChanged(this, 0, changed - 1);
+        }
+    }
+
+    /**
+     * Removes every row.
+     */
+    public void clear() {
+        setRows(Collections.emptyList(), null);
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return the row count
+     */
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the item for a row, creating it the first time the row is asked for.
+     *
+     * @param index the row
+     * @return the row's item
+     * @throws IndexOutOfBoundsException if the row does not exist
+     */
+    @Override
+    public CheckBoxListItem getElementAt(int index) {
+        Objects.checkIndex(index, size);
+        CheckBoxListItem item = items[index];
+        if (item == null) {
+            item = new CheckBoxListItem(source.get(rows == null ? index : rows[index]));
+            items[index] = item;
+            createdCount++;
+        }
+        return item;
+    }
+
+    /**
+     * Gets the Pokemon whose checkboxes are ticked, in row order. Only rows that have been shown can be
+     * ticked, so this does not create any items.
+     *
+     * @return the checked Pokemon
+     */
+    public List<Pokemon> getCheckedPokemon() {
+        List<Pokemon> checked = new ArrayList<>();
+        for (CheckBoxListItem item : items) {
+            if (item != null && item.isSelected()) {
+                checked.add(item.getPokemon());
+            }
+        }
+        return checked;
+    }
+
+    /**
+     * Ticks the rows whose Pokemon have one of the given IDs, such as the Pokemon that were ticked before
+     * the rows were replaced. Every row is visited, but items are only created for the rows ticked.
+     *
+     * @param ids the IDs to tick
+     */
+    public void checkPokemonWithIds(Set<Integer> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        for (int row = 0; row < size; row++) {
+            Pokemon pokemon = source.get(rows == null ? row : rows[row]);
+            if (pokemon != null && ids.contains(pokemon.getId())) {
+                getElementAt(row).setSelected(true);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of items created since the rows were last replaced. Visible for tests.
+     */
+    int createdCount() {
+        return createdCount;
+    }
+}
@@ -1,51 +1,58 @@
 package view;
 
 import model.Pokemon;
+import model.PokemonQuery;
+import model.SortIndex;
 import model.PokemonType;
 import controller.IPokemonController;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Consumer;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.stream.Collectors;
-import java.io.File;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseAdapter;
 
 /**
  * Panel for displaying a list of Pokemon.
  * Uses a JList to show Pokemon names and allows for selection.
+ * The Pokemon shown always come from the controller's current collection.
  */
 public class PokemonListPanel extends JPanel {
+    // Sizes the cells once, so the list never renders every row to measure them
+    private static final CheckBoxListItem PROTOTYPE_ITEM = new CheckBoxListItem(
+            new Pokemon(10000, "crabominable-mega", null, List.of(PokemonType.NORMAL), null));
     private final IPokemonController controller;
-    private final DefaultListModel<CheckBoxListItem> listModel;
+    private final PokemonListModel listModel;
     private final JList<CheckBoxListItem> pokemonList;
     private Consumer<Pokemon> selectionListener;
-    private List<Pokemon> fullPokemonList; // Store the complete list
+    private boolean searchDriven = true; // Whether the search field, not the type and sort boxes, chose the rows
     private JTextField searchField;
     private JComboBox<PokemonType> typeFilter;
     private JComboBox<SortOption> sortOptions;
     private JButton saveButton;
-    private int nextTeamNumber = 1;  // For auto-incrementing file names
     private JLabel viewingLabel;
 
     /**
      * Enum for sort options.
      */ 
     private enum SortOption {
-        NAME_ASC("Name A-Z"),
-        NAME_DESC("Name Z-A"),
-        ID_ASC("ID ↑"),
-        ID_DESC("ID ↓"),
-        HP_DESC("HP ↓");
+        NAME_ASC("Name A-Z", SortIndex.Key.NAME, false),
+        NAME_DESC("Name Z-A", SortIndex.Key.NAME, true),
+        ID_ASC("ID ↑", SortIndex.Key.ID, false),
+        ID_DESC("ID ↓", SortIndex.Key.ID, true),
+        HP_DESC("HP ↓", SortIndex.Key.HP, true);
 
         private final String label;
+        private final SortIndex.Key key;
+        private final boolean descending;
 
-        SortOption(String label) {
+        SortOption(String label, SortIndex.Key key, boolean descending) {
             this.label = label;
+            this.key = key;
+            this.descending = descending;
         }
 
         @Override
@@ -61,7 +68,7 @@ public class PokemonListPanel extends JPanel {
      */
     public PokemonListPanel(IPokemonController controller) {
         this.controller = controller;
-        this.listModel = new DefaultListModel<>();
+        this.listModel = new PokemonListModel();
         this.pokemonList = new JList<>(listModel);
 
         initializeComponents();
@@ -143,6 +150,7 @@ public class PokemonListPanel extends JPanel {
     private void configureList() {
         // Use custom cell renderer with checkboxes
         pokemonList.setCellRenderer(new PokemonCheckBoxListRenderer());
+        pokemonList.setPrototypeCellValue(PROTOTYPE_ITEM); // Fixed cell sizes, so only visible rows are read
         pokemonList.setFixedCellHeight(40); // Smaller height
 
         // Enable multiple selection
@@ -201,19 +209,7 @@ public class PokemonListPanel extends JPanel {
      * Sets up event listeners for the panel.
      */
     private void setupListeners() {
-        searchField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
-            public void insertUpdate(javax.swing.event.DocumentEvent e) {
-                filterList();
-            }
-
-            public void removeUpdate(javax.swing.event.DocumentEvent e) {
-                filterList();
-            }
-
-            public void changedUpdate(javax.swing.event.DocumentEvent e) {
-                filterList();
-            }
-        });
+        // The search field's listener is added by setupSearch
         typeFilter.addActionListener(e -> filterAndSortList());
         sortOptions.addActionListener(e -> filterAndSortList());
         saveButton.addActionListener(e -> saveSelectedPokemon());
@@ -252,26 +248,28 @@ public class PokemonListPanel extends JPanel {
 
     /**
      * Filters and sorts the list of Pokemon based on the selected type and sort option.
+     * Both are answered by the controller from the type postings and cached sort orders of its current
+     * snapshot, so each order is built once per collection rather than once per panel.
      */
     private void filterAndSortList() {
-        if (fullPokemonList == null) return;
-
-        List<Pokemon> filtered = fullPokemonList.stream()
-                .filter(pokemon -> typeFilter.getSelectedItem() == null ||
-                        pokemon.getTypes().contains(typeFilter.getSelectedItem()))
-                .collect(Collectors.toList());
+        searchDriven = false;
+        showTypeAndSort();
+    }
 
+    /**
+     * Shows the Pokemon of the selected type in the selected order.
+     */
+    private void showTypeAndSort() {
+        PokemonType selectedType = (PokemonType) typeFilter.getSelectedItem();
         SortOption selectedSort = (SortOption) sortOptions.getSelectedItem();
-        switch (selectedSort) {
-            case NAME_ASC -> filtered.sort(Comparator.comparing(Pokemon::getName));
-            case NAME_DESC -> filtered.sort(Comparator.comparing(Pokemon::getName).reversed());
-            case ID_ASC -> filtered.sort(Comparator.comparingInt(Pokemon::getId));
-            case ID_DESC -> filtered.sort(Comparator.comparingInt(Pokemon::getId).reversed());
-            case HP_DESC -> filtered.sort(Comparator.comparingInt((Pokemon p) -> p.getStats().getHp()).reversed());
+        if (selectedType == null) {
+            updateListContent(controller.viewPokemonSorted(selectedSort.key, selectedSort.descending));
+        } else {
+            updateListContent(controller.queryPokemon(new PokemonQuery().withAnyType(selectedType)
+                    .sortBy(selectedSort.key, selectedSort.descending)));
         }
-
-        updateListContent(filtered);
     }
+
     /** 
      * Sets up the search functionality.
      */
@@ -293,37 +291,56 @@ public class PokemonListPanel extends JPanel {
 
     /**
      * Filters the list based on the search text.
+     * If nothing contains the text, falls back to the controller's typo-tolerant name search.
      */ 
     private void filterList() {
-        String searchText = searchField.getText().toLowerCase().trim();
+        searchDriven = true;
+        showSearchResults();
 
-        if (fullPokemonList != null) {
-            listModel.clear();
+        // Select first item if list is not empty
+        if (listModel.size() > 0) {
+            pokemonList.setSelectedIndex(0);
+        }
+    }
 
-            if (searchText.isEmpty()) {
-                fullPokemonList.forEach(pokemon -> listModel.addElement(new CheckBoxListItem(pokemon)));
-            } else {
-                fullPokemonList.stream()
-                        .filter(pokemon -> pokemon.getName().toLowerCase().contains(searchText) ||
-                                String.valueOf(pokemon.getId()).contains(searchText))
-                        .forEach(pokemon -> listModel.addElement(new CheckBoxListItem(pokemon)));
-            }
+    /**
+     * Shows the Pokemon matching the search text, or every Pokemon if there is none.
+     */
+    private void showSearchResults() {
+        String searchText = searchField.getText().toLowerCase().trim();
 
-            // Select first item if list is not empty
-            if (listModel.size() > 0) {
-                pokemonList.setSelectedIndex(0);
+        if (searchText.isEmpty()) {
+            updateListContent(controller.getPokemonCollection());
+        } else {
+            List<Pokemon> matches = controller.searchPokemon(searchText);
+            if (matches.isEmpty()) {
+                matches = controller.searchPokemonFuzzy(searchText);
             }
+            updateListContent(matches);
         }
     }
 
     /**
-     * Updates the list with new Pokemon data.
+     * Shows the controller's collection after it has changed. The panel keeps no copy of its own:
+     * the list is always read from the controller, which also answers every search, filter and sort,
+     * so what is shown and what is searched are the same snapshot.
+     * <p>
+     * Whichever of the search or the type and sort boxes chose the rows is run again against the new
+     * collection, so the rows still match the controls, and Pokemon that were ticked stay ticked.
      *
-     * @param pokemonList the list of Pokemon to display
+     * @param pokemonList the controller's new collection, which the panel reads from the controller
      */
     public void updatePokemonList(List<Pokemon> pokemonList) {
-        fullPokemonList = new ArrayList<>(pokemonList);
-        updateListContent(pokemonList);
+        Set<Integer> checkedIds = new HashSet<>();
+        for (Pokemon pokemon : listModel.getCheckedPokemon()) {
+            checkedIds.add(pokemon.getId());
+        }
+        if (searchDriven) {
+            showSearchResults();
+        } else {
+            showTypeAndSort();
+        }
+        listModel.checkPokemonWithIds(checkedIds);
         viewingLabel.setText("Currently Viewing: All Pokémon");
     }
 
@@ -375,16 +392,10 @@ public class PokemonListPanel extends JPanel {
     }
 
     /**
-     * Saves the selected Pokémon to a file.
+     * Saves the selected Pokémon as a new team.
      */
     private void saveSelectedPokemon() {
-        List<Pokemon> selectedPokemon = new ArrayList<>();
-        for (int i = 0; i < listModel.size(); i++) {
-            CheckBoxListItem item = listModel.getElementAt(i);
-            if (item.isSelected()) {
-                selectedPokemon.add(item.getPokemon());
-            }
-        }
+        List<Pokemon> selectedPokemon = listModel.getCheckedPokemon();
 
         if (selectedPokemon.isEmpty()) {
             JOptionPane.showMessageDialog(this,
@@ -394,28 +405,29 @@ public class PokemonListPanel extends JPanel {
             return;
         }
 
-        // Find next available file name
-        String fileName;
-        do {
-            fileName = String.format("team%d.json", nextTeamNumber++);
-        } while (new File(fileName).exists());
-
-        controller.saveCollection(fileName);
+        int teamId = controller.saveTeam(selectedPokemon);
+        if (teamId < 0) {
+            JOptionPane.showMessageDialog(this,
+                    "The team could not be saved.",
+                    "Save Failed",
+                    JOptionPane.ERROR_MESSAGE);
+            return;
+        }
         JOptionPane.showMessageDialog(this,
-                "Team saved successfully to " + fileName,
+                "Team " + teamId + " saved successfully",
                 "Save Successful",
                 JOptionPane.INFORMATION_MESSAGE);
     }
 
     /**
-    * Updates the content of the displayed JList based on a given filtered list of Pokemon.
-    * <p>
-    * Note: This does not change the fullPokemonList data source.
+    * Updates the content of the displayed JList to a list of Pokemon.
+    * The model swaps in the list and fires one change event, so the cost does not grow with the rows.
     *
-    * @param filtered The filtered list of Pokemon to display.
+    * @param pokemon The list of Pokemon to display.
     */
-    private void updateListContent(List<Pokemon> filtered) {
-        listModel.clear();
-        filtered.forEach(pokemon -> listModel.addElement(new CheckBoxListItem(pokemon)));
+    private void updateListContent(List<Pokemon> pokemon) {
+        // The model signals a change rather than removals, so drop the selection before the rows go
+        pokemonList.clearSelection();
+        listModel.setPokemon(pokemon);
     }
 }
@@ -2,7 +2,11 @@ package controller;
 
 import model.IPokemonModel;
 import model.Pokemon;
+import model.PokemonPage;
+import model.PokemonQuery;
+import model.PokemonStat;
 import model.PokemonType;
+import model.SortIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -11,6 +15,15 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -32,6 +45,7 @@ public class PokemonControllerTest {
         private boolean throwExceptionOnFetch = false;
         private boolean throwExceptionOnSave = false;
         private boolean throwExceptionOnLoad = false;
+        private Consumer<Pokemon> retryListener;
 
         public void setThrowExceptionOnFetch(boolean throwException) {
             this.throwExceptionOnFetch = throwException;
@@ -45,6 +59,15 @@ public class PokemonControllerTest {
             this.throwExceptionOnLoad = throwException;
         }
 
+        public void recover(Pokemon pokemon) {
+            retryListener.accept(pokemon);
+        }
+
+        @Override
+        public void addRetryListener(Consumer<Pokemon> listener) {
+            this.retryListener = listener;
+        }
+
         @Override
         public Pokemon fetchPokemonById(int id) throws IOException, InterruptedException {
             if (throwExceptionOnFetch) {
@@ -202,10 +225,116 @@ public class PokemonControllerTest {
         testModel.setThrowExceptionOnFetch(false);
     }
 
+    // =============== fetchInitialPokemonAsync Tests ===============
+
+    @Test
+    void fetchInitialPokemonAsync_Success() {
+        // Act
+        List<Pokemon> loaded = controller.fetchInitialPokemonAsync(4).join();
+
+        // Assert
+        assertEquals(2, loaded.size());
+        assertEquals("bulbasaur", loaded.get(0).getName());
+        assertEquals("charmander", loaded.get(1).getName());
+        assertEquals(2, controller.getPokemonCollection().size());
+    }
+
+    @Test
+    void fetchInitialPokemonAsync_ModelThrowsException() {
+        // Arrange
+        testModel.setThrowExceptionOnFetch(true);
+
+        // Act
+        List<Pokemon> loaded = controller.fetchInitialPokemonAsync(4).join();
+
+        // Assert
+        assertTrue(loaded.isEmpty());
+        assertTrue(controller.getPokemonCollection().isEmpty());
+    }
+
+    @Test
+    void retryRecovery_AddsPokemonAndNotifiesListeners() {
+        // Arrange
+        controller.fetchInitialPokemon(7);
+        long version = controller.getCollectionVersion();
+        List<List<Pokemon>> published = new ArrayList<>();
+        controller.addCollectionListener(published::add);
+        Pokemon charmeleon = new Pokemon(5, "charmeleon", "charmeleon.png",
+                Collections.singletonList(PokemonType.FIRE), new Pokemon.PokemonStats(58, 64, 58, 80, 65, 80));
+
+        // Act
+        testModel.recover(charmeleon);
+
+        // Assert
+        List<Integer> ids = controller.getPokemonCollection().stream().map(Pokemon::getId).collect(Collectors.toList());
+        assertEquals(Arrays.asList(1, 4, 5, 7), ids);
+        assertEquals(version + 1, controller.getCollectionVersion());
+        assertSame(charmeleon, controller.getPokemonById(5));
+        assertEquals(2, controller.filterPokemonByType(PokemonType.FIRE).size());
+        assertEquals(1, controller.searchPokemon("charmeleon").size());
+        assertEquals(1, published.size());
+        assertEquals(controller.getPokemonCollection(), published.get(0));
+    }
+
+    @Test
+    void retryRecovery_ConcurrentRecoveriesEndWithLatestCollection() throws Exception {
+        // Arrange
+        controller.fetchInitialPokemon(7);
+        List<List<Pokemon>> published = Collections.synchronizedList(new ArrayList<>());
+        controller.addCollectionListener(published::add);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int id = 100; id < 300; id++) {
+            Pokemon pokemon = new Pokemon(id, "recovered" + id, null,
+                    Collections.singletonList(PokemonType.NORMAL), new Pokemon.PokemonStats(1, 1, 1, 1, 1, 1));
+            futures.add(executor.submit(() -> {
+                start.await();
+                testModel.recover(pokemon);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(203, controller.getPokemonCollection().size());
+        assertEquals(controller.getPokemonCollection(), published.get(published.size() - 1));
+        assertTrue(published.size() <= 200);
+        for (int i = 1; i < published.size(); i++) {
+            assertTrue(published.get(i).size() > published.get(i - 1).size(), "A listener saw an older collection");
+        }
+        for (int i = 0; i + 1 < controller.getPokemonCollection().size(); i++) {
+            assertTrue(controller.getPokemonCollection().get(i).getId()
+                    < controller.getPokemonCollection().get(i + 1).getId());
+        }
+    }
+
+    @Test
+    void retryRecovery_ReplacesPokemonWithSameId() {
+        // Arrange
+        controller.fetchInitialPokemon(7);
+        Pokemon renamed = new Pokemon(4, "charmander-recovered", "charmander.png",
+                Collections.singletonList(PokemonType.FIRE), new Pokemon.PokemonStats(39, 52, 43, 60, 50, 65));
+
+        // Act
+        testModel.recover(renamed);
+
+        // Assert
+        assertEquals(3, controller.getPokemonCollection().size());
+        assertSame(renamed, controller.getPokemonCollection().get(1));
+        assertSame(renamed, controller.getPokemonById(4));
+    }
+
     // =============== getPokemonCollection Tests ===============
 
     @Test
-    void getPokemonCollection_ReturnsDefensiveCopy() {
+    void getPokemonCollection_ReturnsReadOnlySnapshot() {
         // Arrange
         controller.fetchInitialPokemon(3);
 
@@ -214,11 +343,103 @@ public class PokemonControllerTest {
 
         // Assert
         assertEquals(1, returnedList.size());
+        assertSame(returnedList, controller.getPokemonCollection(), "Reads should not copy the collection");
+
+        // Verify that the returned list can't modify the controller's collection
+        assertThrows(UnsupportedOperationException.class, returnedList::clear);
+        assertEquals(1, controller.getPokemonCollection().size());
 
-        // Verify that modifying the returned list doesn't affect the controller's internal list
-        returnedList.clear();
-        List<Pokemon> secondCall = controller.getPokemonCollection();
-        assertEquals(1, secondCall.size());
+        // A replaced collection leaves the earlier snapshot as it was
+        controller.fetchInitialPokemon(7);
+        assertEquals(1, returnedList.size());
+        assertEquals(3, controller.getPokemonCollection().size());
+    }
+
+    @Test
+    void getCollectionVersion_IncreasesOnEachReplace() {
+        // Arrange
+        long initial = controller.getCollectionVersion();
+
+        // Act
+        controller.fetchInitialPokemon(3);
+        controller.fetchInitialPokemon(7);
+
+        // Assert
+        assertEquals(initial + 2, controller.getCollectionVersion());
+    }
+
+    @Test
+    void snapshots_ConsistentUnderConcurrentWritersAndReaders() throws Exception {
+        // Writers keep replacing the collection with one, two or three Pokemon while readers check that
+        // everything they see from one call belongs to a single published collection
+        int writers = 2;
+        int readers = 4;
+        int writesPerWriter = 300;
+        List<String> names = Arrays.asList("bulbasaur", "charmander", "squirtle");
+        ExecutorService pool = Executors.newFixedThreadPool(writers + readers);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        controller.fetchInitialPokemon(1);
+        long initialVersion = controller.getCollectionVersion();
+        try {
+            List<Future<?>> writes = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                int seed = w;
+                writes.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < writesPerWriter; i++) {
+                        controller.fetchInitialPokemon(new int[] {1, 4, 7}[(i + seed) % 3]);
+                    }
+                    return null;
+                }));
+            }
+            List<Future<?>> reads = new ArrayList<>();
+            for (int r = 0; r < readers; r++) {
+                reads.add(pool.submit(() -> {
+                    start.await();
+                    long lastVersion = -1;
+                    while (writing.get()) {
+                        long version = controller.getCollectionVersion();
+                        assertTrue(version >= lastVersion, "Versions should never go backwards");
+                        lastVersion = version;
+
+                        List<Pokemon> collection = controller.getPokemonCollection();
+                        assertTrue(collection.size() >= 1 && collection.size() <= 3);
+                        for (int i = 0; i < collection.size(); i++) {
+                            assertEquals(names.get(i), collection.get(i).getName());
+                        }
+                        List<Pokemon> sorted = controller.sortPokemonByName();
+                        assertTrue(sorted.size() >= 1 && sorted.size() <= 3);
+                        for (int i = 1; i < sorted.size(); i++) {
+                            assertTrue(sorted.get(i - 1).getName().compareTo(sorted.get(i).getName()) < 0);
+                        }
+                        assertFalse(controller.filterPokemonByType(null).isEmpty());
+                        assertNotNull(controller.getPokemonById(1));
+                        controller.searchPokemonFuzzy("charmandr", 1);
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> write : writes) {
+                write.get(60, TimeUnit.SECONDS);
+            }
+            writing.set(false);
+            for (Future<?> read : reads) {
+                read.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            writing.set(false);
+            pool.shutdownNow();
+        }
+
+        // Every write published exactly one version, and the last one is what every index answers from
+        assertEquals(initialVersion + (long) writers * writesPerWriter, controller.getCollectionVersion());
+        int size = controller.getPokemonCollection().size();
+        assertEquals(size, controller.sortPokemonByName().size());
+        assertEquals(size, controller.filterPokemonByType(null).size());
+        assertEquals(size >= 2, !controller.searchPokemonFuzzy("charmandr", 1).isEmpty());
     }
 
     @Test
@@ -254,6 +475,15 @@ public class PokemonControllerTest {
     }
 
 
+    @Test
+    void saveTeam_ModelWithoutTeamStore() {
+        // Act - the test model keeps the default, which has no team store
+        int teamId = controller.saveTeam(testPokemonList);
+
+        // Assert - the failure is reported instead of thrown
+        assertEquals(-1, teamId);
+    }
+
     @Test
     void saveCollection_ModelThrowsException() {
         // Arrange
@@ -304,6 +534,19 @@ public class PokemonControllerTest {
         assertEquals("squirtle", results.get(0).getName());
     }
 
+    @Test
+    void searchPokemon_MatchesIds() {
+        // Arrange
+        controller.fetchInitialPokemon(7);
+
+        // Act
+        List<Pokemon> results = controller.searchPokemon("7");
+
+        // Assert
+        assertEquals(1, results.size());
+        assertEquals("squirtle", results.get(0).getName());
+    }
+
     @Test
     void searchPokemon_NoMatch() {
         // Arrange
@@ -350,6 +593,84 @@ public class PokemonControllerTest {
         assertTrue(results.isEmpty());
     }
 
+    @Test
+    void searchPokemonFuzzy_Typos() {
+        // Arrange
+        controller.fetchInitialPokemon(7);
+
+        // Act
+        List<Pokemon> results = controller.searchPokemonFuzzy("charmandr", 2);
+        List<Pokemon> swapped = controller.searchPokemonFuzzy("SQUIRTEL", 2);
+
+        // Assert
+        assertEquals(1, results.size());
+        assertEquals("charmander", results.get(0).getName());
+        assertEquals(1, swapped.size());
+        assertEquals("squirtle", swapped.get(0).getName());
+        assertTrue(controller.searchPokemonFuzzy("charmandr", 0).isEmpty());
+    }
+
+    @Test
+    void searchPokemonFuzzy_AllowsMoreTyposForLongerTerms() {
+        // Arrange
+        controller.fetchInitialPokemon(7);
+
+        // Act & Assert
+        assertEquals("squirtle", controller.searchPokemonFuzzy("sqirtle").get(0).getName());
+        assertTrue(controller.searchPokemonFuzzy("sqirle").isEmpty(), "Six characters allow one typo");
+        assertEquals("charmander", controller.searchPokemonFuzzy("chrmandr").get(0).getName());
+        assertTrue(controller.searchPokemonFuzzy("bulb").isEmpty());
+        assertTrue(controller.searchPokemonFuzzy("sqi").isEmpty(), "Three characters allow no typos");
+        assertTrue(controller.searchPokemonFuzzy(null).isEmpty());
+    }
+
+    @Test
+    void searchPokemonFuzzy_RankedByDistanceThenId() {
+        // Arrange
+        List<Pokemon> pokemon = new ArrayList<>();
+        pokemon.add(new Pokemon(30, "mewa", null, Collections.singletonList(PokemonType.NORMAL), null));
+        pokemon.add(new Pokemon(20, "mewb", null, Collections.singletonList(PokemonType.NORMAL), null));
+        pokemon.add(new Pokemon(151, "mew", null, Collections.singletonList(PokemonType.PSYCHIC), null));
+        PokemonController catalogController = new PokemonController(new TestPokemonModel() {
+            @Override
+            public List<Pokemon> fetchMultiplePokemon(int count) {
+                return pokemon;
+            }
+        });
+        catalogController.fetchInitialPokemon(3);
+
+        // Act
+        List<Pokemon> results = catalogController.searchPokemonFuzzy("mew", 1);
+
+        // Assert
+        assertEquals(Arrays.asList(151, 20, 30), results.stream().map(Pokemon::getId).toList());
+    }
+
+    @Test
+    void searchPokemonFuzzy_FollowsCollectionChanges() {
+        // Arrange
+        assertTrue(controller.searchPokemonFuzzy("bulbasor", 2).isEmpty());
+        controller.fetchInitialPokemon(7);
+
+        // Act
+        List<Pokemon> results = controller.searchPokemonFuzzy("bulbasor", 2);
+
+        // Assert
+        assertEquals(1, results.size());
+        assertEquals(1, results.get(0).getId());
+    }
+
+    @Test
+    void searchPokemonFuzzy_InvalidArguments() {
+        // Arrange
+        controller.fetchInitialPokemon(7);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> controller.searchPokemonFuzzy("bulbasaur", -1));
+        assertTrue(controller.searchPokemonFuzzy(null, 2).isEmpty());
+        assertTrue(controller.searchPokemonFuzzy("", 2).isEmpty());
+    }
+
     // =============== sortPokemonByName Tests ===============
 
     @Test
@@ -389,6 +710,150 @@ public class PokemonControllerTest {
         assertEquals(2, controller.getPokemonCollection().size());
     }
 
+    // =============== queryPokemon Tests ===============
+
+    @Test
+    void queryPokemon_CombinedCriteria() {
+        // Arrange
+        controller.fetchInitialPokemon(7);
+
+        // Act
+        List<Pokemon> results = controller.queryPokemon(new PokemonQuery()
+                .withoutTypes(PokemonType.POISON)
+                .statBetween(PokemonStat.SPEED, 40, 100)
+                .sortBy(SortIndex.Key.SPEED, true)
+                .limit(1));
+
+        // Assert
+        assertEquals(1, results.size());
+        assertEquals("charmander", results.get(0).getName());
+    }
+
+    @Test
+    void queryPokemon_NameAndOrder() {
+        // Arrange
+        controller.fetchInitialPokemon(7);
+
+        // Act
+        List<Pokemon> results = controller.queryPokemon(new PokemonQuery()
+                .nameContains("R")
+                .sortBy(SortIndex.Key.ID, true));
+
+        // Assert
+        assertEquals(Arrays.asList(7, 4, 1), results.stream().map(Pokemon::getId).toList());
+    }
+
+    @Test
+    void queryPokemon_NullQuery() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> controller.queryPokemon(null));
+    }
+
+    // =============== View and Stream Tests ===============
+
+    @Test
+    void viewPokemonSortedByName_MatchesSortWithoutCopying() {
+        // Arrange
+        controller.fetchInitialPokemon(7);
+
+        // Act
+        List<Pokemon> view = controller.viewPokemonSortedByName();
+
+        // Assert
+        assertEquals(controller.sortPokemonByName(), view);
+        assertThrows(UnsupportedOperationException.class, view::clear);
+        assertEquals(3, controller.getPokemonCollection().size());
+    }
+
+    @Test
+    void viewPokemonSorted_MatchesQueryForEachKey() {
+        // Arrange
+        controller.fetchInitialPokemon(7);
+
+        // Act & Assert
+        for (SortIndex.Key key : SortIndex.Key.values()) {
+            for (boolean descending : new boolean[] {false, true}) {
+                assertEquals(controller.queryPokemon(new PokemonQuery().sortBy(key, descending)),
+                        controller.viewPokemonSorted(key, descending));
+            }
+        }
+        assertEquals(Arrays.asList(7, 4, 1), controller.viewPokemonSorted(SortIndex.Key.ID, true).stream()
+                .map(Pokemon::getId).collect(Collectors.toList()));
+        assertThrows(IllegalArgumentException.class, () -> controller.viewPokemonSorted(null, false));
+    }
+
+    @Test
+    void viewPokemonByType_MatchesFilter() {
+        // Arrange
+        controller.fetchInitialPokemon(7);
+
+        // Act & Assert
+        assertEquals(controller.filterPokemonByType(PokemonType.FIRE), controller.viewPokemonByType(PokemonType.FIRE));
+        assertTrue(controller.viewPokemonByType(PokemonType.DRAGON).isEmpty());
+        assertSame(controller.getPokemonCollection(), controller.viewPokemonByType(null));
+    }
+
+    @Test
+    void streamPokemon_StreamsCollectionAndQueries() {
+        // Arrange
+        controller.fetchInitialPokemon(7);
+
+        // Act & Assert
+        assertEquals(controller.getPokemonCollection(), controller.streamPokemon().collect(Collectors.toList()));
+        assertEquals(Arrays.asList(7, 4, 1), controller.streamPokemon(new PokemonQuery().sortBy(SortIndex.Key.ID, true))
+                .map(Pokemon::getId).collect(Collectors.toList()));
+        assertEquals(Collections.singletonList("charmander"), controller.streamPokemon(new PokemonQuery()
+                        .withAnyType(PokemonType.FIRE, PokemonType.WATER)
+                        .limit(1))
+                .map(Pokemon::getName).collect(Collectors.toList()));
+        assertEquals(131, controller.streamPokemon().parallel().mapToInt(pokemon -> pokemon.getStats().getHp() + 1).sum());
+        assertThrows(IllegalArgumentException.class, () -> controller.streamPokemon(null));
+    }
+
+    // =============== pagePokemon Tests ===============
+
+    @Test
+    void pagePokemon_PagesQueryWithTotals() {
+        // Arrange
+        controller.fetchInitialPokemon(7);
+        PokemonQuery byName = new PokemonQuery().sortBy(SortIndex.Key.NAME, true);
+
+        // Act
+        PokemonPage first = controller.pagePokemon(byName, 0, 2);
+        PokemonPage second = controller.pagePokemon(first.getNextCursor(), 2);
+        PokemonPage waterOrFire = controller.pagePokemon(new PokemonQuery()
+                .withAnyType(PokemonType.FIRE, PokemonType.WATER), 1, 10);
+
+        // Assert
+        assertEquals(Arrays.asList("squirtle", "charmander"),
+                first.getPokemon().stream().map(Pokemon::getName).collect(Collectors.toList()));
+        assertEquals(3, first.getTotalCount());
+        assertEquals(Collections.singletonList("bulbasaur"),
+                second.getPokemon().stream().map(Pokemon::getName).collect(Collectors.toList()));
+        assertFalse(second.hasNext());
+        assertEquals(Collections.singletonList("squirtle"),
+                waterOrFire.getPokemon().stream().map(Pokemon::getName).collect(Collectors.toList()));
+        assertEquals(2, waterOrFire.getTotalCount());
+        assertThrows(IllegalArgumentException.class, () -> controller.pagePokemon((PokemonQuery) null, 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> controller.pagePokemon((PokemonPage.Cursor) null, 10));
+    }
+
+    @Test
+    void pagePokemon_CursorKeepsPagingAfterReload() {
+        // Arrange
+        controller.fetchInitialPokemon(7);
+        PokemonPage first = controller.pagePokemon(new PokemonQuery(), 0, 1);
+
+        // Act
+        controller.fetchInitialPokemon(1);
+        PokemonPage rest = controller.pagePokemon(first.getNextCursor(), 10);
+
+        // Assert
+        assertEquals(Arrays.asList(4, 7), rest.getPokemon().stream().map(Pokemon::getId).collect(Collectors.toList()));
+        assertEquals(3, rest.getTotalCount());
+        assertEquals(1, controller.pagePokemon(new PokemonQuery(), 0, 10).getTotalCount());
+    }
+
     // =============== filterPokemonByType Tests ===============
 
     @Test
@@ -450,6 +915,39 @@ public class PokemonControllerTest {
         assertTrue(filteredList.isEmpty());
     }
 
+    @Test
+    void filterPokemonByTypes_Combinations() {
+        // Arrange
+        controller.fetchInitialPokemon(7);
+
+        // Act & Assert - AND, OR and NOT over the indexed types
+        List<Pokemon> grassAndPoison = controller.filterPokemonByTypes(
+                Set.of(PokemonType.GRASS, PokemonType.POISON), Set.of(), Set.of());
+        assertEquals(1, grassAndPoison.size());
+        assertEquals("bulbasaur", grassAndPoison.get(0).getName());
+
+        List<Pokemon> fireOrWater = controller.filterPokemonByTypes(
+                Set.of(), Set.of(PokemonType.FIRE, PokemonType.WATER), Set.of());
+        assertEquals(2, fireOrWater.size());
+        assertEquals("charmander", fireOrWater.get(0).getName());
+
+        List<Pokemon> notPoison = controller.filterPokemonByTypes(Set.of(), Set.of(), Set.of(PokemonType.POISON));
+        assertEquals(2, notPoison.size());
+    }
+
+    @Test
+    void filterPokemonByType_FollowsCollectionChanges() {
+        // Arrange - index an empty collection, then load one
+        assertTrue(controller.filterPokemonByType(PokemonType.FIRE).isEmpty());
+        controller.fetchInitialPokemon(7);
+
+        // Act
+        List<Pokemon> fireTypes = controller.filterPokemonByType(PokemonType.FIRE);
+
+        // Assert
+        assertEquals(1, fireTypes.size());
+    }
+
     // =============== getPokemonById Tests ===============
 
     @Test
@@ -498,4 +996,41 @@ public class PokemonControllerTest {
         // Assert
         assertNull(pokemon);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getPokemonById_FollowsCollectionChanges() {
+        // Arrange
+        assertNull(controller.getPokemonById(7));
+        controller.fetchInitialPokemon(7);
+
+        // Act
+        Pokemon pokemon = controller.getPokemonById(7);
+
+        // Assert
+        assertNotNull(pokemon);
+        assertEquals("squirtle", pokemon.getName());
+    }
+
+    // =============== getPokemonByIds Tests ===============
+
+    @Test
+    void getPokemonByIds_MixedIds() {
+        // Arrange
+        controller.fetchInitialPokemon(7);
+
+        // Act
+        List<Pokemon> results = controller.getPokemonByIds(new int[] {7, 10001, 1});
+
+        // Assert
+        assertEquals(3, results.size());
+        assertEquals("squirtle", results.get(0).getName());
+        assertNull(results.get(1));
+        assertEquals("bulbasaur", results.get(2).getName());
+    }
+
+    @Test
+    void getPokemonByIds_NullIds() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> controller.getPokemonByIds(null));
+    }
+}
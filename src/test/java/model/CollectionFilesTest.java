@@ -0,0 +1,94 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Test class for CollectionFiles.
+ */
+public class CollectionFilesTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testWriteAtomicallyReplacesFile() throws IOException {
+        // Test that the new contents replace the old ones and no temporary file is left behind
+        Path target = tempDir.resolve("team.json");
+        Files.writeString(target, "old");
+
+        long size = CollectionFiles.writeAtomically(target, false,
+                out -> out.write("new contents".getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals("new contents", Files.readString(target));
+        assertEquals(12, size);
+        assertEquals(1, countFiles());
+    }
+
+    @Test
+    void testFailedWriteKeepsOriginal() throws IOException {
+        // Test that a write that fails partway leaves the original file untouched
+        Path target = tempDir.resolve("team.json");
+        Files.writeString(target, "original");
+
+        assertThrows(IOException.class, () -> CollectionFiles.writeAtomically(target, false, out -> {
+            out.write("partial".getBytes(StandardCharsets.UTF_8));
+            throw new IOException("disk full");
+        }));
+
+        assertEquals("original", Files.readString(target));
+        assertEquals(1, countFiles());
+    }
+
+    @Test
+    void testCompressedWriteRoundTrips() throws IOException {
+        // Test that a compressed file is smaller than its contents and reads back transparently
+        Path target = tempDir.resolve("team.json.gz");
+        String contents = "[" + "{\"name\":\"bulbasaur\"},".repeat(200) + "{}]";
+
+        long size = CollectionFiles.writeAtomically(target, true,
+                out -> out.write(contents.getBytes(StandardCharsets.UTF_8)));
+
+        assertTrue(size < contents.length() / 10, "Repetitive JSON should compress well");
+        try (InputStream in = CollectionFiles.openForReading(Files.newInputStream(target))) {
+            assertEquals(contents, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testOpenForReadingDetectsGzipByContent() throws IOException {
+        // Test that detection relies on the magic bytes, not the extension
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write("[]".getBytes(StandardCharsets.UTF_8));
+        }
+
+        try (InputStream in = CollectionFiles.openForReading(new ByteArrayInputStream(compressed.toByteArray()))) {
+            assertEquals("[]", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        try (InputStream in = CollectionFiles.openForReading(new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8)))) {
+            assertEquals("[]", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        try (InputStream in = CollectionFiles.openForReading(new ByteArrayInputStream(new byte[0]))) {
+            assertEquals(-1, in.read());
+        }
+    }
+
+    private long countFiles() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.count();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Test class for DirectoryPokemonSource.
+ */
+public class DirectoryPokemonSourceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path pokemonDirectory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        pokemonDirectory = tempDir.resolve(DirectoryPokemonSource.POKEMON_PATH);
+        writeDocument(1, "{\"id\":1}");
+        writeDocument(10, "{\"id\":10}");
+        writeDocument(2, "{\"id\":2}");
+        // Non-Pokemon entries that api-data dumps also contain
+        Files.createDirectories(pokemonDirectory.resolve("extra"));
+        Files.write(pokemonDirectory.resolve("index.json"), "{}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writeDocument(int id, String json) throws IOException {
+        Path document = pokemonDirectory.resolve(Integer.toString(id)).resolve("index.json");
+        Files.createDirectories(document.getParent());
+        Files.write(document, json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String read(InputStream in) throws IOException {
+        try (InputStream document = in) {
+            return new String(document.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    void testOpenDocument() throws IOException {
+        // Test that a document is read from its api-data path
+        DirectoryPokemonSource source = new DirectoryPokemonSource(tempDir);
+
+        assertEquals("{\"id\":10}", read(source.openDocument(10)));
+    }
+
+    @Test
+    void testOpenDocumentAsync() throws IOException {
+        // Test that async reads return the same document
+        DirectoryPokemonSource source = new DirectoryPokemonSource(tempDir);
+
+        assertEquals("{\"id\":2}", read(source.openDocumentAsync(2).join()));
+    }
+
+    @Test
+    void testMissingDocument() throws IOException {
+        // Test that an ID missing from the dump fails with FileNotFoundException on both paths
+        DirectoryPokemonSource source = new DirectoryPokemonSource(tempDir);
+
+        assertThrows(FileNotFoundException.class, () -> source.openDocument(3));
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> source.openDocumentAsync(3).join());
+        assertTrue(exception.getCause() instanceof FileNotFoundException);
+    }
+
+    @Test
+    void testListIds() throws IOException {
+        // Test that only numeric directories holding a document are listed, in numeric order
+        DirectoryPokemonSource source = new DirectoryPokemonSource(tempDir);
+
+        assertArrayEquals(new int[] {1, 2, 10}, source.listIds());
+    }
+
+    @Test
+    void testRootWithoutPokemonDirectory() {
+        // Test that a directory that is not a dump is rejected
+        assertThrows(FileNotFoundException.class, () -> new DirectoryPokemonSource(tempDir.resolve("missing")));
+        assertThrows(IllegalArgumentException.class, () -> new DirectoryPokemonSource(null));
+    }
+}
@@ -0,0 +1,289 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ConnectException;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for FetchResilience.
+ */
+public class FetchResilienceTest {
+
+    private static final String URL = "http://localhost/api/v2/pokemon/1";
+
+    /**
+     * Creates a layer with no rate limit and millisecond backoffs so retries are quick.
+     */
+    private static FetchResilience quickRetries(int maxConcurrency, int maxAttempts) {
+        return new FetchResilience(Double.POSITIVE_INFINITY, maxConcurrency, maxAttempts,
+                Duration.ofMillis(1), Duration.ofMillis(5));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        // Test that out-of-range settings are rejected
+        Duration backoff = Duration.ofMillis(10);
+        assertThrows(IllegalArgumentException.class, () -> new FetchResilience(0, 1, 1, backoff, backoff));
+        assertThrows(IllegalArgumentException.class, () -> new FetchResilience(1, 0, 1, backoff, backoff));
+        assertThrows(IllegalArgumentException.class, () -> new FetchResilience(1, 1, 0, backoff, backoff));
+        assertThrows(IllegalArgumentException.class,
+                () -> new FetchResilience(1, 1, 1, backoff, Duration.ofMillis(5)));
+    }
+
+    @Test
+    void testIsRetryable() {
+        // Test that throttling, gateway errors and dropped connections are retried but permanent failures are not
+        assertTrue(FetchResilience.isRetryable(new HttpStatusException(URL, 429, null)));
+        assertTrue(FetchResilience.isRetryable(new HttpStatusException(URL, 503, null)));
+        assertTrue(FetchResilience.isRetryable(new HttpStatusException(URL, 502, null)));
+        assertTrue(FetchResilience.isRetryable(new ConnectException("refused")));
+        assertTrue(FetchResilience.isRetryable(new CompletionException(new HttpStatusException(URL, 500, null))));
+
+        assertFalse(FetchResilience.isRetryable(new HttpStatusException(URL, 404, null)));
+        assertFalse(FetchResilience.isRetryable(new JsonParseException(null, "bad document")));
+        assertFalse(FetchResilience.isRetryable(new IOException("Pokemon not found")));
+    }
+
+    @Test
+    void testBackoffGrowsAndStaysCapped() {
+        // Test that jittered backoff stays under a cap that doubles per attempt up to the maximum
+        FetchResilience resilience = new FetchResilience(1, 1, 10, Duration.ofMillis(100), Duration.ofMillis(1000));
+        for (int i = 0; i < 200; i++) {
+            long first = resilience.backoffMillis(1, null);
+            long third = resilience.backoffMillis(3, null);
+            long tenth = resilience.backoffMillis(10, null);
+            assertTrue(first >= 0 && first <= 100);
+            assertTrue(third >= 0 && third <= 400);
+            assertTrue(tenth >= 0 && tenth <= 1000);
+        }
+    }
+
+    @Test
+    void testBackoffHonorsRetryAfter() {
+        // Test that a Retry-After longer than the jittered backoff wins
+        FetchResilience resilience = new FetchResilience(1, 1, 10, Duration.ofMillis(100), Duration.ofMillis(1000));
+
+        assertTrue(resilience.backoffMillis(1, Duration.ofSeconds(3)) >= 3000);
+    }
+
+    @Test
+    void testParseRetryAfter() {
+        // Test both Retry-After forms and malformed values
+        assertEquals(Duration.ofSeconds(120), HttpStatusException.parseRetryAfter("120"));
+        assertNull(HttpStatusException.parseRetryAfter(null));
+        assertNull(HttpStatusException.parseRetryAfter("soon"));
+
+        String future = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(60));
+        Duration untilFuture = HttpStatusException.parseRetryAfter(future);
+        assertTrue(untilFuture.getSeconds() > 50 && untilFuture.getSeconds() <= 60);
+
+        String past = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).minusSeconds(60));
+        assertEquals(Duration.ZERO, HttpStatusException.parseRetryAfter(past));
+    }
+
+    @Test
+    void testExecuteRetriesTransientFailures() throws Exception {
+        // Test that a throttled attempt is retried until it succeeds
+        FetchResilience resilience = quickRetries(4, 4);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = resilience.execute(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new HttpStatusException(URL, 429, Duration.ZERO);
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(3, attempts.get());
+        assertEquals(2, resilience.getRetryCount());
+        assertEquals(2, resilience.getThrottledCount());
+    }
+
+    @Test
+    void testExecuteGivesUpAfterMaxAttempts() {
+        // Test that the last failure is thrown once every attempt has failed
+        FetchResilience resilience = quickRetries(4, 3);
+        AtomicInteger attempts = new AtomicInteger();
+
+        HttpStatusException exception = assertThrows(HttpStatusException.class, () -> resilience.execute(() -> {
+            attempts.incrementAndGet();
+            throw new HttpStatusException(URL, 503, null);
+        }));
+
+        assertEquals(503, exception.getStatusCode());
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void testExecuteDoesNotRetryPermanentFailures() {
+        // Test that a 404 is thrown straight away
+        FetchResilience resilience = quickRetries(4, 5);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(HttpStatusException.class, () -> resilience.execute(() -> {
+            attempts.incrementAndGet();
+            throw new HttpStatusException(URL, 404, null);
+        }));
+
+        assertEquals(1, attempts.get());
+        assertEquals(0, resilience.getRetryCount());
+    }
+
+    @Test
+    void testExecuteAsyncRetriesTransientFailures() {
+        // Test that async attempts are retried the same way without blocking the caller
+        FetchResilience resilience = quickRetries(4, 4);
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<String> result = resilience.executeAsync(() -> attempts.incrementAndGet() < 3
+                ? CompletableFuture.failedFuture(new HttpStatusException(URL, 503, null))
+                : CompletableFuture.completedFuture("ok"));
+
+        assertEquals("ok", result.join());
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void testExecuteAsyncReportsUnwrappedFailure() {
+        // Test that a permanent async failure completes the future with the original exception
+        FetchResilience resilience = quickRetries(4, 4);
+
+        CompletableFuture<String> result = resilience.executeAsync(
+                () -> CompletableFuture.failedFuture(new CompletionException(new HttpStatusException(URL, 404, null))));
+
+        CompletionException exception = assertThrows(CompletionException.class, result::join);
+        assertTrue(exception.getCause() instanceof HttpStatusException);
+    }
+
+    @Test
+    void testThrottlingHalvesConcurrencyAndSuccessGrowsItBack() throws Exception {
+        // Test the AIMD limit: one burst of throttling halves it, then successes add permits back
+        FetchResilience resilience = quickRetries(16, 2);
+        AtomicInteger attempts = new AtomicInteger();
+        resilience.execute(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new HttpStatusException(URL, 429, Duration.ZERO);
+            }
+            return "ok";
+        });
+        assertEquals(8, resilience.getConcurrencyLimit());
+
+        for (int i = 0; i < 40; i++) {
+            resilience.execute(() -> "ok");
+        }
+        assertTrue(resilience.getConcurrencyLimit() > 8);
+        assertTrue(resilience.getConcurrencyLimit() <= 16);
+    }
+
+    @Test
+    void testThrottlingLowersConcurrencyWhenNotRetried() {
+        // Test that a 429 on the last attempt, or with retries off, still halves the limit
+        FetchResilience lastAttempt = quickRetries(16, 1);
+        assertThrows(HttpStatusException.class, () -> lastAttempt.execute(() -> {
+            throw new HttpStatusException(URL, 429, null);
+        }));
+        assertEquals(8, lastAttempt.getConcurrencyLimit());
+        assertEquals(1, lastAttempt.getThrottledCount());
+        assertEquals(0, lastAttempt.getRetryCount());
+
+        FetchResilience lastAsyncAttempt = quickRetries(16, 1);
+        CompletableFuture<String> result = lastAsyncAttempt.executeAsync(
+                () -> CompletableFuture.failedFuture(new HttpStatusException(URL, 503, null)));
+        assertThrows(CompletionException.class, result::join);
+        assertEquals(8, lastAsyncAttempt.getConcurrencyLimit());
+        assertEquals(1, lastAsyncAttempt.getThrottledCount());
+    }
+
+    @Test
+    void testConcurrencyLimitCapsRequestsInFlight() throws Exception {
+        // Test that no more requests than the limit run at once
+        FetchResilience resilience = quickRetries(2, 1);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        ExecutorService callers = Executors.newFixedThreadPool(6);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 12; i++) {
+                results.add(callers.submit(() -> resilience.execute(() -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(10);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                    return "ok";
+                })));
+            }
+            for (Future<String> result : results) {
+                assertEquals("ok", result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertTrue(maxInFlight.get() <= 2);
+    }
+
+    @Test
+    void testStreamingHoldsPermitUntilBodyIsDone() throws Exception {
+        // Test that a streamed body keeps its permit until read to the end or closed, and returns it once
+        FetchResilience resilience = quickRetries(1, 1);
+        ExecutorService callers = Executors.newSingleThreadExecutor();
+        try {
+            InputStream body = resilience.executeStreaming(() -> new ByteArrayInputStream(new byte[] {1, 2}));
+            Future<String> waiting = callers.submit(() -> resilience.execute(() -> "ok"));
+            body.read();
+            assertThrows(TimeoutException.class, () -> waiting.get(50, TimeUnit.MILLISECONDS));
+
+            assertEquals(2, body.read());
+            assertEquals(-1, body.read());
+            assertEquals("ok", waiting.get(5, TimeUnit.SECONDS));
+            body.close();
+
+            // The permit was already returned at end of stream, so closing did not free a second one
+            InputStream closedEarly = resilience.executeStreaming(() -> new ByteArrayInputStream(new byte[] {1}));
+            Future<String> next = callers.submit(() -> resilience.execute(() -> "ok"));
+            assertThrows(TimeoutException.class, () -> next.get(50, TimeUnit.MILLISECONDS));
+            closedEarly.close();
+            assertEquals("ok", next.get(5, TimeUnit.SECONDS));
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void testRateLimiterSpacesRequestsAfterBurst() throws Exception {
+        // Test that once the burst is spent, requests wait for tokens at the configured rate
+        FetchResilience resilience = new FetchResilience(5, 4, 1, Duration.ZERO, Duration.ZERO);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 7; i++) {
+            resilience.execute(() -> "ok");
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Five requests fit in the burst and the other two wait 200 ms each
+        assertTrue(elapsedMillis >= 300, "elapsed " + elapsedMillis + " ms");
+    }
+}
@@ -0,0 +1,146 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test class for FuzzyNameIndex.
+ */
+public class FuzzyNameIndexTest {
+
+    private static Pokemon pokemon(int id, String name) {
+        return new Pokemon(id, name, null, Collections.singletonList(PokemonType.NORMAL), null);
+    }
+
+    private final Pokemon pikachu = pokemon(25, "pikachu");
+    private final Pokemon charizard = pokemon(6, "charizard");
+    private final Pokemon charmander = pokemon(4, "charmander");
+    private final Pokemon mew = pokemon(151, "Mew");
+    private final Pokemon mewtwo = pokemon(150, "mewtwo");
+
+    private FuzzyNameIndex index() {
+        return new FuzzyNameIndex(Arrays.asList(pikachu, charizard, charmander, mew, mewtwo));
+    }
+
+    private static List<Pokemon> pokemonOf(List<FuzzyNameIndex.Match> matches) {
+        List<Pokemon> pokemon = new ArrayList<>();
+        for (FuzzyNameIndex.Match match : matches) {
+            pokemon.add(match.getPokemon());
+        }
+        return pokemon;
+    }
+
+    @Test
+    void testTypos() {
+        FuzzyNameIndex index = index();
+
+        assertEquals(Collections.singletonList(pikachu), pokemonOf(index.search("pikachoo", 2)));
+        assertEquals(Collections.singletonList(charizard), pokemonOf(index.search("charzard", 1)));
+        assertEquals(Collections.singletonList(mew), pokemonOf(index.search("MEW", 0)));
+        assertTrue(index.search("pikachoo", 1).isEmpty());
+        assertTrue(index.search("squirtle", 2).isEmpty());
+    }
+
+    @Test
+    void testRankedByDistanceThenId() {
+        Pokemon mewA = pokemon(300, "mewa");
+        Pokemon mewB = pokemon(200, "mewb");
+        FuzzyNameIndex index = new FuzzyNameIndex(Arrays.asList(mewA, mew, mewB, mewtwo));
+
+        List<FuzzyNameIndex.Match> matches = index.search("mew", 3);
+
+        assertEquals(Arrays.asList(mew, mewB, mewA, mewtwo), pokemonOf(matches));
+        assertEquals(0, matches.get(0).getDistance());
+        assertEquals(1, matches.get(1).getDistance());
+        assertEquals(3, matches.get(3).getDistance());
+    }
+
+    @Test
+    void testDuplicateNames() {
+        // Pokemon that share a name share a node and are all returned
+        Pokemon other = pokemon(10025, "pikachu");
+        FuzzyNameIndex index = new FuzzyNameIndex(Arrays.asList(other, pikachu, charizard));
+
+        assertEquals(Arrays.asList(pikachu, other), pokemonOf(index.search("pikachu", 0)));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void testEmptyAndInvalid() {
+        FuzzyNameIndex empty = new FuzzyNameIndex();
+
+        assertTrue(empty.search("pikachu", 2).isEmpty());
+        assertTrue(index().search(null, 2).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> index().search("pikachu", -1));
+        assertThrows(IllegalArgumentException.class, () -> new FuzzyNameIndex(null));
+
+        empty.add(null);
+        empty.add(pokemon(1, null));
+        assertEquals(0, empty.size());
+    }
+
+    @Test
+    void testDistance() {
+        assertEquals(0, FuzzyNameIndex.distance("mew", "mew", 5));
+        assertEquals(3, FuzzyNameIndex.distance("kitten", "sitting", 5));
+        assertEquals(3, FuzzyNameIndex.distance("", "mew", 5));
+        assertTrue(FuzzyNameIndex.distance("bulbasaur", "squirtle", 2) > 2);
+        assertTrue(FuzzyNameIndex.distance("mew", "mewtwomewtwo", 2) > 2);
+    }
+
+    @Test
+    void testMatchesBruteForce() {
+        // Test the tree's pruning against comparing the query with every name
+        Random random = new Random(42);
+        List<Pokemon> catalog = new ArrayList<>();
+        for (int id = 1; id <= 3000; id++) {
+            catalog.add(pokemon(id, randomName(random)));
+        }
+        FuzzyNameIndex index = new FuzzyNameIndex(catalog);
+
+        for (int i = 0; i < 200; i++) {
+            String query = i % 2 == 0 ? randomName(random) : catalog.get(random.nextInt(catalog.size())).getName();
+            int maxDistance = i % 4;
+
+            List<Pokemon> expected = new ArrayList<>();
+            for (Pokemon pokemon : catalog) {
+                if (FuzzyNameIndex.distance(query, pokemon.getName(), Integer.MAX_VALUE) <= maxDistance) {
+                    expected.add(pokemon);
+                }
+            }
+            expected.sort(Comparator.comparingInt(
+                    (Pokemon pokemon) -> FuzzyNameIndex.distance(query, pokemon.getName(), Integer.MAX_VALUE))
+                    .thenComparingInt(Pokemon::getId));
+            assertEquals(expected, pokemonOf(index.search(query, maxDistance)), "Query " + query);
+        }
+    }
+
+    @Test
+    void testSearchVisitsFewNames() {
+        Random random = new Random(7);
+        List<Pokemon> catalog = new ArrayList<>();
+        for (int id = 1; id <= 20000; id++) {
+            catalog.add(pokemon(id, randomName(random)));
+        }
+        FuzzyNameIndex index = new FuzzyNameIndex(catalog);
+
+        assertTrue(index.visitedCount("pikachoo", 1) < catalog.size() / 4);
+    }
+
+    private static String randomName(Random random) {
+        String letters = "aeioubcdfgklmnprstvz";
+        char[] name = new char[4 + random.nextInt(7)];
+        for (int i = 0; i < name.length; i++) {
+            name[i] = letters.charAt(random.nextInt(letters.length()));
+        }
+        return new String(name);
+    }
+}
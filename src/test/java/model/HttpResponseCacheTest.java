@@ -0,0 +1,117 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Test class for HttpResponseCache.
+ */
+public class HttpResponseCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testPutAndGet() throws IOException {
+        // Test that a stored body comes back with its validators
+        HttpResponseCache cache = new HttpResponseCache(tempDir, Duration.ofHours(1), 1024);
+        cache.put("http://example.com/1", bytes("one"), "\"e1\"", "Mon, 01 Jan 2024 00:00:00 GMT");
+
+        HttpResponseCache.CachedResponse cached = cache.get("http://example.com/1");
+
+        assertNotNull(cached);
+        assertEquals("one", new String(cached.getBody(), StandardCharsets.UTF_8));
+        assertEquals("\"e1\"", cached.getEtag());
+        assertEquals("Mon, 01 Jan 2024 00:00:00 GMT", cached.getLastModified());
+        assertTrue(cached.isFresh());
+        assertEquals(1, cache.getEntryCount());
+        assertEquals(3, cache.getSizeBytes());
+    }
+
+    @Test
+    void testGetUnknownUrl() throws IOException {
+        // Test that an uncached URL returns null
+        HttpResponseCache cache = new HttpResponseCache(tempDir, Duration.ofHours(1), 1024);
+
+        assertNull(cache.get("http://example.com/missing"));
+    }
+
+    @Test
+    void testEntryIsStaleAfterTtl() throws IOException {
+        // Test that a zero TTL makes every entry stale, and revalidation keeps the body
+        HttpResponseCache cache = new HttpResponseCache(tempDir, Duration.ZERO, 1024);
+        cache.put("http://example.com/1", bytes("one"), "\"e1\"", null);
+
+        assertFalse(cache.get("http://example.com/1").isFresh());
+
+        cache.markRevalidated("http://example.com/1");
+        assertEquals("one", new String(cache.get("http://example.com/1").getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testEntriesSurviveReopen() throws IOException {
+        // Test that a new cache over the same directory finds earlier entries
+        new HttpResponseCache(tempDir, Duration.ofHours(1), 1024)
+                .put("http://example.com/1", bytes("one"), null, null);
+
+        HttpResponseCache reopened = new HttpResponseCache(tempDir, Duration.ofHours(1), 1024);
+
+        assertEquals(1, reopened.getEntryCount());
+        assertNotNull(reopened.get("http://example.com/1"));
+        assertNull(reopened.get("http://example.com/1").getEtag());
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsedOverSizeLimit() throws IOException, InterruptedException {
+        // Test that going over the size limit removes the least recently used entry
+        HttpResponseCache cache = new HttpResponseCache(tempDir, Duration.ofHours(1), 10);
+        cache.put("http://example.com/1", bytes("aaaa"), null, null);
+        Thread.sleep(5);
+        cache.put("http://example.com/2", bytes("bbbb"), null, null);
+        Thread.sleep(5);
+        cache.get("http://example.com/1");
+        Thread.sleep(5);
+        cache.put("http://example.com/3", bytes("cccc"), null, null);
+
+        assertNotNull(cache.get("http://example.com/1"));
+        assertNull(cache.get("http://example.com/2"));
+        assertNotNull(cache.get("http://example.com/3"));
+        assertEquals(8, cache.getSizeBytes());
+    }
+
+    @Test
+    void testClearRemovesEntriesAndCounters() throws IOException {
+        // Test that clear empties the cache and resets the counters
+        HttpResponseCache cache = new HttpResponseCache(tempDir, Duration.ofHours(1), 1024);
+        cache.put("http://example.com/1", bytes("one"), null, null);
+        cache.recordHit();
+        cache.recordMiss();
+
+        cache.clear();
+
+        assertEquals(0, cache.getEntryCount());
+        assertEquals(0, cache.getSizeBytes());
+        assertEquals(0, cache.getHitCount());
+        assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        // Test that a missing directory, negative TTL or negative size is rejected
+        assertThrows(IllegalArgumentException.class, () -> new HttpResponseCache(null, Duration.ZERO, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new HttpResponseCache(tempDir, Duration.ofSeconds(-1), 1));
+        assertThrows(IllegalArgumentException.class, () -> new HttpResponseCache(tempDir, Duration.ZERO, -1));
+    }
+}
@@ -0,0 +1,101 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Test class for IdIndex.
+ */
+public class IdIndexTest {
+
+    private static Pokemon pokemon(int id, String name) {
+        return new Pokemon(id, name, null, Collections.singletonList(PokemonType.NORMAL), null);
+    }
+
+    @Test
+    void testDenseAndSparseIds() {
+        Pokemon bulbasaur = pokemon(1, "bulbasaur");
+        Pokemon pecharunt = pokemon(1025, "pecharunt");
+        Pokemon megaVenusaur = pokemon(10033, "venusaur-mega");
+        Pokemon negative = pokemon(-5, "missingno");
+        IdIndex index = new IdIndex(Arrays.asList(bulbasaur, pecharunt, megaVenusaur, negative));
+
+        assertSame(bulbasaur, index.get(1));
+        assertSame(pecharunt, index.get(1025));
+        assertSame(megaVenusaur, index.get(10033));
+        assertSame(negative, index.get(-5));
+        assertNull(index.get(0));
+        assertNull(index.get(2));
+        assertNull(index.get(10034));
+        assertNull(index.get(IdIndex.DENSE_LIMIT + 1));
+        assertNull(index.get(Integer.MIN_VALUE));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void testFirstOfDuplicateIdsIsKept() {
+        Pokemon first = pokemon(25, "pikachu");
+        Pokemon firstForm = pokemon(10080, "pikachu-rock-star");
+        IdIndex index = new IdIndex(Arrays.asList(first, firstForm));
+
+        assertFalse(index.add(pokemon(25, "raichu")));
+        assertFalse(index.add(pokemon(10080, "pikachu-belle")));
+        assertFalse(index.add(null));
+        assertSame(first, index.get(25));
+        assertSame(firstForm, index.get(10080));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void testBatchLookup() {
+        IdIndex index = new IdIndex(Arrays.asList(pokemon(4, "charmander"), pokemon(10034, "charizard-mega-x")));
+
+        List<Pokemon> found = index.getAll(new int[] {10034, 3, 4, 4});
+
+        assertEquals(4, found.size());
+        assertEquals("charizard-mega-x", found.get(0).getName());
+        assertNull(found.get(1));
+        assertEquals("charmander", found.get(2).getName());
+        assertSame(found.get(2), found.get(3));
+        assertTrue(index.getAll(new int[0]).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> index.getAll(null));
+    }
+
+    @Test
+    void testManySparseIdsMatchHashMap() {
+        // Test that growing and probing the sparse map loses nothing
+        Random random = new Random(42);
+        Map<Integer, Pokemon> expected = new HashMap<>();
+        List<Pokemon> catalog = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            int id = i % 2 == 0 ? 10001 + i : random.nextInt();
+            Pokemon pokemon = pokemon(id, "pokemon-" + i);
+            catalog.add(pokemon);
+            expected.putIfAbsent(id, pokemon);
+        }
+        IdIndex index = new IdIndex(catalog);
+
+        assertEquals(expected.size(), index.size());
+        for (Map.Entry<Integer, Pokemon> entry : expected.entrySet()) {
+            assertSame(entry.getValue(), index.get(entry.getKey()));
+        }
+        for (int i = 0; i < 1000; i++) {
+            int id = random.nextInt();
+            assertEquals(expected.get(id), index.get(id));
+        }
+    }
+
+    @Test
+    void testNullCatalog() {
+        assertThrows(IllegalArgumentException.class, () -> new IdIndex(null));
+    }
+}
@@ -0,0 +1,74 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Test class for InMemoryPokemonSource.
+ */
+public class InMemoryPokemonSourceTest {
+
+    private static String read(InputStream in) throws IOException {
+        try (InputStream document = in) {
+            return new String(document.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    void testSyntheticDocumentsAreParseable() throws IOException {
+        // Test that generated documents parse into the Pokemon they describe
+        InMemoryPokemonSource source = new InMemoryPokemonSource(30, 4);
+        PokemonResponseParser parser = new PokemonResponseParser(new ObjectMapper().getFactory());
+
+        Pokemon pokemon = parser.parse(source.openDocument(30));
+
+        assertEquals(30, pokemon.getId());
+        assertEquals("pokemon-30", pokemon.getName());
+        assertEquals(2, pokemon.getTypes().size());
+    }
+
+    @Test
+    void testSyntheticDocumentsAreStable() throws IOException {
+        // Test that the same ID always produces the same document
+        InMemoryPokemonSource source = new InMemoryPokemonSource(5, 2);
+
+        assertEquals(read(source.openDocument(5)), read(source.openDocument(5)));
+        assertEquals(InMemoryPokemonSource.syntheticDocument(5, 2), read(source.openDocument(5)));
+    }
+
+    @Test
+    void testPutOverridesSyntheticDocument() throws IOException {
+        // Test that an added document wins over a generated one and works outside the synthetic range
+        InMemoryPokemonSource source = new InMemoryPokemonSource(5, 0);
+        source.put(1, "{\"id\":1,\"name\":\"custom\"}");
+        source.put(99, "{\"id\":99,\"name\":\"extra\"}");
+
+        assertEquals("{\"id\":1,\"name\":\"custom\"}", read(source.openDocument(1)));
+        assertEquals("{\"id\":99,\"name\":\"extra\"}", read(source.openDocumentAsync(99).join()));
+    }
+
+    @Test
+    void testUnknownIdFails() {
+        // Test that IDs outside the synthetic range fail on both paths
+        InMemoryPokemonSource source = new InMemoryPokemonSource(5, 0);
+
+        assertThrows(IOException.class, () -> source.openDocument(0));
+        assertThrows(IOException.class, () -> source.openDocument(6));
+        assertThrows(CompletionException.class, () -> source.openDocumentAsync(6).join());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        // Test that negative counts and null documents are rejected
+        assertThrows(IllegalArgumentException.class, () -> new InMemoryPokemonSource(-1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new InMemoryPokemonSource(1, -1));
+        assertThrows(IllegalArgumentException.class, () -> new InMemoryPokemonSource().put(1, null));
+    }
+}
@@ -0,0 +1,121 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Test class for NameIndex.
+ */
+public class NameIndexTest {
+
+    private static Pokemon pokemon(int id, String name) {
+        return new Pokemon(id, name, null, Collections.singletonList(PokemonType.NORMAL), null);
+    }
+
+    private final Pokemon bulbasaur = pokemon(1, "bulbasaur");
+    private final Pokemon ivysaur = pokemon(2, "ivysaur");
+    private final Pokemon charmander = pokemon(4, "charmander");
+    private final Pokemon mew = pokemon(151, "Mew");
+    private final Pokemon mimikyu = pokemon(778, "mimikyu");
+
+    private NameIndex index() {
+        return new NameIndex(Arrays.asList(bulbasaur, ivysaur, charmander, mew, mimikyu));
+    }
+
+    @Test
+    void testSubstringSearch() {
+        NameIndex index = index();
+
+        assertEquals(Arrays.asList(bulbasaur, ivysaur), index.search("saur"));
+        assertEquals(Collections.singletonList(charmander), index.search("arman"));
+        assertEquals(Collections.singletonList(mew), index.search("mew"));
+        assertEquals(Collections.singletonList(mew), index.search("MEW"));
+        assertEquals(Arrays.asList(charmander, mew, mimikyu), index.search("m"));
+        assertEquals(Arrays.asList(ivysaur, mimikyu), index.search("y"));
+        assertTrue(index.search("pikachu").isEmpty());
+        assertEquals(5, index.search("").size());
+    }
+
+    @Test
+    void testIdDigits() {
+        NameIndex index = index();
+
+        assertEquals(Collections.singletonList(mew), index.search("15"));
+        assertEquals(Collections.singletonList(mimikyu), index.search("778"));
+        assertEquals(Arrays.asList(bulbasaur, mew), index.search("1"));
+        assertTrue(index.searchNames("15").isEmpty());
+        assertEquals(Arrays.asList(bulbasaur, ivysaur), index.searchNames("saur"));
+    }
+
+    @Test
+    void testNoMatchAcrossNameAndId() {
+        // "w1" would only match if the name's last letter and the ID's first digit were adjacent
+        NameIndex index = index();
+
+        assertTrue(index.search("w1").isEmpty());
+        assertTrue(index.search("ew15").isEmpty());
+    }
+
+    @Test
+    void testRepeatedAndNullEntriesIndexedOnce() {
+        Pokemon venusaur = pokemon(3, "venusaur");
+        NameIndex index = new NameIndex(Arrays.asList(bulbasaur, ivysaur, null, venusaur, ivysaur));
+
+        assertEquals(Arrays.asList(bulbasaur, ivysaur, venusaur), index.search("saur"));
+        assertEquals(Arrays.asList(bulbasaur, ivysaur, venusaur), index.search("sa"));
+        assertEquals(3, index.size());
+        assertThrows(IllegalArgumentException.class, () -> new NameIndex(null));
+    }
+
+    @Test
+    void testCandidatesNarrowTheSearch() {
+        List<Pokemon> catalog = new ArrayList<>();
+        for (int id = 1; id <= 5000; id++) {
+            catalog.add(pokemon(id, id == 4242 ? "zygarde" : "pokemon" + id));
+        }
+        NameIndex index = new NameIndex(catalog);
+
+        assertEquals(1, index.candidateCount("zyg"));
+        assertEquals(1, index.candidateCount("zy"));
+        assertEquals(1, index.estimateMatches("zyga"));
+        assertTrue(index.estimateMatches("mon") >= index.searchNames("mon").size());
+        assertEquals(Collections.singletonList(catalog.get(4241)), index.search("zyga"));
+    }
+
+    @Test
+    void testMatchesScanOnRandomNames() {
+        // Test that every query agrees with lowercasing and scanning every name and ID
+        Random random = new Random(7);
+        String letters = "abcdeilmnorsuy";
+        List<Pokemon> catalog = new ArrayList<>();
+        for (int id = 1; id <= 2000; id++) {
+            StringBuilder name = new StringBuilder();
+            for (int i = 0, length = 2 + random.nextInt(8); i < length; i++) {
+                name.append(letters.charAt(random.nextInt(letters.length())));
+            }
+            catalog.add(pokemon(id, random.nextInt(10) == 0 ? name.toString().toUpperCase() : name.toString()));
+        }
+        NameIndex index = new NameIndex(catalog);
+
+        for (int i = 0; i < 300; i++) {
+            StringBuilder query = new StringBuilder();
+            String alphabet = i % 5 == 0 ? "0123456789" : letters;
+            for (int j = 0, length = 1 + random.nextInt(4); j < length; j++) {
+                query.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String q = query.toString();
+            List<Pokemon> expected = catalog.stream()
+                    .filter(p -> p.getName().toLowerCase().contains(q) || String.valueOf(p.getId()).contains(q))
+                    .collect(Collectors.toList());
+            assertEquals(expected, index.search(q), "Query " + q);
+        }
+    }
+}
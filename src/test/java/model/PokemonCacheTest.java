@@ -0,0 +1,126 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+/**
+ * Test class for PokemonCache.
+ */
+public class PokemonCacheTest {
+
+    /**
+     * Creates a minimal Pokemon with the given ID.
+     */
+    private static Pokemon pokemon(int id) {
+        return new Pokemon(id, "pokemon-" + id, id + ".png",
+                Collections.singletonList(PokemonType.NORMAL),
+                new Pokemon.PokemonStats(1, 1, 1, 1, 1, 1));
+    }
+
+    @Test
+    void testGetCountsHitsAndMisses() {
+        // Test that lookups are counted and return what was put
+        PokemonCache cache = new PokemonCache(4, PokemonCache.EvictionPolicy.LRU);
+        Pokemon bulbasaur = pokemon(1);
+        cache.put(bulbasaur);
+
+        assertSame(bulbasaur, cache.get(1));
+        assertNull(cache.get(2));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.5, cache.getHitRate(), 0.0001);
+    }
+
+    @Test
+    void testPutReplacesSameId() {
+        // Test that the cache holds one entry per ID
+        PokemonCache cache = new PokemonCache(4, PokemonCache.EvictionPolicy.W_TINY_LFU);
+        cache.put(pokemon(1));
+        Pokemon replacement = pokemon(1);
+        cache.put(replacement);
+
+        assertEquals(1, cache.size());
+        assertSame(replacement, cache.get(1));
+    }
+
+    @Test
+    void testLruEvictsLeastRecentlyUsed() {
+        // Test that a full LRU cache evicts the entry that was used longest ago
+        PokemonCache cache = new PokemonCache(2, PokemonCache.EvictionPolicy.LRU);
+        cache.put(pokemon(1));
+        cache.put(pokemon(2));
+        cache.get(1);
+        cache.put(pokemon(3));
+
+        assertTrue(cache.contains(1));
+        assertFalse(cache.contains(2));
+        assertTrue(cache.contains(3));
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    void testTinyLfuKeepsFrequentEntriesThroughScan() {
+        // Test that a one-off scan of new IDs does not flush frequently used entries
+        PokemonCache cache = new PokemonCache(100, PokemonCache.EvictionPolicy.W_TINY_LFU);
+        for (int id = 1; id <= 100; id++) {
+            cache.put(pokemon(id));
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int id = 1; id <= 50; id++) {
+                cache.get(id);
+            }
+        }
+
+        for (int id = 1000; id < 1500; id++) {
+            cache.put(pokemon(id));
+        }
+
+        int frequentKept = 0;
+        for (int id = 1; id <= 50; id++) {
+            if (cache.contains(id)) {
+                frequentKept++;
+            }
+        }
+        assertEquals(50, frequentKept);
+        assertTrue(cache.size() <= 100);
+        assertTrue(cache.getEvictionCount() >= 500);
+    }
+
+    @Test
+    void testSizeNeverExceedsMaxEntries() {
+        // Test both policies stay within their bound
+        for (PokemonCache.EvictionPolicy policy : PokemonCache.EvictionPolicy.values()) {
+            PokemonCache cache = new PokemonCache(7, policy);
+            for (int id = 1; id <= 100; id++) {
+                cache.put(pokemon(id));
+                cache.get(id % 5 + 1);
+            }
+            assertTrue(cache.size() <= 7, policy + " exceeded its bound");
+        }
+    }
+
+    @Test
+    void testClearKeepsStatistics() {
+        // Test that clear empties the cache but keeps the counters
+        PokemonCache cache = new PokemonCache(4, PokemonCache.EvictionPolicy.LRU);
+        cache.put(pokemon(1));
+        cache.get(1);
+
+        cache.clear();
+
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        // Test that a non-positive size, null policy or null Pokemon is rejected
+        assertThrows(IllegalArgumentException.class, () -> new PokemonCache(0, PokemonCache.EvictionPolicy.LRU));
+        assertThrows(IllegalArgumentException.class, () -> new PokemonCache(1, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PokemonCache(1, PokemonCache.EvictionPolicy.LRU).put(null));
+    }
+}
@@ -0,0 +1,93 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Test class for PokemonColumns.
+ */
+public class PokemonColumnsTest {
+
+    private static Pokemon pokemon(int id, String name, PokemonType... types) {
+        return new Pokemon(id, name, "https://example.com/" + id + ".png", Arrays.asList(types),
+                new Pokemon.PokemonStats(id, id + 1, id + 2, id + 3, id + 4, id + 5));
+    }
+
+    private final Pokemon charizard = pokemon(6, "charizard", PokemonType.FIRE, PokemonType.FLYING);
+    private final Pokemon bulbasaur = pokemon(1, "bulbasaur", PokemonType.GRASS, PokemonType.POISON);
+    private final Pokemon charmander = pokemon(4, "charmander", PokemonType.FIRE);
+    private final Pokemon chandelure = pokemon(609, "chandelure", PokemonType.GHOST, PokemonType.FIRE);
+
+    @Test
+    void testViewsReadTheColumns() {
+        PokemonColumns columns = new PokemonColumns(Arrays.asList(charizard, bulbasaur, charmander, chandelure));
+
+        assertEquals(4, columns.size());
+        IPokemon view = columns.view(3);
+        assertEquals(609, view.getId());
+        assertEquals("chandelure", view.getName());
+        assertEquals("https://example.com/609.png", view.getImageUrl());
+        assertEquals(Arrays.asList(PokemonType.GHOST, PokemonType.FIRE), view.getTypes());
+        assertEquals(609, view.getStats().getHp());
+        assertEquals(614, view.getStats().getSpeed());
+        assertEquals(chandelure.toString(), view.toString());
+
+        assertEquals(Arrays.asList("charizard", "bulbasaur", "charmander", "chandelure"),
+                columns.views().stream().map(IPokemon::getName).toList());
+        assertThrows(IndexOutOfBoundsException.class, () -> columns.view(4));
+        assertThrows(UnsupportedOperationException.class, () -> columns.getTypes(0).add(PokemonType.WATER));
+    }
+
+    @Test
+    void testColumnsAndTypeMasks() {
+        PokemonColumns columns = new PokemonColumns(Arrays.asList(charizard, bulbasaur, charmander, chandelure));
+
+        assertArrayEquals(new int[] {6, 1, 4, 609}, columns.idColumn());
+        assertArrayEquals(new int[] {11, 6, 9, 614}, columns.statColumn(PokemonStat.SPEED));
+        assertTrue(columns.hasType(0, PokemonType.FLYING));
+        assertTrue(columns.hasType(3, PokemonType.FIRE));
+        assertFalse(columns.hasType(2, PokemonType.FLYING));
+        assertEquals(PokemonType.maskOf(Arrays.asList(PokemonType.GRASS, PokemonType.POISON)), columns.typeMaskAt(1));
+    }
+
+    @Test
+    void testDictionariesAreShared() {
+        List<Pokemon> catalog = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            catalog.add(pokemon(i, i % 2 == 0 ? "eevee" : "ditto", i % 3 == 0 ? PokemonType.NORMAL : PokemonType.FIRE));
+        }
+        PokemonColumns columns = new PokemonColumns(catalog);
+
+        assertEquals(2, columns.distinctNameCount());
+        // Three combinations: the empty one and the two used
+        assertEquals(3, columns.typeCombinationCount());
+        assertSame(columns.getTypes(0), columns.getTypes(3));
+        assertSame(columns.getName(0), columns.getName(998));
+        assertArrayEquals(new int[] {1, 0, 1}, Arrays.copyOf(columns.nameOrderKeys(), 3));
+    }
+
+    @Test
+    void testMissingValues() {
+        Pokemon nameless = new Pokemon(10, null, null, null, null);
+        PokemonColumns columns = new PokemonColumns(Arrays.asList(null, nameless, charmander));
+
+        assertNull(columns.view(0));
+        assertTrue(columns.isMissing(0));
+        assertNull(columns.views().get(0));
+        IPokemon view = columns.view(1);
+        assertNull(view.getName());
+        assertEquals(nameless.toString(), view.toString());
+        assertEquals(Collections.emptyList(), view.getTypes());
+        assertEquals(0, view.getStats().getAttack());
+        assertEquals(-1, columns.nameOrderKeys()[1]);
+        assertEquals("charmander", columns.getName(2));
+
+        assertThrows(IllegalArgumentException.class, () -> new PokemonColumns(null));
+    }
+}
@@ -3,40 +3,57 @@ package model;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
 import java.io.IOException;
-import java.lang.reflect.Method;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Test class for PokemonModel.
- * This test suite uses reflection to access private methods for testing.
  */
 public class PokemonModelTest {
 
     private PokemonModel pokemonModel;
     private ObjectMapper objectMapper;
-    private Method parseApiResponseMethod;
 
     @TempDir
     Path tempDir;
 
     @BeforeEach
     void setUp() throws Exception {
-        // Create test instance and set up reflection to access private method
         pokemonModel = new TestPokemonModel();
         objectMapper = new ObjectMapper();
+    }
 
-        // Get access to the private parseApiResponse method using reflection
-        parseApiResponseMethod = PokemonModel.class.getDeclaredMethod("parseApiResponse", String.class);
-        parseApiResponseMethod.setAccessible(true);
+    @AfterEach
+    void tearDown() {
+        pokemonModel.close();
     }
 
     /**
@@ -57,10 +74,102 @@ public class PokemonModelTest {
     }
 
     /**
-     * Helper method to invoke the private parseApiResponse method using reflection.
+     * Starts a local server that answers like PokeAPI for IDs 1 to 3 and with 404 for any other ID.
+     * Responses carry an ETag, and a matching If-None-Match gets a 304.
+     */
+    private static HttpServer startStubServer(AtomicInteger requestCount) throws IOException {
+        return startStubServer(requestCount, new CountDownLatch(0));
+    }
+
+    /**
+     * Starts the stub server with every response held back until the gate opens.
+     */
+    private static HttpServer startStubServer(AtomicInteger requestCount, CountDownLatch gate) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v2/pokemon/", exchange -> {
+            requestCount.incrementAndGet();
+            try {
+                gate.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            String path = exchange.getRequestURI().getPath();
+            int id = Integer.parseInt(path.substring(path.lastIndexOf('/') + 1));
+            String etag = "\"v" + id + "\"";
+            if (id < 1 || id > 3) {
+                exchange.sendResponseHeaders(404, -1);
+            } else if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                byte[] body = stubBody(id);
+                exchange.getResponseHeaders().set("ETag", etag);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+            exchange.close();
+        });
+        server.start();
+        return server;
+    }
+
+    /**
+     * Starts a local server that answers the first {@code failures} requests with the given status
+     * and a zero Retry-After, then answers like PokeAPI for any ID.
+     */
+    private static HttpServer startFlakyServer(AtomicInteger requestCount, int failures, int status)
+            throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v2/pokemon/", exchange -> {
+            if (requestCount.incrementAndGet() <= failures) {
+                exchange.getResponseHeaders().set("Retry-After", "0");
+                exchange.sendResponseHeaders(status, -1);
+            } else {
+                String path = exchange.getRequestURI().getPath();
+                byte[] body = stubBody(Integer.parseInt(path.substring(path.lastIndexOf('/') + 1)));
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+            exchange.close();
+        });
+        server.start();
+        return server;
+    }
+
+    /**
+     * Builds the stub servers' PokeAPI document for an ID.
+     */
+    private static byte[] stubBody(int id) {
+        return ("{\"id\":" + id + ",\"name\":\"stub-" + id + "\","
+                + "\"sprites\":{\"front_default\":\"" + id + ".png\"},"
+                + "\"types\":[{\"type\":{\"name\":\"water\"}}],"
+                + "\"stats\":[{\"base_stat\":" + (id * 10) + ",\"stat\":{\"name\":\"hp\"}}]}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Creates resilience settings with millisecond backoffs so retries are quick.
      */
-    private Pokemon invokeParseApiResponse(String jsonResponse) throws Exception {
-        return (Pokemon) parseApiResponseMethod.invoke(pokemonModel, jsonResponse);
+    private static FetchResilience quickRetries(int maxAttempts) {
+        return new FetchResilience(Double.POSITIVE_INFINITY, 8, maxAttempts, Duration.ofMillis(1), Duration.ofMillis(5));
+    }
+
+    /**
+     * Creates a model for a stub server that goes through the given resilience settings.
+     */
+    private static PokemonModel modelFor(HttpServer server, FetchResilience resilience) {
+        return new PokemonModel(baseUrlOf(server), null,
+                new PokemonCache(PokemonModel.DEFAULT_CACHE_SIZE, PokemonCache.EvictionPolicy.LRU), resilience);
+    }
+
+    /**
+     * Gets the base URL of a server started by {@link #startStubServer()}.
+     */
+    private static String baseUrlOf(HttpServer server) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/api/v2/pokemon/";
     }
 
     /**
@@ -133,224 +242,424 @@ public class PokemonModelTest {
     }
 
     @Test
-    void testParseApiResponseBasic() throws Exception {
-        // Test parsing a basic API response
-        String jsonResponse = "{\n" +
-                "  \"id\": 25,\n" +
-                "  \"name\": \"pikachu\",\n" +
-                "  \"sprites\": {\n" +
-                "    \"front_default\": \"https://raw.githubusercontent.com/PokeAPI/sprites/master/sprites/pokemon/25.png\"\n" +
-                "  },\n" +
-                "  \"types\": [\n" +
-                "    {\n" +
-                "      \"type\": {\n" +
-                "        \"name\": \"electric\"\n" +
-                "      }\n" +
-                "    }\n" +
-                "  ],\n" +
-                "  \"stats\": [\n" +
-                "    {\n" +
-                "      \"base_stat\": 35,\n" +
-                "      \"stat\": {\n" +
-                "        \"name\": \"hp\"\n" +
-                "      }\n" +
-                "    },\n" +
-                "    {\n" +
-                "      \"base_stat\": 55,\n" +
-                "      \"stat\": {\n" +
-                "        \"name\": \"attack\"\n" +
-                "      }\n" +
-                "    },\n" +
-                "    {\n" +
-                "      \"base_stat\": 40,\n" +
-                "      \"stat\": {\n" +
-                "        \"name\": \"defense\"\n" +
-                "      }\n" +
-                "    },\n" +
-                "    {\n" +
-                "      \"base_stat\": 50,\n" +
-                "      \"stat\": {\n" +
-                "        \"name\": \"special-attack\"\n" +
-                "      }\n" +
-                "    },\n" +
-                "    {\n" +
-                "      \"base_stat\": 50,\n" +
-                "      \"stat\": {\n" +
-                "        \"name\": \"special-defense\"\n" +
-                "      }\n" +
-                "    },\n" +
-                "    {\n" +
-                "      \"base_stat\": 90,\n" +
-                "      \"stat\": {\n" +
-                "        \"name\": \"speed\"\n" +
-                "      }\n" +
-                "    }\n" +
-                "  ]\n" +
-                "}";
-
-        Pokemon pikachu = invokeParseApiResponse(jsonResponse);
+    void testFetchPokemonBulkKeepsRequestedOrder() {
+        // Test that bulk results come back in requested order with failures reported per ID
+        BulkFetchResult result = pokemonModel.fetchPokemonBulk(new int[] {2, 999, 1}, 4);
+
+        assertEquals(3, result.getRequestedCount());
+        assertEquals(2, result.getPokemon().size());
+        assertEquals("ivysaur", result.getPokemon().get(0).getName());
+        assertEquals("bulbasaur", result.getPokemon().get(1).getName());
+
+        // Verify the failed ID is reported with its error
+        assertTrue(result.hasErrors());
+        assertEquals(1, result.getErrors().size());
+        assertTrue(result.getErrors().get(999).getMessage().contains("not found"));
+    }
 
-        // Verify the Pokemon properties
-        assertEquals(25, pikachu.getId());
-        assertEquals("pikachu", pikachu.getName());
-        assertEquals("https://raw.githubusercontent.com/PokeAPI/sprites/master/sprites/pokemon/25.png", pikachu.getImageUrl());
-        assertEquals(1, pikachu.getTypes().size());
-        assertTrue(pikachu.getTypes().contains(PokemonType.ELECTRIC));
+    @Test
+    void testFetchPokemonBulkRespectsConcurrencyCap() {
+        // Test model that records how many fetches are running at the same time
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        PokemonModel slowModel = new PokemonModel() {
+            @Override
+            public Pokemon fetchPokemonById(int id) throws InterruptedException {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+                return createTestBulbasaur();
+            }
+        };
 
-        // Verify stats
-        assertEquals(35, pikachu.getStats().getHp());
-        assertEquals(55, pikachu.getStats().getAttack());
-        assertEquals(40, pikachu.getStats().getDefense());
-        assertEquals(50, pikachu.getStats().getSpecialAttack());
-        assertEquals(50, pikachu.getStats().getSpecialDefense());
-        assertEquals(90, pikachu.getStats().getSpeed());
-    }
-
-    @Test
-    void testParseApiResponseMultipleTypes() throws Exception {
-        // Test parsing a Pokemon with multiple types
-        String jsonResponse = "{\n" +
-                "  \"id\": 6,\n" +
-                "  \"name\": \"charizard\",\n" +
-                "  \"sprites\": {\n" +
-                "    \"front_default\": \"https://raw.githubusercontent.com/PokeAPI/sprites/master/sprites/pokemon/6.png\"\n" +
-                "  },\n" +
-                "  \"types\": [\n" +
-                "    {\n" +
-                "      \"type\": {\n" +
-                "        \"name\": \"fire\"\n" +
-                "      }\n" +
-                "    },\n" +
-                "    {\n" +
-                "      \"type\": {\n" +
-                "        \"name\": \"flying\"\n" +
-                "      }\n" +
-                "    }\n" +
-                "  ],\n" +
-                "  \"stats\": [\n" +
-                "    {\n" +
-                "      \"base_stat\": 78,\n" +
-                "      \"stat\": {\n" +
-                "        \"name\": \"hp\"\n" +
-                "      }\n" +
-                "    },\n" +
-                "    {\n" +
-                "      \"base_stat\": 84,\n" +
-                "      \"stat\": {\n" +
-                "        \"name\": \"attack\"\n" +
-                "      }\n" +
-                "    },\n" +
-                "    {\n" +
-                "      \"base_stat\": 78,\n" +
-                "      \"stat\": {\n" +
-                "        \"name\": \"defense\"\n" +
-                "      }\n" +
-                "    },\n" +
-                "    {\n" +
-                "      \"base_stat\": 109,\n" +
-                "      \"stat\": {\n" +
-                "        \"name\": \"special-attack\"\n" +
-                "      }\n" +
-                "    },\n" +
-                "    {\n" +
-                "      \"base_stat\": 85,\n" +
-                "      \"stat\": {\n" +
-                "        \"name\": \"special-defense\"\n" +
-                "      }\n" +
-                "    },\n" +
-                "    {\n" +
-                "      \"base_stat\": 100,\n" +
-                "      \"stat\": {\n" +
-                "        \"name\": \"speed\"\n" +
-                "      }\n" +
-                "    }\n" +
-                "  ]\n" +
-                "}";
-
-        Pokemon charizard = invokeParseApiResponse(jsonResponse);
+        int[] ids = new int[40];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i + 1;
+        }
+        BulkFetchResult result = slowModel.fetchPokemonBulk(ids, 3);
 
-        // Verify the Pokemon properties
-        assertEquals(6, charizard.getId());
-        assertEquals("charizard", charizard.getName());
-        assertEquals(2, charizard.getTypes().size());
-        assertTrue(charizard.getTypes().contains(PokemonType.FIRE));
-        assertTrue(charizard.getTypes().contains(PokemonType.FLYING));
+        // Verify every ID was fetched and the cap was never exceeded
+        assertEquals(40, result.getPokemon().size());
+        assertFalse(result.hasErrors());
+        assertTrue(maxInFlight.get() <= 3);
+    }
 
-        // Verify stats
-        assertEquals(78, charizard.getStats().getHp());
-        assertEquals(84, charizard.getStats().getAttack());
-        assertEquals(78, charizard.getStats().getDefense());
-        assertEquals(109, charizard.getStats().getSpecialAttack());
-        assertEquals(85, charizard.getStats().getSpecialDefense());
-        assertEquals(100, charizard.getStats().getSpeed());
-    }
-
-    @Test
-    void testParseApiResponseMissingStats() throws Exception {
-        // Test parsing a response with missing stats
-        String jsonResponse = "{\n" +
-                "  \"id\": 132,\n" +
-                "  \"name\": \"ditto\",\n" +
-                "  \"sprites\": {\n" +
-                "    \"front_default\": \"https://raw.githubusercontent.com/PokeAPI/sprites/master/sprites/pokemon/132.png\"\n" +
-                "  },\n" +
-                "  \"types\": [\n" +
-                "    {\n" +
-                "      \"type\": {\n" +
-                "        \"name\": \"normal\"\n" +
-                "      }\n" +
-                "    }\n" +
-                "  ],\n" +
-                "  \"stats\": [\n" +
-                "    {\n" +
-                "      \"base_stat\": 48,\n" +
-                "      \"stat\": {\n" +
-                "        \"name\": \"hp\"\n" +
-                "      }\n" +
-                "    },\n" +
-                "    {\n" +
-                "      \"base_stat\": 48,\n" +
-                "      \"stat\": {\n" +
-                "        \"name\": \"attack\"\n" +
-                "      }\n" +
-                "    },\n" +
-                "    {\n" +
-                "      \"base_stat\": 48,\n" +
-                "      \"stat\": {\n" +
-                "        \"name\": \"defense\"\n" +
-                "      }\n" +
-                "    }\n" +
-                "  ]\n" +
-                "}";
-
-        Pokemon ditto = invokeParseApiResponse(jsonResponse);
+    @Test
+    void testFetchPokemonBulkInvalidArguments() {
+        // Test that null IDs and a non-positive cap are rejected
+        assertThrows(IllegalArgumentException.class, () -> pokemonModel.fetchPokemonBulk(null, 4));
+        assertThrows(IllegalArgumentException.class, () -> pokemonModel.fetchPokemonBulk(new int[] {1}, 0));
+    }
 
-        // Verify the Pokemon properties
-        assertEquals(132, ditto.getId());
-        assertEquals("ditto", ditto.getName());
-        assertEquals(1, ditto.getTypes().size());
-        assertTrue(ditto.getTypes().contains(PokemonType.NORMAL));
+    @Test
+    void testFetchPokemonBulkEmptyIds() {
+        // Test that an empty request returns an empty result
+        BulkFetchResult result = pokemonModel.fetchPokemonBulk(new int[0], 4);
+
+        assertTrue(result.getPokemon().isEmpty());
+        assertFalse(result.hasErrors());
+    }
 
-        // Verify stats (missing stats should be 0)
-        assertEquals(48, ditto.getStats().getHp());
-        assertEquals(48, ditto.getStats().getAttack());
-        assertEquals(48, ditto.getStats().getDefense());
-        assertEquals(0, ditto.getStats().getSpecialAttack());
-        assertEquals(0, ditto.getStats().getSpecialDefense());
-        assertEquals(0, ditto.getStats().getSpeed());
+    @Test
+    void testFetchPokemonByIdAsync() throws IOException {
+        // Test an async fetch against a local stub server
+        HttpServer server = startStubServer(new AtomicInteger());
+        try {
+            PokemonModel model = new PokemonModel(baseUrlOf(server));
+            Pokemon pokemon = model.fetchPokemonByIdAsync(2).join();
+
+            assertEquals(2, pokemon.getId());
+            assertEquals("stub-2", pokemon.getName());
+            assertEquals(20, pokemon.getStats().getHp());
+            assertTrue(pokemon.getTypes().contains(PokemonType.WATER));
+        } finally {
+            server.stop(0);
+        }
     }
 
     @Test
-    void testParseApiResponseInvalidJson() {
-        // Test parsing invalid JSON (should throw an exception)
-        String invalidJson = "{ this is not valid JSON }";
+    void testFetchPokemonRangeAsyncReportsFailures() throws IOException {
+        // Test that an async range keeps ID order and reports the IDs the server rejects
+        HttpServer server = startStubServer(new AtomicInteger());
+        try {
+            PokemonModel model = new PokemonModel(baseUrlOf(server));
+            BulkFetchResult result = model.fetchPokemonRangeAsync(1, 5).join();
+
+            assertEquals(5, result.getRequestedCount());
+            assertEquals(3, result.getPokemon().size());
+            assertEquals(1, result.getPokemon().get(0).getId());
+            assertEquals(3, result.getPokemon().get(2).getId());
+            assertTrue(result.getErrors().containsKey(4));
+            assertTrue(result.getErrors().containsKey(5));
+        } finally {
+            server.stop(0);
+        }
+    }
 
-        Exception exception = assertThrows(Exception.class, () -> {
-            invokeParseApiResponse(invalidJson);
-        });
+    @Test
+    void testFetchPokemonAsyncWithIdSet() throws IOException {
+        // Test that an async ID set returns results in the set's iteration order
+        HttpServer server = startStubServer(new AtomicInteger());
+        try {
+            PokemonModel model = new PokemonModel(baseUrlOf(server));
+            BulkFetchResult result = model.fetchPokemonAsync(new LinkedHashSet<>(Arrays.asList(3, 1))).join();
+
+            assertEquals(2, result.getPokemon().size());
+            assertEquals(3, result.getPokemon().get(0).getId());
+            assertEquals(1, result.getPokemon().get(1).getId());
+            assertFalse(result.hasErrors());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void testResponseCacheServesFreshEntryWithoutRequest() throws Exception {
+        // Test that a warm start inside the TTL makes no requests at all
+        AtomicInteger requestCount = new AtomicInteger();
+        HttpServer server = startStubServer(requestCount);
+        try {
+            HttpResponseCache cache = new HttpResponseCache(tempDir.resolve("cache"), Duration.ofHours(1), 1 << 20);
+            new PokemonModel(baseUrlOf(server), cache).fetchPokemonById(1);
+
+            // A new model over the same cache directory stands in for the next launch
+            HttpResponseCache reopened = new HttpResponseCache(tempDir.resolve("cache"), Duration.ofHours(1), 1 << 20);
+            Pokemon pokemon = new PokemonModel(baseUrlOf(server), reopened).fetchPokemonById(1);
+
+            assertEquals("stub-1", pokemon.getName());
+            assertEquals(1, requestCount.get());
+            assertEquals(1, reopened.getHitCount());
+            assertEquals(0, reopened.getMissCount());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void testResponseCacheRevalidatesStaleEntry() throws Exception {
+        // Test that an expired entry is revalidated with its ETag and answered by a 304
+        AtomicInteger requestCount = new AtomicInteger();
+        HttpServer server = startStubServer(requestCount);
+        try {
+            HttpResponseCache cache = new HttpResponseCache(tempDir.resolve("cache"), Duration.ZERO, 1 << 20);
+            new PokemonModel(baseUrlOf(server), cache).fetchPokemonById(2);
+
+            // A second model, so the in-memory Pokemon cache cannot answer first
+            Pokemon pokemon = new PokemonModel(baseUrlOf(server), cache).fetchPokemonByIdAsync(2).join();
+
+            assertEquals("stub-2", pokemon.getName());
+            assertEquals(2, requestCount.get());
+            assertEquals(1, cache.getMissCount());
+            assertEquals(1, cache.getRevalidationCount());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void testOfflineModeServesOnlyFromCache() throws Exception {
+        // Test that offline mode serves cached IDs, however old, and fails others without a request
+        AtomicInteger requestCount = new AtomicInteger();
+        HttpServer server = startStubServer(requestCount);
+        try {
+            HttpResponseCache cache = new HttpResponseCache(tempDir.resolve("cache"), Duration.ZERO, 1 << 20);
+            new PokemonModel(baseUrlOf(server), cache).fetchPokemonById(3);
+
+            HttpPokemonSource source = new HttpPokemonSource(baseUrlOf(server), cache, FetchResilience.defaults());
+            source.setOfflineMode(true);
+            PokemonModel model = new PokemonModel(source);
+            assertEquals("stub-3", model.fetchPokemonById(3).getName());
+            Exception exception = assertThrows(IOException.class, () -> model.fetchPokemonById(1));
+
+            assertTrue(exception.getMessage().contains("Offline"));
+            assertEquals(1, requestCount.get());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void testFetchReadsThroughPokemonCache() throws Exception {
+        // Test that a cached ID is returned without another request, from both fetch paths
+        AtomicInteger requestCount = new AtomicInteger();
+        HttpServer server = startStubServer(requestCount);
+        try {
+            PokemonCache pokemonCache = new PokemonCache(10, PokemonCache.EvictionPolicy.LRU);
+            PokemonModel model = new PokemonModel(baseUrlOf(server), null, pokemonCache);
+
+            Pokemon first = model.fetchPokemonById(1);
+            Pokemon second = model.fetchPokemonById(1);
+            Pokemon third = model.fetchPokemonByIdAsync(1).join();
+
+            assertSame(first, second);
+            assertSame(first, third);
+            assertEquals(1, requestCount.get());
+            assertEquals(2, pokemonCache.getHitCount());
+            assertEquals(1, pokemonCache.getMissCount());
+            assertSame(pokemonCache, model.getPokemonCache());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void testLoadCollectionFillsPokemonCacheById() throws IOException {
+        // Test that loading the same Pokemon twice keeps one cache entry per ID
+        List<Pokemon> pokemonList = Arrays.asList(createTestBulbasaur(), createTestIvysaur());
+        String filename = tempDir.resolve("cached.json").toString();
+        pokemonModel.saveCollection(pokemonList, filename);
+
+        pokemonModel.loadCollection(filename);
+        pokemonModel.loadCollection(filename);
+
+        assertEquals(2, pokemonModel.getPokemonCache().size());
+        assertTrue(pokemonModel.getPokemonCache().contains(1));
+    }
+
+    @Test
+    void testConcurrentFetchesOfSameIdShareOneRequest() throws Exception {
+        // Test that simultaneous blocking and async callers for one ID produce exactly one upstream request
+        AtomicInteger requestCount = new AtomicInteger();
+        CountDownLatch gate = new CountDownLatch(1);
+        HttpServer server = startStubServer(requestCount, gate);
+        int blockingCallers = 12;
+        int asyncCallers = 4;
+        ExecutorService callers = Executors.newFixedThreadPool(blockingCallers);
+        try {
+            PokemonModel model = new PokemonModel(baseUrlOf(server));
+            List<Future<Pokemon>> blockingResults = new ArrayList<>();
+            for (int i = 0; i < blockingCallers; i++) {
+                blockingResults.add(callers.submit(() -> model.fetchPokemonById(2)));
+            }
+            List<CompletableFuture<Pokemon>> asyncResults = new ArrayList<>();
+            for (int i = 0; i < asyncCallers; i++) {
+                asyncResults.add(model.fetchPokemonByIdAsync(2));
+            }
+
+            // Hold the response until every caller but the leader has joined the in-flight fetch
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (model.getCoalescedFetchCount() < blockingCallers + asyncCallers - 1
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            gate.countDown();
+
+            Pokemon first = blockingResults.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<Pokemon> result : blockingResults) {
+                assertSame(first, result.get(10, TimeUnit.SECONDS));
+            }
+            for (CompletableFuture<Pokemon> result : asyncResults) {
+                assertSame(first, result.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(1, requestCount.get());
+            assertEquals(blockingCallers + asyncCallers - 1, model.getCoalescedFetchCount());
+        } finally {
+            callers.shutdownNow();
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void testConcurrentFetchesShareFailure() throws Exception {
+        // Test that callers joining a failing fetch all see its failure from a single request
+        AtomicInteger requestCount = new AtomicInteger();
+        CountDownLatch gate = new CountDownLatch(1);
+        HttpServer server = startStubServer(requestCount, gate);
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            PokemonModel model = new PokemonModel(baseUrlOf(server));
+            List<Future<Pokemon>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(callers.submit(() -> model.fetchPokemonById(404)));
+            }
+
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (model.getCoalescedFetchCount() < 3 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            gate.countDown();
+
+            for (Future<Pokemon> result : results) {
+                Exception exception = assertThrows(Exception.class, () -> result.get(10, TimeUnit.SECONDS));
+                assertTrue(exception.getCause() instanceof IOException);
+            }
+            assertEquals(1, requestCount.get());
+        } finally {
+            callers.shutdownNow();
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void testFetchRetriesThrottledRequest() throws Exception {
+        // Test that 429s are retried, counted and shrink the concurrency limit
+        AtomicInteger requestCount = new AtomicInteger();
+        HttpServer server = startFlakyServer(requestCount, 2, 429);
+        try {
+            FetchResilience resilience = quickRetries(4);
+            Pokemon pokemon = modelFor(server, resilience).fetchPokemonById(1);
+
+            assertEquals("stub-1", pokemon.getName());
+            assertEquals(3, requestCount.get());
+            assertEquals(2, resilience.getThrottledCount());
+            assertTrue(resilience.getConcurrencyLimit() < 8);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void testAsyncFetchRetriesServerError() throws Exception {
+        // Test that the async path retries a transient 503 the same way
+        AtomicInteger requestCount = new AtomicInteger();
+        HttpServer server = startFlakyServer(requestCount, 1, 503);
+        try {
+            FetchResilience resilience = quickRetries(4);
+            Pokemon pokemon = modelFor(server, resilience).fetchPokemonByIdAsync(2).get(10, TimeUnit.SECONDS);
+
+            assertEquals("stub-2", pokemon.getName());
+            assertEquals(2, requestCount.get());
+            assertEquals(1, resilience.getRetryCount());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void testFetchDoesNotRetryNotFound() throws Exception {
+        // Test that a 404 fails at once with its status code and is not queued for retry
+        AtomicInteger requestCount = new AtomicInteger();
+        HttpServer server = startStubServer(requestCount);
+        try {
+            PokemonModel model = modelFor(server, quickRetries(4));
+            HttpStatusException exception = assertThrows(HttpStatusException.class, () -> model.fetchPokemonById(404));
+
+            assertEquals(404, exception.getStatusCode());
+            assertEquals(1, requestCount.get());
+
+            model.fetchPokemonBulk(new int[] {404}, 1);
+            assertTrue(model.getPendingRetryIds().isEmpty());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void testBulkFetchQueuesTransientFailuresForRetry() throws Exception {
+        // Test that IDs still failing after every attempt are kept for a background retry instead of dropped
+        AtomicInteger requestCount = new AtomicInteger();
+        HttpServer server = startFlakyServer(requestCount, Integer.MAX_VALUE, 503);
+        try {
+            PokemonModel model = modelFor(server, quickRetries(2));
+            BulkFetchResult result = model.fetchPokemonBulk(new int[] {1, 2}, 2);
+
+            assertEquals(2, result.getErrors().size());
+            assertEquals(4, requestCount.get());
+            assertEquals(new LinkedHashSet<>(Arrays.asList(1, 2)), model.getPendingRetryIds());
+        } finally {
+            server.stop(0);
+        }
+    }
 
-        // Verify that an exception was thrown
-        assertNotNull(exception);
+    @Test
+    void testModelReadsFromInMemorySource() throws Exception {
+        // Test that a non-HTTP source goes through the same parsing and caching as PokeAPI
+        InMemoryPokemonSource source = new InMemoryPokemonSource(10, 5);
+        PokemonModel model = new PokemonModel(source);
+
+        Pokemon pokemon = model.fetchPokemonById(4);
+        assertEquals("pokemon-4", pokemon.getName());
+        assertEquals(48, pokemon.getStats().getHp());
+        assertTrue(model.getPokemonCache().contains(4));
+        assertSame(pokemon, model.fetchPokemonByIdAsync(4).join());
+
+        BulkFetchResult result = model.fetchPokemonAsync(new int[] {1, 2, 11}).get(10, TimeUnit.SECONDS);
+        assertEquals(2, result.getPokemon().size());
+        assertTrue(result.getErrors().containsKey(11));
+    }
+
+    @Test
+    void testModelReadsFromDirectorySource() throws Exception {
+        // Test that a PokeAPI dump on disk can be read in bulk without any network
+        for (int id = 1; id <= 20; id++) {
+            Path document = tempDir.resolve("dump").resolve(DirectoryPokemonSource.POKEMON_PATH)
+                    .resolve(Integer.toString(id)).resolve("index.json");
+            Files.createDirectories(document.getParent());
+            Files.write(document, InMemoryPokemonSource.syntheticDocument(id, 3)
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+        DirectoryPokemonSource source = new DirectoryPokemonSource(tempDir.resolve("dump"));
+        PokemonModel model = new PokemonModel(source);
+
+        BulkFetchResult result = model.fetchPokemonBulk(source.listIds(), 8);
+
+        assertEquals(20, result.getPokemon().size());
+        assertFalse(result.hasErrors());
+        assertEquals("pokemon-20", result.getPokemon().get(19).getName());
+    }
+
+    @Test
+    void testCloseStopsBackgroundWork() throws Exception {
+        // Test that a closed model no longer parses and can be closed again
+        PokemonModel model = new PokemonModel(new InMemoryPokemonSource(10, 5));
+        assertEquals("pokemon-3", model.fetchPokemonByIdAsync(3).get(10, TimeUnit.SECONDS).getName());
+
+        model.close();
+        model.close();
+
+        ExecutionException error = assertThrows(ExecutionException.class,
+                () -> model.fetchPokemonByIdAsync(4).get(10, TimeUnit.SECONDS));
+        assertTrue(error.getCause() instanceof RejectedExecutionException);
+        assertTrue(model.getPendingRetryIds().isEmpty());
+    }
+
+    @Test
+    void testNullSourceIsRejected() {
+        // Test that a model cannot be built without a source
+        assertThrows(IllegalArgumentException.class, () -> new PokemonModel((IPokemonSource) null));
     }
 
     @Test
@@ -408,6 +717,178 @@ public class PokemonModelTest {
         assertEquals("bulbasaur", loadedPokemon.get(0).getName());
     }
 
+    @Test
+    void testSaveAndLoadSnapshot() throws IOException {
+        // Test that a .pkmn filename saves and loads the binary snapshot format
+        List<Pokemon> pokemonList = Arrays.asList(createTestBulbasaur(), createTestIvysaur());
+        String filename = tempDir.resolve("collection" + PokemonModel.SNAPSHOT_EXTENSION).toString();
+
+        pokemonModel.saveCollection(pokemonList, filename);
+
+        // Verify the extension was kept and the file is a snapshot rather than JSON
+        byte[] saved = Files.readAllBytes(Path.of(filename));
+        assertEquals('P', saved[0]);
+        assertEquals('K', saved[1]);
+
+        List<Pokemon> loadedPokemon = pokemonModel.loadCollection(filename);
+        assertEquals(2, loadedPokemon.size());
+        assertEquals("ivysaur", loadedPokemon.get(1).getName());
+        assertEquals(Arrays.asList(PokemonType.GRASS, PokemonType.POISON), loadedPokemon.get(1).getTypes());
+        assertEquals(62, loadedPokemon.get(1).getStats().getAttack());
+        assertEquals(createTestIvysaur().getImageUrl(), loadedPokemon.get(1).getImageUrl());
+    }
+
+    @Test
+    void testSaveAndLoadCompressed() throws IOException {
+        // Test that a .json.gz filename is kept, written compressed and loaded back
+        List<Pokemon> pokemonList = createLargeCollection(500);
+        String plainFilename = tempDir.resolve("collection").toString();
+        String compressedFilename = tempDir.resolve("collection" + PokemonModel.GZIP_EXTENSION).toString();
+
+        pokemonModel.saveCollection(pokemonList, plainFilename);
+        pokemonModel.saveCollection(pokemonList, compressedFilename);
+
+        byte[] saved = Files.readAllBytes(Path.of(compressedFilename));
+        assertEquals((byte) 0x1F, saved[0]);
+        assertEquals((byte) 0x8B, saved[1]);
+        assertTrue(saved.length < Files.size(Path.of(plainFilename + ".json")) / 4);
+
+        List<Pokemon> loadedPokemon = pokemonModel.loadCollection(compressedFilename);
+        assertEquals(500, loadedPokemon.size());
+        assertEquals("pokemon-500", loadedPokemon.get(499).getName());
+        try (Stream<Pokemon> stream = pokemonModel.streamCollection(compressedFilename, null)) {
+            assertEquals(500, stream.count());
+        }
+    }
+
+    @Test
+    void testLoadDetectsCompressionWithoutExtension() throws IOException {
+        // Test that a gzipped file saved under a plain .json name still loads
+        String compressedFilename = tempDir.resolve("collection" + PokemonModel.GZIP_EXTENSION).toString();
+        pokemonModel.saveCollection(Arrays.asList(createTestBulbasaur()), compressedFilename);
+        Path renamed = Files.move(Path.of(compressedFilename), tempDir.resolve("renamed.json"));
+
+        List<Pokemon> loadedPokemon = pokemonModel.loadCollection(renamed.toString());
+        assertEquals("bulbasaur", loadedPokemon.get(0).getName());
+    }
+
+    /**
+     * Creates a collection of numbered Pokemon large enough to span many read buffers.
+     */
+    private static List<Pokemon> createLargeCollection(int count) {
+        List<Pokemon> collection = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            collection.add(new Pokemon(id, "pokemon-" + id,
+                    "https://raw.githubusercontent.com/PokeAPI/sprites/master/sprites/pokemon/" + id + ".png",
+                    Arrays.asList(PokemonType.GRASS), new Pokemon.PokemonStats(id % 200, 49, 49, 65, 65, 45)));
+        }
+        return collection;
+    }
+
+    @Test
+    void testStreamCollectionReportsProgress() throws IOException {
+        // Test that streaming a JSON file returns every Pokemon in order and reports progress up to the file size
+        String filename = tempDir.resolve("large.json").toString();
+        pokemonModel.saveCollection(createLargeCollection(2000), filename);
+        long fileSize = new File(filename).length();
+
+        List<long[]> progress = new ArrayList<>();
+        List<Integer> ids = new ArrayList<>();
+        try (Stream<Pokemon> stream = pokemonModel.streamCollection(filename,
+                (pokemonRead, bytesRead, totalBytes) -> progress.add(new long[] {pokemonRead, bytesRead, totalBytes}))) {
+            stream.forEach(pokemon -> ids.add(pokemon.getId()));
+        }
+
+        assertEquals(2000, ids.size());
+        assertEquals(1, ids.get(0).intValue());
+        assertEquals(2000, ids.get(1999).intValue());
+        long[] last = progress.get(progress.size() - 1);
+        assertEquals(2000, last[0]);
+        assertEquals(fileSize, last[1]);
+        assertEquals(fileSize, last[2]);
+        for (int i = 1; i < progress.size(); i++) {
+            assertTrue(progress.get(i)[1] >= progress.get(i - 1)[1], "Bytes read should never go backwards");
+        }
+    }
+
+    @Test
+    void testStreamCollectionStopsEarly() throws IOException {
+        // Test that a short-circuiting stream stops reading long before the end of the file
+        String filename = tempDir.resolve("large.json").toString();
+        pokemonModel.saveCollection(createLargeCollection(2000), filename);
+        long fileSize = new File(filename).length();
+
+        AtomicInteger readCount = new AtomicInteger();
+        long[] bytesRead = new long[1];
+        List<Pokemon> firstFive;
+        try (Stream<Pokemon> stream = pokemonModel.streamCollection(filename,
+                (pokemonRead, bytes, totalBytes) -> {
+                    readCount.set((int) pokemonRead);
+                    bytesRead[0] = bytes;
+                })) {
+            firstFive = stream.limit(5).collect(Collectors.toList());
+        }
+
+        assertEquals(5, firstFive.size());
+        assertEquals("pokemon-5", firstFive.get(4).getName());
+        assertEquals(5, readCount.get());
+        assertTrue(bytesRead[0] < fileSize / 4, "Only the first buffers of the file should have been read");
+    }
+
+    @Test
+    void testStreamCollectionFromSnapshot() throws IOException {
+        // Test that snapshots stream record by record too
+        String filename = tempDir.resolve("large" + PokemonModel.SNAPSHOT_EXTENSION).toString();
+        pokemonModel.saveCollection(createLargeCollection(500), filename);
+
+        try (Stream<Pokemon> stream = pokemonModel.streamCollection(filename, null)) {
+            assertEquals(500, stream.filter(pokemon -> pokemon.getTypes().contains(PokemonType.GRASS)).count());
+        }
+    }
+
+    @Test
+    void testStreamCollectionSurfacesCorruptData() throws IOException {
+        // Test that a file that goes bad partway through fails the stream instead of ending it quietly
+        Path file = tempDir.resolve("corrupt.json");
+        Files.writeString(file, "[{\"id\":1,\"name\":\"bulbasaur\"}, {\"id\":");
+
+        try (Stream<Pokemon> stream = pokemonModel.streamCollection(file.toString(), null)) {
+            assertThrows(UncheckedIOException.class, stream::count);
+        }
+    }
+
+    @Test
+    void testStreamCollectionNonExistentFile() {
+        // Test that a missing file fails when the stream is opened
+        String nonExistentFile = tempDir.resolve("nonExistent.json").toString();
+
+        Exception exception = assertThrows(IOException.class, () -> pokemonModel.streamCollection(nonExistentFile, null));
+        assertTrue(exception.getMessage().contains("File does not exist"));
+    }
+
+    @Test
+    void testSaveAndLoadTeam() throws IOException {
+        // Test that teams go to the journal and come back by ID
+        try (TeamJournal journal = new TeamJournal(tempDir.resolve("teams"))) {
+            pokemonModel.setTeamJournal(journal);
+
+            int teamId = pokemonModel.saveTeam(Arrays.asList(createTestBulbasaur(), createTestIvysaur()));
+
+            assertEquals(1, journal.getTeamCount());
+            List<Pokemon> loaded = pokemonModel.loadTeam(teamId);
+            assertEquals(2, loaded.size());
+            assertEquals("ivysaur", loaded.get(1).getName());
+        }
+    }
+
+    @Test
+    void testSaveTeamWithoutJournal() {
+        // Test that saving a team fails cleanly when no journal is open
+        Exception exception = assertThrows(IOException.class,
+                () -> pokemonModel.saveTeam(Arrays.asList(createTestBulbasaur())));
+        assertTrue(exception.getMessage().contains("No team journal"));
+    }
+
     @Test
     void testSaveEmptyCollection() {
         // Test saving an empty collection
@@ -0,0 +1,310 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Test class for PokemonResponseParser.
+ */
+public class PokemonResponseParserTest {
+
+    private PokemonResponseParser parser;
+
+    @BeforeEach
+    void setUp() {
+        parser = new PokemonResponseParser(new JsonFactory());
+    }
+
+    @Test
+    void testParsePokeApiBasic() throws IOException {
+        // Test parsing a basic API response
+        String jsonResponse = "{\n" +
+                "  \"id\": 25,\n" +
+                "  \"name\": \"pikachu\",\n" +
+                "  \"sprites\": {\n" +
+                "    \"front_default\": \"https://raw.githubusercontent.com/PokeAPI/sprites/master/sprites/pokemon/25.png\"\n" +
+                "  },\n" +
+                "  \"types\": [\n" +
+                "    {\n" +
+                "      \"type\": {\n" +
+                "        \"name\": \"electric\"\n" +
+                "      }\n" +
+                "    }\n" +
+                "  ],\n" +
+                "  \"stats\": [\n" +
+                "    {\n" +
+                "      \"base_stat\": 35,\n" +
+                "      \"stat\": {\n" +
+                "        \"name\": \"hp\"\n" +
+                "      }\n" +
+                "    },\n" +
+                "    {\n" +
+                "      \"base_stat\": 55,\n" +
+                "      \"stat\": {\n" +
+                "        \"name\": \"attack\"\n" +
+                "      }\n" +
+                "    },\n" +
+                "    {\n" +
+                "      \"base_stat\": 40,\n" +
+                "      \"stat\": {\n" +
+                "        \"name\": \"defense\"\n" +
+                "      }\n" +
+                "    },\n" +
+                "    {\n" +
+                "      \"base_stat\": 50,\n" +
+                "      \"stat\": {\n" +
+                "        \"name\": \"special-attack\"\n" +
+                "      }\n" +
+                "    },\n" +
+                "    {\n" +
+                "      \"base_stat\": 50,\n" +
+                "      \"stat\": {\n" +
+                "        \"name\": \"special-defense\"\n" +
+                "      }\n" +
+                "    },\n" +
+                "    {\n" +
+                "      \"base_stat\": 90,\n" +
+                "      \"stat\": {\n" +
+                "        \"name\": \"speed\"\n" +
+                "      }\n" +
+                "    }\n" +
+                "  ]\n" +
+                "}";
+
+        Pokemon pikachu = parser.parse(jsonResponse);
+
+        // Verify the Pokemon properties
+        assertEquals(25, pikachu.getId());
+        assertEquals("pikachu", pikachu.getName());
+        assertEquals("https://raw.githubusercontent.com/PokeAPI/sprites/master/sprites/pokemon/25.png", pikachu.getImageUrl());
+        assertEquals(1, pikachu.getTypes().size());
+        assertTrue(pikachu.getTypes().contains(PokemonType.ELECTRIC));
+
+        // Verify stats
+        assertEquals(35, pikachu.getStats().getHp());
+        assertEquals(55, pikachu.getStats().getAttack());
+        assertEquals(40, pikachu.getStats().getDefense());
+        assertEquals(50, pikachu.getStats().getSpecialAttack());
+        assertEquals(50, pikachu.getStats().getSpecialDefense());
+        assertEquals(90, pikachu.getStats().getSpeed());
+    }
+
+    @Test
+    void testParsePokeApiMultipleTypes() throws IOException {
+        // Test parsing a Pokemon with multiple types
+        String jsonResponse = "{\n" +
+                "  \"id\": 6,\n" +
+                "  \"name\": \"charizard\",\n" +
+                "  \"sprites\": {\n" +
+                "    \"front_default\": \"https://raw.githubusercontent.com/PokeAPI/sprites/master/sprites/pokemon/6.png\"\n" +
+                "  },\n" +
+                "  \"types\": [\n" +
+                "    {\n" +
+                "      \"type\": {\n" +
+                "        \"name\": \"fire\"\n" +
+                "      }\n" +
+                "    },\n" +
+                "    {\n" +
+                "      \"type\": {\n" +
+                "        \"name\": \"flying\"\n" +
+                "      }\n" +
+                "    }\n" +
+                "  ],\n" +
+                "  \"stats\": [\n" +
+                "    {\n" +
+                "      \"base_stat\": 78,\n" +
+                "      \"stat\": {\n" +
+                "        \"name\": \"hp\"\n" +
+                "      }\n" +
+                "    },\n" +
+                "    {\n" +
+                "      \"base_stat\": 84,\n" +
+                "      \"stat\": {\n" +
+                "        \"name\": \"attack\"\n" +
+                "      }\n" +
+                "    },\n" +
+                "    {\n" +
+                "      \"base_stat\": 78,\n" +
+                "      \"stat\": {\n" +
+                "        \"name\": \"defense\"\n" +
+                "      }\n" +
+                "    },\n" +
+                "    {\n" +
+                "      \"base_stat\": 109,\n" +
+                "      \"stat\": {\n" +
+                "        \"name\": \"special-attack\"\n" +
+                "      }\n" +
+                "    },\n" +
+                "    {\n" +
+                "      \"base_stat\": 85,\n" +
+                "      \"stat\": {\n" +
+                "        \"name\": \"special-defense\"\n" +
+                "      }\n" +
+                "    },\n" +
+                "    {\n" +
+                "      \"base_stat\": 100,\n" +
+                "      \"stat\": {\n" +
+                "        \"name\": \"speed\"\n" +
+                "      }\n" +
+                "    }\n" +
+                "  ]\n" +
+                "}";
+
+        Pokemon charizard = parser.parse(jsonResponse);
+
+        // Verify the Pokemon properties
+        assertEquals(6, charizard.getId());
+        assertEquals("charizard", charizard.getName());
+        assertEquals(2, charizard.getTypes().size());
+        assertTrue(charizard.getTypes().contains(PokemonType.FIRE));
+        assertTrue(charizard.getTypes().contains(PokemonType.FLYING));
+
+        // Verify stats
+        assertEquals(78, charizard.getStats().getHp());
+        assertEquals(84, charizard.getStats().getAttack());
+        assertEquals(78, charizard.getStats().getDefense());
+        assertEquals(109, charizard.getStats().getSpecialAttack());
+        assertEquals(85, charizard.getStats().getSpecialDefense());
+        assertEquals(100, charizard.getStats().getSpeed());
+    }
+
+    @Test
+    void testParsePokeApiMissingStats() throws IOException {
+        // Test parsing a response with missing stats
+        String jsonResponse = "{\n" +
+                "  \"id\": 132,\n" +
+                "  \"name\": \"ditto\",\n" +
+                "  \"sprites\": {\n" +
+                "    \"front_default\": \"https://raw.githubusercontent.com/PokeAPI/sprites/master/sprites/pokemon/132.png\"\n" +
+                "  },\n" +
+                "  \"types\": [\n" +
+                "    {\n" +
+                "      \"type\": {\n" +
+                "        \"name\": \"normal\"\n" +
+                "      }\n" +
+                "    }\n" +
+                "  ],\n" +
+                "  \"stats\": [\n" +
+                "    {\n" +
+                "      \"base_stat\": 48,\n" +
+                "      \"stat\": {\n" +
+                "        \"name\": \"hp\"\n" +
+                "      }\n" +
+                "    },\n" +
+                "    {\n" +
+                "      \"base_stat\": 48,\n" +
+                "      \"stat\": {\n" +
+                "        \"name\": \"attack\"\n" +
+                "      }\n" +
+                "    },\n" +
+                "    {\n" +
+                "      \"base_stat\": 48,\n" +
+                "      \"stat\": {\n" +
+                "        \"name\": \"defense\"\n" +
+                "      }\n" +
+                "    }\n" +
+                "  ]\n" +
+                "}";
+
+        Pokemon ditto = parser.parse(jsonResponse);
+
+        // Verify the Pokemon properties
+        assertEquals(132, ditto.getId());
+        assertEquals("ditto", ditto.getName());
+        assertEquals(1, ditto.getTypes().size());
+        assertTrue(ditto.getTypes().contains(PokemonType.NORMAL));
+
+        // Verify stats (missing stats should be 0)
+        assertEquals(48, ditto.getStats().getHp());
+        assertEquals(48, ditto.getStats().getAttack());
+        assertEquals(48, ditto.getStats().getDefense());
+        assertEquals(0, ditto.getStats().getSpecialAttack());
+        assertEquals(0, ditto.getStats().getSpecialDefense());
+        assertEquals(0, ditto.getStats().getSpeed());
+    }
+
+    @Test
+    void testParsePokeApiInvalidJson() {
+        // Test parsing invalid JSON (should throw an exception)
+        String invalidJson = "{ this is not valid JSON }";
+
+        assertThrows(IOException.class, () -> parser.parse(invalidJson));
+    }
+
+    @Test
+    void testSkipsUnneededFields() throws IOException {
+        // Test a document whose wanted fields sit between large arrays and nested objects
+        String json = "{\"abilities\":[{\"ability\":{\"name\":\"static\"}}],"
+                + "\"id\":25,"
+                + "\"moves\":[{\"move\":{\"name\":\"thunder\",\"url\":\"u\"},\"version_group_details\":[{\"a\":[1,2]}]}],"
+                + "\"name\":\"pikachu\","
+                + "\"sprites\":{\"back_default\":\"back.png\",\"front_default\":\"front.png\","
+                + "\"other\":{\"home\":{\"front_default\":\"home.png\"}}},"
+                + "\"game_indices\":[{\"game_index\":84,\"version\":{\"name\":\"red\"}}],"
+                + "\"types\":[{\"slot\":1,\"type\":{\"name\":\"electric\",\"url\":\"u\"}}],"
+                + "\"stats\":[{\"stat\":{\"name\":\"speed\"},\"effort\":2,\"base_stat\":90},"
+                + "{\"base_stat\":35,\"stat\":{\"name\":\"hp\"}}]}";
+
+        Pokemon pikachu = parser.parse(json);
+
+        assertEquals(25, pikachu.getId());
+        assertEquals("pikachu", pikachu.getName());
+        assertEquals("front.png", pikachu.getImageUrl());
+        assertEquals(1, pikachu.getTypes().size());
+        assertEquals(PokemonType.ELECTRIC, pikachu.getTypes().get(0));
+        assertEquals(35, pikachu.getStats().getHp());
+        assertEquals(90, pikachu.getStats().getSpeed());
+        assertEquals(0, pikachu.getStats().getAttack());
+    }
+
+    @Test
+    void testParseFromStream() throws IOException {
+        // Test that the stream and byte array entry points read the same document
+        byte[] body = "{\"id\":7,\"name\":\"squirtle\",\"sprites\":{\"front_default\":null},\"types\":[],\"stats\":[]}"
+                .getBytes(StandardCharsets.UTF_8);
+
+        Pokemon fromStream = parser.parse(new ByteArrayInputStream(body));
+        Pokemon fromBytes = parser.parse(body);
+
+        assertEquals(7, fromStream.getId());
+        assertEquals("squirtle", fromBytes.getName());
+        assertNull(fromStream.getImageUrl());
+        assertTrue(fromBytes.getTypes().isEmpty());
+    }
+
+    @Test
+    void testStreamIsLeftOpen() throws IOException {
+        // Test that parsing leaves closing the stream to the caller
+        boolean[] closed = new boolean[1];
+        ByteArrayInputStream in = new ByteArrayInputStream(
+                "{\"id\":1,\"name\":\"bulbasaur\"}".getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+
+        assertEquals("bulbasaur", parser.parse(in).getName());
+        assertFalse(closed[0]);
+    }
+
+    @Test
+    void testMissingIdIsRejected() {
+        // Test that a document without an id is rejected rather than parsed into a blank Pokemon
+        assertThrows(IOException.class, () -> parser.parse("{\"name\":\"missingno\"}"));
+    }
+
+    @Test
+    void testNonObjectIsRejected() {
+        // Test that a top-level array or empty body is rejected
+        assertThrows(IOException.class, () -> parser.parse("[1, 2, 3]"));
+        assertThrows(IOException.class, () -> parser.parse(""));
+    }
+}
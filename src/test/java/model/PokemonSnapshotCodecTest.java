@@ -0,0 +1,156 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Test class for PokemonSnapshotCodec.
+ */
+public class PokemonSnapshotCodecTest {
+
+    private final PokemonSnapshotCodec codec = new PokemonSnapshotCodec();
+
+    private byte[] write(List<Pokemon> collection) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.write(collection, out);
+        return out.toByteArray();
+    }
+
+    private List<Pokemon> read(byte[] snapshot) throws IOException {
+        return codec.read(new ByteArrayInputStream(snapshot));
+    }
+
+    private static Pokemon sprite(int id, String name, PokemonType... types) {
+        return new Pokemon(id, name,
+                "https://raw.githubusercontent.com/PokeAPI/sprites/master/sprites/pokemon/" + id + ".png",
+                Arrays.asList(types), new Pokemon.PokemonStats(45, 49, 49, 65, 65, 45));
+    }
+
+    private static void assertSamePokemon(Pokemon expected, Pokemon actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getImageUrl(), actual.getImageUrl());
+        assertEquals(expected.getTypes(), actual.getTypes());
+        if (expected.getStats() == null) {
+            assertNull(actual.getStats());
+        } else {
+            assertEquals(expected.getStats().toString(), actual.getStats().toString());
+        }
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        // Test that every field survives a write and read in order
+        List<Pokemon> collection = Arrays.asList(
+                sprite(1, "bulbasaur", PokemonType.GRASS, PokemonType.POISON),
+                sprite(4, "charmander", PokemonType.FIRE),
+                sprite(150, "mewtwo", PokemonType.PSYCHIC));
+
+        List<Pokemon> loaded = read(write(collection));
+
+        assertEquals(3, loaded.size());
+        for (int i = 0; i < collection.size(); i++) {
+            assertSamePokemon(collection.get(i), loaded.get(i));
+        }
+    }
+
+    @Test
+    void testRoundTripWithMissingFields() throws IOException {
+        // Test that null names, URLs, types and stats and an empty type list are kept as they were
+        Pokemon sparse = new Pokemon(7, null, null, null, null);
+        Pokemon untyped = new Pokemon(8, "untyped", "relative.png", new ArrayList<>(),
+                new Pokemon.PokemonStats(999, 0, -1, 255, 256, 100000));
+
+        List<Pokemon> loaded = read(write(Arrays.asList(sparse, null, untyped)));
+
+        assertEquals(2, loaded.size());
+        assertSamePokemon(sparse, loaded.get(0));
+        assertSamePokemon(untyped, loaded.get(1));
+    }
+
+    @Test
+    void testEveryTypeRoundTrips() throws IOException {
+        // Test that each type ordinal packs and unpacks, including the highest one
+        List<Pokemon> collection = new ArrayList<>();
+        for (PokemonType type : PokemonType.values()) {
+            collection.add(sprite(type.ordinal() + 1, type.name().toLowerCase(), type, PokemonType.FAIRY));
+        }
+
+        List<Pokemon> loaded = read(write(collection));
+
+        for (int i = 0; i < collection.size(); i++) {
+            assertEquals(collection.get(i).getTypes(), loaded.get(i).getTypes());
+        }
+    }
+
+    @Test
+    void testRepeatedStringsAreStoredOnce() throws IOException {
+        // Test that a name and URL prefix repeated across Pokemon are written to the dictionary once
+        byte[] one = write(Collections.singletonList(sprite(25, "pikachu", PokemonType.ELECTRIC)));
+        byte[] many = write(Collections.nCopies(100, sprite(25, "pikachu", PokemonType.ELECTRIC)));
+
+        // The sprite URL alone is over 70 characters, so repeats must not be carrying it
+        int perExtraPokemon = (many.length - one.length) / 99;
+        assertTrue(perExtraPokemon < 32, "each repeat took " + perExtraPokemon + " bytes");
+    }
+
+    @Test
+    void testSnapshotIsSmallerThanJson() throws IOException {
+        // Test that a snapshot is several times smaller than the pretty-printed JSON it replaces
+        List<Pokemon> collection = new ArrayList<>();
+        for (int id = 1; id <= 500; id++) {
+            collection.add(sprite(id, "pokemon-" + id, PokemonType.WATER, PokemonType.ICE));
+        }
+
+        byte[] snapshot = write(collection);
+        byte[] json = new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsBytes(collection);
+
+        assertTrue(snapshot.length * 4 < json.length, snapshot.length + " vs " + json.length + " bytes");
+    }
+
+    @Test
+    void testRejectsOtherFiles() {
+        // Test that data without the magic bytes is not read as a snapshot
+        IOException exception = assertThrows(IOException.class,
+                () -> read("[{\"id\":1}]".getBytes()));
+        assertTrue(exception.getMessage().contains("Not a Pokemon snapshot"));
+    }
+
+    @Test
+    void testRejectsNewerVersion() throws IOException {
+        // Test that a snapshot from a newer format version is refused rather than misread
+        byte[] snapshot = write(Collections.singletonList(sprite(1, "bulbasaur", PokemonType.GRASS)));
+        snapshot[5] = (byte) (PokemonSnapshotCodec.VERSION + 1);
+
+        IOException exception = assertThrows(IOException.class, () -> read(snapshot));
+        assertTrue(exception.getMessage().contains("version"));
+    }
+
+    @Test
+    void testRejectsTruncatedSnapshot() throws IOException {
+        // Test that a cut-off snapshot fails instead of returning partial data
+        byte[] snapshot = write(Collections.singletonList(sprite(1, "bulbasaur", PokemonType.GRASS)));
+
+        assertThrows(EOFException.class, () -> read(Arrays.copyOf(snapshot, snapshot.length - 3)));
+    }
+
+    @Test
+    void testRejectsTooManyTypes() {
+        // Test that a type list the format cannot hold is refused on write
+        Pokemon overloaded = sprite(1, "overloaded", PokemonType.NORMAL, PokemonType.FIRE, PokemonType.WATER,
+                PokemonType.GRASS, PokemonType.ICE, PokemonType.DARK);
+
+        assertThrows(IllegalArgumentException.class, () -> write(Collections.singletonList(overloaded)));
+    }
+}
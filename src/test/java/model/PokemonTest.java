@@ -1,5 +1,6 @@
 package model;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import java.util.Arrays;
 import java.util.Collections;
@@ -78,6 +79,13 @@ class PokemonTest {
         assertEquals("#007 - SQUIRTLE", result);
     }
 
+    @Test
+    void testToStringWithoutName() {
+        Pokemon pokemon = new Pokemon(7, null, "url", Collections.emptyList(), null);
+
+        assertEquals("#007 - ", pokemon.toString());
+    }
+
     @Test
     void testStatsConstructor() {
         // Arrange
@@ -116,31 +124,54 @@ class PokemonTest {
     }
 
     @Test
-    void testStatsGettersAndSetters() {
+    void testStatsTotalAndEquality() {
         // Arrange
-        Pokemon.PokemonStats stats = new Pokemon.PokemonStats();
-        int hp = 78;
-        int attack = 84;
-        int defense = 78;
-        int specialAttack = 109;
-        int specialDefense = 85;
-        int speed = 100;
+        Pokemon.PokemonStats stats = new Pokemon.PokemonStats(78, 84, 78, 109, 85, 100);
+
+        // Assert
+        assertEquals(534, stats.getTotal());
+        assertEquals(1530, new Pokemon.PokemonStats(255, 255, 255, 255, 255, 255).getTotal());
+        assertEquals(new Pokemon.PokemonStats(78, 84, 78, 109, 85, 100), stats);
+        assertEquals(new Pokemon.PokemonStats(78, 84, 78, 109, 85, 100).hashCode(), stats.hashCode());
+        assertNotEquals(new Pokemon.PokemonStats(78, 84, 78, 109, 85, 101), stats);
+        assertEquals(new Pokemon.PokemonStats(0, 0, 0, 0, 0, 0), new Pokemon.PokemonStats());
+    }
+
+    @Test
+    void testStatsOutsideByteRange() {
+        // Arrange
+        Pokemon.PokemonStats stats = new Pokemon.PokemonStats(999, 0, -1, 255, 256, 100000);
+
+        // Assert
+        assertEquals(999, stats.getHp());
+        assertEquals(0, stats.getAttack());
+        assertEquals(-1, stats.getDefense());
+        assertEquals(255, stats.getSpecialAttack());
+        assertEquals(256, stats.getSpecialDefense());
+        assertEquals(100000, stats.getSpeed());
+        assertEquals(101509, stats.getTotal());
+        assertEquals(new Pokemon.PokemonStats(999, 0, -1, 255, 256, 100000), stats);
+        assertNotEquals(new Pokemon.PokemonStats(231, 0, 255, 255, 0, 160), stats);
+    }
+
+    @Test
+    void testStatsJsonRoundTrip() throws Exception {
+        // Arrange
+        ObjectMapper objectMapper = new ObjectMapper();
+        Pokemon pokemon = new Pokemon(6, "charizard", "url", Arrays.asList(PokemonType.FIRE, PokemonType.FLYING),
+                new Pokemon.PokemonStats(78, 84, 78, 109, 85, 100));
 
         // Act
-        stats.setHp(hp);
-        stats.setAttack(attack);
-        stats.setDefense(defense);
-        stats.setSpecialAttack(specialAttack);
-        stats.setSpecialDefense(specialDefense);
-        stats.setSpeed(speed);
+        String json = objectMapper.writeValueAsString(pokemon);
+        Pokemon loaded = objectMapper.readValue(json, Pokemon.class);
+        Pokemon.PokemonStats partial = objectMapper.readValue("{\"hp\":45,\"speed\":90}", Pokemon.PokemonStats.class);
 
         // Assert
-        assertEquals(hp, stats.getHp());
-        assertEquals(attack, stats.getAttack());
-        assertEquals(defense, stats.getDefense());
-        assertEquals(specialAttack, stats.getSpecialAttack());
-        assertEquals(specialDefense, stats.getSpecialDefense());
-        assertEquals(speed, stats.getSpeed());
+        assertFalse(json.contains("total"));
+        assertEquals(pokemon.getStats(), loaded.getStats());
+        assertEquals(45, partial.getHp());
+        assertEquals(0, partial.getAttack());
+        assertEquals(90, partial.getSpeed());
     }
 
     @Test
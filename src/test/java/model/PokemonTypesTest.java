@@ -0,0 +1,100 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test class for PokemonTypes.
+ */
+public class PokemonTypesTest {
+
+    @Test
+    void testInterningKeepsOrder() {
+        PokemonTypes fireFlying = PokemonTypes.of(new ArrayList<>(Arrays.asList(PokemonType.FIRE, PokemonType.FLYING)));
+
+        assertSame(fireFlying, PokemonTypes.of(PokemonType.FIRE, PokemonType.FLYING));
+        assertSame(fireFlying, PokemonTypes.of(fireFlying));
+        assertNotSame(fireFlying, PokemonTypes.of(PokemonType.FLYING, PokemonType.FIRE));
+        assertEquals(Arrays.asList(PokemonType.FIRE, PokemonType.FLYING), fireFlying);
+        assertEquals(PokemonType.FIRE, fireFlying.get(0));
+        assertNull(PokemonTypes.of((List<PokemonType>) null));
+        assertThrows(UnsupportedOperationException.class, () -> fireFlying.add(PokemonType.WATER));
+    }
+
+    @Test
+    void testMaskMembership() {
+        PokemonTypes ghostFire = PokemonTypes.of(PokemonType.GHOST, PokemonType.FIRE);
+
+        assertEquals(PokemonType.GHOST.mask() | PokemonType.FIRE.mask(), ghostFire.mask());
+        assertTrue(ghostFire.has(PokemonType.FIRE));
+        assertTrue(ghostFire.contains(PokemonType.GHOST));
+        assertFalse(ghostFire.contains(PokemonType.WATER));
+        assertFalse(ghostFire.contains("FIRE"));
+        assertEquals(ghostFire.mask(), PokemonType.maskOf(Arrays.asList(PokemonType.FIRE, null, PokemonType.GHOST)));
+        assertEquals(0, PokemonTypes.EMPTY.mask());
+    }
+
+    @Test
+    void testPokemonSharesTypeLists() {
+        Pokemon charmander = new Pokemon(4, "charmander", null, new ArrayList<>(List.of(PokemonType.FIRE)), null);
+        Pokemon vulpix = new Pokemon(37, "vulpix", null, Arrays.asList(PokemonType.FIRE), null);
+        Pokemon missingTypes = new Pokemon(0, "missingno", null, null, null);
+
+        assertSame(charmander.getTypes(), vulpix.getTypes());
+        assertTrue(charmander.hasType(PokemonType.FIRE));
+        assertFalse(charmander.hasType(PokemonType.WATER));
+        assertFalse(missingTypes.hasType(PokemonType.NORMAL));
+
+        int before = PokemonTypes.internedCount();
+        for (int id = 0; id < 1000; id++) {
+            new Pokemon(id, "p" + id, null, Arrays.asList(PokemonType.FIRE), null);
+        }
+        assertEquals(before, PokemonTypes.internedCount());
+    }
+
+    @Test
+    void testUninternedLists() {
+        PokemonTypes withNull = PokemonTypes.of(Arrays.asList(PokemonType.WATER, null));
+        PokemonTypes three = PokemonTypes.of(PokemonType.BUG, PokemonType.ROCK, PokemonType.STEEL);
+
+        assertEquals(2, withNull.size());
+        assertTrue(withNull.contains(null));
+        assertTrue(withNull.has(PokemonType.WATER));
+        assertEquals(Arrays.asList(PokemonType.BUG, PokemonType.ROCK, PokemonType.STEEL), three);
+        assertTrue(three.has(PokemonType.STEEL));
+    }
+
+    @Test
+    void testSerializationRoundTrips() throws Exception {
+        Pokemon charizard = new Pokemon(6, "charizard", "url", Arrays.asList(PokemonType.FIRE, PokemonType.FLYING), null);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Pokemon fromJson = objectMapper.readValue(objectMapper.writeValueAsString(charizard), Pokemon.class);
+        assertSame(charizard.getTypes(), fromJson.getTypes());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(charizard);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertSame(charizard.getTypes(), ((Pokemon) in.readObject()).getTypes());
+        }
+    }
+
+    @Test
+    void testParsesApiNames() {
+        assertEquals(PokemonType.PSYCHIC, PokemonType.fromApiName("psychic"));
+        assertEquals(PokemonType.FAIRY, PokemonType.fromApiName("Fairy"));
+        assertThrows(IllegalArgumentException.class, () -> PokemonType.fromApiName("shadow"));
+    }
+}
@@ -0,0 +1,265 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Test class for QueryEngine.
+ */
+public class QueryEngineTest {
+
+    private static Pokemon pokemon(int id, String name, List<PokemonType> types, int hp, int attack, int speed) {
+        return new Pokemon(id, name, null, types, new Pokemon.PokemonStats(hp, attack, 40, 50, 50, speed));
+    }
+
+    private final Pokemon charmander = pokemon(4, "charmander", Arrays.asList(PokemonType.FIRE), 39, 52, 65);
+    private final Pokemon charizard = pokemon(6, "charizard",
+            Arrays.asList(PokemonType.FIRE, PokemonType.FLYING), 78, 84, 100);
+    private final Pokemon squirtle = pokemon(7, "squirtle", Arrays.asList(PokemonType.WATER), 44, 48, 43);
+    private final Pokemon pikachu = pokemon(25, "pikachu", Arrays.asList(PokemonType.ELECTRIC), 35, 55, 90);
+    private final Pokemon dragonite = pokemon(149, "dragonite",
+            Arrays.asList(PokemonType.DRAGON, PokemonType.FLYING), 91, 134, 80);
+    private final Pokemon chandelure = pokemon(609, "chandelure",
+            Arrays.asList(PokemonType.GHOST, PokemonType.FIRE), 60, 55, 80);
+
+    private QueryEngine engine() {
+        return new QueryEngine(Arrays.asList(charmander, charizard, squirtle, pikachu, dragonite, chandelure));
+    }
+
+    @Test
+    void testEmptyQueryReturnsCatalog() {
+        assertEquals(6, engine().execute(new PokemonQuery()).size());
+        assertEquals(Arrays.asList(charmander, charizard), engine().execute(new PokemonQuery().limit(2)));
+    }
+
+    @Test
+    void testCombinedQuery() {
+        QueryEngine engine = engine();
+
+        assertEquals(Arrays.asList(charizard, charmander), engine.execute(new PokemonQuery()
+                .nameContains("CHAR")
+                .withAnyType(PokemonType.FIRE)
+                .sortBy(SortIndex.Key.HP, true)));
+        assertEquals(Arrays.asList(charizard, pikachu, dragonite, chandelure), engine.execute(new PokemonQuery()
+                .statBetween(PokemonStat.SPEED, 80, 255)
+                .sortBy(SortIndex.Key.SPEED, true)));
+        assertEquals(Collections.singletonList(chandelure), engine.execute(new PokemonQuery()
+                .withAnyType(PokemonType.FIRE, PokemonType.DRAGON)
+                .withoutTypes(PokemonType.FLYING)
+                .statBetween(PokemonStat.SPEED, 70, 255)));
+        assertEquals(Arrays.asList(pikachu, chandelure), engine.execute(new PokemonQuery()
+                .statBetween(PokemonStat.ATTACK, 55, 55)
+                .statBetween(PokemonStat.HP, 0, 100)));
+        assertTrue(engine.execute(new PokemonQuery().nameContains("zzz").withAnyType(PokemonType.FIRE)).isEmpty());
+    }
+
+    @Test
+    void testTopK() {
+        QueryEngine engine = engine();
+
+        assertEquals(Arrays.asList(dragonite, charizard), engine.execute(new PokemonQuery()
+                .sortBy(SortIndex.Key.ATTACK, true)
+                .limit(2)));
+        assertEquals(Collections.singletonList(pikachu), engine.execute(new PokemonQuery()
+                .sortBy(SortIndex.Key.HP, false)
+                .limit(1)));
+        assertTrue(engine.execute(new PokemonQuery().sortBy(SortIndex.Key.NAME, false).limit(0)).isEmpty());
+    }
+
+    @Test
+    void testPlannerPicksMostSelectivePart() {
+        List<Pokemon> catalog = new ArrayList<>();
+        for (int id = 1; id <= 2000; id++) {
+            PokemonType type = id % 100 == 0 ? PokemonType.DRAGON : PokemonType.NORMAL;
+            catalog.add(pokemon(id, "mon" + id, Collections.singletonList(type), id % 256, id % 200, id % 150));
+        }
+        QueryEngine engine = new QueryEngine(catalog);
+
+        assertEquals(QueryEngine.Driver.ALL, engine.plan(new PokemonQuery()));
+        assertEquals(QueryEngine.Driver.TYPES, engine.plan(new PokemonQuery()
+                .withAllTypes(PokemonType.DRAGON)
+                .statBetween(PokemonStat.HP, 0, 200)));
+        assertEquals(QueryEngine.Driver.NAME, engine.plan(new PokemonQuery()
+                .nameContains("mon1234")
+                .withAllTypes(PokemonType.NORMAL)));
+        assertEquals(QueryEngine.Driver.STAT, engine.plan(new PokemonQuery()
+                .withAllTypes(PokemonType.NORMAL)
+                .statBetween(PokemonStat.SPEED, 3, 3)));
+        assertEquals(Arrays.asList(catalog.get(2), catalog.get(152), catalog.get(302)), engine.execute(new PokemonQuery()
+                .withAllTypes(PokemonType.NORMAL)
+                .statBetween(PokemonStat.SPEED, 3, 3)
+                .limit(3)));
+    }
+
+    @Test
+    void testMatchesBruteForce() {
+        // Test random combinations against filtering and stably sorting the whole catalog
+        Random random = new Random(42);
+        PokemonType[] types = PokemonType.values();
+        List<Pokemon> catalog = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            List<PokemonType> pokemonTypes = random.nextBoolean()
+                    ? Collections.singletonList(types[random.nextInt(types.length)])
+                    : Arrays.asList(types[random.nextInt(types.length)], types[random.nextInt(types.length)]);
+            catalog.add(pokemon(random.nextInt(1500), "p" + Integer.toString(random.nextInt(5000), 36),
+                    pokemonTypes, random.nextInt(256), random.nextInt(256), random.nextInt(256)));
+        }
+        QueryEngine engine = new QueryEngine(catalog);
+
+        for (int i = 0; i < 300; i++) {
+            PokemonQuery query = new PokemonQuery();
+            if (random.nextInt(3) == 0) {
+                query.nameContains(Integer.toString(random.nextInt(36 * 36), 36));
+            }
+            if (random.nextInt(3) == 0) {
+                query.withAnyType(types[random.nextInt(types.length)], types[random.nextInt(types.length)]);
+            }
+            if (random.nextInt(4) == 0) {
+                query.withoutTypes(types[random.nextInt(types.length)]);
+            }
+            for (PokemonStat stat : PokemonStat.values()) {
+                if (random.nextInt(4) == 0) {
+                    int min = random.nextInt(256);
+                    query.statBetween(stat, min, min + random.nextInt(256 - min));
+                }
+            }
+            if (random.nextBoolean()) {
+                SortIndex.Key[] keys = SortIndex.Key.values();
+                query.sortBy(keys[random.nextInt(keys.length)], random.nextBoolean());
+            }
+            if (random.nextBoolean()) {
+                query.limit(random.nextInt(40));
+            }
+
+            List<Pokemon> expected = bruteForce(catalog, query);
+            assertEquals(expected, engine.execute(query), "Query " + i);
+            assertEquals(expected, engine.stream(query).collect(Collectors.toList()), "Streamed query " + i);
+            assertEquals(expected, engine.stream(query).parallel().collect(Collectors.toList()), "Parallel query " + i);
+            assertEquals(expected, followCursors(engine, query, 1 + random.nextInt(50)), "Paged query " + i);
+            int offset = random.nextInt(expected.size() + 5);
+            PokemonPage page = engine.page(query, offset, 7);
+            assertEquals(expected.subList(Math.min(offset, expected.size()), Math.min(offset + 7, expected.size())),
+                    page.getPokemon(), "Offset page of query " + i);
+            assertEquals(expected.size(), page.getTotalCount(), "Total of query " + i);
+        }
+    }
+
+    @Test
+    void testPaging() {
+        QueryEngine engine = engine();
+        PokemonQuery byName = new PokemonQuery().sortBy(SortIndex.Key.NAME, false);
+
+        PokemonPage first = engine.page(byName, 0, 4);
+        assertEquals(Arrays.asList(chandelure, charizard, charmander, dragonite), first.getPokemon());
+        assertEquals(0, first.getOffset());
+        assertEquals(6, first.getTotalCount());
+        assertTrue(first.hasNext());
+        assertEquals(4, first.getNextCursor().getOffset());
+
+        PokemonPage last = QueryEngine.page(first.getNextCursor(), 4);
+        assertEquals(Arrays.asList(pikachu, squirtle), last.getPokemon());
+        assertEquals(4, last.getOffset());
+        assertFalse(last.hasNext());
+        assertNull(last.getNextCursor());
+
+        assertEquals(Arrays.asList(charmander, dragonite), engine.page(byName, 2, 2).getPokemon());
+        assertTrue(engine.page(byName, 10, 2).getPokemon().isEmpty());
+        assertEquals(6, engine.page(byName, 0, 0).getTotalCount());
+
+        PokemonPage fire = engine.page(new PokemonQuery().withAnyType(PokemonType.FIRE).limit(2), 1, 5);
+        assertEquals(Collections.singletonList(charizard), fire.getPokemon());
+        assertEquals(2, fire.getTotalCount());
+        assertThrows(UnsupportedOperationException.class, () -> fire.getPokemon().add(pikachu));
+    }
+
+    @Test
+    void testCursorOutlivesEngine() {
+        QueryEngine engine = new QueryEngine(Arrays.asList(charmander, charizard, squirtle, pikachu));
+        PokemonPage first = engine.page(new PokemonQuery().sortBy(SortIndex.Key.ID, true), 0, 2);
+        // The collection is replaced by building a new engine over a new list
+        engine = new QueryEngine(Collections.emptyList());
+        assertEquals(0, engine.page(new PokemonQuery(), 0, 2).getTotalCount());
+
+        assertEquals(Arrays.asList(pikachu, squirtle), first.getPokemon());
+        assertEquals(Arrays.asList(charizard, charmander), QueryEngine.page(first.getNextCursor(), 2).getPokemon());
+    }
+
+    @Test
+    void testInvalidQueries() {
+        assertThrows(IllegalArgumentException.class, () -> engine().execute(null));
+        assertThrows(IllegalArgumentException.class, () -> engine().stream(null));
+        assertThrows(IllegalArgumentException.class, () -> engine().page(null, 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> engine().page(new PokemonQuery(), -1, 10));
+        assertThrows(IllegalArgumentException.class, () -> engine().page(new PokemonQuery(), 0, -1));
+        assertThrows(IllegalArgumentException.class, () -> QueryEngine.page(null, 10));
+        assertThrows(IllegalArgumentException.class, () -> new PokemonQuery().statBetween(PokemonStat.HP, 10, 5));
+        assertThrows(IllegalArgumentException.class, () -> new PokemonQuery().statBetween(null, 0, 5));
+        assertThrows(IllegalArgumentException.class, () -> new PokemonQuery().limit(-1));
+        assertThrows(IllegalArgumentException.class, () -> new QueryEngine(null));
+    }
+
+    private static List<Pokemon> followCursors(QueryEngine engine, PokemonQuery query, int pageSize) {
+        PokemonPage page = engine.page(query, 0, pageSize);
+        List<Pokemon> results = new ArrayList<>(page.getPokemon());
+        while (page.hasNext()) {
+            page = QueryEngine.page(page.getNextCursor(), pageSize);
+            assertEquals(results.size(), page.getOffset());
+            results.addAll(page.getPokemon());
+        }
+        assertEquals(page.getTotalCount(), results.size());
+        return results;
+    }
+
+    private static List<Pokemon> bruteForce(List<Pokemon> catalog, PokemonQuery query) {
+        Predicate<Pokemon> matches = pokemon -> {
+            if (query.getNameText() != null
+                    && !pokemon.getName().toLowerCase(Locale.ROOT).contains(query.getNameText().toLowerCase(Locale.ROOT))) {
+                return false;
+            }
+            if (!pokemon.getTypes().containsAll(query.getAllOf())) {
+                return false;
+            }
+            if (!query.getAnyOf().isEmpty() && pokemon.getTypes().stream().noneMatch(query.getAnyOf()::contains)) {
+                return false;
+            }
+            if (pokemon.getTypes().stream().anyMatch(query.getNoneOf()::contains)) {
+                return false;
+            }
+            for (Map.Entry<PokemonStat, int[]> range : query.getStatRanges().entrySet()) {
+                int value = range.getKey().of(pokemon);
+                if (value < range.getValue()[0] || value > range.getValue()[1]) {
+                    return false;
+                }
+            }
+            return true;
+        };
+        List<Pokemon> results = new ArrayList<>();
+        for (Pokemon pokemon : catalog) {
+            if (matches.test(pokemon)) {
+                results.add(pokemon);
+            }
+        }
+        if (query.getSortKey() != null) {
+            Comparator<Pokemon> comparator = switch (query.getSortKey()) {
+                case NAME -> Comparator.comparing(Pokemon::getName);
+                case ID -> Comparator.comparingInt(Pokemon::getId);
+                default -> Comparator.comparingInt(pokemon ->
+                        PokemonStat.valueOf(query.getSortKey().name()).of(pokemon));
+            };
+            results.sort(query.isDescending() ? comparator.reversed() : comparator);
+        }
+        return results.subList(0, Math.min(results.size(), query.getLimit()));
+    }
+}
@@ -0,0 +1,128 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Test class for RetryQueue.
+ */
+public class RetryQueueTest {
+
+    private ScheduledExecutorService scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    private RetryQueue queueFor(IntFunction<CompletableFuture<Pokemon>> fetch, int maxRounds) {
+        return new RetryQueue(fetch, scheduler, Duration.ofMillis(5), Duration.ofMillis(20), maxRounds);
+    }
+
+    private static Pokemon pokemon(int id) {
+        return new Pokemon(id, "pokemon-" + id, null, Collections.singletonList(PokemonType.NORMAL),
+                new Pokemon.PokemonStats(1, 1, 1, 1, 1, 1));
+    }
+
+    /**
+     * Waits until the queue has no pending IDs, failing after a few seconds.
+     */
+    private static void awaitEmpty(RetryQueue queue) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!queue.getPendingIds().isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(queue.getPendingIds().isEmpty());
+    }
+
+    @Test
+    void testRecoveredPokemonReachListeners() throws Exception {
+        // Test that an ID failing transiently is retried until it succeeds and listeners receive it
+        AtomicInteger attempts = new AtomicInteger();
+        RetryQueue queue = queueFor(id -> attempts.incrementAndGet() < 3
+                ? CompletableFuture.failedFuture(new HttpStatusException("url", 503, null))
+                : CompletableFuture.completedFuture(pokemon(id)), 5);
+        CountDownLatch recovered = new CountDownLatch(1);
+        List<Pokemon> received = new CopyOnWriteArrayList<>();
+        queue.addListener(pokemon -> {
+            received.add(pokemon);
+            recovered.countDown();
+        });
+
+        queue.enqueue(7);
+
+        assertTrue(recovered.await(5, TimeUnit.SECONDS));
+        assertEquals(7, received.get(0).getId());
+        assertEquals(3, attempts.get());
+        awaitEmpty(queue);
+    }
+
+    @Test
+    void testPermanentFailureIsGivenUp() throws Exception {
+        // Test that an ID failing permanently is dropped after one attempt
+        AtomicInteger attempts = new AtomicInteger();
+        RetryQueue queue = queueFor(id -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.failedFuture(new HttpStatusException("url", 404, null));
+        }, 5);
+
+        queue.enqueue(7);
+
+        awaitEmpty(queue);
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void testIdIsGivenUpAfterMaxRounds() throws Exception {
+        // Test that an ID that never recovers stops being retried after the last round
+        AtomicInteger attempts = new AtomicInteger();
+        RetryQueue queue = queueFor(id -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.failedFuture(new HttpStatusException("url", 429, null));
+        }, 3);
+
+        queue.enqueue(1);
+
+        awaitEmpty(queue);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void testDuplicateIdIsQueuedOnce() {
+        // Test that queueing an ID already waiting does not schedule a second retry
+        CompletableFuture<Pokemon> neverDone = new CompletableFuture<>();
+        AtomicInteger attempts = new AtomicInteger();
+        RetryQueue queue = new RetryQueue(id -> {
+            attempts.incrementAndGet();
+            return neverDone;
+        }, scheduler, Duration.ofSeconds(10), Duration.ofSeconds(10), 1);
+
+        queue.enqueue(3);
+        queue.enqueue(3);
+        queue.enqueue(4);
+
+        assertEquals(2, queue.getPendingIds().size());
+        assertTrue(queue.getPendingIds().contains(3));
+        assertEquals(0, attempts.get());
+    }
+}
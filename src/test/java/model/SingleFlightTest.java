@@ -0,0 +1,90 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for SingleFlight.
+ */
+public class SingleFlightTest {
+
+    @Test
+    void testAsyncCallersShareInFlightWork() {
+        // Test that a second caller for the same key joins the first caller's work
+        SingleFlight<Integer, String> singleFlight = new SingleFlight<>();
+        CompletableFuture<String> work = new CompletableFuture<>();
+        AtomicInteger starts = new AtomicInteger();
+
+        CompletableFuture<String> first = singleFlight.executeAsync(1, () -> {
+            starts.incrementAndGet();
+            return work;
+        });
+        CompletableFuture<String> second = singleFlight.executeAsync(1, () -> {
+            starts.incrementAndGet();
+            return CompletableFuture.completedFuture("duplicate");
+        });
+        work.complete("shared");
+
+        assertEquals("shared", first.join());
+        assertEquals("shared", second.join());
+        assertEquals(1, starts.get());
+        assertEquals(1, singleFlight.getCoalescedCount());
+        assertEquals(0, singleFlight.getInFlightCount());
+    }
+
+    @Test
+    void testDifferentKeysDoNotShare() {
+        // Test that work for different keys runs separately
+        SingleFlight<Integer, String> singleFlight = new SingleFlight<>();
+
+        CompletableFuture<String> one = singleFlight.executeAsync(1, () -> CompletableFuture.completedFuture("one"));
+        CompletableFuture<String> two = singleFlight.executeAsync(2, () -> CompletableFuture.completedFuture("two"));
+
+        assertEquals("one", one.join());
+        assertEquals("two", two.join());
+        assertEquals(0, singleFlight.getCoalescedCount());
+    }
+
+    @Test
+    void testKeyIsReleasedAfterCompletion() throws Exception {
+        // Test that a caller arriving after the work finished starts new work
+        SingleFlight<Integer, String> singleFlight = new SingleFlight<>();
+        AtomicInteger starts = new AtomicInteger();
+
+        singleFlight.execute(1, () -> "first " + starts.incrementAndGet());
+        String second = singleFlight.execute(1, () -> "second " + starts.incrementAndGet());
+
+        assertEquals("second 2", second);
+        assertEquals(0, singleFlight.getInFlightCount());
+    }
+
+    @Test
+    void testBlockingFailureIsRethrownAndReleased() {
+        // Test that a failing blocking call rethrows its IOException and frees the key
+        SingleFlight<Integer, String> singleFlight = new SingleFlight<>();
+
+        assertThrows(IOException.class, () -> singleFlight.execute(1, () -> {
+            throw new IOException("boom");
+        }));
+        assertEquals(0, singleFlight.getInFlightCount());
+    }
+
+    @Test
+    void testCancellingOneCallerDoesNotCancelOthers() {
+        // Test that each caller gets its own view of the shared future
+        SingleFlight<Integer, String> singleFlight = new SingleFlight<>();
+        CompletableFuture<String> work = new CompletableFuture<>();
+
+        CompletableFuture<String> first = singleFlight.executeAsync(1, () -> work);
+        CompletableFuture<String> second = singleFlight.executeAsync(1, () -> work);
+        first.cancel(true);
+        work.complete("done");
+
+        assertEquals("done", second.join());
+    }
+}
@@ -0,0 +1,221 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Test class for SortIndex.
+ */
+public class SortIndexTest {
+
+    private static Pokemon pokemon(int id, String name, int hp, int speed) {
+        return new Pokemon(id, name, null, Collections.singletonList(PokemonType.NORMAL),
+                new Pokemon.PokemonStats(hp, 10, 10, 10, 10, speed));
+    }
+
+    private final Pokemon bulbasaur = pokemon(1, "bulbasaur", 45, 45);
+    private final Pokemon charmander = pokemon(4, "charmander", 39, 65);
+    private final Pokemon squirtle = pokemon(7, "squirtle", 44, 43);
+    private final Pokemon pikachu = pokemon(25, "pikachu", 35, 90);
+    private final Pokemon eevee = pokemon(133, "eevee", 55, 55);
+
+    private SortIndex index() {
+        return new SortIndex(Arrays.asList(squirtle, pikachu, bulbasaur, eevee, charmander));
+    }
+
+    @Test
+    void testAscendingAndDescending() {
+        SortIndex index = index();
+
+        assertEquals(Arrays.asList(bulbasaur, charmander, eevee, pikachu, squirtle),
+                index.select(null, SortIndex.Key.NAME, false));
+        assertEquals(Arrays.asList(squirtle, pikachu, eevee, charmander, bulbasaur),
+                index.select(null, SortIndex.Key.NAME, true));
+        assertEquals(Arrays.asList(eevee, pikachu, squirtle, charmander, bulbasaur),
+                index.select(null, SortIndex.Key.ID, true));
+        assertEquals(Arrays.asList(eevee, bulbasaur, squirtle, charmander, pikachu),
+                index.select(null, SortIndex.Key.HP, true));
+        assertEquals(Arrays.asList(squirtle, bulbasaur, eevee, charmander, pikachu),
+                index.select(null, SortIndex.Key.SPEED, false));
+    }
+
+    @Test
+    void testFilteredSelection() {
+        SortIndex index = index();
+        BitSet positions = new BitSet();
+        positions.set(0); // squirtle
+        positions.set(2); // bulbasaur
+        positions.set(4); // charmander
+
+        assertEquals(Arrays.asList(bulbasaur, charmander, squirtle), index.select(positions, SortIndex.Key.ID, false));
+        assertEquals(Arrays.asList(squirtle, charmander, bulbasaur), index.select(positions, SortIndex.Key.ID, true));
+        assertTrue(index.select(new BitSet(), SortIndex.Key.NAME, false).isEmpty());
+    }
+
+    @Test
+    void testTiesKeepCatalogOrderInBothDirections() {
+        Pokemon first = pokemon(10, "caterpie", 45, 45);
+        Pokemon second = pokemon(11, "metapod", 50, 30);
+        Pokemon third = pokemon(12, "butterfree", 60, 70);
+        Pokemon fourth = pokemon(13, "weedle", 40, 50);
+        SortIndex index = new SortIndex(Arrays.asList(first, second, third, fourth));
+
+        // All four have attack 10
+        assertEquals(Arrays.asList(first, second, third, fourth), index.select(null, SortIndex.Key.ATTACK, false));
+        assertEquals(Arrays.asList(first, second, third, fourth), index.select(null, SortIndex.Key.ATTACK, true));
+    }
+
+    @Test
+    void testMatchesStableComparatorSort() {
+        // Test every key and direction against the stable sort the list panel used to do
+        Random random = new Random(42);
+        List<Pokemon> catalog = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            catalog.add(new Pokemon(random.nextInt(300), "p" + random.nextInt(50),
+                    null, Collections.singletonList(PokemonType.NORMAL),
+                    new Pokemon.PokemonStats(random.nextInt(20), random.nextInt(20), random.nextInt(20),
+                            random.nextInt(20), random.nextInt(20), random.nextInt(20))));
+        }
+        SortIndex index = new SortIndex(catalog);
+
+        // Half the catalog walks the cached order; one in twenty is sorted by rank
+        for (int oneIn : new int[] {2, 20}) {
+            BitSet positions = new BitSet();
+            for (int i = 0; i < catalog.size(); i++) {
+                if (random.nextInt(oneIn) == 0) {
+                    positions.set(i);
+                }
+            }
+            List<Pokemon> filtered = new ArrayList<>();
+            positions.stream().forEach(position -> filtered.add(catalog.get(position)));
+
+            for (SortIndex.Key key : SortIndex.Key.values()) {
+                Comparator<Pokemon> comparator = comparator(key);
+                List<Pokemon> ascending = new ArrayList<>(filtered);
+                ascending.sort(comparator);
+                List<Pokemon> descending = new ArrayList<>(filtered);
+                descending.sort(comparator.reversed());
+
+                assertEquals(ascending, index.select(positions, key, false), key + " ascending, 1 in " + oneIn);
+                assertEquals(descending, index.select(positions, key, true), key + " descending, 1 in " + oneIn);
+            }
+        }
+
+        // The views cover the whole catalog, so compare them with sorting all of it
+        for (SortIndex.Key key : SortIndex.Key.values()) {
+            List<Pokemon> ascending = new ArrayList<>(catalog);
+            ascending.sort(comparator(key));
+            List<Pokemon> descending = new ArrayList<>(catalog);
+            descending.sort(comparator(key).reversed());
+
+            assertEquals(ascending, index.view(key, false), key + " ascending view");
+            assertEquals(descending, index.view(key, true), key + " descending view");
+            assertEquals(descending, index.view(key, true).parallelStream().collect(Collectors.toList()),
+                    key + " descending parallel stream");
+        }
+    }
+
+    @Test
+    void testViewsAreReadOnlyAndShared() {
+        SortIndex index = index();
+        List<Pokemon> bySpeed = index.view(SortIndex.Key.SPEED, true);
+
+        assertEquals(Arrays.asList(pikachu, charmander, eevee, bulbasaur, squirtle), bySpeed);
+        assertSame(index.permutation(SortIndex.Key.SPEED, true), index.permutation(SortIndex.Key.SPEED, true));
+        assertThrows(UnsupportedOperationException.class, () -> bySpeed.set(0, eevee));
+        assertThrows(UnsupportedOperationException.class, bySpeed::clear);
+    }
+
+    @Test
+    void testLimitedSelection() {
+        // Test both the walk that stops early and the bounded heap against a sorted prefix
+        Random random = new Random(7);
+        List<Pokemon> catalog = new ArrayList<>();
+        for (int i = 0; i < 4000; i++) {
+            catalog.add(pokemon(random.nextInt(500), "p" + i, random.nextInt(30), random.nextInt(30)));
+        }
+        SortIndex index = new SortIndex(catalog);
+        for (int oneIn : new int[] {1, 50}) {
+            BitSet positions = new BitSet();
+            for (int i = 0; i < catalog.size(); i += oneIn) {
+                positions.set(i);
+            }
+            for (boolean descending : new boolean[] {false, true}) {
+                List<Pokemon> all = index.select(positions, SortIndex.Key.HP, descending);
+                for (int limit : new int[] {0, 1, 7, 60, 100000}) {
+                    assertEquals(all.subList(0, Math.min(limit, all.size())),
+                            index.select(positions, SortIndex.Key.HP, descending, limit),
+                            "1 in " + oneIn + ", limit " + limit + (descending ? ", descending" : ""));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testRanges() {
+        SortIndex index = index();
+
+        assertEquals(3, index.countInRange(SortIndex.Key.HP, 39, 45));
+        assertEquals(0, index.countInRange(SortIndex.Key.HP, 46, 54));
+        assertEquals(5, index.countInRange(SortIndex.Key.ID, Integer.MIN_VALUE, Integer.MAX_VALUE));
+        BitSet positions = index.positionsInRange(SortIndex.Key.SPEED, 50, 70);
+        assertEquals(Arrays.asList(charmander, eevee), index.select(positions, SortIndex.Key.SPEED, true));
+        assertThrows(IllegalArgumentException.class, () -> index.countInRange(SortIndex.Key.NAME, 0, 1));
+    }
+
+    @Test
+    void testMissingValues() {
+        Pokemon nameless = new Pokemon(2, null, null, Collections.singletonList(PokemonType.NORMAL), null);
+        Pokemon negative = pokemon(-1, "glitch", -5, 0);
+        SortIndex index = new SortIndex(Arrays.asList(bulbasaur, nameless, negative));
+
+        assertEquals(Arrays.asList(nameless, bulbasaur, negative), index.select(null, SortIndex.Key.NAME, false));
+        assertEquals(Arrays.asList(negative, nameless, bulbasaur), index.select(null, SortIndex.Key.HP, false));
+        assertArrayEquals(new int[] {2, 0, 1}, index.order(SortIndex.Key.ID));
+    }
+
+    @Test
+    void testNullCatalog() {
+        assertThrows(IllegalArgumentException.class, () -> new SortIndex(null));
+    }
+
+    private static Comparator<Pokemon> comparator(SortIndex.Key key) {
+        ToIntFunction<Pokemon.PokemonStats> stat;
+        switch (key) {
+            case NAME:
+                return Comparator.comparing(Pokemon::getName);
+            case ID:
+                return Comparator.comparingInt(Pokemon::getId);
+            case HP:
+                stat = Pokemon.PokemonStats::getHp;
+                break;
+            case ATTACK:
+                stat = Pokemon.PokemonStats::getAttack;
+                break;
+            case DEFENSE:
+                stat = Pokemon.PokemonStats::getDefense;
+                break;
+            case SPECIAL_ATTACK:
+                stat = Pokemon.PokemonStats::getSpecialAttack;
+                break;
+            case SPECIAL_DEFENSE:
+                stat = Pokemon.PokemonStats::getSpecialDefense;
+                break;
+            default:
+                stat = Pokemon.PokemonStats::getSpeed;
+                break;
+        }
+        return Comparator.comparingInt(pokemon -> stat.applyAsInt(pokemon.getStats()));
+    }
+}
@@ -0,0 +1,232 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test class for TeamJournal.
+ */
+public class TeamJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static List<Pokemon> team(int firstId, int size) {
+        List<Pokemon> team = new ArrayList<>(size);
+        for (int id = firstId; id < firstId + size; id++) {
+            team.add(new Pokemon(id, "pokemon-" + id,
+                    "https://raw.githubusercontent.com/PokeAPI/sprites/master/sprites/pokemon/" + id + ".png",
+                    Arrays.asList(PokemonType.FIRE), new Pokemon.PokemonStats(39, 52, 43, 60, 50, 65)));
+        }
+        return team;
+    }
+
+    @Test
+    void testCreateUpdateDeleteAndLoad() throws IOException {
+        // Test each record type against what loadTeam returns
+        try (TeamJournal journal = new TeamJournal(tempDir)) {
+            int first = journal.createTeam(team(1, 3));
+            int second = journal.createTeam(team(10, 2));
+            assertEquals(1, first);
+            assertEquals(2, second);
+
+            journal.updateTeam(first, team(20, 6));
+            assertTrue(journal.deleteTeam(second));
+            assertFalse(journal.deleteTeam(second));
+
+            List<Pokemon> loaded = journal.loadTeam(first);
+            assertEquals(6, loaded.size());
+            assertEquals("pokemon-20", loaded.get(0).getName());
+            assertEquals(Arrays.asList(PokemonType.FIRE), loaded.get(5).getTypes());
+            assertNull(journal.loadTeam(second));
+            assertArrayEquals(new int[] {first}, journal.getTeamIds());
+        }
+    }
+
+    @Test
+    void testInvalidTeams() throws IOException {
+        // Test that empty teams and unknown IDs are rejected
+        try (TeamJournal journal = new TeamJournal(tempDir)) {
+            assertThrows(IllegalArgumentException.class, () -> journal.createTeam(new ArrayList<>()));
+            assertThrows(IllegalArgumentException.class, () -> journal.createTeam(null));
+            assertThrows(IllegalArgumentException.class, () -> journal.updateTeam(42, team(1, 1)));
+            assertEquals(0, journal.getTeamCount());
+        }
+    }
+
+    @Test
+    void testSaveAppendsOnlyTheTeam() throws IOException {
+        // Test that a save grows the log by the same amount however many teams already exist
+        try (TeamJournal journal = new TeamJournal(tempDir)) {
+            long before = journal.getLogSize();
+            journal.createTeam(team(1, 6));
+            long firstSave = journal.getLogSize() - before;
+
+            for (int i = 0; i < 200; i++) {
+                journal.createTeam(team(1, 6));
+            }
+            before = journal.getLogSize();
+            journal.createTeam(team(1, 6));
+            assertEquals(firstSave, journal.getLogSize() - before);
+            try (var files = Files.list(tempDir)) {
+                assertEquals(1, files.count(), "Saving teams should not create files");
+            }
+        }
+    }
+
+    @Test
+    void testReopenUsesIndexAndReplaysTail() throws IOException {
+        // Test that teams saved after the last index checkpoint survive a reopen
+        TeamJournal journal = new TeamJournal(tempDir);
+        journal.createTeam(team(1, 2));
+        journal.close();
+        assertTrue(Files.exists(tempDir.resolve(TeamJournal.INDEX_FILE)));
+
+        journal = new TeamJournal(tempDir);
+        int second = journal.createTeam(team(5, 3));
+        journal.deleteTeam(1);
+        // Simulate a crash: the index is not rewritten for the records above
+        Files.copy(tempDir.resolve(TeamJournal.LOG_FILE), tempDir.resolve("crashed.log"));
+        journal.close();
+        Files.move(tempDir.resolve("crashed.log"), tempDir.resolve(TeamJournal.LOG_FILE),
+                java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+
+        try (TeamJournal reopened = new TeamJournal(tempDir)) {
+            assertArrayEquals(new int[] {second}, reopened.getTeamIds());
+            assertEquals(3, reopened.loadTeam(second).size());
+            assertEquals(3, reopened.createTeam(team(1, 1)), "Team IDs should not be reused");
+        }
+    }
+
+    @Test
+    void testReopenWithoutIndex() throws IOException {
+        // Test that a missing index just means replaying the whole log
+        try (TeamJournal journal = new TeamJournal(tempDir)) {
+            journal.createTeam(team(1, 2));
+            journal.createTeam(team(3, 4));
+        }
+        Files.delete(tempDir.resolve(TeamJournal.INDEX_FILE));
+
+        try (TeamJournal reopened = new TeamJournal(tempDir)) {
+            assertEquals(2, reopened.getTeamCount());
+            assertEquals("pokemon-6", reopened.loadTeam(2).get(3).getName());
+        }
+    }
+
+    @Test
+    void testTornRecordIsDiscarded() throws IOException {
+        // Test that a record cut short by a crash is dropped and later saves follow the last good record
+        long goodSize;
+        try (TeamJournal journal = new TeamJournal(tempDir)) {
+            journal.createTeam(team(1, 2));
+            goodSize = journal.getLogSize();
+            journal.createTeam(team(3, 5));
+        }
+        Files.delete(tempDir.resolve(TeamJournal.INDEX_FILE));
+        try (FileChannel log = FileChannel.open(tempDir.resolve(TeamJournal.LOG_FILE), StandardOpenOption.WRITE)) {
+            log.truncate(goodSize + 20);
+        }
+
+        try (TeamJournal reopened = new TeamJournal(tempDir)) {
+            assertArrayEquals(new int[] {1}, reopened.getTeamIds());
+            assertEquals(goodSize, reopened.getLogSize());
+            int next = reopened.createTeam(team(7, 1));
+            assertEquals("pokemon-7", reopened.loadTeam(next).get(0).getName());
+        }
+    }
+
+    @Test
+    void testCompactDropsDeadRecords() throws IOException {
+        // Test that compaction keeps only the latest record of each live team
+        try (TeamJournal journal = new TeamJournal(tempDir)) {
+            int kept = journal.createTeam(team(1, 6));
+            int deleted = journal.createTeam(team(1, 6));
+            for (int i = 0; i < 50; i++) {
+                journal.updateTeam(kept, team(i + 1, 6));
+            }
+            journal.deleteTeam(deleted);
+            long before = journal.getLogSize();
+
+            journal.compact();
+
+            assertTrue(journal.getLogSize() < before / 10);
+            // The log header and the next team ID record are all that is left beyond the live teams
+            assertEquals(journal.getLiveBytes() + 16 + 13, journal.getLogSize());
+            assertEquals("pokemon-50", journal.loadTeam(kept).get(0).getName());
+            journal.createTeam(team(100, 1));
+        }
+
+        try (TeamJournal reopened = new TeamJournal(tempDir)) {
+            assertEquals(2, reopened.getTeamCount());
+            assertEquals("pokemon-50", reopened.loadTeam(1).get(0).getName());
+        }
+    }
+
+    @Test
+    void testCompactedTeamIdsAreNotReusedAfterFullReplay() throws IOException {
+        // Test that a compacted log remembers the next team ID when the index is lost
+        try (TeamJournal journal = new TeamJournal(tempDir)) {
+            journal.createTeam(team(1, 2));
+            int deleted = journal.createTeam(team(3, 2));
+            assertEquals(2, deleted);
+            journal.deleteTeam(deleted);
+            journal.compact();
+        }
+        Files.delete(tempDir.resolve(TeamJournal.INDEX_FILE));
+
+        try (TeamJournal reopened = new TeamJournal(tempDir)) {
+            assertArrayEquals(new int[] {1}, reopened.getTeamIds());
+            assertEquals(3, reopened.createTeam(team(5, 1)));
+        }
+    }
+
+    @Test
+    void testBackgroundCompaction() throws IOException, InterruptedException {
+        // Test that the background task compacts once dead records outweigh live ones
+        try (TeamJournal journal = new TeamJournal(tempDir, Duration.ofMillis(20))) {
+            int teamId = journal.createTeam(team(1, 30));
+            for (int i = 0; i < 100; i++) {
+                journal.updateTeam(teamId, team(i + 1, 30));
+            }
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (journal.getCompactionCount() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertTrue(journal.getCompactionCount() > 0, "Journal should have been compacted");
+            assertEquals("pokemon-100", journal.loadTeam(teamId).get(0).getName());
+        }
+    }
+
+    @Test
+    void testClosedJournalRejectsWrites() throws IOException {
+        // Test that a closed journal fails instead of writing to a closed file
+        TeamJournal journal = new TeamJournal(tempDir);
+        journal.close();
+        journal.close();
+
+        assertThrows(IOException.class, () -> journal.createTeam(team(1, 1)));
+    }
+
+    @Test
+    void testRejectsOtherFiles() throws IOException {
+        // Test that a log file that is not a journal is not overwritten
+        Files.writeString(tempDir.resolve(TeamJournal.LOG_FILE), "not a journal at all");
+
+        assertThrows(IOException.class, () -> new TeamJournal(tempDir));
+        assertEquals("not a journal at all", Files.readString(tempDir.resolve(TeamJournal.LOG_FILE)));
+    }
+}
@@ -0,0 +1,135 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Test class for TypeIndex.
+ */
+public class TypeIndexTest {
+
+    private static Pokemon pokemon(int id, PokemonType... types) {
+        return new Pokemon(id, "pokemon-" + id, null, Arrays.asList(types), null);
+    }
+
+    private final Pokemon charizard = pokemon(6, PokemonType.FIRE, PokemonType.FLYING);
+    private final Pokemon charmander = pokemon(4, PokemonType.FIRE);
+    private final Pokemon pidgey = pokemon(16, PokemonType.NORMAL, PokemonType.FLYING);
+    private final Pokemon lapras = pokemon(131, PokemonType.WATER, PokemonType.ICE);
+
+    private TypeIndex index() {
+        return new TypeIndex(Arrays.asList(charizard, charmander, pidgey, lapras));
+    }
+
+    @Test
+    void testSingleTypeKeepsCatalogOrder() {
+        TypeIndex index = index();
+
+        assertEquals(Arrays.asList(charizard, charmander), index.filter(PokemonType.FIRE));
+        assertEquals(Arrays.asList(charizard, pidgey), index.filter(PokemonType.FLYING));
+        assertTrue(index.filter(PokemonType.GHOST).isEmpty());
+        assertEquals(4, index.filter((PokemonType) null).size());
+        assertEquals(2, index.count(PokemonType.FLYING));
+    }
+
+    @Test
+    void testCombinations() {
+        TypeIndex index = index();
+
+        assertEquals(Collections.singletonList(charizard),
+                index.filter(Set.of(PokemonType.FIRE, PokemonType.FLYING), null, null));
+        assertEquals(Arrays.asList(charmander, lapras),
+                index.filter(null, Set.of(PokemonType.FIRE, PokemonType.ICE), Set.of(PokemonType.FLYING)));
+        assertEquals(Collections.singletonList(pidgey),
+                index.filter(Set.of(PokemonType.FLYING), null, Set.of(PokemonType.FIRE)));
+        assertEquals(4, index.filter(Set.of(), Set.of(), Set.of()).size());
+    }
+
+    @Test
+    void testMatchesScanOnRandomCatalog() {
+        // Test that every combination agrees with checking each Pokemon's type list
+        Random random = new Random(42);
+        PokemonType[] types = PokemonType.values();
+        List<Pokemon> catalog = new ArrayList<>();
+        for (int id = 1; id <= 3000; id++) {
+            PokemonType first = types[random.nextInt(types.length)];
+            catalog.add(random.nextBoolean() ? pokemon(id, first)
+                    : pokemon(id, first, types[random.nextInt(types.length)]));
+        }
+        TypeIndex index = new TypeIndex(catalog);
+
+        for (int i = 0; i < 50; i++) {
+            Set<PokemonType> allOf = EnumSet.of(types[random.nextInt(types.length)]);
+            Set<PokemonType> anyOf = EnumSet.of(types[random.nextInt(types.length)], types[random.nextInt(types.length)]);
+            Set<PokemonType> noneOf = EnumSet.of(types[random.nextInt(types.length)]);
+            List<Pokemon> expected = catalog.stream()
+                    .filter(p -> p.getTypes().containsAll(allOf))
+                    .filter(p -> anyOf.stream().anyMatch(p.getTypes()::contains))
+                    .filter(p -> noneOf.stream().noneMatch(p.getTypes()::contains))
+                    .collect(Collectors.toList());
+            assertEquals(expected, index.filter(allOf, anyOf, noneOf));
+        }
+    }
+
+    @Test
+    void testViews() {
+        TypeIndex index = index();
+        List<Pokemon> flying = index.view(PokemonType.FLYING);
+
+        assertEquals(Arrays.asList(charizard, pidgey), flying);
+        assertEquals(Arrays.asList(charizard, pidgey), flying.parallelStream().collect(Collectors.toList()));
+        assertTrue(index.view(PokemonType.DRAGON).isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> flying.remove(0));
+
+        // Adding drops the cached positions, and earlier views keep what they had
+        Pokemon zubat = pokemon(41, PokemonType.POISON, PokemonType.FLYING);
+        index.add(zubat);
+        assertEquals(Arrays.asList(charizard, pidgey, zubat), index.view(PokemonType.FLYING));
+        assertEquals(2, flying.size());
+    }
+
+    @Test
+    void testAddAndCopies() {
+        TypeIndex index = new TypeIndex(new ArrayList<>());
+        assertEquals(0, index.add(charmander));
+        assertEquals(1, index.add(new Pokemon(7, "squirtle", null, null, null)));
+        assertEquals(2, index.size());
+
+        BitSet fire = index.positionsOf(PokemonType.FIRE);
+        fire.clear();
+        assertEquals(Collections.singletonList(charmander), index.filter(PokemonType.FIRE));
+    }
+
+    @Test
+    void testBuiltFromColumns() {
+        List<Pokemon> catalog = Arrays.asList(charizard, null, charmander, pidgey,
+                new Pokemon(7, "squirtle", null, null, null), lapras);
+        TypeIndex fromObjects = new TypeIndex(catalog);
+        TypeIndex fromColumns = new TypeIndex(catalog, new PokemonColumns(catalog));
+
+        for (PokemonType type : PokemonType.values()) {
+            assertEquals(fromObjects.positionsOf(type), fromColumns.positionsOf(type), type.name());
+        }
+        assertEquals(Arrays.asList(charizard, pidgey), fromColumns.filter(PokemonType.FLYING));
+        assertThrows(IllegalArgumentException.class, () -> new TypeIndex(catalog, new PokemonColumns(List.of())));
+        // The index shares the catalog instead of copying it, so it cannot grow it
+        assertThrows(IllegalStateException.class, () -> fromColumns.add(charmander));
+        assertThrows(UnsupportedOperationException.class, () -> fromColumns.filter((PokemonType) null).clear());
+    }
+
+    @Test
+    void testNullCatalog() {
+        assertThrows(IllegalArgumentException.class, () -> new TypeIndex(null));
+    }
+}
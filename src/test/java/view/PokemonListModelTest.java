@@ -0,0 +1,104 @@
+package view;
+
+import model.Pokemon;
+import model.PokemonType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for PokemonListModel.
+ */
+public class PokemonListModelTest {
+
+    private PokemonListModel model;
+    private List<ListDataEvent> events;
+    private List<Pokemon> pokemon;
+
+    @BeforeEach
+    public void setUp() {
+        model = new PokemonListModel();
+        events = new ArrayList<>();
+        model.addListDataListener(new ListDataListener() {
+            public void intervalAdded(ListDataEvent e) { events.add(e); }
+            public void intervalRemoved(ListDataEvent e) { events.add(e); }
+            public void contentsChanged(ListDataEvent e) { events.add(e); }
+        });
+        pokemon = Arrays.asList(
+                new Pokemon(1, "bulbasaur", null, List.of(PokemonType.GRASS), null),
+                new Pokemon(4, "charmander", null, List.of(PokemonType.FIRE), null),
+                new Pokemon(7, "squirtle", null, List.of(PokemonType.WATER), null));
+    }
+
+    @Test
+    public void testRowsFollowPositions() {
+        model.setRows(pokemon, new int[] {2, 0});
+
+        assertEquals(2, model.getSize());
+        assertEquals(pokemon.get(2), model.getElementAt(0).getPokemon());
+        assertEquals(pokemon.get(0), model.getElementAt(1).getPokemon());
+        assertThrows(IndexOutOfBoundsException.class, () -> model.getElementAt(2));
+
+        model.setPokemon(pokemon);
+        assertEquals(3, model.size());
+        assertEquals(pokemon.get(1), model.getElementAt(1).getPokemon());
+    }
+
+    @Test
+    public void testEachUpdateFiresOneChange() {
+        model.setPokemon(pokemon);
+        model.setRows(pokemon, new int[] {1});
+        model.clear();
+        model.clear();
+
+        assertEquals(3, events.size(), "Clearing an empty model should fire nothing");
+        for (ListDataEvent event : events) {
+            assertEquals(ListDataEvent.CONTENTS_CHANGED, event.getType());
+            assertEquals(0, event.getIndex0());
+        }
+        assertEquals(2, events.get(0).getIndex1());
+        assertEquals(2, events.get(1).getIndex1(), "Shrinking should cover the rows that went away");
+        assertEquals(0, events.get(2).getIndex1());
+    }
+
+    @Test
+    public void testItemsAreCreatedLazilyAndKept() {
+        model.setPokemon(pokemon);
+        assertEquals(0, model.createdCount());
+
+        CheckBoxListItem item = model.getElementAt(1);
+        item.setSelected(true);
+        assertSame(item, model.getElementAt(1));
+        assertEquals(1, model.createdCount());
+        assertEquals(Collections.singletonList(pokemon.get(1)), model.getCheckedPokemon());
+        assertEquals(1, model.createdCount(), "Collecting checked rows should not create items");
+
+        model.setRows(pokemon, new int[] {1});
+        assertFalse(model.getElementAt(0).isSelected(), "Replacing the rows should start with fresh items");
+        assertTrue(model.getCheckedPokemon().isEmpty());
+    }
+
+    @Test
+    public void testCheckPokemonWithIdsTicksOnlyThoseRows() {
+        model.setRows(pokemon, new int[] {2, 1, 0});
+
+        model.checkPokemonWithIds(Set.of(1, 7, 99));
+
+        assertEquals(Arrays.asList(pokemon.get(2), pokemon.get(0)), model.getCheckedPokemon());
+        assertEquals(2, model.createdCount(), "Only the ticked rows should have items");
+    }
+
+    @Test
+    public void testNullSourceRejected() {
+        assertThrows(IllegalArgumentException.class, () -> model.setRows(null, new int[0]));
+    }
+}
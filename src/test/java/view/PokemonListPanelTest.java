@@ -1,12 +1,16 @@
 package view;
 
+import model.IPokemonModel;
 import model.Pokemon;
 import model.PokemonType;
 import controller.IPokemonController;
+import controller.PokemonController;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import javax.swing.*;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.lang.reflect.Field;
@@ -17,6 +21,7 @@ import java.util.List;
 import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -29,14 +34,15 @@ public class PokemonListPanelTest {
     private JComboBox<Object> sortOptions;
     private JButton saveButton;
     private JList<CheckBoxListItem> pokemonList;
-    private DefaultListModel<CheckBoxListItem> listModel;
+    private PokemonListModel listModel;
     private List<Pokemon> testPokemonList;
 
     @BeforeEach
     public void setUp() {
-        mockController = mock(IPokemonController.class);
-        listPanel = new PokemonListPanel(mockController);
         testPokemonList = createTestPokemonList();
+        // Filters and searches are answered by a real controller holding the panel's list
+        mockController = mock(IPokemonController.class, delegatesTo(controllerFor(testPokemonList)));
+        listPanel = new PokemonListPanel(mockController);
 
         searchField = getPrivateField(listPanel, "searchField");
         typeFilter = getPrivateField(listPanel, "typeFilter");
@@ -44,8 +50,6 @@ public class PokemonListPanelTest {
         saveButton = getPrivateField(listPanel, "saveButton");
         pokemonList = getPrivateField(listPanel, "pokemonList");
         listModel = getPrivateField(listPanel, "listModel");
-
-        setPrivateField(listPanel, "fullPokemonList", new ArrayList<>(testPokemonList));
     }
 
     @Test
@@ -64,10 +68,6 @@ public class PokemonListPanelTest {
         assertEquals(testPokemonList.size(), listModel.size(),
                 "List model should contain all test Pokemon");
 
-        List<Pokemon> storedList = getPrivateField(listPanel, "fullPokemonList");
-        assertEquals(testPokemonList.size(), storedList.size(),
-                "Full Pokemon list should be stored");
-
         CheckBoxListItem firstItem = listModel.getElementAt(0);
         assertEquals("bulbasaur", firstItem.getPokemon().getName(),
                 "First item should be Bulbasaur");
@@ -102,9 +102,6 @@ public class PokemonListPanelTest {
 
     @Test
     public void testFilterAndSortList() throws Exception {
-        IPokemonController controller = mock(IPokemonController.class);
-        PokemonListPanel panel = new PokemonListPanel(controller);
-
         Pokemon bulbasaur = new Pokemon(1, "bulbasaur", "http://example.com/1.png",
                 Arrays.asList(PokemonType.GRASS),
                 new Pokemon.PokemonStats(45, 49, 49, 65, 65, 45));
@@ -117,11 +114,11 @@ public class PokemonListPanelTest {
 
         List<Pokemon> testList = Arrays.asList(bulbasaur, charizard, pikachu);
 
-        setPrivateField(panel, "fullPokemonList", new ArrayList<>(testList));
+        PokemonListPanel panel = new PokemonListPanel(controllerFor(testList));
 
         JComboBox<PokemonType> typeFilter = getPrivateField(panel, "typeFilter");
         JComboBox<?> sortOptions = getPrivateField(panel, "sortOptions");
-        DefaultListModel<CheckBoxListItem> listModel = getPrivateField(panel, "listModel");
+        PokemonListModel listModel = getPrivateField(panel, "listModel");
 
         Method filterAndSortMethod = PokemonListPanel.class.getDeclaredMethod("filterAndSortList");
         filterAndSortMethod.setAccessible(true);
@@ -157,17 +154,19 @@ public class PokemonListPanelTest {
         listModel.clear();
         filterAndSortMethod.invoke(panel);
         assertEquals(3, listModel.size(), "All Pokemon should be shown with ID_DESC sort");
-        // Ideally we would verify the sort order, but that's complex in this test setup
+        assertEquals("pikachu", listModel.getElementAt(0).getPokemon().getName());
+        assertEquals("bulbasaur", listModel.getElementAt(2).getPokemon().getName());
+
+        // Test case 5: Filter by type keeps the sort order
+        typeFilter.setSelectedItem(PokemonType.FLYING);
+        listModel.clear();
+        filterAndSortMethod.invoke(panel);
+        assertEquals(1, listModel.size(), "Only Charizard should be shown when filtering by FLYING");
+        assertEquals("charizard", listModel.getElementAt(0).getPokemon().getName());
     }
 
     @Test
     public void testSearchFiltering() throws Exception {
-        IPokemonController mockController = mock(IPokemonController.class);
-        PokemonListPanel panel = new PokemonListPanel(mockController);
-
-        JTextField searchField = getPrivateField(panel, "searchField");
-        DefaultListModel<CheckBoxListItem> listModel = getPrivateField(panel, "listModel");
-
         Pokemon bulbasaur = new Pokemon(1, "bulbasaur", "http://example.com/1.png",
                 Arrays.asList(PokemonType.GRASS),
                 new Pokemon.PokemonStats(45, 49, 49, 65, 65, 45));
@@ -178,6 +177,9 @@ public class PokemonListPanelTest {
 
         List<Pokemon> testList = Arrays.asList(bulbasaur, ivysaur);
 
+        PokemonListPanel panel = new PokemonListPanel(controllerFor(testList));
+        JTextField searchField = getPrivateField(panel, "searchField");
+        PokemonListModel listModel = getPrivateField(panel, "listModel");
         panel.updatePokemonList(testList);
 
         Method filterListMethod = PokemonListPanel.class.getDeclaredMethod("filterList");
@@ -204,14 +206,13 @@ public class PokemonListPanelTest {
         filterListMethod.invoke(panel);
         assertEquals(1, listModel.size(), "Only Pokemon with ID 1 should be shown");
 
-        // Test case 5: Handling null fullPokemonList
-        setPrivateField(panel, "fullPokemonList", null);
-
-        listModel.clear();
-
-        filterListMethod.invoke(panel);
-
-        assertTrue(true, "Method should handle null fullPokemonList without errors");
+        // Test case 5: Searching before anything is loaded
+        PokemonListPanel emptyPanel = new PokemonListPanel(controllerFor(new ArrayList<>()));
+        JTextField emptySearchField = getPrivateField(emptyPanel, "searchField");
+        PokemonListModel emptyListModel = getPrivateField(emptyPanel, "listModel");
+        emptySearchField.setText("bulba");
+        filterListMethod.invoke(emptyPanel);
+        assertEquals(0, emptyListModel.size(), "Nothing should match before the collection is loaded");
     }
 
     @Test
@@ -241,32 +242,69 @@ public class PokemonListPanelTest {
         saveMethod.setAccessible(true);
         saveMethod.invoke(listPanel);
 
-        verify(mockController).saveCollection(anyString());
+        verify(mockController).saveTeam(anyList());
     }
 
     @Test
     public void testUpdatePokemonListWithEmptyList() {
         List<Pokemon> emptyList = new ArrayList<>();
+        PokemonListPanel panel = new PokemonListPanel(controllerFor(emptyList));
+        PokemonListModel emptyListModel = getPrivateField(panel, "listModel");
 
-        listPanel.updatePokemonList(emptyList);
+        panel.updatePokemonList(emptyList);
 
-        assertEquals(0, listModel.size(), "List model should be empty");
+        assertEquals(0, emptyListModel.size(), "List model should be empty");
+    }
 
-        List<Pokemon> storedList = getPrivateField(listPanel, "fullPokemonList");
-        assertEquals(0, storedList.size(), "Stored full list should be empty");
+    @Test
+    public void testUpdatePokemonListReadsTheControllersCollection() {
+        listPanel.updatePokemonList(null);
+
+        assertEquals(testPokemonList.size(), listModel.size(),
+                "The panel should show the controller's collection, not the list it was handed");
     }
 
     @Test
-    public void testUpdatePokemonListWithNull() {
-        try {
-            listPanel.updatePokemonList(null);
+    public void testCollectionChangeKeepsSearchAndTicks() {
+        List<Pokemon> catalog = new ArrayList<>(testPokemonList);
+        IPokemonController controller = controllerFor(catalog);
+        PokemonListPanel panel = new PokemonListPanel(controller);
+        JTextField panelSearchField = getPrivateField(panel, "searchField");
+        PokemonListModel panelListModel = getPrivateField(panel, "listModel");
+        panel.updatePokemonList(controller.getPokemonCollection());
+        panelSearchField.setText("char");
+        panelListModel.getElementAt(0).setSelected(true);
+
+        catalog.add(new Pokemon(5, "charmeleon", "http://example.com/charmeleon.png",
+                Arrays.asList(PokemonType.FIRE), new Pokemon.PokemonStats(58, 64, 58, 80, 65, 80)));
+        controller.fetchInitialPokemon(catalog.size());
+        panel.updatePokemonList(controller.getPokemonCollection());
+
+        assertEquals(2, panelListModel.size(), "The search should run again over the new collection");
+        assertEquals("charmander", panelListModel.getElementAt(0).getPokemon().getName());
+        assertEquals("charmeleon", panelListModel.getElementAt(1).getPokemon().getName());
+        assertEquals(1, panelListModel.getCheckedPokemon().size(), "Charmander should still be ticked");
+        assertEquals(4, panelListModel.getCheckedPokemon().get(0).getId());
+    }
 
-            List<Pokemon> storedList = getPrivateField(listPanel, "fullPokemonList");
-            assertNotNull(storedList, "Stored full list should not be null");
-            assertEquals(0, storedList.size(), "Stored full list should be empty");
-        } catch (NullPointerException e) {
-            // This is also acceptable behavior, depending on implementation
-        }
+    @Test
+    public void testCollectionChangeKeepsTypeFilter() {
+        List<Pokemon> catalog = new ArrayList<>(testPokemonList);
+        IPokemonController controller = controllerFor(catalog);
+        PokemonListPanel panel = new PokemonListPanel(controller);
+        JComboBox<PokemonType> panelTypeFilter = getPrivateField(panel, "typeFilter");
+        PokemonListModel panelListModel = getPrivateField(panel, "listModel");
+        panel.updatePokemonList(controller.getPokemonCollection());
+        panelTypeFilter.setSelectedItem(PokemonType.WATER);
+
+        catalog.add(new Pokemon(8, "wartortle", "http://example.com/wartortle.png",
+                Arrays.asList(PokemonType.WATER), new Pokemon.PokemonStats(59, 63, 80, 65, 80, 58)));
+        controller.fetchInitialPokemon(catalog.size());
+        panel.updatePokemonList(controller.getPokemonCollection());
+
+        assertEquals(2, panelListModel.size(), "Only the Water Pokemon should be shown");
+        assertEquals("squirtle", panelListModel.getElementAt(0).getPokemon().getName());
+        assertEquals("wartortle", panelListModel.getElementAt(1).getPokemon().getName());
     }
 
     @Test
@@ -297,6 +335,16 @@ public class PokemonListPanelTest {
                 "The matched Pokemon should be Bulbasaur");
     }
 
+    @Test
+    public void testSearchFallsBackToTypos() {
+        listPanel.updatePokemonList(testPokemonList);
+
+        searchField.setText("charmandr");
+
+        assertEquals(1, listModel.size(), "A name one typo away should match");
+        assertEquals("charmander", listModel.getElementAt(0).getPokemon().getName());
+    }
+
     @Test
     public void testTypeFilterWithNoMatches() throws Exception {
         listPanel.updatePokemonList(testPokemonList);
@@ -325,7 +373,82 @@ public class PokemonListPanelTest {
         } catch (Exception ignored) {
         }
 
-        verify(mockController, never()).saveCollection(anyString());
+        verify(mockController, never()).saveTeam(anyList());
+    }
+
+    @Test
+    public void testLargeListUpdatesWithOneEventAndFewItems() {
+        PokemonType[] types = PokemonType.values();
+        List<Pokemon> large = new ArrayList<>(500_000);
+        for (int id = 1; id <= 500_000; id++) {
+            large.add(new Pokemon(id, "pokemon" + id, null, List.of(types[id % types.length]),
+                    new Pokemon.PokemonStats(id % 256, 50, 50, 50, 50, 50)));
+        }
+        listPanel = new PokemonListPanel(controllerFor(large));
+        typeFilter = getPrivateField(listPanel, "typeFilter");
+        searchField = getPrivateField(listPanel, "searchField");
+        listModel = getPrivateField(listPanel, "listModel");
+        int[] events = new int[1];
+        listModel.addListDataListener(new ListDataListener() {
+            public void intervalAdded(ListDataEvent e) { events[0]++; }
+            public void intervalRemoved(ListDataEvent e) { events[0]++; }
+            public void contentsChanged(ListDataEvent e) { events[0]++; }
+        });
+
+        listPanel.updatePokemonList(large);
+        assertEquals(500_000, listModel.size());
+        assertEquals(1, events[0], "Loading should fire one event");
+
+        events[0] = 0;
+        typeFilter.setSelectedItem(PokemonType.FIRE);
+        long fireCount = large.stream().filter(pokemon -> pokemon.hasType(PokemonType.FIRE)).count();
+        assertEquals(fireCount, listModel.size());
+        assertEquals(1, events[0], "Filtering should fire one event");
+
+        events[0] = 0;
+        searchField.setText("pokemon49999");
+        assertEquals(11, listModel.size(), "pokemon49999 and pokemon499990 to pokemon499999 should match");
+        assertEquals(1, events[0], "Searching should fire one event");
+
+        searchField.setText("");
+        for (int row = 250_000; row < 250_020; row++) {
+            assertEquals(row + 1, listModel.getElementAt(row).getPokemon().getId());
+        }
+        assertTrue(listModel.createdCount() <= 21, "Only the rows read should have items");
+    }
+
+    /**
+     * Creates a controller whose collection is the given list, as the application's controller holds
+     * the list it hands the panel.
+     */
+    private static IPokemonController controllerFor(List<Pokemon> pokemon) {
+        PokemonController controller = new PokemonController(new IPokemonModel() {
+            @Override
+            public Pokemon fetchPokemonById(int id) {
+                return null;
+            }
+
+            @Override
+            public List<Pokemon> fetchMultiplePokemon(int count) {
+                return pokemon;
+            }
+
+            @Override
+            public void saveCollection(List<Pokemon> collection, String filename) {
+            }
+
+            @Override
+            public List<Pokemon> loadCollection(String filename) {
+                return pokemon;
+            }
+
+            @Override
+            public int saveTeam(List<Pokemon> team) {
+                return 1;
+            }
+        });
+        controller.fetchInitialPokemon(pokemon.size());
+        return controller;
     }
 
     private List<Pokemon> createTestPokemonList() {